@@ -0,0 +1,26 @@
+package in.ShopSphere.ecommerce.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Pattern invalidation walks the keyspace with SCAN, scan-count keys per call, and
+ * deletes each batch with pipelined UNLINKs of unlink-chunk keys, so no single command
+ * holds Redis for long. Background jobs sleep batch-pause between batches.
+ */
+@Component
+@ConfigurationProperties(prefix = "cache.invalidation")
+@Data
+public class CacheInvalidationProperties {
+
+    private int scanCount = 1000;
+
+    private int unlinkChunk = 100;
+
+    private Duration batchPause = Duration.ZERO;
+
+    private int jobHistory = 20;
+}
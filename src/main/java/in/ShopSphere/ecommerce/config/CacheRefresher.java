@@ -0,0 +1,177 @@
+package in.ShopSphere.ecommerce.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.DoubleSupplier;
+import java.util.function.Function;
+
+/**
+ * Decides when {@link SingleFlightCache} should reload a hit in the background, XFetch style:
+ * a read refreshes the entry when {@code now - delta * beta * ln(rand) >= expiry}, delta being
+ * how long the value took to load. Only keys the {@link FrequencySketch} counts as hot, read
+ * in the last refresh-fraction of their TTL, are considered. Expiry is known for entries this
+ * node loaded; for others it is read once from Redis with PTTL.
+ */
+@Slf4j
+public class CacheRefresher {
+
+    private final RefreshAheadProperties properties;
+    private final Function<String, RedisCacheConfiguration> cacheConfigurations;
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
+    private final Executor executor;
+    private final DoubleSupplier random;
+
+    private final FrequencySketch sketch;
+    private final Cache<String, Expiry> expiries;
+
+    public CacheRefresher(RefreshAheadProperties properties, Function<String, RedisCacheConfiguration> cacheConfigurations,
+                          RedisTemplate<String, Object> redisTemplate, PlatformTransactionManager transactionManager) {
+        this(properties, cacheConfigurations, redisTemplate, transactionManager, Clock.systemUTC(),
+            newExecutor(properties), () -> 1.0 - ThreadLocalRandom.current().nextDouble());
+    }
+
+    CacheRefresher(RefreshAheadProperties properties, Function<String, RedisCacheConfiguration> cacheConfigurations,
+                   RedisTemplate<String, Object> redisTemplate, PlatformTransactionManager transactionManager,
+                   Clock clock, Executor executor, DoubleSupplier random) {
+        this.properties = properties;
+        this.cacheConfigurations = cacheConfigurations;
+        this.redisTemplate = redisTemplate;
+        this.clock = clock;
+        this.executor = executor;
+        this.random = random;
+        this.sketch = new FrequencySketch(properties.getSketchWidth(), properties.getSketchDepth());
+        this.expiries = Caffeine.newBuilder().maximumSize(properties.getTrackedEntries()).build();
+
+        // The cached method is rerun outside the reader's interceptor chain, so it needs its own transaction
+        if (transactionManager != null) {
+            this.transactionTemplate = new TransactionTemplate(transactionManager);
+            this.transactionTemplate.setReadOnly(true);
+        } else {
+            this.transactionTemplate = null;
+        }
+    }
+
+    boolean handles(String cacheName) {
+        return properties.getCaches().contains(cacheName);
+    }
+
+    // The value was loaded on this node and is about to be written with the cache's TTL
+    void recordLoad(String cacheName, Object key, long loadNanos) {
+        long ttl = ttlMillis(cacheName, key);
+        if (ttl > 0) {
+            expiries.put(id(cacheName, key), new Expiry(clock.millis() + ttl, ttl, TimeUnit.NANOSECONDS.toMillis(loadNanos)));
+        }
+    }
+
+    /**
+     * Count a hit on the key; returns whether it should be refreshed now.
+     */
+    boolean shouldRefresh(String cacheName, Object key) {
+        String id = id(cacheName, key);
+        if (sketch.increment(id) < properties.getHotThreshold()) {
+            return false;
+        }
+        Expiry expiry = expiries.getIfPresent(id);
+        if (expiry == null) {
+            expiry = lookupExpiry(cacheName, key, id);
+            if (expiry == null) {
+                return false;
+            }
+        }
+
+        long remaining = expiry.expiresAt() - clock.millis();
+        if (remaining > expiry.ttlMillis() * properties.getRefreshFraction()) {
+            return false;
+        }
+        double delta = Math.max(expiry.recomputeMillis(), properties.getMinRecomputeTime().toMillis());
+        return -delta * properties.getBeta() * Math.log(random.getAsDouble()) >= remaining;
+    }
+
+    /**
+     * Run a refresh in the background; returns false if the refresh queue is full.
+     */
+    boolean submit(Runnable refresh) {
+        try {
+            executor.execute(() -> {
+                if (transactionTemplate != null) {
+                    transactionTemplate.executeWithoutResult(status -> refresh.run());
+                } else {
+                    refresh.run();
+                }
+            });
+            return true;
+        } catch (RejectedExecutionException e) {
+            log.debug("Cache refresh queue full, refresh dropped");
+            return false;
+        }
+    }
+
+    public void shutdown() {
+        if (executor instanceof ExecutorService executorService) {
+            executorService.shutdownNow();
+        }
+    }
+
+    // Entries loaded elsewhere: read the TTL left in Redis once, then track it here
+    private Expiry lookupExpiry(String cacheName, Object key, String id) {
+        long ttl = ttlMillis(cacheName, key);
+        if (ttl <= 0) {
+            return null;
+        }
+        try {
+            RedisCacheConfiguration configuration = cacheConfigurations.apply(cacheName);
+            String redisKey = (configuration.usePrefix() ? configuration.getKeyPrefixFor(cacheName) : "") + key;
+            Long remaining = redisTemplate.getExpire(redisKey, TimeUnit.MILLISECONDS);
+            if (remaining == null || remaining < 0) {
+                return null;
+            }
+            Expiry expiry = new Expiry(clock.millis() + remaining, ttl, 0);
+            expiries.put(id, expiry);
+            return expiry;
+        } catch (Exception e) {
+            log.debug("Failed to read the TTL of {}: {}", id, e.getMessage());
+            return null;
+        }
+    }
+
+    private long ttlMillis(String cacheName, Object key) {
+        Duration ttl = cacheConfigurations.apply(cacheName).getTtlFunction().getTimeToLive(key, null);
+        return ttl != null ? ttl.toMillis() : 0;
+    }
+
+    private static String id(String cacheName, Object key) {
+        return cacheName + "::" + key;
+    }
+
+    private static ExecutorService newExecutor(RefreshAheadProperties properties) {
+        AtomicInteger threadCount = new AtomicInteger();
+        int threads = Math.max(1, properties.getThreads());
+        return new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(Math.max(1, properties.getQueueCapacity())), runnable -> {
+                Thread thread = new Thread(runnable, "cache-refresh-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+    }
+
+    private record Expiry(long expiresAt, long ttlMillis, long recomputeMillis) {
+    }
+}
@@ -0,0 +1,22 @@
+package in.ShopSphere.ecommerce.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Tag sets map an entity or query tag to the cache entries that depend on it. A set's
+ * TTL is refreshed on every write and should be at least the longest cache TTL;
+ * members whose entry has already expired are harmless and simply evict nothing.
+ */
+@Component
+@ConfigurationProperties(prefix = "cache.tags")
+@Data
+public class CacheTagProperties {
+
+    private boolean enabled = true;
+
+    private Duration ttl = Duration.ofHours(2);
+}
@@ -0,0 +1,153 @@
+package in.ShopSphere.ecommerce.config;
+
+import in.ShopSphere.ecommerce.dto.cart.CartResponse;
+import in.ShopSphere.ecommerce.dto.category.CategoryResponse;
+import in.ShopSphere.ecommerce.dto.category.CategorySimpleResponse;
+import in.ShopSphere.ecommerce.dto.common.PaginationResponse;
+import in.ShopSphere.ecommerce.dto.order.OrderResponse;
+import in.ShopSphere.ecommerce.dto.product.ProductResponse;
+import in.ShopSphere.ecommerce.model.entity.User;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Tags that cache entries depend on. Entity tags ({@code product:<id>}, {@code order:<id>}, ...)
+ * are read off the cached value; query tags ({@code products:stock}, {@code orders:status}, ...)
+ * travel in a {@link TaggedKey} built in the SpEL key, e.g.
+ * {@code key = "@cacheTags.key({'products:list', 'products:price'}, #minPrice)"}. A write then
+ * invalidates the entity it changed plus the queries whose membership it can change.
+ */
+@Component
+public class CacheTags {
+
+    // Every cached product list; products entering or leaving the catalog invalidate these
+    public static final String PRODUCT_LIST = "products:list";
+    public static final String PRODUCT_FEATURED = "products:featured";
+    public static final String PRODUCT_STOCK = "products:stock";
+    public static final String PRODUCT_PRICE = "products:price";
+
+    // Every cached order list; new orders invalidate these
+    public static final String ORDER_LIST = "orders:list";
+    public static final String ORDER_STATUS = "orders:status";
+    public static final String ORDER_PAYMENT_STATUS = "orders:payment-status";
+    public static final String ORDER_DELIVERY = "orders:delivery";
+
+    // Caches whose entries can carry a tag, by tag prefix; used when tagging is switched off
+    private static final Map<String, Set<String>> CACHES_BY_TAG_PREFIX = Map.of(
+        "product:", Set.of("product", "products", "search", "cart"),
+        "category:", Set.of("category", "categories", "categories-simple", "product", "products", "search"),
+        "order:", Set.of("orders", "userOrders", "allOrders"),
+        "cart:", Set.of("cart"),
+        "user-orders:", Set.of("userOrders"),
+        "products:", Set.of("products"),
+        "orders:", Set.of("orders", "allOrders"));
+
+    public static String product(String productId) {
+        return "product:" + productId;
+    }
+
+    public static String category(String categoryId) {
+        return "category:" + categoryId;
+    }
+
+    public static String order(String orderId) {
+        return "order:" + orderId;
+    }
+
+    public static String cart(String userId) {
+        return "cart:" + userId;
+    }
+
+    public static String userOrders(String userId) {
+        return "user-orders:" + userId;
+    }
+
+    /**
+     * Key for an entry of a query cache, tagged with the queries it belongs to; the parts
+     * are joined with {@code :}, e.g. {@code key = "@cacheTags.key({'orders:list'}, #page, #size)"}.
+     */
+    public TaggedKey key(List<String> tags, Object... parts) {
+        return new TaggedKey(tags, Arrays.stream(parts).map(String::valueOf).collect(Collectors.joining(":")));
+    }
+
+    /**
+     * Key for the signed-in user's entry in a per-user cache, tagged with {@code scope:<userId>}:
+     * {@code key = "@cacheTags.currentUserKey('cart', #root.methodName)"}.
+     */
+    public TaggedKey currentUserKey(String scope, Object... parts) {
+        return key(List.of(currentUser(scope)), parts);
+    }
+
+    public String currentUser(String scope) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String userId = authentication != null && authentication.getPrincipal() instanceof User user
+            ? user.getId() : "anonymous";
+        return scope + ":" + userId;
+    }
+
+    /**
+     * Caches that can hold entries with this tag, or an empty set when the tag is unknown.
+     */
+    public static Set<String> cacheNames(String tag) {
+        for (Map.Entry<String, Set<String>> entry : CACHES_BY_TAG_PREFIX.entrySet()) {
+            if (tag.startsWith(entry.getKey())) {
+                return entry.getValue();
+            }
+        }
+        return Set.of();
+    }
+
+    static Set<String> resolve(Object key, Object value) {
+        Set<String> tags = new LinkedHashSet<>();
+        if (key instanceof TaggedKey tagged) {
+            tags.addAll(tagged.tags());
+        }
+        collect(value, tags);
+        return tags;
+    }
+
+    private static void collect(Object value, Set<String> tags) {
+        if (value instanceof ProductResponse product) {
+            addIfPresent(tags, "product:", product.getId());
+            if (product.getCategory() != null) {
+                addIfPresent(tags, "category:", product.getCategory().getId());
+            }
+        } else if (value instanceof OrderResponse order) {
+            addIfPresent(tags, "order:", order.getId());
+        } else if (value instanceof CartResponse cart) {
+            if (cart.getItems() != null) {
+                cart.getItems().forEach(item -> addIfPresent(tags, "product:", item.getProductId()));
+            }
+        } else if (value instanceof CategoryResponse category) {
+            // A category's entry also shows its parent and children
+            addIfPresent(tags, "category:", category.getId());
+            if (category.getParent() != null) {
+                addIfPresent(tags, "category:", category.getParent().getId());
+            }
+            if (category.getChildren() != null) {
+                category.getChildren().forEach(child -> addIfPresent(tags, "category:", child.getId()));
+            }
+        } else if (value instanceof CategorySimpleResponse category) {
+            addIfPresent(tags, "category:", category.getId());
+        } else if (value instanceof PaginationResponse<?> page) {
+            collect(page.getData(), tags);
+        } else if (value instanceof Collection<?> values) {
+            values.forEach(element -> collect(element, tags));
+        }
+    }
+
+    private static void addIfPresent(Set<String> tags, String prefix, String id) {
+        if (id != null) {
+            tags.add(prefix + id);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package in.ShopSphere.ecommerce.config;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Count-min sketch of recent key frequencies. Every {@code width * 10} increments all
+ * counters are halved, so keys that stop being read fade out, as in TinyLFU.
+ */
+final class FrequencySketch {
+
+    private final AtomicIntegerArray counts;
+    private final int width;
+    private final int depth;
+    private final long sampleSize;
+    private final LongAdder additions = new LongAdder();
+
+    FrequencySketch(int width, int depth) {
+        this.width = Math.max(16, width);
+        this.depth = Math.max(1, depth);
+        this.counts = new AtomicIntegerArray(this.width * this.depth);
+        this.sampleSize = this.width * 10L;
+    }
+
+    /**
+     * Count one occurrence of the key; returns its estimated frequency afterwards.
+     */
+    int increment(Object key) {
+        long h1 = mix(key.hashCode());
+        long h2 = mix(h1) | 1L;
+        int min = Integer.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            int index = row * width + (int) Math.floorMod(h1 + row * h2, (long) width);
+            min = Math.min(min, counts.incrementAndGet(index));
+        }
+        additions.increment();
+        if (additions.sum() >= sampleSize) {
+            age();
+        }
+        return min;
+    }
+
+    int estimate(Object key) {
+        long h1 = mix(key.hashCode());
+        long h2 = mix(h1) | 1L;
+        int min = Integer.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            min = Math.min(min, counts.get(row * width + (int) Math.floorMod(h1 + row * h2, (long) width)));
+        }
+        return min;
+    }
+
+    // Concurrent increments during ageing may be halved or not; the sketch is approximate anyway
+    private synchronized void age() {
+        if (additions.sum() < sampleSize) {
+            return;
+        }
+        for (int i = 0; i < counts.length(); i++) {
+            counts.set(i, counts.get(i) >>> 1);
+        }
+        additions.reset();
+    }
+
+    // MurmurHash3 finaliser; hashCode alone leaves the low bits poorly mixed
+    private static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
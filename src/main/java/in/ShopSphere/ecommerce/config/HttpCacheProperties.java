@@ -0,0 +1,30 @@
+package in.ShopSphere.ecommerce.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.http.CacheControl;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Cache-Control for catalog GET endpoints, keyed by endpoint name (product, listing,
+ * featured, category, categories, ...). Responses always carry an ETag, so a zero
+ * max-age still lets clients revalidate cheaply.
+ */
+@Component
+@ConfigurationProperties(prefix = "http-cache")
+@Data
+public class HttpCacheProperties {
+
+    private Duration defaultMaxAge = Duration.ZERO;
+
+    private Map<String, Duration> maxAge = new HashMap<>();
+
+    public CacheControl cacheControl(String endpoint) {
+        Duration age = maxAge.getOrDefault(endpoint, defaultMaxAge);
+        return age.isZero() ? CacheControl.noCache().cachePublic() : CacheControl.maxAge(age).cachePublic();
+    }
+}
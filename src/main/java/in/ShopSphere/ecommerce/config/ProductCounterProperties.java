@@ -0,0 +1,20 @@
+package in.ShopSphere.ecommerce.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Weights of each signal in a product's popularity score
+ */
+@Component
+@ConfigurationProperties(prefix = "product-counters")
+@Data
+public class ProductCounterProperties {
+
+    private double viewWeight = 1.0;
+
+    private double cartWeight = 5.0;
+
+    private double purchaseWeight = 20.0;
+}
@@ -0,0 +1,24 @@
+package in.ShopSphere.ecommerce.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Per-user recently viewed lists. Views are queued in memory and written to Redis in
+ * batches; when the queue is full further views are dropped rather than slowing reads.
+ */
+@Component
+@ConfigurationProperties(prefix = "recently-viewed")
+@Data
+public class RecentlyViewedProperties {
+
+    private int maxItems = 20;
+
+    // Idle lists expire so inactive users do not keep keys forever
+    private Duration ttl = Duration.ofDays(30);
+
+    private int queueCapacity = 10_000;
+}
@@ -0,0 +1,27 @@
+package in.ShopSphere.ecommerce.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Tuning for the frequently-bought-together job. Orders newer than the settle window are
+ * left for the next run so late cancellations are not counted.
+ */
+@Component
+@ConfigurationProperties(prefix = "recommendations.co-occurrence")
+@Data
+public class RecommendationProperties {
+
+    private int topN = 20;
+
+    // Larger orders only contribute their first products; pairs grow quadratically
+    private int maxItemsPerOrder = 50;
+
+    private Duration settleWindow = Duration.ofMinutes(10);
+
+    // Lifetime of a product's list in Redis; each run rewrites the lists it touched
+    private Duration relatedTtl = Duration.ofDays(7);
+}
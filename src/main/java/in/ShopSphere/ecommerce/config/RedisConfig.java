@@ -10,6 +10,8 @@ import com.fasterxml.jackson.datatype.jsr310.ser.LocalTimeSerializer;
 import com.fasterxml.jackson.datatype.jsr310.deser.LocalDateTimeDeserializer;
 import com.fasterxml.jackson.datatype.jsr310.deser.LocalDateDeserializer;
 import com.fasterxml.jackson.datatype.jsr310.deser.LocalTimeDeserializer;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
@@ -21,9 +23,12 @@ import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.time.Duration;
 import java.time.LocalDate;
@@ -110,7 +115,10 @@ public class RedisConfig {
     }
     
     @Bean
-    public CacheManager cacheManager(RedisConnectionFactory connectionFactory) {
+    public CacheManager cacheManager(RedisConnectionFactory connectionFactory, TwoLevelCacheProperties l1Properties,
+                                     SingleFlightProperties singleFlightProperties, RefreshAheadProperties refreshProperties,
+                                     CacheTagProperties tagProperties, MeterRegistry meterRegistry,
+                                     ObjectProvider<PlatformTransactionManager> transactionManager) {
         // Default cache configuration
         RedisCacheConfiguration defaultConfig = RedisCacheConfiguration.defaultCacheConfig()
             .entryTtl(Duration.ofHours(1)) // Default TTL: 1 hour
@@ -142,9 +150,55 @@ public class RedisConfig {
         // Search cache: 1 hour
         cacheConfigurations.put("search", defaultConfig.entryTtl(Duration.ofHours(1)));
         
-        return RedisCacheManager.builder(connectionFactory)
+        // Seller dashboard summary: 10 minutes, evicted per seller on product writes
+        cacheConfigurations.put("sellerSummary", defaultConfig.entryTtl(Duration.ofMinutes(10)));
+        
+        // Price histograms per filter set: 1 minute, never evicted explicitly
+        cacheConfigurations.put("priceStats", defaultConfig.entryTtl(Duration.ofMinutes(1)));
+        
+        RedisCacheManager redisCacheManager = RedisCacheManager.builder(connectionFactory)
             .cacheDefaults(defaultConfig)
             .withInitialCacheConfigurations(cacheConfigurations)
             .build();
+        CacheManager cacheManager = redisCacheManager;
+        
+        // Hot read caches get an in-process Caffeine L1 in front of Redis
+        if (l1Properties.isEnabled()) {
+            cacheManager = new TwoLevelCacheManager(cacheManager, l1Properties, redisTemplate(connectionFactory), meterRegistry);
+        }
+        
+        // Concurrent misses for a key share one load instead of all hitting the database,
+        // and hot entries can be reloaded in the background before they expire
+        if (singleFlightProperties.isEnabled()) {
+            CacheRefresher refresher = null;
+            if (refreshProperties.isEnabled()) {
+                refresher = new CacheRefresher(refreshProperties, name -> cacheConfigurations.getOrDefault(name, defaultConfig),
+                    redisTemplate(connectionFactory), transactionManager.getIfAvailable());
+            }
+            cacheManager = new SingleFlightCacheManager(cacheManager, singleFlightProperties, redisTemplate(connectionFactory),
+                meterRegistry, refresher);
+        }
+        
+        // Entries record the entities they depend on, so writes can evict just those
+        if (tagProperties.isEnabled()) {
+            cacheManager = new TaggingCacheManager(cacheManager, tagProperties, redisTemplate(connectionFactory));
+        }
+        return cacheManager;
+    }
+    
+    @Bean
+    public RedisMessageListenerContainer cacheInvalidationListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                            CacheManager cacheManager,
+                                                                            TwoLevelCacheProperties l1Properties) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        
+        // Drop L1 entries written or evicted on other nodes
+        CacheManager target = cacheManager instanceof TaggingCacheManager tagging ? tagging.getDelegate() : cacheManager;
+        target = target instanceof SingleFlightCacheManager singleFlight ? singleFlight.getDelegate() : target;
+        if (target instanceof TwoLevelCacheManager twoLevelCacheManager) {
+            container.addMessageListener(twoLevelCacheManager, new ChannelTopic(l1Properties.getChannel()));
+        }
+        return container;
     }
 }
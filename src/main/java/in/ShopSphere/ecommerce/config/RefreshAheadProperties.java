@@ -0,0 +1,46 @@
+package in.ShopSphere.ecommerce.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Background refresh of hot entries before they expire. Only the caches listed under
+ * {@code caches} are refreshed, and within them only keys the frequency sketch counts as
+ * hot. Per-user caches should not be listed: the refresh runs without the reader's login.
+ */
+@Component
+@ConfigurationProperties(prefix = "cache.refresh-ahead")
+@Data
+public class RefreshAheadProperties {
+
+    private boolean enabled = true;
+
+    private Set<String> caches = new HashSet<>();
+
+    // Reads in the last refreshFraction of an entry's TTL may trigger a refresh
+    private double refreshFraction = 0.2;
+
+    // XFetch beta; above 1 refreshes earlier, below 1 later
+    private double beta = 1.0;
+
+    // Floor for the measured load time, which XFetch scales the early refresh by
+    private Duration minRecomputeTime = Duration.ofMillis(100);
+
+    // Estimated reads since the last sketch ageing for a key to count as hot
+    private int hotThreshold = 8;
+
+    private int sketchWidth = 4096;
+
+    private int sketchDepth = 4;
+
+    private int trackedEntries = 10_000;
+
+    private int threads = 2;
+
+    private int queueCapacity = 100;
+}
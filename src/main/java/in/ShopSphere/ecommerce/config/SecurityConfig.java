@@ -53,6 +53,7 @@ public class SecurityConfig {
                 // Product endpoints (public read, authenticated write)
                 .requestMatchers("GET", "/products/**").permitAll()
                 .requestMatchers("GET", "/categories/**").permitAll()
+                .requestMatchers("POST", "/products/batch").permitAll()  // Read-only multi-get
                 .requestMatchers("POST", "/products/**").hasAnyRole("SELLER", "ADMIN")
                 .requestMatchers("PUT", "/products/**").hasAnyRole("SELLER", "ADMIN")
                 .requestMatchers("DELETE", "/products/**").hasAnyRole("SELLER", "ADMIN")
@@ -68,6 +69,9 @@ public class SecurityConfig {
                 .requestMatchers("POST", "/orders/**").hasAnyRole("CUSTOMER", "SELLER", "ADMIN")
                 .requestMatchers("PUT", "/orders/**").hasAnyRole("SELLER", "ADMIN")
                 
+                // Any signed-in user's own history
+                .requestMatchers("GET", "/users/me/recently-viewed").authenticated()
+                
                 // User management (admin only)
                 .requestMatchers("/users/**").hasRole("ADMIN")
                 
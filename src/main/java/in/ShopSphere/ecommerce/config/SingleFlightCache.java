@@ -0,0 +1,280 @@
+package in.ShopSphere.ecommerce.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Coalesces concurrent misses for a key: the first caller loads the value through the
+ * wrapped cache and every caller that misses while it runs waits on the same future.
+ * With the distributed variant the loading caller also takes a Redis lock, and callers
+ * on other nodes poll the wrapped cache for its value instead of loading it again. Hits
+ * the {@link CacheRefresher} picks are reloaded in the background, at most once per key at a
+ * time. Refreshes are tracked apart from the flights, so a miss after an eviction never joins
+ * one and gets a pre-write value; a refresh that overlaps an eviction is dropped rather than
+ * written back.
+ */
+@Slf4j
+public class SingleFlightCache implements Cache {
+
+    // Evictions are counted per stripe of keys; a shared stripe only costs a skipped refresh
+    private static final int GENERATION_STRIPES = 1024;
+
+    private final Cache delegate;
+    private final SingleFlightCacheManager manager;
+    private final boolean distributed;
+    private final CacheRefresher refresher;
+    private final ConcurrentHashMap<Object, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final Set<Object> refreshing = ConcurrentHashMap.newKeySet();
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+    private final AtomicLong clears = new AtomicLong();
+
+    private final Counter loaded;
+    private final Counter coalesced;
+    private final Counter remote;
+    private final Counter refreshed;
+
+    SingleFlightCache(Cache delegate, SingleFlightCacheManager manager, boolean distributed,
+                      CacheRefresher refresher, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.manager = manager;
+        this.distributed = distributed;
+        this.refresher = refresher;
+        this.loaded = getCounter(meterRegistry, delegate.getName(), "loaded");
+        this.coalesced = getCounter(meterRegistry, delegate.getName(), "coalesced");
+        this.remote = getCounter(meterRegistry, delegate.getName(), "remote");
+        this.refreshed = getCounter(meterRegistry, delegate.getName(), "refreshed");
+    }
+
+    /**
+     * The cache this one coalesces loads for, for callers that batch reads or writes.
+     */
+    public Cache getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        return delegate.get(key);
+    }
+
+    @Override
+    public <T> T get(Object key, Class<T> type) {
+        return delegate.get(key, type);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper cached = delegate.get(key);
+        if (cached != null) {
+            if (refresher != null && refresher.shouldRefresh(getName(), key)) {
+                refresh(key, valueLoader);
+            }
+            return (T) cached.get();
+        }
+
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            coalesced.increment();
+            return (T) await(existing);
+        }
+        try {
+            Object value = distributed ? loadLocked(key, valueLoader) : load(key, valueLoader);
+            flight.complete(value);
+            return (T) value;
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        delegate.put(key, value);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        return delegate.putIfAbsent(key, value);
+    }
+
+    @Override
+    public void evict(Object key) {
+        generations.incrementAndGet(stripe(key));
+        delegate.evict(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        generations.incrementAndGet(stripe(key));
+        return delegate.evictIfPresent(key);
+    }
+
+    @Override
+    public void clear() {
+        clears.incrementAndGet();
+        delegate.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        clears.incrementAndGet();
+        return delegate.invalidate();
+    }
+
+    Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("loaded", (long) loaded.count());
+        stats.put("coalesced", (long) coalesced.count());
+        stats.put("remote", (long) remote.count());
+        stats.put("refreshed", (long) refreshed.count());
+        stats.put("inFlight", inFlight.size());
+        stats.put("refreshing", refreshing.size());
+        stats.put("distributed", distributed);
+        return stats;
+    }
+
+    // The wrapped cache checks again before loading, so a flight that just ended is not repeated
+    private <T> T load(Object key, Callable<T> valueLoader) {
+        return delegate.get(key, () -> {
+            loaded.increment();
+            long start = System.nanoTime();
+            T value = valueLoader.call();
+            if (refresher != null) {
+                refresher.recordLoad(getName(), key, System.nanoTime() - start);
+            }
+            return value;
+        });
+    }
+
+    // Reload a hit in the background; readers keep getting the current value meanwhile
+    private void refresh(Object key, Callable<?> valueLoader) {
+        if (!refreshing.add(key)) {
+            return;
+        }
+        long generation = generation(key);
+        boolean submitted = refresher.submit(() -> {
+            String lockKey = getName() + "::" + key;
+            String token = UUID.randomUUID().toString();
+            boolean locked = !distributed || manager.tryLock(lockKey, token);
+            try {
+                // Another node is already refreshing this key
+                if (!locked) {
+                    return;
+                }
+                long start = System.nanoTime();
+                Object value = valueLoader.call();
+                // A write invalidated the key meanwhile; the value may predate it
+                if (generation(key) != generation) {
+                    log.debug("Dropped refresh of {} in cache {}, evicted while loading", key, getName());
+                    return;
+                }
+                refresher.recordLoad(getName(), key, System.nanoTime() - start);
+                delegate.put(key, value);
+                refreshed.increment();
+            } catch (Exception e) {
+                log.warn("Failed to refresh {} in cache {}: {}", key, getName(), e.getMessage());
+            } finally {
+                refreshing.remove(key);
+                if (distributed && locked) {
+                    manager.unlock(lockKey, token);
+                }
+            }
+        });
+        if (!submitted) {
+            refreshing.remove(key);
+        }
+    }
+
+    private long generation(Object key) {
+        return generations.get(stripe(key)) + clears.get();
+    }
+
+    // Tag invalidation evicts by the key's string form, as Redis stores it
+    private static int stripe(Object key) {
+        return Math.floorMod(String.valueOf(key).hashCode(), GENERATION_STRIPES);
+    }
+
+    private <T> T loadLocked(Object key, Callable<T> valueLoader) {
+        String lockKey = getName() + "::" + key;
+        String token = UUID.randomUUID().toString();
+        if (manager.tryLock(lockKey, token)) {
+            try {
+                return load(key, valueLoader);
+            } finally {
+                manager.unlock(lockKey, token);
+            }
+        }
+
+        // Another node holds the lock; wait for its value, then load anyway if it never shows up
+        Duration pollInterval = manager.getProperties().getPollInterval();
+        long deadline = System.nanoTime() + manager.getProperties().getLockWait().toNanos();
+        while (System.nanoTime() < deadline) {
+            try {
+                Thread.sleep(pollInterval.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            ValueWrapper cached = delegate.get(key);
+            if (cached != null) {
+                remote.increment();
+                @SuppressWarnings("unchecked")
+                T value = (T) cached.get();
+                return value;
+            }
+        }
+        log.debug("Gave up waiting for {} to be loaded elsewhere", lockKey);
+        return load(key, valueLoader);
+    }
+
+    private static Object await(CompletableFuture<Object> flight) {
+        try {
+            return flight.join();
+        } catch (CompletionException e) {
+            // Rethrow the loading caller's exception as it was thrown
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    private static Counter getCounter(MeterRegistry registry, String cacheName, String result) {
+        return Counter.builder("cache.loads")
+            .description("Cache miss loads by outcome")
+            .tag("cache", cacheName)
+            .tag("result", result)
+            .register(registry);
+    }
+}
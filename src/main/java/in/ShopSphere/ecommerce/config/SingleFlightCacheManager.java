@@ -0,0 +1,118 @@
+package in.ShopSphere.ecommerce.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Wraps a cache manager so {@code @Cacheable(sync = true)} loads are coalesced per key,
+ * see {@link SingleFlightCache}. Also owns the Redis load locks for the distributed variant
+ * and, when refresh-ahead is on, the {@link CacheRefresher}.
+ */
+@Slf4j
+public class SingleFlightCacheManager implements CacheManager, InitializingBean, DisposableBean {
+
+    static final String LOCK_KEY_PREFIX = "ecommerce:cache-load-lock:";
+
+    // Only the holder may release a lock; an expired one may already belong to another node
+    private static final DefaultRedisScript<Long> UNLOCK_SCRIPT = new DefaultRedisScript<>(
+        "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end",
+        Long.class);
+
+    private final CacheManager delegate;
+    private final SingleFlightProperties properties;
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final MeterRegistry meterRegistry;
+    private final CacheRefresher refresher;
+    private final Map<String, SingleFlightCache> caches = new ConcurrentHashMap<>();
+
+    public SingleFlightCacheManager(CacheManager delegate, SingleFlightProperties properties,
+                                    RedisTemplate<String, Object> redisTemplate, MeterRegistry meterRegistry) {
+        this(delegate, properties, redisTemplate, meterRegistry, null);
+    }
+
+    public SingleFlightCacheManager(CacheManager delegate, SingleFlightProperties properties,
+                                    RedisTemplate<String, Object> redisTemplate, MeterRegistry meterRegistry,
+                                    CacheRefresher refresher) {
+        this.delegate = delegate;
+        this.properties = properties;
+        this.redisTemplate = redisTemplate;
+        this.meterRegistry = meterRegistry;
+        this.refresher = refresher;
+    }
+
+    @Override
+    public void afterPropertiesSet() throws Exception {
+        if (delegate instanceof InitializingBean initializing) {
+            initializing.afterPropertiesSet();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (refresher != null) {
+            refresher.shutdown();
+        }
+    }
+
+    public CacheManager getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        return caches.computeIfAbsent(name, cacheName -> {
+            Cache cache = delegate.getCache(cacheName);
+            if (cache == null) {
+                return null;
+            }
+            return new SingleFlightCache(cache, this, properties.getDistributedCaches().contains(cacheName),
+                refresher != null && refresher.handles(cacheName) ? refresher : null, meterRegistry);
+        });
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return delegate.getCacheNames();
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new TreeMap<>();
+        caches.forEach((name, cache) -> stats.put(name, cache.getStats()));
+        return stats;
+    }
+
+    SingleFlightProperties getProperties() {
+        return properties;
+    }
+
+    // Without Redis there is nobody to coordinate with, so the caller loads
+    boolean tryLock(String lockKey, String token) {
+        try {
+            return !Boolean.FALSE.equals(redisTemplate.opsForValue()
+                .setIfAbsent(LOCK_KEY_PREFIX + lockKey, token, properties.getLockTtl()));
+        } catch (Exception e) {
+            log.warn("Failed to take cache load lock {}: {}", lockKey, e.getMessage());
+            return true;
+        }
+    }
+
+    void unlock(String lockKey, String token) {
+        try {
+            redisTemplate.execute(UNLOCK_SCRIPT, List.of(LOCK_KEY_PREFIX + lockKey), token);
+        } catch (Exception e) {
+            log.warn("Failed to release cache load lock {}: {}", lockKey, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package in.ShopSphere.ecommerce.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Cache miss coalescing for {@code @Cacheable(sync = true)} methods. Concurrent misses for
+ * one key on a node always share a single load; caches listed under
+ * {@code distributed-caches} also take a short Redis lock so only one node loads the key.
+ */
+@Component
+@ConfigurationProperties(prefix = "cache.single-flight")
+@Data
+public class SingleFlightProperties {
+
+    private boolean enabled = true;
+
+    private Set<String> distributedCaches = new HashSet<>();
+
+    // Expiry of the load lock, in case its holder dies mid-load
+    private Duration lockTtl = Duration.ofSeconds(10);
+
+    // How long other nodes wait for the holder's value before loading it themselves
+    private Duration lockWait = Duration.ofSeconds(3);
+
+    private Duration pollInterval = Duration.ofMillis(50);
+}
@@ -0,0 +1,20 @@
+package in.ShopSphere.ecommerce.config;
+
+import java.util.List;
+
+/**
+ * Cache key that carries the query tags of its entry next to the key itself, so tags are
+ * never parsed back out of a string that may contain any character. Entries are stored
+ * under {@link #toString()}, which is also the form Redis and tag invalidation use.
+ */
+public record TaggedKey(List<String> tags, String key) {
+
+    public TaggedKey {
+        tags = List.copyOf(tags);
+    }
+
+    @Override
+    public String toString() {
+        return String.join(",", tags) + "|" + key;
+    }
+}
@@ -0,0 +1,105 @@
+package in.ShopSphere.ecommerce.config;
+
+import org.springframework.cache.Cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+
+/**
+ * Records the tags of every entry written through it, then hands the write to the
+ * wrapped cache. A {@link TaggedKey} is replaced by its string form on the way down, so
+ * tag invalidation, which evicts by that form, reaches the entry in any wrapped cache.
+ */
+public class TaggingCache implements Cache {
+
+    private final Cache delegate;
+    private final TaggingCacheManager manager;
+
+    TaggingCache(Cache delegate, TaggingCacheManager manager) {
+        this.delegate = delegate;
+        this.manager = manager;
+    }
+
+    /**
+     * The cache this one records tags for, for callers that batch reads or writes.
+     */
+    public Cache getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        return delegate.get(storeKey(key));
+    }
+
+    @Override
+    public <T> T get(Object key, Class<T> type) {
+        return delegate.get(storeKey(key), type);
+    }
+
+    @Override
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        return delegate.get(storeKey(key), () -> {
+            T value = valueLoader.call();
+            manager.record(getName(), Map.of(storeKey(key), CacheTags.resolve(key, value)));
+            return value;
+        });
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        manager.record(getName(), Map.of(storeKey(key), CacheTags.resolve(key, value)));
+        delegate.put(storeKey(key), value);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        manager.record(getName(), Map.of(storeKey(key), CacheTags.resolve(key, value)));
+        return delegate.putIfAbsent(storeKey(key), value);
+    }
+
+    @Override
+    public void evict(Object key) {
+        delegate.evict(storeKey(key));
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        return delegate.evictIfPresent(storeKey(key));
+    }
+
+    @Override
+    public void clear() {
+        delegate.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        return delegate.invalidate();
+    }
+
+    /**
+     * Record tags for entries the caller writes to the underlying store itself.
+     */
+    public void recordTags(Map<?, ?> entries) {
+        Map<Object, Set<String>> tags = new LinkedHashMap<>();
+        entries.forEach((key, value) -> tags.put(storeKey(key), CacheTags.resolve(key, value)));
+        manager.record(getName(), tags);
+    }
+
+    private static Object storeKey(Object key) {
+        return key instanceof TaggedKey ? key.toString() : key;
+    }
+}
@@ -0,0 +1,133 @@
+package in.ShopSphere.ecommerce.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.SetOperations;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Wraps a cache manager so every entry records the tags it depends on in Redis sets,
+ * one set per tag holding {@code cacheName::key} members. Invalidating a tag pops its
+ * members and evicts exactly those entries, instead of clearing whole caches.
+ */
+@Slf4j
+public class TaggingCacheManager implements CacheManager, InitializingBean {
+
+    static final String TAG_KEY_PREFIX = "ecommerce:cache-tags:";
+    private static final String MEMBER_SEPARATOR = "::";
+    private static final int POP_BATCH = 500;
+
+    private final CacheManager delegate;
+    private final CacheTagProperties properties;
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final Map<String, TaggingCache> caches = new ConcurrentHashMap<>();
+
+    public TaggingCacheManager(CacheManager delegate, CacheTagProperties properties,
+                               RedisTemplate<String, Object> redisTemplate) {
+        this.delegate = delegate;
+        this.properties = properties;
+        this.redisTemplate = redisTemplate;
+    }
+
+    @Override
+    public void afterPropertiesSet() throws Exception {
+        if (delegate instanceof InitializingBean initializing) {
+            initializing.afterPropertiesSet();
+        }
+    }
+
+    public CacheManager getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        return caches.computeIfAbsent(name, cacheName -> {
+            Cache cache = delegate.getCache(cacheName);
+            return cache != null ? new TaggingCache(cache, this) : null;
+        });
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return delegate.getCacheNames();
+    }
+
+    /**
+     * Evict every entry tagged with any of the given tags; returns the number of entries evicted,
+     * counting ones that had already expired or been evicted since they were tagged.
+     */
+    public int invalidate(Collection<String> tags) {
+        Set<String> members = new LinkedHashSet<>();
+        for (String tag : new LinkedHashSet<>(tags)) {
+            // SPOP is atomic, so an entry tagged while this runs is either popped here or left for the next write
+            List<Object> popped;
+            do {
+                popped = redisTemplate.opsForSet().pop(TAG_KEY_PREFIX + tag, POP_BATCH);
+                if (popped != null) {
+                    popped.forEach(member -> members.add(String.valueOf(member)));
+                }
+            } while (popped != null && popped.size() == POP_BATCH);
+        }
+
+        int evicted = 0;
+        for (String member : members) {
+            int separator = member.indexOf(MEMBER_SEPARATOR);
+            if (separator <= 0) {
+                continue;
+            }
+            Cache cache = getCache(member.substring(0, separator));
+            if (cache != null) {
+                cache.evict(member.substring(separator + MEMBER_SEPARATOR.length()));
+                evicted++;
+            }
+        }
+        log.debug("Cache tags {} invalidated {} entries", tags, evicted);
+        return evicted;
+    }
+
+    // One pipeline per write: SADD each entry to its tags' sets and push the sets' expiry out
+    void record(String cacheName, Map<?, Set<String>> entryTags) {
+        Map<String, Set<Object>> membersByTag = new LinkedHashMap<>();
+        entryTags.forEach((key, tags) -> {
+            for (String tag : tags) {
+                membersByTag.computeIfAbsent(TAG_KEY_PREFIX + tag, k -> new LinkedHashSet<>())
+                    .add(cacheName + MEMBER_SEPARATOR + key);
+            }
+        });
+        if (membersByTag.isEmpty()) {
+            return;
+        }
+        Duration ttl = properties.getTtl();
+        try {
+            redisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public <K, V> Object execute(RedisOperations<K, V> operations) {
+                    RedisOperations<String, Object> ops = (RedisOperations<String, Object>) operations;
+                    SetOperations<String, Object> sets = ops.opsForSet();
+                    membersByTag.forEach((tagKey, members) -> {
+                        sets.add(tagKey, members.toArray());
+                        ops.expire(tagKey, ttl);
+                    });
+                    return null;
+                }
+            });
+        } catch (Exception e) {
+            log.error("Failed to record cache tags for {}: {}", cacheName, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package in.ShopSphere.ecommerce.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Trending windows. Each window is a ring of buckets holding a count-min sketch sized so
+ * an estimate exceeds the true score by at most epsilon times the window's total weight,
+ * except with probability delta. Memory per window is about
+ * buckets * ceil(e / epsilon) * ceil(ln(1 / delta)) * 8 bytes.
+ */
+@Component
+@ConfigurationProperties(prefix = "trending")
+@Data
+public class TrendingProperties {
+
+    private double epsilon = 0.001;
+
+    private double delta = 0.01;
+
+    // Window granularity: a one hour window with 12 buckets slides in 5 minute steps
+    private int bucketsPerWindow = 12;
+
+    // Products tracked per bucket as heavy hitter candidates
+    private int candidatesPerBucket = 200;
+
+    private long viewWeight = 1;
+
+    private long purchaseWeight = 10;
+}
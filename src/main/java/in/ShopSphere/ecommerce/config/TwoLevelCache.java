@@ -0,0 +1,227 @@
+package in.ShopSphere.ecommerce.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+/**
+ * A Caffeine L1 in front of a Redis-backed L2 cache. Reads try L1 first and fill it from
+ * L2 hits; every write and eviction goes to L2 first, then updates this node's L1 and
+ * asks the other nodes to drop their copy. L1 keys use the same string form as Redis keys.
+ */
+public class TwoLevelCache implements Cache {
+
+    private final String name;
+    private final com.github.benmanes.caffeine.cache.Cache<String, ValueWrapper> l1;
+    private final Cache l2;
+    private final TwoLevelCacheManager manager;
+
+    private final Counter l1Hits;
+    private final Counter l1Misses;
+    private final Counter l2Hits;
+    private final Counter l2Misses;
+
+    TwoLevelCache(String name, com.github.benmanes.caffeine.cache.Cache<String, ValueWrapper> l1, Cache l2,
+                  TwoLevelCacheManager manager, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.l1 = l1;
+        this.l2 = l2;
+        this.manager = manager;
+        this.l1Hits = getCounter(meterRegistry, "cache.l1.gets", name, "hit");
+        this.l1Misses = getCounter(meterRegistry, "cache.l1.gets", name, "miss");
+        this.l2Hits = getCounter(meterRegistry, "cache.l2.gets", name, "hit");
+        this.l2Misses = getCounter(meterRegistry, "cache.l2.gets", name, "miss");
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return l2.getNativeCache();
+    }
+
+    /**
+     * The Redis-backed cache behind this one, for callers that batch reads or writes.
+     */
+    public Cache getL2() {
+        return l2;
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        ValueWrapper local = getLocal(key);
+        if (local != null) {
+            return local;
+        }
+        ValueWrapper remote = l2.get(key);
+        if (remote != null) {
+            l2Hits.increment();
+            l1.put(toKey(key), remote);
+        } else {
+            l2Misses.increment();
+        }
+        return remote;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper != null ? wrapper.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper wrapper = get(key);
+        if (wrapper != null) {
+            return (T) wrapper.get();
+        }
+        // L2 runs the loader and stores the result; no other node can hold this key yet
+        T value = l2.get(key, valueLoader);
+        if (value != null) {
+            l1.put(toKey(key), new SimpleValueWrapper(value));
+        }
+        return value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        l2.put(key, value);
+        putLocal(key, value);
+        manager.broadcast(name, List.of(toKey(key)));
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper existing = l2.putIfAbsent(key, value);
+        if (existing != null) {
+            l1.put(toKey(key), existing);
+        } else {
+            putLocal(key, value);
+            manager.broadcast(name, List.of(toKey(key)));
+        }
+        return existing;
+    }
+
+    @Override
+    public void evict(Object key) {
+        l2.evict(key);
+        evictLocal(List.of(toKey(key)));
+        manager.broadcast(name, List.of(toKey(key)));
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        boolean evicted = l2.evictIfPresent(key);
+        evictLocal(List.of(toKey(key)));
+        manager.broadcast(name, List.of(toKey(key)));
+        return evicted;
+    }
+
+    @Override
+    public void clear() {
+        l2.clear();
+        clearLocal();
+        manager.broadcast(name, null);
+    }
+
+    @Override
+    public boolean invalidate() {
+        boolean invalidated = l2.invalidate();
+        clearLocal();
+        manager.broadcast(name, null);
+        return invalidated;
+    }
+
+    /**
+     * L1 lookup only, counted as an L1 hit or miss.
+     */
+    public ValueWrapper getLocal(Object key) {
+        ValueWrapper local = l1.getIfPresent(toKey(key));
+        if (local != null) {
+            l1Hits.increment();
+        } else {
+            l1Misses.increment();
+        }
+        return local;
+    }
+
+    /**
+     * Store a value in this node's L1 without touching L2 or the other nodes.
+     */
+    public void putLocal(Object key, Object value) {
+        if (value == null) {
+            l1.invalidate(toKey(key));
+        } else {
+            l1.put(toKey(key), new SimpleValueWrapper(value));
+        }
+    }
+
+    /**
+     * Tell the other nodes to drop these keys, after L2 was written around this cache.
+     */
+    public void broadcastEvictions(Collection<String> keys) {
+        manager.broadcast(name, new ArrayList<>(keys));
+    }
+
+    /**
+     * Count L2 lookups made on this cache's behalf, e.g. by a batched MGET.
+     */
+    public void recordL2(long hits, long misses) {
+        l2Hits.increment(hits);
+        l2Misses.increment(misses);
+    }
+
+    void evictLocal(List<String> keys) {
+        l1.invalidateAll(keys);
+    }
+
+    void clearLocal() {
+        l1.invalidateAll();
+    }
+
+    Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("l1Size", l1.estimatedSize());
+        stats.put("l1Hits", (long) l1Hits.count());
+        stats.put("l1Misses", (long) l1Misses.count());
+        stats.put("l1HitRatio", ratio(l1Hits.count(), l1Misses.count()));
+        // Only L1 misses reach Redis, so this is the hit ratio of the requests L1 passed on
+        stats.put("l2Hits", (long) l2Hits.count());
+        stats.put("l2Misses", (long) l2Misses.count());
+        stats.put("l2HitRatio", ratio(l2Hits.count(), l2Misses.count()));
+        return stats;
+    }
+
+    static String toKey(Object key) {
+        return String.valueOf(key);
+    }
+
+    private static double ratio(double hits, double misses) {
+        return hits + misses > 0 ? hits / (hits + misses) : 0.0;
+    }
+
+    private static Counter getCounter(MeterRegistry registry, String meter, String cacheName, String result) {
+        return Counter.builder(meter)
+            .description("Cache lookups by tier and outcome")
+            .tag("cache", cacheName)
+            .tag("result", result)
+            .register(registry);
+    }
+}
@@ -0,0 +1,134 @@
+package in.ShopSphere.ecommerce.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Wraps the Redis cache manager and puts a bounded Caffeine L1 in front of the caches
+ * configured under {@code cache.l1.caches}; all other caches are returned unchanged.
+ * Writes and evictions are published on a Redis channel so the other nodes drop their
+ * L1 copies; pub/sub is fire-and-forget, so the L1 TTL bounds staleness when a message
+ * is missed.
+ */
+@Slf4j
+public class TwoLevelCacheManager implements CacheManager, InitializingBean, MessageListener {
+
+    private final CacheManager redisCacheManager;
+    private final TwoLevelCacheProperties properties;
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final MeterRegistry meterRegistry;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Map<String, TwoLevelCache> caches = new ConcurrentHashMap<>();
+
+    public TwoLevelCacheManager(CacheManager redisCacheManager, TwoLevelCacheProperties properties,
+                                RedisTemplate<String, Object> redisTemplate, MeterRegistry meterRegistry) {
+        this.redisCacheManager = redisCacheManager;
+        this.properties = properties;
+        this.redisTemplate = redisTemplate;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void afterPropertiesSet() throws Exception {
+        // The Redis manager is not a bean of its own, so its per-cache TTLs are loaded here
+        if (redisCacheManager instanceof InitializingBean initializing) {
+            initializing.afterPropertiesSet();
+        }
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        TwoLevelCacheProperties.Spec spec = properties.getCaches().get(name);
+        if (spec == null) {
+            return redisCacheManager.getCache(name);
+        }
+        TwoLevelCache cache = caches.get(name);
+        if (cache != null) {
+            return cache;
+        }
+        Cache l2 = redisCacheManager.getCache(name);
+        if (l2 == null) {
+            return null;
+        }
+        return caches.computeIfAbsent(name, cacheName -> new TwoLevelCache(cacheName,
+            Caffeine.newBuilder().maximumSize(spec.getMaxSize()).expireAfterWrite(spec.getTtl()).build(),
+            l2, this, meterRegistry));
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return redisCacheManager.getCacheNames();
+    }
+
+    /**
+     * L1 and L2 hit ratios and L1 size for every two-level cache used so far.
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new TreeMap<>();
+        caches.forEach((name, cache) -> stats.put(name, cache.getStats()));
+        return stats;
+    }
+
+    // A null key list clears the whole cache
+    void broadcast(String cacheName, List<String> keys) {
+        try {
+            redisTemplate.convertAndSend(properties.getChannel(),
+                new Invalidation(nodeId, cacheName, keys != null ? new ArrayList<>(keys) : null));
+        } catch (Exception e) {
+            log.error("Failed to publish cache invalidation for {}: {}", cacheName, e.getMessage());
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            Object body = redisTemplate.getValueSerializer().deserialize(message.getBody());
+            if (!(body instanceof Invalidation invalidation) || nodeId.equals(invalidation.getOrigin())) {
+                return;
+            }
+            TwoLevelCache cache = caches.get(invalidation.getCacheName());
+            if (cache == null) {
+                return;
+            }
+            if (invalidation.getKeys() == null) {
+                cache.clearLocal();
+            } else {
+                cache.evictLocal(invalidation.getKeys());
+            }
+            log.debug("L1 invalidation for {} from node {}", invalidation.getCacheName(), invalidation.getOrigin());
+        } catch (Exception e) {
+            log.error("Failed to apply cache invalidation: {}", e.getMessage());
+        }
+    }
+
+    String getNodeId() {
+        return nodeId;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Invalidation {
+        private String origin;
+        private String cacheName;
+        private List<String> keys;
+    }
+}
@@ -0,0 +1,34 @@
+package in.ShopSphere.ecommerce.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * In-process L1 caches kept in front of Redis. Only the cache names listed under
+ * {@code caches} get an L1; each is bounded by size and by a TTL, which also caps how
+ * long a node can serve a stale entry if an invalidation message is lost.
+ */
+@Component
+@ConfigurationProperties(prefix = "cache.l1")
+@Data
+public class TwoLevelCacheProperties {
+
+    private boolean enabled = true;
+
+    private String channel = "ecommerce:cache-invalidation";
+
+    private Map<String, Spec> caches = new HashMap<>();
+
+    @Data
+    public static class Spec {
+
+        private long maxSize = 10_000;
+
+        private Duration ttl = Duration.ofMinutes(1);
+    }
+}
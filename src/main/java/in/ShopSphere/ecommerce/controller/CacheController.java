@@ -1,17 +1,22 @@
 package in.ShopSphere.ecommerce.controller;
 
+import in.ShopSphere.ecommerce.dto.cache.CacheInvalidationJobResponse;
 import in.ShopSphere.ecommerce.dto.common.ApiResponse;
+import in.ShopSphere.ecommerce.service.CacheInvalidationService;
 import in.ShopSphere.ecommerce.service.CacheService;
+import in.ShopSphere.ecommerce.service.ProductIdentifierFilterService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/cache")
@@ -21,6 +26,8 @@ import java.util.Map;
 public class CacheController {
 
     private final CacheService cacheService;
+    private final CacheInvalidationService cacheInvalidationService;
+    private final ProductIdentifierFilterService identifierFilterService;
 
     @GetMapping("/stats")
     @PreAuthorize("hasRole('ADMIN')")
@@ -46,6 +53,60 @@ public class CacheController {
         }
     }
 
+    @GetMapping("/tiers")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Get cache tier statistics", description = "In-process L1 and Redis L2 hit ratios for the two-level caches")
+    public ResponseEntity<ApiResponse> getCacheTierStats() {
+        try {
+            return ResponseEntity.ok(ApiResponse.success(cacheService.getTierStats(), "Cache tier statistics retrieved successfully"));
+        } catch (Exception e) {
+            log.error("Failed to get cache tier statistics", e);
+            return ResponseEntity.internalServerError()
+                .body(ApiResponse.error("Failed to get cache tier statistics", e.getMessage()));
+        }
+    }
+
+    @GetMapping("/loads")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Get cache load statistics", description = "Cache miss loads per cache, and how many were coalesced onto a load already in flight")
+    public ResponseEntity<ApiResponse> getCacheLoadStats() {
+        try {
+            return ResponseEntity.ok(ApiResponse.success(cacheService.getLoadStats(), "Cache load statistics retrieved successfully"));
+        } catch (Exception e) {
+            log.error("Failed to get cache load statistics", e);
+            return ResponseEntity.internalServerError()
+                .body(ApiResponse.error("Failed to get cache load statistics", e.getMessage()));
+        }
+    }
+
+    @GetMapping("/identifier-filter")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Get identifier filter statistics", description = "Fill, false positive and rebuild figures for the SKU/barcode Bloom filter")
+    public ResponseEntity<ApiResponse> getIdentifierFilterStats() {
+        try {
+            return ResponseEntity.ok(ApiResponse.success(identifierFilterService.getStats(), "Identifier filter statistics retrieved successfully"));
+        } catch (Exception e) {
+            log.error("Failed to get identifier filter statistics", e);
+            return ResponseEntity.internalServerError()
+                .body(ApiResponse.error("Failed to get identifier filter statistics", e.getMessage()));
+        }
+    }
+
+    @PostMapping("/identifier-filter/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Rebuild identifier filter", description = "Reload the SKU/barcode Bloom filter from the database, dropping stale entries")
+    public ResponseEntity<ApiResponse> rebuildIdentifierFilter() {
+        try {
+            int identifiers = identifierFilterService.rebuildFilter();
+            log.info("Identifier filter rebuilt with {} identifiers", identifiers);
+            return ResponseEntity.ok(ApiResponse.success(identifierFilterService.getStats(), "Identifier filter rebuilt with " + identifiers + " identifiers"));
+        } catch (Exception e) {
+            log.error("Failed to rebuild identifier filter", e);
+            return ResponseEntity.internalServerError()
+                .body(ApiResponse.error("Failed to rebuild identifier filter", e.getMessage()));
+        }
+    }
+
     @DeleteMapping("/clear/{cacheName}")
     @PreAuthorize("hasRole('ADMIN')")
     @Operation(summary = "Clear specific cache", description = "Clear a specific cache by name")
@@ -61,6 +122,44 @@ public class CacheController {
         }
     }
 
+    @PostMapping("/invalidation-jobs")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Start pattern invalidation", description = "Delete every Redis key matching a glob pattern in the background, using SCAN and UNLINK")
+    public ResponseEntity<ApiResponse> startInvalidationJob(@RequestParam String pattern) {
+        if (pattern == null || pattern.isBlank()) {
+            return ResponseEntity.badRequest()
+                .body(ApiResponse.error("Failed to start cache invalidation", "Pattern must not be blank"));
+        }
+        try {
+            CacheInvalidationJobResponse job = cacheInvalidationService.submit(pattern);
+            log.info("Cache invalidation job {} started for pattern: {}", job.getId(), pattern);
+            return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(ApiResponse.success(job, "Cache invalidation started"));
+        } catch (Exception e) {
+            log.error("Failed to start cache invalidation for pattern: {}", pattern, e);
+            return ResponseEntity.internalServerError()
+                .body(ApiResponse.error("Failed to start cache invalidation", e.getMessage()));
+        }
+    }
+
+    @GetMapping("/invalidation-jobs")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "List invalidation jobs", description = "Progress of recent background invalidations, newest first")
+    public ResponseEntity<ApiResponse> getInvalidationJobs() {
+        return ResponseEntity.ok(ApiResponse.success(cacheInvalidationService.getJobs(), "Cache invalidation jobs retrieved successfully"));
+    }
+
+    @GetMapping("/invalidation-jobs/{jobId}")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Get invalidation job", description = "Keys scanned and deleted so far by a background invalidation")
+    public ResponseEntity<ApiResponse> getInvalidationJob(@PathVariable String jobId) {
+        Optional<CacheInvalidationJobResponse> job = cacheInvalidationService.getJob(jobId);
+        if (job.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(ApiResponse.success(job.get(), "Cache invalidation job retrieved successfully"));
+    }
+
     @DeleteMapping("/clear/all")
     @PreAuthorize("hasRole('ADMIN')")
     @Operation(summary = "Clear all caches", description = "Clear all caches")
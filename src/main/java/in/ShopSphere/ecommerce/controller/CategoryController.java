@@ -1,10 +1,13 @@
 package in.ShopSphere.ecommerce.controller;
 
+import in.ShopSphere.ecommerce.config.HttpCacheProperties;
 import in.ShopSphere.ecommerce.dto.category.CategoryRequest;
 import in.ShopSphere.ecommerce.dto.category.CategoryResponse;
 import in.ShopSphere.ecommerce.dto.category.CategorySimpleResponse;
 import in.ShopSphere.ecommerce.dto.common.ApiResponse;
+import in.ShopSphere.ecommerce.dto.common.CatalogVersion;
 import in.ShopSphere.ecommerce.dto.common.PaginationResponse;
+import in.ShopSphere.ecommerce.service.CatalogVersionService;
 import in.ShopSphere.ecommerce.service.CategoryService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -17,6 +20,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import jakarta.validation.Valid;
 import java.time.LocalDateTime;
@@ -32,6 +36,8 @@ import java.util.Map;
 public class CategoryController {
 
     private final CategoryService categoryService;
+    private final CatalogVersionService catalogVersionService;
+    private final HttpCacheProperties httpCacheProperties;
 
     @PostMapping
     @PreAuthorize("hasRole('ADMIN')")
@@ -97,9 +103,15 @@ public class CategoryController {
     @GetMapping("/{id}")
     @Operation(summary = "Get category by ID", description = "Retrieves a category by its ID.")
     public ResponseEntity<CategoryResponse> getCategoryById(
-            @Parameter(description = "Category ID") @PathVariable String id) {
+            @Parameter(description = "Category ID") @PathVariable String id,
+            WebRequest request) {
+        if (isNotModified(request)) {
+            return notModified("category");
+        }
         CategoryResponse response = categoryService.getCategoryById(id);
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok()
+            .cacheControl(httpCacheProperties.cacheControl("category"))
+            .body(response);
     }
 
     @GetMapping("/name/{name}")
@@ -113,12 +125,18 @@ public class CategoryController {
     @GetMapping
     @Operation(summary = "Get all categories", description = "Retrieves all categories with pagination.")
     public ResponseEntity<PaginationResponse<CategoryResponse>> getAllCategories(
-            @PageableDefault(size = 20) Pageable pageable) {
+            @PageableDefault(size = 20) Pageable pageable,
+            WebRequest request) {
         try {
+            if (isNotModified(request)) {
+                return notModified("categories");
+            }
             log.info("Fetching all categories with pagination: page={}, size={}", pageable.getPageNumber(), pageable.getPageSize());
             PaginationResponse<CategoryResponse> response = categoryService.getAllCategories(pageable);
             log.info("Successfully fetched {} categories", response.getData().size());
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok()
+                .cacheControl(httpCacheProperties.cacheControl("categories"))
+                .body(response);
         } catch (Exception e) {
             log.error("Error fetching categories: ", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -128,14 +146,19 @@ public class CategoryController {
 
     @GetMapping("/simple")
     @Operation(summary = "Get all categories (simple)", description = "Retrieves all categories as a simple list for frontend consumption.")
-    public ResponseEntity<List<CategorySimpleResponse>> getAllCategoriesSimple() {
+    public ResponseEntity<List<CategorySimpleResponse>> getAllCategoriesSimple(WebRequest request) {
         try {
+            if (isNotModified(request)) {
+                return notModified("categories");
+            }
             log.info("Fetching all categories (simple)");
             List<CategorySimpleResponse> response = categoryService.getActiveCategoriesSimple();
             
             if (response != null && !response.isEmpty()) {
                 log.info("Successfully fetched {} categories (simple)", response.size());
-                return ResponseEntity.ok(response);
+                return ResponseEntity.ok()
+                    .cacheControl(httpCacheProperties.cacheControl("categories"))
+                    .body(response);
             } else {
                 log.warn("No categories found, returning empty list");
                 return ResponseEntity.ok(List.of());
@@ -150,24 +173,40 @@ public class CategoryController {
 
     @GetMapping("/root")
     @Operation(summary = "Get root categories", description = "Retrieves all root (parent) categories.")
-    public ResponseEntity<List<CategoryResponse>> getRootCategories() {
+    public ResponseEntity<List<CategoryResponse>> getRootCategories(WebRequest request) {
+        if (isNotModified(request)) {
+            return notModified("categories");
+        }
         List<CategoryResponse> response = categoryService.getRootCategories();
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok()
+            .cacheControl(httpCacheProperties.cacheControl("categories"))
+            .body(response);
     }
 
     @GetMapping("/{parentId}/subcategories")
     @Operation(summary = "Get subcategories", description = "Retrieves all subcategories of a parent category.")
     public ResponseEntity<List<CategoryResponse>> getSubCategories(
-            @Parameter(description = "Parent category ID") @PathVariable String parentId) {
+            @Parameter(description = "Parent category ID") @PathVariable String parentId,
+            WebRequest request) {
+        if (isNotModified(request)) {
+            return notModified("categories");
+        }
         List<CategoryResponse> response = categoryService.getSubCategories(parentId);
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok()
+            .cacheControl(httpCacheProperties.cacheControl("categories"))
+            .body(response);
     }
 
     @GetMapping("/active")
     @Operation(summary = "Get active categories", description = "Retrieves all active categories.")
-    public ResponseEntity<List<CategoryResponse>> getActiveCategories() {
+    public ResponseEntity<List<CategoryResponse>> getActiveCategories(WebRequest request) {
+        if (isNotModified(request)) {
+            return notModified("categories");
+        }
         List<CategoryResponse> response = categoryService.getActiveCategories();
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok()
+            .cacheControl(httpCacheProperties.cacheControl("categories"))
+            .body(response);
     }
 
     @GetMapping("/with-products")
@@ -297,4 +336,16 @@ public class CategoryController {
         ApiResponse response = categoryService.moveCategory(id, newParentId);
         return ResponseEntity.ok(response);
     }
+
+    // Every category response shares one version, so unchanged data never reaches the service
+    private boolean isNotModified(WebRequest request) {
+        CatalogVersion version = catalogVersionService.getCategoryVersion();
+        return version != null && request.checkNotModified(version.getEtag(), version.getLastModified());
+    }
+
+    private <T> ResponseEntity<T> notModified(String endpoint) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+            .cacheControl(httpCacheProperties.cacheControl(endpoint))
+            .build();
+    }
 }
@@ -66,8 +66,11 @@ public class OrderController {
     @PreAuthorize("isAuthenticated()")
     @Operation(summary = "Get user orders", description = "Retrieves orders for the current user.")
     public ResponseEntity<PaginationResponse<OrderResponse>> getUserOrders(
+            @Parameter(description = "Keyset cursor; pass an empty value for the first page") @RequestParam(required = false) String cursor,
             @PageableDefault(size = 20) Pageable pageable) {
-        PaginationResponse<OrderResponse> response = orderService.getUserOrders(pageable);
+        PaginationResponse<OrderResponse> response = cursor != null
+            ? orderService.getUserOrdersByCursor(cursor, pageable.getPageSize())
+            : orderService.getUserOrders(pageable);
         return ResponseEntity.ok(response);
     }
 
@@ -75,8 +78,11 @@ public class OrderController {
     @PreAuthorize("hasRole('ADMIN')")
     @Operation(summary = "Get all orders", description = "Retrieves all orders. Admin only.")
     public ResponseEntity<PaginationResponse<OrderResponse>> getAllOrders(
+            @Parameter(description = "Keyset cursor; pass an empty value for the first page") @RequestParam(required = false) String cursor,
             @PageableDefault(size = 20) Pageable pageable) {
-        PaginationResponse<OrderResponse> response = orderService.getAllOrders(pageable);
+        PaginationResponse<OrderResponse> response = cursor != null
+            ? orderService.getAllOrdersByCursor(cursor, pageable.getPageSize())
+            : orderService.getAllOrders(pageable);
         return ResponseEntity.ok(response);
     }
 
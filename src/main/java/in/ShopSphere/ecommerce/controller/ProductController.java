@@ -1,11 +1,38 @@
 package in.ShopSphere.ecommerce.controller;
 
+import in.ShopSphere.ecommerce.config.HttpCacheProperties;
 import in.ShopSphere.ecommerce.dto.common.ApiResponse;
+import in.ShopSphere.ecommerce.dto.common.CatalogVersion;
 import in.ShopSphere.ecommerce.dto.common.PaginationResponse;
 import in.ShopSphere.ecommerce.dto.common.SearchFilters;
+import in.ShopSphere.ecommerce.dto.product.BulkProductUpdateRequest;
+import in.ShopSphere.ecommerce.dto.product.BulkProductUpdateResponse;
+import in.ShopSphere.ecommerce.dto.product.CoOccurrenceRefreshResponse;
+import in.ShopSphere.ecommerce.dto.product.FacetSearchRequest;
+import in.ShopSphere.ecommerce.dto.product.FacetSearchResponse;
+import in.ShopSphere.ecommerce.dto.product.PriceStatsResponse;
+import in.ShopSphere.ecommerce.dto.product.ProductBatchRequest;
 import in.ShopSphere.ecommerce.dto.product.ProductRequest;
 import in.ShopSphere.ecommerce.dto.product.ProductResponse;
+import in.ShopSphere.ecommerce.dto.product.ProductSuggestion;
+import in.ShopSphere.ecommerce.dto.product.SellerProductSummary;
+import in.ShopSphere.ecommerce.model.entity.User;
+import in.ShopSphere.ecommerce.model.entity.UserRole;
+import in.ShopSphere.ecommerce.repository.ProductSpecifications;
+import in.ShopSphere.ecommerce.service.CatalogVersionService;
+import in.ShopSphere.ecommerce.service.ProductBulkService;
+import in.ShopSphere.ecommerce.service.ProductCatalogSnapshotService;
+import in.ShopSphere.ecommerce.service.ProductCounterService;
+import in.ShopSphere.ecommerce.service.ProductExportService;
+import in.ShopSphere.ecommerce.service.ProductFacetService;
+import in.ShopSphere.ecommerce.service.ProductPriceStatsService;
+import in.ShopSphere.ecommerce.service.ProductRankingService;
+import in.ShopSphere.ecommerce.service.ProductRecommendationService;
+import in.ShopSphere.ecommerce.service.ProductSearchService;
 import in.ShopSphere.ecommerce.service.ProductService;
+import in.ShopSphere.ecommerce.service.ProductSuggestService;
+import in.ShopSphere.ecommerce.service.ProductTrendingService;
+import in.ShopSphere.ecommerce.service.RecentlyViewedService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
@@ -13,13 +40,22 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Locale;
+import java.util.zip.GZIPOutputStream;
 import in.ShopSphere.ecommerce.dto.common.SearchFilters;
 
 @RestController
@@ -30,6 +66,20 @@ import in.ShopSphere.ecommerce.dto.common.SearchFilters;
 public class ProductController {
     
     private final ProductService productService;
+    private final ProductSearchService productSearchService;
+    private final ProductFacetService productFacetService;
+    private final ProductSuggestService productSuggestService;
+    private final ProductCatalogSnapshotService catalogSnapshotService;
+    private final ProductRankingService productRankingService;
+    private final ProductBulkService productBulkService;
+    private final ProductExportService productExportService;
+    private final ProductPriceStatsService productPriceStatsService;
+    private final ProductRecommendationService productRecommendationService;
+    private final RecentlyViewedService recentlyViewedService;
+    private final ProductCounterService productCounterService;
+    private final ProductTrendingService productTrendingService;
+    private final CatalogVersionService catalogVersionService;
+    private final HttpCacheProperties httpCacheProperties;
     
     @PostMapping
     @PreAuthorize("hasAnyRole('SELLER', 'ADMIN')")
@@ -62,16 +112,65 @@ public class ProductController {
     
     @GetMapping("/{id}")
     @Operation(summary = "Get product by ID", description = "Get product details by ID")
-    public ResponseEntity<ApiResponse> getProductById(@PathVariable String id) {
+    public ResponseEntity<ApiResponse> getProductById(@PathVariable String id, WebRequest request) {
         try {
+            // Stamped from the cached response, so a GET costs no database read; a revalidated read is still a view
             ProductResponse product = productService.getProductById(id);
-            return ResponseEntity.ok(ApiResponse.success(product, "Product retrieved successfully"));
+            recordView(id);
+            if (isNotModified(request, catalogVersionService.getProductVersion(product))) {
+                return notModified("product");
+            }
+            return ResponseEntity.ok()
+                .cacheControl(httpCacheProperties.cacheControl("product"))
+                .body(ApiResponse.success(product, "Product retrieved successfully"));
         } catch (Exception e) {
             log.error("Product retrieval failed: {}", e.getMessage());
             return ResponseEntity.notFound().build();
         }
     }
     
+    @PostMapping("/batch")
+    @Operation(summary = "Get products by IDs", description = "Get up to 100 active products in one call, in request order; unknown IDs are skipped")
+    public ResponseEntity<ApiResponse> getProductsByIds(@Valid @RequestBody ProductBatchRequest request) {
+        try {
+            List<ProductResponse> products = productService.getProductsByIds(request.getIds());
+            return ResponseEntity.ok(ApiResponse.success(products, "Products retrieved successfully"));
+        } catch (Exception e) {
+            log.error("Batch product retrieval failed: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(ApiResponse.error("Batch product retrieval failed", e.getMessage()));
+        }
+    }
+    
+    @GetMapping("/{id}/related")
+    @Operation(summary = "Get related products", description = "Products most often bought together with this one, best first")
+    public ResponseEntity<ApiResponse> getRelatedProducts(@PathVariable String id, @RequestParam(defaultValue = "10") int limit) {
+        try {
+            List<ProductResponse> products = productRecommendationService.getRelatedProducts(id, limit);
+            return ResponseEntity.ok()
+                .cacheControl(httpCacheProperties.cacheControl("related"))
+                .body(ApiResponse.success(products, "Related products retrieved successfully"));
+        } catch (Exception e) {
+            log.error("Related products retrieval failed: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(ApiResponse.error("Related products retrieval failed", e.getMessage()));
+        }
+    }
+    
+    @PostMapping("/related/refresh")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Refresh related products", description = "Count orders placed since the last run and rebuild the affected related product lists (Admin only)")
+    public ResponseEntity<ApiResponse> refreshRelatedProducts() {
+        try {
+            CoOccurrenceRefreshResponse result = productRecommendationService.refreshCoOccurrences();
+            return ResponseEntity.ok(ApiResponse.success(result, "Related products refreshed"));
+        } catch (Exception e) {
+            log.error("Related products refresh failed: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(ApiResponse.error("Related products refresh failed", e.getMessage()));
+        }
+    }
+    
     @GetMapping("/sku/{sku}")
     @Operation(summary = "Get product by SKU", description = "Get product details by SKU")
     public ResponseEntity<ApiResponse> getProductBySku(@PathVariable String sku) {
@@ -88,11 +187,16 @@ public class ProductController {
     @Operation(summary = "Get all products", description = "Get paginated list of all products")
     public ResponseEntity<ApiResponse> getAllProducts(
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "20") int size) {
+            @RequestParam(defaultValue = "20") int size,
+            WebRequest request) {
         try {
-            Pageable pageable = PageRequest.of(page, size);
-            PaginationResponse<ProductResponse> products = productService.getAllProducts(pageable);
-            return ResponseEntity.ok(ApiResponse.success(products, "Products retrieved successfully"));
+            if (isNotModified(request, catalogVersionService.getProductListVersion())) {
+                return notModified("listing");
+            }
+            PaginationResponse<ProductResponse> products = productService.getAllProducts(PageRequest.of(page, size));
+            return ResponseEntity.ok()
+                .cacheControl(httpCacheProperties.cacheControl("listing"))
+                .body(ApiResponse.success(products, "Products retrieved successfully"));
         } catch (Exception e) {
             log.error("Products retrieval failed: {}", e.getMessage());
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -100,15 +204,38 @@ public class ProductController {
         }
     }
     
+    @GetMapping("/price-stats")
+    @Operation(summary = "Get price statistics", description = "Histogram, percentiles and count of current prices for a filter set, e.g. to drive a price slider")
+    public ResponseEntity<ApiResponse> getPriceStats(
+            @ModelAttribute SearchFilters filters,
+            @RequestParam(defaultValue = "10") int buckets,
+            WebRequest request) {
+        try {
+            if (isNotModified(request, catalogVersionService.getProductListVersion())) {
+                return notModified("price-stats");
+            }
+            PriceStatsResponse stats = productPriceStatsService.getPriceStats(filters, buckets);
+            return ResponseEntity.ok()
+                .cacheControl(httpCacheProperties.cacheControl("price-stats"))
+                .body(ApiResponse.success(stats, "Price statistics retrieved successfully"));
+        } catch (Exception e) {
+            log.error("Price statistics retrieval failed: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(ApiResponse.error("Price statistics retrieval failed", e.getMessage()));
+        }
+    }
+    
     @PostMapping("/search/filters")
     @Operation(summary = "Search products with filters", description = "Search products using advanced filters")
     public ResponseEntity<ApiResponse> searchProductsWithFilters(
             @Valid @RequestBody SearchFilters filters,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "20") int size) {
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "createdAt") String sortBy,
+            @RequestParam(defaultValue = "desc") String sortDir) {
         try {
             log.info("Searching products with filters: {}", filters);
-            Pageable pageable = PageRequest.of(page, size);
+            Pageable pageable = PageRequest.of(page, size, ProductSpecifications.sortFor(sortBy, sortDir));
             PaginationResponse<ProductResponse> products = productService.searchProductsWithFilters(filters, pageable);
             return ResponseEntity.ok(ApiResponse.success(products, "Products search completed successfully"));
         } catch (Exception e) {
@@ -136,16 +263,109 @@ public class ProductController {
         }
     }
     
+    @GetMapping("/facets")
+    @Operation(summary = "Faceted product search", description = "Products matching the selected facet values, with counts for every facet")
+    public ResponseEntity<ApiResponse> searchWithFacets(
+            @ModelAttribute FacetSearchRequest request,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        try {
+            Pageable pageable = PageRequest.of(page, size);
+            FacetSearchResponse result = productFacetService.search(request, pageable);
+            return ResponseEntity.ok(ApiResponse.success(result, "Faceted search completed successfully"));
+        } catch (Exception e) {
+            log.error("Faceted search failed: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(ApiResponse.error("Faceted search failed", e.getMessage()));
+        }
+    }
+    
+    @GetMapping("/suggest")
+    @Operation(summary = "Autocomplete suggestions", description = "Product, brand, SKU and category suggestions for a typed prefix")
+    public ResponseEntity<ApiResponse> suggest(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "10") int limit) {
+        try {
+            List<ProductSuggestion> suggestions = productSuggestService.suggest(q, limit);
+            return ResponseEntity.ok(ApiResponse.success(suggestions, "Suggestions retrieved"));
+        } catch (Exception e) {
+            log.error("Product suggestions failed: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(ApiResponse.error("Product suggestions failed", e.getMessage()));
+        }
+    }
+
+    @PostMapping("/search/reindex")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Rebuild search index", description = "Reload the in-memory product search index (Admin only)")
+    public ResponseEntity<ApiResponse> rebuildSearchIndex() {
+        try {
+            int indexed = productSearchService.rebuildIndex();
+            productFacetService.rebuildFacets();
+            productSuggestService.scheduleRebuild();
+            catalogSnapshotService.rebuildSnapshot();
+            productRankingService.reseed();
+            return ResponseEntity.ok(ApiResponse.success(indexed, "Search index rebuilt with " + indexed + " products"));
+        } catch (Exception e) {
+            log.error("Search index rebuild failed: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(ApiResponse.error("Search index rebuild failed", e.getMessage()));
+        }
+    }
+    
+    @GetMapping("/export")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Export catalog", description = "Stream every active product as NDJSON or CSV, optionally gzipped (Admin only)")
+    public ResponseEntity<?> exportProducts(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        ProductExportService.Format exportFormat;
+        try {
+            exportFormat = ProductExportService.Format.valueOf(format.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                .body(ApiResponse.error("Unsupported export format", "Use ndjson or csv"));
+        }
+        
+        // Runs on an async thread after this method returns, so rows go out as they are read
+        StreamingResponseBody body = out -> {
+            if (gzip) {
+                GZIPOutputStream compressed = new GZIPOutputStream(out, 64 * 1024);
+                productExportService.exportActiveProducts(exportFormat, compressed);
+                compressed.finish();
+            } else {
+                productExportService.exportActiveProducts(exportFormat, out);
+            }
+        };
+        
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+            .contentType(MediaType.parseMediaType(exportFormat.getMediaType() + ";charset=UTF-8"))
+            .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename("products." + exportFormat.getExtension())
+                .build()
+                .toString());
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+    
     @GetMapping("/category/{categoryId}")
     @Operation(summary = "Get products by category", description = "Get products in a specific category")
     public ResponseEntity<ApiResponse> getProductsByCategory(
             @PathVariable String categoryId,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "20") int size) {
+            @RequestParam(defaultValue = "20") int size,
+            WebRequest request) {
         try {
+            if (isNotModified(request, catalogVersionService.getProductListVersion())) {
+                return notModified("listing");
+            }
             Pageable pageable = PageRequest.of(page, size);
             PaginationResponse<ProductResponse> products = productService.getProductsByCategory(categoryId, pageable);
-            return ResponseEntity.ok(ApiResponse.success(products, "Category products retrieved"));
+            return ResponseEntity.ok()
+                .cacheControl(httpCacheProperties.cacheControl("listing"))
+                .body(ApiResponse.success(products, "Category products retrieved"));
         } catch (Exception e) {
             log.error("Category products retrieval failed: {}", e.getMessage());
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -158,10 +378,12 @@ public class ProductController {
     public ResponseEntity<ApiResponse> getProductsBySeller(
             @PathVariable String sellerId,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "20") int size) {
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String cursor) {
         try {
-            Pageable pageable = PageRequest.of(page, size);
-            PaginationResponse<ProductResponse> products = productService.getProductsBySeller(sellerId, pageable);
+            PaginationResponse<ProductResponse> products = cursor != null
+                ? productService.getProductsBySellerByCursor(sellerId, cursor, size)
+                : productService.getProductsBySeller(sellerId, PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "createdAt")));
             return ResponseEntity.ok(ApiResponse.success(products, "Seller products retrieved"));
         } catch (Exception e) {
             log.error("Seller products retrieval failed: {}", e.getMessage());
@@ -170,12 +392,37 @@ public class ProductController {
         }
     }
     
+    @GetMapping("/seller/{sellerId}/summary")
+    @PreAuthorize("hasAnyRole('SELLER', 'ADMIN')")
+    @Operation(summary = "Get seller catalog summary", description = "Active, low-stock and out-of-stock product counts for a seller dashboard")
+    public ResponseEntity<ApiResponse> getSellerSummary(@PathVariable String sellerId,
+                                                        @AuthenticationPrincipal User currentUser) {
+        // Same rule as the seller write endpoints: sellers only see their own catalog
+        if (currentUser == null || (currentUser.getRole() != UserRole.ADMIN && !currentUser.getId().equals(sellerId))) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                .body(ApiResponse.error("Seller summary retrieval failed", "You can only view your own catalog summary"));
+        }
+        try {
+            SellerProductSummary summary = productService.getSellerSummary(sellerId);
+            return ResponseEntity.ok(ApiResponse.success(summary, "Seller summary retrieved"));
+        } catch (Exception e) {
+            log.error("Seller summary retrieval failed: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(ApiResponse.error("Seller summary retrieval failed", e.getMessage()));
+        }
+    }
+    
     @GetMapping("/featured")
     @Operation(summary = "Get featured products", description = "Get list of featured products")
-    public ResponseEntity<ApiResponse> getFeaturedProducts() {
+    public ResponseEntity<ApiResponse> getFeaturedProducts(WebRequest request) {
         try {
+            if (isNotModified(request, catalogVersionService.getProductListVersion())) {
+                return notModified("featured");
+            }
             List<ProductResponse> products = productService.getFeaturedProducts();
-            return ResponseEntity.ok(ApiResponse.success(products, "Featured products retrieved"));
+            return ResponseEntity.ok()
+                .cacheControl(httpCacheProperties.cacheControl("featured"))
+                .body(ApiResponse.success(products, "Featured products retrieved"));
         } catch (Exception e) {
             log.error("Featured products retrieval failed: {}", e.getMessage());
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -184,11 +431,23 @@ public class ProductController {
     }
     
     @GetMapping("/latest")
-    @Operation(summary = "Get latest products", description = "Get list of latest products")
-    public ResponseEntity<ApiResponse> getLatestProducts(@RequestParam(defaultValue = "10") int limit) {
+    @Operation(summary = "Get latest products", description = "Get list of latest products; pass a cursor (empty for the first page) to page through the whole catalog, newest first")
+    public ResponseEntity<ApiResponse> getLatestProducts(
+            @RequestParam(defaultValue = "10") int limit,
+            @RequestParam(required = false) String cursor,
+            WebRequest request) {
         try {
+            if (isNotModified(request, catalogVersionService.getProductListVersion())) {
+                return notModified("latest");
+            }
+            ResponseEntity.BodyBuilder ok = ResponseEntity.ok()
+                .cacheControl(httpCacheProperties.cacheControl("latest"));
+            if (cursor != null) {
+                PaginationResponse<ProductResponse> page = productService.getLatestProductsByCursor(cursor, limit);
+                return ok.body(ApiResponse.success(page, "Latest products retrieved"));
+            }
             List<ProductResponse> products = productService.getLatestProducts(limit);
-            return ResponseEntity.ok(ApiResponse.success(products, "Latest products retrieved"));
+            return ok.body(ApiResponse.success(products, "Latest products retrieved"));
         } catch (Exception e) {
             log.error("Latest products retrieval failed: {}", e.getMessage());
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -197,11 +456,23 @@ public class ProductController {
     }
     
     @GetMapping("/top-rated")
-    @Operation(summary = "Get top rated products", description = "Get list of top rated products")
-    public ResponseEntity<ApiResponse> getTopRatedProducts(@RequestParam(defaultValue = "10") int limit) {
+    @Operation(summary = "Get top rated products", description = "Get list of top rated products; pass a cursor (empty for the first page) for keyset paging")
+    public ResponseEntity<ApiResponse> getTopRatedProducts(
+            @RequestParam(defaultValue = "10") int limit,
+            @RequestParam(required = false) String cursor,
+            WebRequest request) {
         try {
+            if (isNotModified(request, catalogVersionService.getProductListVersion())) {
+                return notModified("top-rated");
+            }
+            ResponseEntity.BodyBuilder ok = ResponseEntity.ok()
+                .cacheControl(httpCacheProperties.cacheControl("top-rated"));
+            if (cursor != null) {
+                PaginationResponse<ProductResponse> page = productService.getTopRatedProductsByCursor(cursor, limit);
+                return ok.body(ApiResponse.success(page, "Top rated products retrieved"));
+            }
             List<ProductResponse> products = productService.getTopRatedProducts(limit);
-            return ResponseEntity.ok(ApiResponse.success(products, "Top rated products retrieved"));
+            return ok.body(ApiResponse.success(products, "Top rated products retrieved"));
         } catch (Exception e) {
             log.error("Top rated products retrieval failed: {}", e.getMessage());
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -209,12 +480,60 @@ public class ProductController {
         }
     }
     
+    @GetMapping("/popular")
+    @Operation(summary = "Get popular products", description = "Get products ranked by views, add-to-carts and purchases")
+    public ResponseEntity<ApiResponse> getPopularProducts(@RequestParam(defaultValue = "10") int limit) {
+        try {
+            List<ProductResponse> products = productService.getPopularProducts(limit);
+            return ResponseEntity.ok()
+                .cacheControl(httpCacheProperties.cacheControl("popular"))
+                .body(ApiResponse.success(products, "Popular products retrieved"));
+        } catch (Exception e) {
+            log.error("Popular products retrieval failed: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(ApiResponse.error("Popular products retrieval failed", e.getMessage()));
+        }
+    }
+    
+    @GetMapping("/trending")
+    @Operation(summary = "Get trending products", description = "Get the most viewed and purchased products of the last hour or day")
+    public ResponseEntity<ApiResponse> getTrendingProducts(
+            @RequestParam(defaultValue = "hour") String window,
+            @RequestParam(defaultValue = "10") int limit) {
+        try {
+            ProductTrendingService.Window trendingWindow = ProductTrendingService.Window.valueOf(window.toUpperCase(Locale.ROOT));
+            List<ProductResponse> products = productTrendingService.getTrending(trendingWindow, limit);
+            return ResponseEntity.ok()
+                .cacheControl(httpCacheProperties.cacheControl("trending"))
+                .body(ApiResponse.success(products, "Trending products retrieved"));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                .body(ApiResponse.error("Unknown trending window: " + window + " (use hour or day)"));
+        } catch (Exception e) {
+            log.error("Trending products retrieval failed: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(ApiResponse.error("Trending products retrieval failed", e.getMessage()));
+        }
+    }
+    
+    @GetMapping("/trending/stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Get trending sketch statistics", description = "Memory footprint and error bound of the trending windows (Admin only)")
+    public ResponseEntity<ApiResponse> getTrendingStats() {
+        return ResponseEntity.ok(ApiResponse.success(productTrendingService.getStats(), "Trending statistics retrieved"));
+    }
+    
     @GetMapping("/discounted")
     @Operation(summary = "Get discounted products", description = "Get list of discounted products")
-    public ResponseEntity<ApiResponse> getDiscountedProducts() {
+    public ResponseEntity<ApiResponse> getDiscountedProducts(WebRequest request) {
         try {
+            if (isNotModified(request, catalogVersionService.getProductListVersion())) {
+                return notModified("discounted");
+            }
             List<ProductResponse> products = productService.getDiscountedProducts();
-            return ResponseEntity.ok(ApiResponse.success(products, "Discounted products retrieved"));
+            return ResponseEntity.ok()
+                .cacheControl(httpCacheProperties.cacheControl("discounted"))
+                .body(ApiResponse.success(products, "Discounted products retrieved"));
         } catch (Exception e) {
             log.error("Discounted products retrieval failed: {}", e.getMessage());
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -313,6 +632,21 @@ public class ProductController {
         }
     }
     
+    @PostMapping("/bulk")
+    @PreAuthorize("hasAnyRole('SELLER', 'ADMIN')")
+    @Operation(summary = "Bulk update products", description = "Apply price, stock, status and featured updates in one batch (Seller/Admin only)")
+    public ResponseEntity<ApiResponse> bulkUpdate(@Valid @RequestBody BulkProductUpdateRequest request) {
+        try {
+            BulkProductUpdateResponse result = productBulkService.bulkUpdate(request);
+            return ResponseEntity.ok(ApiResponse.success(result,
+                "Bulk update applied " + result.getUpdated() + " of " + result.getRequested() + " items"));
+        } catch (Exception e) {
+            log.error("Bulk product update failed: {}", e.getMessage());
+            return ResponseEntity.badRequest()
+                .body(ApiResponse.error("Bulk product update failed", e.getMessage()));
+        }
+    }
+    
     @PatchMapping("/{id}/price")
     @PreAuthorize("hasAnyRole('SELLER', 'ADMIN')")
     @Operation(summary = "Update price", description = "Update product price (Seller/Admin only)")
@@ -343,4 +677,21 @@ public class ProductController {
                 .body(ApiResponse.error("Failed to clear products cache: " + e.getMessage()));
         }
     }
+    
+    private void recordView(String productId) {
+        recentlyViewedService.recordView(productId);
+        productCounterService.increment(productId, ProductCounterService.Signal.VIEW);
+        productTrendingService.recordView(productId);
+    }
+    
+    // Listings are answered from version stamps alone, so an unchanged one never reaches the service
+    private boolean isNotModified(WebRequest request, CatalogVersion version) {
+        return version != null && request.checkNotModified(version.getEtag(), version.getLastModified());
+    }
+    
+    private <T> ResponseEntity<T> notModified(String endpoint) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+            .cacheControl(httpCacheProperties.cacheControl(endpoint))
+            .build();
+    }
 }
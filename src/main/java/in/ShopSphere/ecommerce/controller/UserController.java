@@ -4,9 +4,11 @@ import in.ShopSphere.ecommerce.dto.address.AddressRequest;
 import in.ShopSphere.ecommerce.dto.address.AddressResponse;
 import in.ShopSphere.ecommerce.dto.common.ApiResponse;
 import in.ShopSphere.ecommerce.dto.common.PaginationResponse;
+import in.ShopSphere.ecommerce.dto.product.ProductResponse;
 import in.ShopSphere.ecommerce.dto.user.UserResponse;
 import in.ShopSphere.ecommerce.dto.user.UserUpdateRequest;
 import in.ShopSphere.ecommerce.model.entity.UserRole;
+import in.ShopSphere.ecommerce.service.RecentlyViewedService;
 import in.ShopSphere.ecommerce.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -30,6 +32,7 @@ import java.util.List;
 public class UserController {
 
     private final UserService userService;
+    private final RecentlyViewedService recentlyViewedService;
 
     @GetMapping("/me")
     @PreAuthorize("isAuthenticated()")
@@ -40,6 +43,16 @@ public class UserController {
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping("/me/recently-viewed")
+    @PreAuthorize("isAuthenticated()")
+    @Operation(summary = "Get recently viewed products", description = "Retrieves the current user's recently viewed products, most recent first.")
+    public ResponseEntity<List<ProductResponse>> getRecentlyViewed(
+            @Parameter(description = "Maximum number of products") @RequestParam(defaultValue = "10") int limit) {
+        log.info("Getting recently viewed products for current user");
+        List<ProductResponse> response = recentlyViewedService.getRecentlyViewed(limit);
+        return ResponseEntity.ok(response);
+    }
+
     @PutMapping("/me")
     @PreAuthorize("isAuthenticated()")
     @Operation(summary = "Update current user profile", description = "Updates the current user's profile information.")
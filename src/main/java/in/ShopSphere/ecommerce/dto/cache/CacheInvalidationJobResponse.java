@@ -0,0 +1,28 @@
+package in.ShopSphere.ecommerce.dto.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheInvalidationJobResponse {
+    
+    private String id;
+    private String pattern;
+    
+    // QUEUED, RUNNING, COMPLETED or FAILED
+    private String status;
+    private long keysScanned;
+    private long keysDeleted;
+    private long batches;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private long durationMs;
+    private String error;
+}
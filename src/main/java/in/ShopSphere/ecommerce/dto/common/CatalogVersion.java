@@ -0,0 +1,19 @@
+package in.ShopSphere.ecommerce.dto.common;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+/**
+ * Validators for a conditional GET, derived from version stamps rather than the response body.
+ */
+@Getter
+@RequiredArgsConstructor
+@ToString
+public class CatalogVersion {
+
+    private final String etag;
+
+    // Epoch millis, or -1 when there is no modification time to send
+    private final long lastModified;
+}
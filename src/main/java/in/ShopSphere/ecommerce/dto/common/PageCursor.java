@@ -0,0 +1,81 @@
+package in.ShopSphere.ecommerce.dto.common;
+
+import in.ShopSphere.ecommerce.exception.ValidationException;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Opaque keyset cursor. Holds the sort key values of the last row on a page
+ * (always ending with its id) so the next page can seek past it.
+ */
+public final class PageCursor {
+
+    public static final int MAX_LIMIT = 100;
+
+    private static final String SEPARATOR = "\u001F";
+
+    private PageCursor() {
+    }
+
+    public static String encode(Object... keys) {
+        StringBuilder raw = new StringBuilder();
+        for (int i = 0; i < keys.length; i++) {
+            if (i > 0) {
+                raw.append(SEPARATOR);
+            }
+            raw.append(keys[i]);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static String[] decode(String cursor, int expectedKeys) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] keys = raw.split(SEPARATOR, -1);
+            if (keys.length != expectedKeys) {
+                throw new ValidationException("Invalid pagination cursor", "cursor", "INVALID_CURSOR");
+            }
+            return keys;
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException("Invalid pagination cursor", "cursor", "INVALID_CURSOR");
+        }
+    }
+
+    public static LocalDateTime timestampKey(String key) {
+        try {
+            return LocalDateTime.parse(key);
+        } catch (DateTimeParseException e) {
+            throw new ValidationException("Invalid pagination cursor", "cursor", "INVALID_CURSOR");
+        }
+    }
+
+    public static BigDecimal decimalKey(String key) {
+        try {
+            return new BigDecimal(key);
+        } catch (NumberFormatException e) {
+            throw new ValidationException("Invalid pagination cursor", "cursor", "INVALID_CURSOR");
+        }
+    }
+
+    public static int intKey(String key) {
+        try {
+            return Integer.parseInt(key);
+        } catch (NumberFormatException e) {
+            throw new ValidationException("Invalid pagination cursor", "cursor", "INVALID_CURSOR");
+        }
+    }
+
+    // Page sizes come straight from query parameters
+    public static int clampLimit(int limit) {
+        return Math.max(1, Math.min(limit, MAX_LIMIT));
+    }
+
+    // A blank cursor asks for the first page in keyset mode
+    public static boolean isFirstPage(String cursor) {
+        return cursor == null || cursor.isBlank();
+    }
+}
@@ -1,5 +1,6 @@
 package in.ShopSphere.ecommerce.dto.common;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -30,6 +31,10 @@ public class PaginationResponse<T> {
         private int nextPage;
         private int previousPage;
         
+        // Set only in keyset mode; pass it back as ?cursor= to fetch the next page
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        private String nextCursor;
+        
         public static PaginationInfo of(int page, int limit, long total) {
             int totalPages = (int) Math.ceil((double) total / limit);
             return PaginationInfo.builder()
@@ -44,6 +49,14 @@ public class PaginationResponse<T> {
                     .build();
         }
         
+        public static PaginationInfo ofCursor(int limit, String nextCursor) {
+            return PaginationInfo.builder()
+                    .limit(limit)
+                    .hasNext(nextCursor != null)
+                    .nextCursor(nextCursor)
+                    .build();
+        }
+        
         public void setSize(int size) {
             this.limit = size;
         }
@@ -56,6 +69,13 @@ public class PaginationResponse<T> {
                 .build();
     }
     
+    public static <T> PaginationResponse<T> ofCursor(List<T> data, int limit, String nextCursor) {
+        return PaginationResponse.<T>builder()
+                .data(data)
+                .pagination(PaginationInfo.ofCursor(limit, nextCursor))
+                .build();
+    }
+    
     public static <T> PaginationResponse<T> of(List<T> data, PaginationInfo pagination) {
         return PaginationResponse.<T>builder()
                 .data(data)
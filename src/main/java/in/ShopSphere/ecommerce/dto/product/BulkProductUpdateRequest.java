@@ -0,0 +1,47 @@
+package in.ShopSphere.ecommerce.dto.product;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+public class BulkProductUpdateRequest {
+    
+    @NotEmpty(message = "At least one update is required")
+    @Size(max = 5000, message = "A bulk request may contain at most 5000 updates")
+    @Valid
+    private List<Item> items;
+    
+    public enum Operation { PRICE, STOCK, STATUS, FEATURED }
+    
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Item {
+        
+        @NotBlank(message = "Product ID is required")
+        private String productId;
+        
+        @NotNull(message = "Operation is required")
+        private Operation operation;
+        
+        // PRICE
+        private BigDecimal price;
+        private BigDecimal salePrice;
+        
+        // STOCK
+        private Integer stockQuantity;
+        
+        // STATUS and FEATURED set the flag explicitly rather than toggling it
+        private Boolean active;
+        private Boolean featured;
+    }
+}
@@ -0,0 +1,33 @@
+package in.ShopSphere.ecommerce.dto.product;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkProductUpdateResponse {
+    
+    private int requested;
+    private int updated;
+    private int failed;
+    
+    // One entry per request item, in request order
+    private List<ItemResult> results;
+    
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ItemResult {
+        private int index;
+        private String productId;
+        private BulkProductUpdateRequest.Operation operation;
+        private boolean success;
+        private String message;
+    }
+}
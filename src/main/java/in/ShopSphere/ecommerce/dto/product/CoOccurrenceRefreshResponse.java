@@ -0,0 +1,23 @@
+package in.ShopSphere.ecommerce.dto.product;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CoOccurrenceRefreshResponse {
+    
+    private long ordersProcessed;
+    private long pairsUpdated;
+    private int productsRefreshed;
+    
+    // Creation time of the last order consumed; the next run starts after it
+    private LocalDateTime highWaterMark;
+    private long durationMs;
+}
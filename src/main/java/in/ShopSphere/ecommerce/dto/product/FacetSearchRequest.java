@@ -0,0 +1,19 @@
+package in.ShopSphere.ecommerce.dto.product;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class FacetSearchRequest {
+    
+    // Optional free-text query, matched through the search index
+    private String query;
+    
+    // Values are OR-ed within a facet and AND-ed across facets
+    private List<String> categories;
+    private List<String> brands;
+    private List<String> priceBands;
+    private List<String> ratings;
+    private Boolean inStock;
+}
@@ -0,0 +1,21 @@
+package in.ShopSphere.ecommerce.dto.product;
+
+import in.ShopSphere.ecommerce.dto.common.PaginationResponse;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FacetSearchResponse {
+    
+    private PaginationResponse<ProductResponse> results;
+    
+    // facet name -> facet value -> number of matching products
+    private Map<String, Map<String, Long>> facets;
+}
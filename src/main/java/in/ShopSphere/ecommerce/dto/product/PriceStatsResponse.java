@@ -0,0 +1,39 @@
+package in.ShopSphere.ecommerce.dto.product;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PriceStatsResponse {
+    
+    private long count;
+    
+    // Current prices (sale price when one is set); all null when nothing matches
+    private BigDecimal min;
+    private BigDecimal max;
+    private BigDecimal average;
+    private BigDecimal p25;
+    private BigDecimal median;
+    private BigDecimal p75;
+    private BigDecimal p90;
+    
+    // Equal-width buckets from min to max; the last one includes max
+    private List<Bucket> buckets;
+    
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Bucket {
+        private BigDecimal from;
+        private BigDecimal to;
+        private long count;
+    }
+}
@@ -0,0 +1,19 @@
+package in.ShopSphere.ecommerce.dto.product;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductBatchRequest {
+    
+    @NotEmpty(message = "At least one product ID is required")
+    @Size(max = 100, message = "A batch request may contain at most 100 product IDs")
+    private List<String> ids;
+}
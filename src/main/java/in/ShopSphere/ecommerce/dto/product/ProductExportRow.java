@@ -0,0 +1,33 @@
+package in.ShopSphere.ecommerce.dto.product;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * One line of the catalog export. Built by a JPQL constructor expression, so rows
+ * are never managed entities and the persistence context stays empty while streaming.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductExportRow {
+    
+    private String id;
+    private String sku;
+    private String barcode;
+    private String name;
+    private String brand;
+    private String categoryName;
+    private String sellerId;
+    private BigDecimal price;
+    private BigDecimal salePrice;
+    private Integer stockQuantity;
+    private BigDecimal rating;
+    private Integer reviewCount;
+    private Boolean isFeatured;
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,21 @@
+package in.ShopSphere.ecommerce.dto.product;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductSuggestion {
+    
+    public enum Type { PRODUCT, BRAND, CATEGORY, SKU }
+    
+    private String text;
+    private Type type;
+    
+    // Set for PRODUCT and SKU suggestions only
+    private String productId;
+}
@@ -0,0 +1,21 @@
+package in.ShopSphere.ecommerce.dto.product;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+public class SellerProductSummary {
+    
+    private String sellerId;
+    private long activeProducts;
+    private long lowStockProducts;
+    private long outOfStockProducts;
+    
+    // JPQL constructor expression; SUM over no rows is null
+    public SellerProductSummary(Long activeProducts, Long lowStockProducts, Long outOfStockProducts) {
+        this.activeProducts = activeProducts != null ? activeProducts : 0;
+        this.lowStockProducts = lowStockProducts != null ? lowStockProducts : 0;
+        this.outOfStockProducts = outOfStockProducts != null ? outOfStockProducts : 0;
+    }
+}
@@ -0,0 +1,17 @@
+package in.ShopSphere.ecommerce.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+/**
+ * Published by the category service whenever category rows are written.
+ * The category ID is null when several categories changed at once.
+ */
+@Getter
+@RequiredArgsConstructor
+@ToString
+public class CategoryChangedEvent {
+
+    private final String categoryId;
+}
@@ -0,0 +1,25 @@
+package in.ShopSphere.ecommerce.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * Published once for a bulk write instead of one {@link ProductChangedEvent} per row,
+ * so listeners can reload the affected products in a single query. The same publishing
+ * contract applies: see {@link ProductChangedEvent}.
+ */
+@Getter
+@RequiredArgsConstructor
+@ToString
+public class ProductBatchChangedEvent {
+
+    private final Collection<String> productIds;
+
+    // Cache keys other than the product id, so listeners can evict without reloading
+    private final Set<String> skus;
+    private final Set<String> sellerIds;
+}
@@ -0,0 +1,43 @@
+package in.ShopSphere.ecommerce.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+/**
+ * Published by the product service whenever a product row is written.
+ * In-memory read models listen for it after the transaction commits.
+ * <p>
+ * The search index, catalog snapshot and facet index keep their own copies of
+ * product rows (the search index stores whole ProductResponse snapshots) and are
+ * only rebuilt at startup, so every code path that writes a product, through the
+ * repository or in SQL, must publish this event, {@link ProductBatchChangedEvent}
+ * or {@link ProductStockChangedEvent}. A write without one leaves those copies
+ * stale until the next restart.
+ */
+@Getter
+@RequiredArgsConstructor
+@ToString
+public class ProductChangedEvent {
+
+    public enum ChangeType {
+        CREATED,
+        UPDATED,
+        STATUS_CHANGED,
+        DELETED
+    }
+
+    private final String productId;
+    private final ChangeType changeType;
+    
+    // Owning seller, so per-seller caches can be evicted without reloading the product
+    private final String sellerId;
+
+    public ProductChangedEvent(String productId, ChangeType changeType) {
+        this(productId, changeType, null);
+    }
+
+    public boolean isDeleted() {
+        return changeType == ChangeType.DELETED;
+    }
+}
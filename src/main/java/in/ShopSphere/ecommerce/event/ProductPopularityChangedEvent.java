@@ -0,0 +1,19 @@
+package in.ShopSphere.ecommerce.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+import java.util.Collection;
+
+/**
+ * Published after the product counters are flushed, with the products whose view,
+ * cart or purchase counts changed. The products themselves are unchanged.
+ */
+@Getter
+@RequiredArgsConstructor
+@ToString
+public class ProductPopularityChangedEvent {
+
+    private final Collection<String> productIds;
+}
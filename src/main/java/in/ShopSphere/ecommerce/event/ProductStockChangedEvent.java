@@ -0,0 +1,46 @@
+package in.ShopSphere.ecommerce.event;
+
+import in.ShopSphere.ecommerce.model.entity.Product;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Published when only stock quantities changed, e.g. an order was placed or cancelled.
+ * Unlike {@link ProductBatchChangedEvent} it is not a catalog edit: product lists, the
+ * suggest trie and the listing version stay as they are, and only read models that show
+ * stock react to it. The new quantities travel with the event so they need no reload.
+ * Any writer that changes stock must publish it; see {@link ProductChangedEvent}.
+ */
+@Getter
+@RequiredArgsConstructor
+@ToString
+public class ProductStockChangedEvent {
+
+    private final Map<String, Integer> stockByProductId;
+
+    // Per-seller stock counts are cached by seller
+    private final Set<String> sellerIds;
+
+    public static ProductStockChangedEvent of(Collection<Product> products) {
+        Map<String, Integer> stockByProductId = new LinkedHashMap<>();
+        Set<String> sellerIds = new HashSet<>();
+        for (Product product : products) {
+            stockByProductId.put(product.getId(), product.getStockQuantity() != null ? product.getStockQuantity() : 0);
+            if (product.getSeller() != null) {
+                sellerIds.add(product.getSeller().getId());
+            }
+        }
+        return new ProductStockChangedEvent(stockByProductId, sellerIds);
+    }
+
+    public Collection<String> getProductIds() {
+        return stockByProductId.keySet();
+    }
+}
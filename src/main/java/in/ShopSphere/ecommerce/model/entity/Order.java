@@ -20,6 +20,8 @@ import java.util.List;
     @Index(name = "idx_orders_user_id", columnList = "user_id"),
     @Index(name = "idx_orders_status", columnList = "status"),
     @Index(name = "idx_orders_created_at", columnList = "created_at"),
+    @Index(name = "idx_orders_user_created", columnList = "user_id, created_at DESC, id DESC"),
+    @Index(name = "idx_orders_created_id", columnList = "created_at DESC, id DESC"),
     @Index(name = "idx_orders_order_number", columnList = "order_number", unique = true)
 })
 @Data
@@ -11,6 +11,7 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.ToString;
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 import org.hibernate.annotations.JdbcTypeCode;
@@ -25,6 +26,7 @@ import java.util.Objects;
 @Table(name = "products", indexes = {
     @Index(name = "idx_products_category_id", columnList = "category_id"),
     @Index(name = "idx_products_seller_id", columnList = "seller_id"),
+    @Index(name = "idx_products_seller_active_created", columnList = "seller_id, is_active, created_at DESC, id"),
     @Index(name = "idx_products_is_active", columnList = "is_active"),
     @Index(name = "idx_products_price", columnList = "price"),
     @Index(name = "idx_products_rating", columnList = "rating"),
@@ -32,8 +34,23 @@ import java.util.Objects;
     @Index(name = "idx_products_sku", columnList = "sku"),
     @Index(name = "idx_products_brand", columnList = "brand"),
     @Index(name = "idx_products_discount_percentage", columnList = "discount_percentage"),
-    @Index(name = "idx_products_availability_status", columnList = "availability_status")
+    @Index(name = "idx_products_availability_status", columnList = "availability_status"),
+    // Filter and keyset indexes from V3/V4, which only run with Flyway. Partial indexes cannot be
+    // declared here, so is_active leads instead; the current-price expression index stays migration-only
+    @Index(name = "idx_products_active_category_created", columnList = "category_id, is_active, created_at DESC, id"),
+    @Index(name = "idx_products_active_rating", columnList = "is_active, rating DESC, id"),
+    @Index(name = "idx_products_active_created", columnList = "is_active, created_at DESC, id"),
+    @Index(name = "idx_products_active_in_stock", columnList = "is_active, stock_quantity"),
+    @Index(name = "idx_products_active_rating_reviews", columnList = "is_active, rating DESC, review_count DESC, id")
 })
+// Everything ProductResponse reads through a to-one association, loaded with the product row.
+// The seller's cart is the inverse side of a one-to-one, which Hibernate would otherwise select per seller.
+@NamedEntityGraph(name = Product.LISTING_GRAPH,
+    attributeNodes = {
+        @NamedAttributeNode("category"),
+        @NamedAttributeNode(value = "seller", subgraph = "seller")
+    },
+    subgraphs = @NamedSubgraph(name = "seller", attributeNodes = @NamedAttributeNode("cart")))
 @Getter
 @Setter
 @Builder
@@ -42,6 +59,8 @@ import java.util.Objects;
 @ToString(exclude = {"images", "variants", "reviews", "cartItems", "orderItems", "wishlistItems"})
 public class Product {
     
+    public static final String LISTING_GRAPH = "Product.listing";
+    
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
     private String id;
@@ -73,7 +92,7 @@ public class Product {
     private String sku;
     
     @Size(max = 100, message = "Barcode must not exceed 100 characters")
-    @Column
+    @Column(unique = true)
     private String barcode;
     
     @DecimalMin(value = "0.000", message = "Weight must be greater than or equal to 0")
@@ -158,10 +177,13 @@ public class Product {
     private LocalDateTime updatedAt;
     
     // Relationships
+    // Batch fetched so a page of products loads its images and variants in one select each
     @OneToMany(mappedBy = "product", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    @BatchSize(size = 100)
     private List<ProductImage> images;
     
     @OneToMany(mappedBy = "product", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    @BatchSize(size = 100)
     private List<ProductVariant> variants;
     
     @OneToMany(mappedBy = "product", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
@@ -0,0 +1,44 @@
+package in.ShopSphere.ecommerce.model.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * How many orders contained both products. Each pair is stored in both directions so the
+ * related products of one product are a single index range scan.
+ */
+@Entity
+@Table(name = "product_co_occurrences", indexes = {
+    @Index(name = "idx_product_co_occurrences_count", columnList = "product_id, pair_count DESC")
+})
+@IdClass(ProductCoOccurrence.Key.class)
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductCoOccurrence {
+    
+    @Id
+    @Column(name = "product_id", nullable = false)
+    private String productId;
+    
+    @Id
+    @Column(name = "related_product_id", nullable = false)
+    private String relatedProductId;
+    
+    @Column(name = "pair_count", nullable = false)
+    private Long pairCount;
+    
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private String productId;
+        private String relatedProductId;
+    }
+}
@@ -0,0 +1,38 @@
+package in.ShopSphere.ecommerce.model.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Running popularity counts per product, kept apart from the product row so counter
+ * flushes never touch product versions or caches
+ */
+@Entity
+@Table(name = "product_counters")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductCounter {
+    
+    @Id
+    @Column(name = "product_id")
+    private String productId;
+    
+    @Column(name = "view_count", nullable = false)
+    private Long viewCount;
+    
+    @Column(name = "cart_count", nullable = false)
+    private Long cartCount;
+    
+    @Column(name = "purchase_count", nullable = false)
+    private Long purchaseCount;
+    
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
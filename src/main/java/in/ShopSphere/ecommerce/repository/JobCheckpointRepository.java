@@ -0,0 +1,28 @@
+package in.ShopSphere.ecommerce.repository;
+
+import in.ShopSphere.ecommerce.model.entity.JobCheckpoint;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface JobCheckpointRepository extends JpaRepository<JobCheckpoint, String> {
+    
+    @Modifying
+    @Query(value = "INSERT INTO job_checkpoints (job_name, last_created_at, last_id, updated_at) " +
+                   "VALUES (:jobName, :createdAt, '', CURRENT_TIMESTAMP) ON CONFLICT (job_name) DO NOTHING",
+           nativeQuery = true)
+    int insertIfMissing(@Param("jobName") String jobName, @Param("createdAt") LocalDateTime createdAt);
+    
+    // SELECT ... FOR UPDATE, so only one node runs the job at a time
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM JobCheckpoint c WHERE c.jobName = :jobName")
+    Optional<JobCheckpoint> findForUpdate(@Param("jobName") String jobName);
+}
@@ -4,10 +4,13 @@ import in.ShopSphere.ecommerce.model.entity.Order;
 import in.ShopSphere.ecommerce.model.entity.OrderStatus;
 import in.ShopSphere.ecommerce.model.entity.PaymentStatus;
 import in.ShopSphere.ecommerce.model.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -15,6 +18,7 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface OrderRepository extends JpaRepository<Order, String> {
@@ -104,6 +108,35 @@ public interface OrderRepository extends JpaRepository<Order, String> {
     @Query("SELECT o FROM Order o WHERE o.totalAmount BETWEEN :minAmount AND :maxAmount ORDER BY o.createdAt DESC")
     Page<Order> findByAmountRange(@Param("minAmount") Double minAmount, @Param("maxAmount") Double maxAmount, Pageable pageable);
     
+    // Keyset pagination: seek past the last (created_at, id) instead of OFFSET, and skip the COUNT
+    @Query("SELECT o FROM Order o WHERE o.user.id = :userId ORDER BY o.createdAt DESC, o.id DESC")
+    List<Order> findByUserIdFirstPage(@Param("userId") String userId, Pageable pageable);
+    
+    @Query("SELECT o FROM Order o WHERE o.user.id = :userId AND (o.createdAt < :createdAt OR (o.createdAt = :createdAt AND o.id < :id)) ORDER BY o.createdAt DESC, o.id DESC")
+    List<Order> findByUserIdAfter(@Param("userId") String userId, @Param("createdAt") LocalDateTime createdAt, @Param("id") String id, Pageable pageable);
+    
+    @Query("SELECT o FROM Order o ORDER BY o.createdAt DESC, o.id DESC")
+    List<Order> findAllFirstPage(Pageable pageable);
+    
+    @Query("SELECT o FROM Order o WHERE o.createdAt < :createdAt OR (o.createdAt = :createdAt AND o.id < :id) ORDER BY o.createdAt DESC, o.id DESC")
+    List<Order> findAllAfter(@Param("createdAt") LocalDateTime createdAt, @Param("id") String id, Pageable pageable);
+    
     @Query("SELECT COUNT(o) FROM Order o WHERE o.user.id = :userId AND o.status != :status")
     long countByUserIdAndStatusNot(@Param("userId") String userId, @Param("status") OrderStatus status);
+    
+    // Order lines after a (created_at, id) high-water mark, grouped by order, for the co-occurrence job
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT o.id AS orderId, o.createdAt AS orderCreatedAt, oi.product.id AS productId " +
+           "FROM OrderItem oi JOIN oi.order o " +
+           "WHERE o.status <> :excluded AND o.createdAt < :before " +
+           "AND (o.createdAt > :createdAt OR (o.createdAt = :createdAt AND o.id > :id)) " +
+           "ORDER BY o.createdAt, o.id")
+    Stream<OrderProductRow> streamOrderProductsAfter(@Param("createdAt") LocalDateTime createdAt, @Param("id") String id,
+                                                     @Param("before") LocalDateTime before, @Param("excluded") OrderStatus excluded);
+    
+    interface OrderProductRow {
+        String getOrderId();
+        LocalDateTime getOrderCreatedAt();
+        String getProductId();
+    }
 }
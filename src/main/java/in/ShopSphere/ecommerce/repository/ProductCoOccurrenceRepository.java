@@ -0,0 +1,18 @@
+package in.ShopSphere.ecommerce.repository;
+
+import in.ShopSphere.ecommerce.model.entity.ProductCoOccurrence;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ProductCoOccurrenceRepository extends JpaRepository<ProductCoOccurrence, ProductCoOccurrence.Key> {
+    
+    @Query("SELECT c.relatedProductId FROM ProductCoOccurrence c WHERE c.productId = :productId " +
+           "ORDER BY c.pairCount DESC, c.relatedProductId")
+    List<String> findRelatedProductIds(@Param("productId") String productId, Pageable pageable);
+}
@@ -1,20 +1,31 @@
 package in.ShopSphere.ecommerce.repository;
 
+import in.ShopSphere.ecommerce.dto.product.ProductExportRow;
+import in.ShopSphere.ecommerce.dto.product.SellerProductSummary;
 import in.ShopSphere.ecommerce.model.entity.Product;
 import in.ShopSphere.ecommerce.model.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface ProductRepository extends JpaRepository<Product, String> {
+public interface ProductRepository extends JpaRepository<Product, String>, JpaSpecificationExecutor<Product> {
     
     Optional<Product> findBySku(String sku);
     
@@ -28,16 +39,45 @@ public interface ProductRepository extends JpaRepository<Product, String> {
     
     Page<Product> findBySellerAndIsActiveTrue(User seller, Pageable pageable);
     
+    // Seller catalog, served by idx_products_seller_active_created
+    @EntityGraph(Product.LISTING_GRAPH)
+    Page<Product> findBySellerIdAndIsActiveTrue(String sellerId, Pageable pageable);
+    
+    @EntityGraph(Product.LISTING_GRAPH)
+    @Query("SELECT p FROM Product p WHERE p.seller.id = :sellerId AND p.isActive = true ORDER BY p.createdAt DESC, p.id ASC")
+    List<Product> findBySellerLatestFirstPage(@Param("sellerId") String sellerId, Pageable pageable);
+    
+    @EntityGraph(Product.LISTING_GRAPH)
+    @Query("SELECT p FROM Product p WHERE p.seller.id = :sellerId AND p.isActive = true AND (p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.id > :id)) ORDER BY p.createdAt DESC, p.id ASC")
+    List<Product> findBySellerLatestAfter(@Param("sellerId") String sellerId, @Param("createdAt") LocalDateTime createdAt, @Param("id") String id, Pageable pageable);
+    
+    @Query("SELECT new in.ShopSphere.ecommerce.dto.product.SellerProductSummary(" +
+           "COUNT(p), " +
+           "SUM(CASE WHEN p.stockQuantity <= p.minStockLevel THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN p.stockQuantity = 0 THEN 1 ELSE 0 END)) " +
+           "FROM Product p WHERE p.seller.id = :sellerId AND p.isActive = true")
+    SellerProductSummary summarizeSellerCatalog(@Param("sellerId") String sellerId);
+    
     List<Product> findByCategoryIdAndIsActiveTrue(String categoryId);
     
+    @EntityGraph(Product.LISTING_GRAPH)
     Page<Product> findByCategoryIdAndIsActiveTrue(String categoryId, Pageable pageable);
     
     List<Product> findByIsActiveTrue();
     
+    // Batch lookups: one IN query with category and seller joined
+    @EntityGraph(Product.LISTING_GRAPH)
+    List<Product> findByIdInAndIsActiveTrue(Collection<String> ids);
+    
+    @EntityGraph(Product.LISTING_GRAPH)
     Page<Product> findByIsActiveTrue(Pageable pageable);
     
+    @Query("SELECT p FROM Product p JOIN FETCH p.category WHERE p.isActive = true")
+    List<Product> findActiveWithCategory();
+    
     List<Product> findByIsFeaturedTrueAndIsActiveTrue();
     
+    @EntityGraph(Product.LISTING_GRAPH)
     Page<Product> findByIsFeaturedTrueAndIsActiveTrue(Pageable pageable);
     
     @Query("SELECT p FROM Product p WHERE p.isActive = true AND p.stockQuantity <= p.minStockLevel")
@@ -46,27 +86,62 @@ public interface ProductRepository extends JpaRepository<Product, String> {
     @Query("SELECT p FROM Product p WHERE p.isActive = true AND p.stockQuantity = 0")
     List<Product> findOutOfStockProducts();
     
+    @EntityGraph(Product.LISTING_GRAPH)
     @Query("SELECT p FROM Product p WHERE p.isActive = true AND p.price BETWEEN :minPrice AND :maxPrice")
     Page<Product> findByPriceRange(@Param("minPrice") BigDecimal minPrice, @Param("maxPrice") BigDecimal maxPrice, Pageable pageable);
     
+    @EntityGraph(Product.LISTING_GRAPH)
     @Query("SELECT p FROM Product p WHERE p.isActive = true AND p.rating >= :minRating")
     Page<Product> findByMinRating(@Param("minRating") Double minRating, Pageable pageable);
     
+    @EntityGraph(Product.LISTING_GRAPH)
     @Query("SELECT p FROM Product p WHERE p.isActive = true AND (p.name LIKE %:searchTerm% OR p.description LIKE %:searchTerm% OR p.sku LIKE %:searchTerm%)")
     Page<Product> searchProducts(@Param("searchTerm") String searchTerm, Pageable pageable);
     
+    // Ranked full-text search over the generated search_vector column (V5 migration)
+    @Query(value = "SELECT p.* FROM products p, websearch_to_tsquery('english', :searchTerm) q " +
+                   "WHERE p.is_active = TRUE AND p.search_vector @@ q " +
+                   "ORDER BY ts_rank_cd(p.search_vector, q) DESC, p.id",
+           countQuery = "SELECT COUNT(*) FROM products p " +
+                        "WHERE p.is_active = TRUE AND p.search_vector @@ websearch_to_tsquery('english', :searchTerm)",
+           nativeQuery = true)
+    Page<Product> fullTextSearch(@Param("searchTerm") String searchTerm, Pageable pageable);
+    
+    // Typo-tolerant fallback on the trigram indexes for names and SKUs
+    @Query(value = "SELECT p.* FROM products p " +
+                   "WHERE p.is_active = TRUE AND (p.name % :searchTerm OR p.sku % :searchTerm) " +
+                   "ORDER BY GREATEST(similarity(p.name, :searchTerm), similarity(coalesce(p.sku, ''), :searchTerm)) DESC, p.id",
+           countQuery = "SELECT COUNT(*) FROM products p " +
+                        "WHERE p.is_active = TRUE AND (p.name % :searchTerm OR p.sku % :searchTerm)",
+           nativeQuery = true)
+    Page<Product> fuzzySearch(@Param("searchTerm") String searchTerm, Pageable pageable);
+    
+    // Flyway is optional, so the fulltext backend checks that the V5 indexes exist before using them
+    @Query(value = "SELECT COUNT(*) = 3 FROM pg_indexes WHERE tablename = 'products' " +
+                   "AND indexname IN ('idx_products_search_vector', 'idx_products_name_trgm', 'idx_products_sku_trgm')",
+           nativeQuery = true)
+    boolean hasFullTextSearchSchema();
+    
     @Query("SELECT p FROM Product p WHERE p.isActive = true AND p.category.id = :categoryId AND (p.name LIKE %:searchTerm% OR p.description LIKE %:searchTerm%)")
     Page<Product> searchProductsInCategory(@Param("categoryId") String categoryId, @Param("searchTerm") String searchTerm, Pageable pageable);
     
+    @EntityGraph(Product.LISTING_GRAPH)
     @Query("SELECT p FROM Product p WHERE p.isActive = true ORDER BY p.rating DESC, p.reviewCount DESC")
     Page<Product> findTopRatedProducts(Pageable pageable);
     
+    @EntityGraph(Product.LISTING_GRAPH)
     @Query("SELECT p FROM Product p WHERE p.isActive = true ORDER BY p.createdAt DESC")
     Page<Product> findLatestProducts(Pageable pageable);
     
+    @EntityGraph(Product.LISTING_GRAPH)
     @Query("SELECT p FROM Product p WHERE p.isActive = true AND p.salePrice IS NOT NULL AND p.salePrice < p.price")
     Page<Product> findDiscountedProducts(Pageable pageable);
     
+    // Largest fractional discount first, the order the discounted ranking is seeded in
+    @EntityGraph(Product.LISTING_GRAPH)
+    @Query("SELECT p FROM Product p WHERE p.isActive = true AND p.salePrice IS NOT NULL AND p.salePrice < p.price ORDER BY (p.price - p.salePrice) / p.price DESC, p.id ASC")
+    List<Product> findMostDiscounted(Pageable pageable);
+    
     @Query("SELECT p FROM Product p WHERE p.isActive = true AND p.category.id IN :categoryIds")
     Page<Product> findByCategoryIds(@Param("categoryIds") List<String> categoryIds, Pageable pageable);
     
@@ -79,6 +154,58 @@ public interface ProductRepository extends JpaRepository<Product, String> {
     @Query("SELECT p FROM Product p WHERE p.isActive = true AND p.stockQuantity > 0 ORDER BY p.stockQuantity ASC")
     List<Product> findProductsByStockAscending();
     
+    // Keyset pagination: seek past the last (sort key, id) instead of OFFSET, and skip the COUNT.
+    // Id breaks ties ascending so the newest-first scan matches idx_products_active_created
+    @EntityGraph(Product.LISTING_GRAPH)
+    @Query("SELECT p FROM Product p WHERE p.isActive = true ORDER BY p.createdAt DESC, p.id ASC")
+    List<Product> findLatestFirstPage(Pageable pageable);
+    
+    @EntityGraph(Product.LISTING_GRAPH)
+    @Query("SELECT p FROM Product p WHERE p.isActive = true AND (p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.id > :id)) ORDER BY p.createdAt DESC, p.id ASC")
+    List<Product> findLatestAfter(@Param("createdAt") LocalDateTime createdAt, @Param("id") String id, Pageable pageable);
+    
+    @EntityGraph(Product.LISTING_GRAPH)
+    @Query("SELECT p FROM Product p WHERE p.isActive = true ORDER BY p.rating DESC, p.reviewCount DESC, p.id ASC")
+    List<Product> findTopRatedFirstPage(Pageable pageable);
+    
+    @EntityGraph(Product.LISTING_GRAPH)
+    @Query("SELECT p FROM Product p WHERE p.isActive = true AND (p.rating < :rating OR (p.rating = :rating AND (p.reviewCount < :reviewCount OR (p.reviewCount = :reviewCount AND p.id > :id)))) ORDER BY p.rating DESC, p.reviewCount DESC, p.id ASC")
+    List<Product> findTopRatedAfter(@Param("rating") BigDecimal rating, @Param("reviewCount") Integer reviewCount, @Param("id") String id, Pageable pageable);
+    
+    // Listing variants of inherited finders, for callers that map whole pages to ProductResponse.
+    // The inherited ones stay plain, so refreshes that only read columns do not join seller and cart
+    @EntityGraph(Product.LISTING_GRAPH)
+    List<Product> findListingByIdIn(Collection<String> ids);
+    
+    // The fluent query takes no named graph, so the listing graph's paths are spelled out
+    default Page<Product> findListingPage(Specification<Product> spec, Pageable pageable) {
+        return findBy(spec, query -> query.project("category", "seller", "seller.cart").page(pageable));
+    }
+    
+    // Just enough of each product to authorise and evict a bulk update
+    @Query("SELECT p.id AS id, p.seller.id AS sellerId, p.sku AS sku FROM Product p WHERE p.id IN :ids")
+    List<BulkTarget> findBulkTargets(@Param("ids") Collection<String> ids);
+    
+    // Server-side cursor for the catalog export: rows arrive in fetch-size chunks and are not managed
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new in.ShopSphere.ecommerce.dto.product.ProductExportRow(p.id, p.sku, p.barcode, p.name, p.brand, c.name, s.id, p.price, p.salePrice, p.stockQuantity, p.rating, p.reviewCount, p.isFeatured, p.updatedAt) FROM Product p LEFT JOIN p.category c LEFT JOIN p.seller s WHERE p.isActive = true ORDER BY p.id")
+    Stream<ProductExportRow> streamActiveForExport();
+    
+    interface BulkTarget {
+        String getId();
+        String getSellerId();
+        String getSku();
+    }
+    
+    // Every identifier, active or not, for seeding the uniqueness filter
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT p.sku FROM Product p WHERE p.sku IS NOT NULL")
+    Stream<String> streamAllSkus();
+    
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT p.barcode FROM Product p WHERE p.barcode IS NOT NULL")
+    Stream<String> streamAllBarcodes();
+    
     boolean existsBySku(String sku);
     
     boolean existsBySkuAndIdNot(String sku, String id);
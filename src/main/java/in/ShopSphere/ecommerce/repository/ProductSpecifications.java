@@ -0,0 +1,112 @@
+package in.ShopSphere.ecommerce.repository;
+
+import in.ShopSphere.ecommerce.dto.common.SearchFilters;
+import in.ShopSphere.ecommerce.exception.ValidationException;
+import in.ShopSphere.ecommerce.model.entity.Product;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Builds product queries from {@link SearchFilters}. Every filter becomes a
+ * SQL predicate so paging, sorting and totals are all computed by Postgres.
+ */
+public final class ProductSpecifications {
+
+    private static final Set<String> SORTABLE_FIELDS = Set.of(
+        "createdAt", "updatedAt", "price", "rating", "reviewCount", "name", "stockQuantity");
+
+    private ProductSpecifications() {
+    }
+
+    public static Specification<Product> fromFilters(SearchFilters filters, String categoryId) {
+        Specification<Product> spec = isActive();
+        if (filters == null) {
+            return spec;
+        }
+        if (categoryId != null) {
+            spec = spec.and(inCategory(categoryId));
+        }
+        if (filters.getMinPrice() != null) {
+            spec = spec.and(currentPriceAtLeast(BigDecimal.valueOf(filters.getMinPrice())));
+        }
+        if (filters.getMaxPrice() != null) {
+            spec = spec.and(currentPriceAtMost(BigDecimal.valueOf(filters.getMaxPrice())));
+        }
+        if (filters.getRating() != null) {
+            spec = spec.and(ratingAtLeast(BigDecimal.valueOf(filters.getRating())));
+        }
+        if (Boolean.TRUE.equals(filters.getInStock())) {
+            spec = spec.and(inStock());
+        }
+        if (filters.getSearchTerm() != null && !filters.getSearchTerm().isBlank()) {
+            spec = spec.and(matchesText(filters.getSearchTerm()));
+        }
+        return spec;
+    }
+
+    public static Specification<Product> isActive() {
+        return (root, query, cb) -> cb.isTrue(root.get("isActive"));
+    }
+
+    public static Specification<Product> inCategory(String categoryId) {
+        // Compare the foreign key column directly so no join to categories is needed
+        return (root, query, cb) -> cb.equal(root.get("category").get("id"), categoryId);
+    }
+
+    public static Specification<Product> currentPriceAtLeast(BigDecimal minPrice) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(currentPrice(root, cb), minPrice);
+    }
+
+    public static Specification<Product> currentPriceAtMost(BigDecimal maxPrice) {
+        return (root, query, cb) -> cb.lessThanOrEqualTo(currentPrice(root, cb), maxPrice);
+    }
+
+    public static Specification<Product> ratingAtLeast(BigDecimal minRating) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("rating"), minRating);
+    }
+
+    public static Specification<Product> inStock() {
+        return (root, query, cb) -> cb.greaterThan(root.get("stockQuantity"), 0);
+    }
+
+    public static Specification<Product> matchesText(String searchTerm) {
+        String pattern = "%" + escapeLike(searchTerm.trim().toLowerCase(Locale.ROOT)) + "%";
+        return (root, query, cb) -> cb.or(
+            cb.like(cb.lower(root.get("name")), pattern, '\\'),
+            cb.like(cb.lower(root.get("description")), pattern, '\\'),
+            cb.like(cb.lower(root.get("sku")), pattern, '\\'));
+    }
+
+    /**
+     * Sort for a filtered listing. Falls back to newest first and always ends
+     * with the id so equal keys page deterministically.
+     */
+    public static Sort sortFor(String sortBy, String sortDir) {
+        String property = sortBy == null || sortBy.isBlank() ? "createdAt" : sortBy;
+        if (!SORTABLE_FIELDS.contains(property)) {
+            throw new ValidationException("Cannot sort products by '" + property + "'", "sortBy", "INVALID_SORT");
+        }
+        Sort.Direction direction = "asc".equalsIgnoreCase(sortDir) ? Sort.Direction.ASC : Sort.Direction.DESC;
+        return Sort.by(direction, property).and(Sort.by(direction, "id"));
+    }
+
+    // Same rule as Product.getCurrentPrice(), matched by idx_products_active_current_price
+    public static Expression<BigDecimal> currentPrice(Root<Product> root, CriteriaBuilder cb) {
+        Expression<BigDecimal> salePrice = root.get("salePrice");
+        Expression<BigDecimal> price = root.get("price");
+        return cb.<BigDecimal>selectCase()
+            .when(cb.greaterThan(salePrice, BigDecimal.ZERO), salePrice)
+            .otherwise(price);
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
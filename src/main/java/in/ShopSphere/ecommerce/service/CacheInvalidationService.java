@@ -0,0 +1,27 @@
+package in.ShopSphere.ecommerce.service;
+
+import in.ShopSphere.ecommerce.dto.cache.CacheInvalidationJobResponse;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Pattern-based key walks over Redis with SCAN instead of KEYS, so large invalidations
+ * never block the server for a whole keyspace pass.
+ */
+public interface CacheInvalidationService {
+    
+    // Delete every key matching the glob pattern in the calling thread; returns keys removed
+    long deleteKeys(String pattern);
+    
+    // Number of keys matching the glob pattern
+    long countKeys(String pattern);
+    
+    // Delete in the background; progress is visible through getJob
+    CacheInvalidationJobResponse submit(String pattern);
+    
+    Optional<CacheInvalidationJobResponse> getJob(String jobId);
+    
+    // Recent jobs, newest first
+    List<CacheInvalidationJobResponse> getJobs();
+}
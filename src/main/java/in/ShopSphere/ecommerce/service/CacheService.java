@@ -4,7 +4,9 @@ import in.ShopSphere.ecommerce.model.entity.Category;
 import in.ShopSphere.ecommerce.model.entity.Product;
 import in.ShopSphere.ecommerce.model.entity.User;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 public interface CacheService {
@@ -37,8 +39,14 @@ public interface CacheService {
     void invalidate(String key);
     void invalidateByPattern(String pattern);
     
+    // Bulk access to Spring-managed caches, one round trip each way
+    <T> Map<String, T> getAllFromCache(String cacheName, Collection<String> keys, Class<T> type);
+    void putAllInCache(String cacheName, Map<String, ?> entries);
+    
     // Cache statistics
     long getCacheSize(String cacheName);
+    Map<String, Object> getTierStats();
+    Map<String, Object> getLoadStats();
     void clearCache(String cacheName);
     void clearAllCaches();
 }
@@ -0,0 +1,15 @@
+package in.ShopSphere.ecommerce.service;
+
+import java.util.Collection;
+
+/**
+ * Fine-grained cache invalidation: evicts only the entries tagged with a changed entity
+ * or query (see {@link in.ShopSphere.ecommerce.config.CacheTags}).
+ */
+public interface CacheTagService {
+    
+    // Inside a transaction this runs after commit, so readers cannot re-cache the old rows
+    void invalidate(String... tags);
+    
+    void invalidate(Collection<String> tags);
+}
@@ -0,0 +1,26 @@
+package in.ShopSphere.ecommerce.service;
+
+import in.ShopSphere.ecommerce.dto.common.CatalogVersion;
+import in.ShopSphere.ecommerce.dto.product.ProductResponse;
+
+public interface CatalogVersionService {
+
+    /**
+     * Version of a single product, derived from the response that is served for it
+     * @param product Product response, usually from the cache
+     * @return Version, or null when there is no product
+     */
+    CatalogVersion getProductVersion(ProductResponse product);
+
+    /**
+     * Version shared by every product listing; moves on any product or category change
+     * @return Version, or null when it cannot be read
+     */
+    CatalogVersion getProductListVersion();
+
+    /**
+     * Version shared by every category response; moves on any category change
+     * @return Version, or null when it cannot be read
+     */
+    CatalogVersion getCategoryVersion();
+}
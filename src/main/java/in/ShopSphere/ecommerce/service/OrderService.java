@@ -24,6 +24,10 @@ public interface OrderService {
     
     PaginationResponse<OrderResponse> getAllOrders(Pageable pageable);
     
+    PaginationResponse<OrderResponse> getUserOrdersByCursor(String cursor, int limit);
+    
+    PaginationResponse<OrderResponse> getAllOrdersByCursor(String cursor, int limit);
+    
     PaginationResponse<OrderResponse> getOrdersByStatus(OrderStatus status, Pageable pageable);
     
     PaginationResponse<OrderResponse> getOrdersByPaymentStatus(PaymentStatus paymentStatus, Pageable pageable);
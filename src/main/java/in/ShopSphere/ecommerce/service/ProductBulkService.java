@@ -0,0 +1,14 @@
+package in.ShopSphere.ecommerce.service;
+
+import in.ShopSphere.ecommerce.dto.product.BulkProductUpdateRequest;
+import in.ShopSphere.ecommerce.dto.product.BulkProductUpdateResponse;
+
+public interface ProductBulkService {
+
+    /**
+     * Apply price, stock, status and featured updates as JDBC batches in one transaction
+     * @param request Updates to apply
+     * @return Outcome of every item, in request order
+     */
+    BulkProductUpdateResponse bulkUpdate(BulkProductUpdateRequest request);
+}
@@ -0,0 +1,35 @@
+package in.ShopSphere.ecommerce.service;
+
+import in.ShopSphere.ecommerce.dto.common.PaginationResponse;
+import in.ShopSphere.ecommerce.dto.product.ProductResponse;
+import org.springframework.data.domain.Pageable;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+
+public interface ProductCatalogSnapshotService {
+
+    /**
+     * Whether a snapshot has been built; until then callers should query the database
+     */
+    boolean isReady();
+
+    int rebuildSnapshot();
+
+    void refreshProducts(Collection<String> productIds);
+
+    PaginationResponse<ProductResponse> findByPriceRange(BigDecimal minPrice, BigDecimal maxPrice, Pageable pageable);
+
+    PaginationResponse<ProductResponse> findByMinRating(Double minRating, Pageable pageable);
+
+    PaginationResponse<ProductResponse> findByCategory(String categoryId, Pageable pageable);
+
+    List<ProductResponse> findLowStock();
+
+    /**
+     * Current price in cents of every product matching the filters, in snapshot order.
+     * Prices compare against the sale price when one is set, as the filtered search does.
+     */
+    long[] findCurrentPriceCents(String categoryId, BigDecimal minPrice, BigDecimal maxPrice, Double minRating, boolean inStock);
+}
@@ -0,0 +1,40 @@
+package in.ShopSphere.ecommerce.service;
+
+import java.util.List;
+
+public interface ProductCounterService {
+
+    enum Signal {
+        VIEW, ADD_TO_CART, PURCHASE
+    }
+
+    /**
+     * Count an event in memory; it reaches the database with the next flush
+     */
+    void increment(String productId, Signal signal, long delta);
+
+    default void increment(String productId, Signal signal) {
+        increment(productId, signal, 1);
+    }
+
+    /**
+     * Stored total plus increments not yet flushed
+     */
+    long getCount(String productId, Signal signal);
+
+    /**
+     * Weighted, log-damped sum of the signals; zero for products never seen
+     */
+    double getPopularity(String productId);
+
+    /**
+     * IDs of the products with the highest popularity, best first
+     */
+    List<String> getMostPopular(int limit);
+
+    /**
+     * Write the accumulated increments as one batched upsert
+     * @return Number of products written
+     */
+    int flush();
+}
@@ -0,0 +1,36 @@
+package in.ShopSphere.ecommerce.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface ProductExportService {
+
+    enum Format {
+        NDJSON("application/x-ndjson", "ndjson"),
+        CSV("text/csv", "csv");
+
+        private final String mediaType;
+        private final String extension;
+
+        Format(String mediaType, String extension) {
+            this.mediaType = mediaType;
+            this.extension = extension;
+        }
+
+        public String getMediaType() {
+            return mediaType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+    }
+
+    /**
+     * Write every active product, one row at a time from a database cursor
+     * @param format Output format
+     * @param out Destination; flushed but not closed
+     * @return Number of rows written
+     */
+    long exportActiveProducts(Format format, OutputStream out) throws IOException;
+}
@@ -0,0 +1,26 @@
+package in.ShopSphere.ecommerce.service;
+
+import in.ShopSphere.ecommerce.dto.product.FacetSearchRequest;
+import in.ShopSphere.ecommerce.dto.product.FacetSearchResponse;
+import org.springframework.data.domain.Pageable;
+
+import java.util.Collection;
+
+public interface ProductFacetService {
+
+    /**
+     * Intersect the selected facet values and count every facet for the result
+     * @param request Selected facet values and optional text query
+     * @param pageable Page of hits to hydrate
+     * @return Hits and facet counts
+     */
+    FacetSearchResponse search(FacetSearchRequest request, Pageable pageable);
+
+    int rebuildFacets();
+
+    void refreshProduct(String productId);
+
+    void refreshProducts(Collection<String> productIds);
+
+    void removeProduct(String productId);
+}
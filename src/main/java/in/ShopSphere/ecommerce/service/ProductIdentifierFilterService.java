@@ -0,0 +1,23 @@
+package in.ShopSphere.ecommerce.service;
+
+import java.util.Map;
+
+public interface ProductIdentifierFilterService {
+
+    /**
+     * Whether a product with this SKU exists. Only consults the database when the filter
+     * reports a probable hit, or when the filter has not been built yet.
+     */
+    boolean skuExists(String sku);
+
+    boolean barcodeExists(String barcode);
+
+    /**
+     * Add a saved product's identifiers so later checks see them; either may be null
+     */
+    void recordIdentifiers(String sku, String barcode);
+
+    int rebuildFilter();
+
+    Map<String, Object> getStats();
+}
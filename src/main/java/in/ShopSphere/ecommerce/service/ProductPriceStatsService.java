@@ -0,0 +1,15 @@
+package in.ShopSphere.ecommerce.service;
+
+import in.ShopSphere.ecommerce.dto.common.SearchFilters;
+import in.ShopSphere.ecommerce.dto.product.PriceStatsResponse;
+
+public interface ProductPriceStatsService {
+
+    /**
+     * Price distribution of the active products matching the filters
+     * @param filters Same filters as the filtered search; price bounds included
+     * @param buckets Number of histogram buckets
+     * @return Counts, percentiles and histogram
+     */
+    PriceStatsResponse getPriceStats(SearchFilters filters, int buckets);
+}
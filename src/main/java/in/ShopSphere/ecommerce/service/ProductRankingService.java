@@ -0,0 +1,26 @@
+package in.ShopSphere.ecommerce.service;
+
+import in.ShopSphere.ecommerce.dto.product.ProductResponse;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface ProductRankingService {
+
+    /**
+     * Whether the rankings have been seeded and can answer a request for this many products
+     */
+    boolean canServe(int limit);
+
+    List<ProductResponse> getTopRated(int limit);
+
+    List<ProductResponse> getLatest(int limit);
+
+    List<ProductResponse> getMostDiscounted(int limit);
+
+    List<ProductResponse> getMostPopular(int limit);
+
+    void reseed();
+
+    void refreshProducts(Collection<String> productIds);
+}
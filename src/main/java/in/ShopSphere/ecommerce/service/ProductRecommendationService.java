@@ -0,0 +1,21 @@
+package in.ShopSphere.ecommerce.service;
+
+import in.ShopSphere.ecommerce.dto.product.CoOccurrenceRefreshResponse;
+import in.ShopSphere.ecommerce.dto.product.ProductResponse;
+
+import java.util.List;
+
+public interface ProductRecommendationService {
+
+    /**
+     * Products most often bought together with this one, best first. Served from a
+     * precomputed list; inactive products are left out.
+     */
+    List<ProductResponse> getRelatedProducts(String productId, int limit);
+
+    /**
+     * Fold orders placed since the last run into the co-occurrence counts and recompute
+     * the related lists of every product they touched
+     */
+    CoOccurrenceRefreshResponse refreshCoOccurrences();
+}
@@ -0,0 +1,50 @@
+package in.ShopSphere.ecommerce.service;
+
+import in.ShopSphere.ecommerce.dto.common.PaginationResponse;
+import in.ShopSphere.ecommerce.dto.product.ProductResponse;
+import org.springframework.data.domain.Pageable;
+
+import java.util.Collection;
+import java.util.Set;
+
+public interface ProductSearchService {
+
+    /**
+     * Rank active products against a free-text query using the in-memory index
+     * @param query Raw search text
+     * @param pageable Page to return
+     * @return Ranked page of products
+     */
+    PaginationResponse<ProductResponse> search(String query, Pageable pageable);
+
+    /**
+     * IDs of every active product matching the query, unranked
+     * @param query Raw search text
+     * @return Matching product IDs
+     */
+    Set<String> findMatchingIds(String query);
+
+    /**
+     * Reload the whole index from the product repository
+     * @return Number of indexed products
+     */
+    int rebuildIndex();
+
+    /**
+     * Re-read one product and add, replace or drop it in the index
+     * @param productId Product ID
+     */
+    void refreshProduct(String productId);
+
+    /**
+     * Re-read a set of products in one query and update the index for each
+     * @param productIds Product IDs
+     */
+    void refreshProducts(Collection<String> productIds);
+
+    void removeProduct(String productId);
+
+    boolean isReady();
+
+    int getIndexedCount();
+}
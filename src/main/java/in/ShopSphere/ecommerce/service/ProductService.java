@@ -5,6 +5,7 @@ import in.ShopSphere.ecommerce.dto.common.PaginationResponse;
 import in.ShopSphere.ecommerce.dto.common.SearchFilters;
 import in.ShopSphere.ecommerce.dto.product.ProductRequest;
 import in.ShopSphere.ecommerce.dto.product.ProductResponse;
+import in.ShopSphere.ecommerce.dto.product.SellerProductSummary;
 import org.springframework.data.domain.Pageable;
 
 import java.math.BigDecimal;
@@ -20,6 +21,11 @@ public interface ProductService {
     
     ProductResponse getProductBySku(String sku);
     
+    /**
+     * Active products for the given ids, in request order; unknown and inactive ids are skipped
+     */
+    List<ProductResponse> getProductsByIds(List<String> ids);
+    
     PaginationResponse<ProductResponse> getAllProducts(Pageable pageable);
     
     PaginationResponse<ProductResponse> searchProducts(String searchTerm, Pageable pageable);
@@ -30,12 +36,22 @@ public interface ProductService {
     
     PaginationResponse<ProductResponse> getProductsBySeller(String sellerId, Pageable pageable);
     
+    PaginationResponse<ProductResponse> getProductsBySellerByCursor(String sellerId, String cursor, int limit);
+    
+    SellerProductSummary getSellerSummary(String sellerId);
+    
     List<ProductResponse> getFeaturedProducts();
     
     List<ProductResponse> getLatestProducts(int limit);
     
     List<ProductResponse> getTopRatedProducts(int limit);
     
+    List<ProductResponse> getPopularProducts(int limit);
+    
+    PaginationResponse<ProductResponse> getLatestProductsByCursor(String cursor, int limit);
+    
+    PaginationResponse<ProductResponse> getTopRatedProductsByCursor(String cursor, int limit);
+    
     List<ProductResponse> getDiscountedProducts();
     
     List<ProductResponse> getLowStockProducts();
@@ -0,0 +1,27 @@
+package in.ShopSphere.ecommerce.service;
+
+import in.ShopSphere.ecommerce.dto.product.ProductSuggestion;
+
+import java.util.List;
+
+public interface ProductSuggestService {
+
+    /**
+     * Autocomplete suggestions for a partially typed query
+     * @param prefix Text typed so far
+     * @param limit Maximum number of suggestions, capped at 10
+     * @return Suggestions ranked by popularity and rating
+     */
+    List<ProductSuggestion> suggest(String prefix, int limit);
+
+    /**
+     * Build a new trie from the catalog and swap it in
+     * @return Number of indexed keys
+     */
+    int rebuildSuggestions();
+
+    /**
+     * Queue a rebuild on the background thread; repeated calls collapse into one
+     */
+    void scheduleRebuild();
+}
@@ -0,0 +1,39 @@
+package in.ShopSphere.ecommerce.service;
+
+import in.ShopSphere.ecommerce.dto.product.ProductResponse;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+public interface ProductTrendingService {
+
+    enum Window {
+        HOUR(Duration.ofHours(1)),
+        DAY(Duration.ofDays(1));
+
+        private final Duration length;
+
+        Window(Duration length) {
+            this.length = length;
+        }
+
+        public Duration getLength() {
+            return length;
+        }
+    }
+
+    void recordView(String productId);
+
+    void recordPurchase(String productId, int quantity);
+
+    /**
+     * Products with the highest estimated view and purchase score in the window, best first
+     */
+    List<ProductResponse> getTrending(Window window, int limit);
+
+    /**
+     * Sketch dimensions, memory footprint and current error bound per window
+     */
+    Map<String, Object> getStats();
+}
@@ -0,0 +1,19 @@
+package in.ShopSphere.ecommerce.service;
+
+import in.ShopSphere.ecommerce.dto.product.ProductResponse;
+
+import java.util.List;
+
+public interface RecentlyViewedService {
+
+    /**
+     * Queue a view by the current user; returns immediately and does nothing for
+     * anonymous requests
+     */
+    void recordView(String productId);
+
+    /**
+     * The current user's recently viewed products, most recent first
+     */
+    List<ProductResponse> getRecentlyViewed(int limit);
+}
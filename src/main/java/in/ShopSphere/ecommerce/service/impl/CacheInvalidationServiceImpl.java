@@ -0,0 +1,214 @@
+package in.ShopSphere.ecommerce.service.impl;
+
+import in.ShopSphere.ecommerce.config.CacheInvalidationProperties;
+import in.ShopSphere.ecommerce.dto.cache.CacheInvalidationJobResponse;
+import in.ShopSphere.ecommerce.service.CacheInvalidationService;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Walks matching keys with a SCAN cursor and removes each batch with pipelined UNLINKs.
+ * SCAN does a bounded amount of work per call and UNLINK frees memory off the main
+ * thread, so other clients are served between batches instead of waiting out a KEYS
+ * pass. Background jobs run one at a time on a dedicated thread.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CacheInvalidationServiceImpl implements CacheInvalidationService {
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final CacheInvalidationProperties properties;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "cache-invalidation");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Map<String, Job> jobs = new LinkedHashMap<>();
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Override
+    public long deleteKeys(String pattern) {
+        Job job = new Job(pattern);
+        run(job, Duration.ZERO);
+        return job.deleted.get();
+    }
+
+    @Override
+    public long countKeys(String pattern) {
+        long count = 0;
+        try (Cursor<String> cursor = redisTemplate.scan(scanOptions(pattern))) {
+            while (cursor.hasNext()) {
+                cursor.next();
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public CacheInvalidationJobResponse submit(String pattern) {
+        Job job = new Job(pattern);
+        synchronized (jobs) {
+            jobs.put(job.id, job);
+            trimHistory();
+        }
+        executor.execute(() -> {
+            try {
+                run(job, properties.getBatchPause());
+            } catch (Exception e) {
+                log.error("Cache invalidation job {} for {} failed: {}", job.id, pattern, e.getMessage());
+            }
+        });
+        return job.toResponse();
+    }
+
+    @Override
+    public Optional<CacheInvalidationJobResponse> getJob(String jobId) {
+        synchronized (jobs) {
+            return Optional.ofNullable(jobs.get(jobId)).map(Job::toResponse);
+        }
+    }
+
+    @Override
+    public List<CacheInvalidationJobResponse> getJobs() {
+        List<CacheInvalidationJobResponse> recent = new ArrayList<>();
+        synchronized (jobs) {
+            jobs.values().forEach(job -> recent.add(0, job.toResponse()));
+        }
+        return recent;
+    }
+
+    private void run(Job job, Duration pause) {
+        job.status = "RUNNING";
+        job.startedAt = LocalDateTime.now();
+        int batchSize = Math.max(1, properties.getScanCount());
+        List<String> batch = new ArrayList<>(batchSize);
+        try (Cursor<String> cursor = redisTemplate.scan(scanOptions(job.pattern))) {
+            while (cursor.hasNext()) {
+                batch.add(cursor.next());
+                job.scanned.incrementAndGet();
+                if (batch.size() >= batchSize) {
+                    unlink(batch, job);
+                    batch = new ArrayList<>(batchSize);
+                    if (!pause.isZero() && !pause.isNegative()) {
+                        Thread.sleep(pause.toMillis());
+                    }
+                }
+            }
+            if (!batch.isEmpty()) {
+                unlink(batch, job);
+            }
+            job.status = "COMPLETED";
+            log.debug("Keys matching {} invalidated: {} of {} scanned", job.pattern, job.deleted.get(), job.scanned.get());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            job.fail("Interrupted");
+        } catch (RuntimeException e) {
+            job.fail(e.getMessage());
+            throw e;
+        } finally {
+            job.finishedAt = LocalDateTime.now();
+        }
+    }
+
+    // One pipeline per SCAN batch, split into short UNLINK commands
+    private void unlink(List<String> keys, Job job) {
+        int chunk = Math.max(1, properties.getUnlinkChunk());
+        List<Object> results = redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(RedisOperations<K, V> operations) {
+                RedisOperations<String, Object> ops = (RedisOperations<String, Object>) operations;
+                for (int i = 0; i < keys.size(); i += chunk) {
+                    ops.unlink(keys.subList(i, Math.min(i + chunk, keys.size())));
+                }
+                return null;
+            }
+        });
+        for (Object result : results) {
+            if (result instanceof Number removed) {
+                job.deleted.addAndGet(removed.longValue());
+            }
+        }
+        job.batches.incrementAndGet();
+    }
+
+    private ScanOptions scanOptions(String pattern) {
+        return ScanOptions.scanOptions().match(pattern).count(Math.max(1, properties.getScanCount())).build();
+    }
+
+    // Caller holds the jobs monitor; finished jobs are dropped oldest first
+    private void trimHistory() {
+        Iterator<Job> it = jobs.values().iterator();
+        while (jobs.size() > Math.max(1, properties.getJobHistory()) && it.hasNext()) {
+            Job oldest = it.next();
+            if (oldest.finishedAt != null) {
+                it.remove();
+            }
+        }
+    }
+
+    private static final class Job {
+        private final String id = UUID.randomUUID().toString();
+        private final String pattern;
+        private final AtomicLong scanned = new AtomicLong();
+        private final AtomicLong deleted = new AtomicLong();
+        private final AtomicLong batches = new AtomicLong();
+        private volatile String status = "QUEUED";
+        private volatile LocalDateTime startedAt;
+        private volatile LocalDateTime finishedAt;
+        private volatile String error;
+
+        private Job(String pattern) {
+            this.pattern = pattern;
+        }
+
+        private void fail(String message) {
+            error = message;
+            status = "FAILED";
+        }
+
+        private CacheInvalidationJobResponse toResponse() {
+            LocalDateTime start = startedAt;
+            LocalDateTime end = finishedAt;
+            return CacheInvalidationJobResponse.builder()
+                .id(id)
+                .pattern(pattern)
+                .status(status)
+                .keysScanned(scanned.get())
+                .keysDeleted(deleted.get())
+                .batches(batches.get())
+                .startedAt(start)
+                .finishedAt(end)
+                .durationMs(start == null ? 0 : Duration.between(start, end != null ? end : LocalDateTime.now()).toMillis())
+                .error(error)
+                .build();
+        }
+    }
+}
@@ -1,21 +1,36 @@
 package in.ShopSphere.ecommerce.service.impl;
 
+import in.ShopSphere.ecommerce.config.SingleFlightCache;
+import in.ShopSphere.ecommerce.config.SingleFlightCacheManager;
+import in.ShopSphere.ecommerce.config.TaggingCache;
+import in.ShopSphere.ecommerce.config.TaggingCacheManager;
+import in.ShopSphere.ecommerce.config.TwoLevelCache;
+import in.ShopSphere.ecommerce.config.TwoLevelCacheManager;
 import in.ShopSphere.ecommerce.model.entity.Category;
 import in.ShopSphere.ecommerce.model.entity.Product;
 import in.ShopSphere.ecommerce.model.entity.User;
+import in.ShopSphere.ecommerce.service.CacheInvalidationService;
 import in.ShopSphere.ecommerce.service.CacheService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.core.RedisOperations;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.ValueOperations;
 import org.springframework.data.redis.core.script.DefaultRedisScript;
 import org.springframework.stereotype.Service;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.Set;
 import java.util.concurrent.TimeUnit;
 
 @Service
@@ -25,6 +40,7 @@ public class CacheServiceImpl implements CacheService {
 
     private final RedisTemplate<String, Object> redisTemplate;
     private final CacheManager cacheManager;
+    private final CacheInvalidationService cacheInvalidationService;
     
     private static final String PRODUCT_CACHE_PREFIX = "product:";
     private static final String CATEGORY_CACHE_PREFIX = "category:";
@@ -257,10 +273,7 @@ public class CacheServiceImpl implements CacheService {
             }
             
             // Clear Redis
-            Set<String> keys = redisTemplate.keys(PRODUCT_CACHE_PREFIX + "*");
-            if (keys != null && !keys.isEmpty()) {
-                redisTemplate.delete(keys);
-            }
+            cacheInvalidationService.deleteKeys(PRODUCT_CACHE_PREFIX + "*");
             
             // Clear related caches
             invalidateSearchCache();
@@ -279,10 +292,7 @@ public class CacheServiceImpl implements CacheService {
                 cache.clear();
             }
             
-            Set<String> keys = redisTemplate.keys(SEARCH_PREFIX + "*");
-            if (keys != null && !keys.isEmpty()) {
-                redisTemplate.delete(keys);
-            }
+            cacheInvalidationService.deleteKeys(SEARCH_PREFIX + "*");
         } catch (Exception e) {
             log.error("Failed to invalidate search cache", e);
         }
@@ -290,10 +300,7 @@ public class CacheServiceImpl implements CacheService {
     
     private void invalidateProductsListCache() {
         try {
-            Set<String> keys = redisTemplate.keys(PRODUCTS_LIST_PREFIX + "*");
-            if (keys != null && !keys.isEmpty()) {
-                redisTemplate.delete(keys);
-            }
+            cacheInvalidationService.deleteKeys(PRODUCTS_LIST_PREFIX + "*");
         } catch (Exception e) {
             log.error("Failed to invalidate products list cache", e);
         }
@@ -307,9 +314,8 @@ public class CacheServiceImpl implements CacheService {
         }
         
         try {
-            // Get cache size using Redis pattern matching
-            Set<String> keys = redisTemplate.keys(cacheName + "*");
-            return keys != null ? keys.size() : 0;
+            // Get cache size using an incremental SCAN
+            return cacheInvalidationService.countKeys(cacheName + "*");
         } catch (Exception e) {
             log.error("Failed to get cache size for: {}", cacheName, e);
             return 0;
@@ -330,12 +336,9 @@ public class CacheServiceImpl implements CacheService {
             }
             
             // Clear Redis
-            Set<String> keys = redisTemplate.keys(cacheName + "*");
-            if (keys != null && !keys.isEmpty()) {
-                redisTemplate.delete(keys);
-            }
+            long deleted = cacheInvalidationService.deleteKeys(cacheName + "*");
             
-            log.debug("Cache cleared: {}, count: {}", cacheName, keys != null ? keys.size() : 0);
+            log.debug("Cache cleared: {}, count: {}", cacheName, deleted);
         } catch (Exception e) {
             log.error("Failed to clear cache: {}", cacheName, e);
         }
@@ -499,10 +502,7 @@ public class CacheServiceImpl implements CacheService {
             }
             
             // Clear Redis
-            Set<String> keys = redisTemplate.keys(CATEGORY_CACHE_PREFIX + "*");
-            if (keys != null && !keys.isEmpty()) {
-                redisTemplate.delete(keys);
-            }
+            cacheInvalidationService.deleteKeys(CATEGORY_CACHE_PREFIX + "*");
             
             // Clear related caches
             invalidateProductsListCache();
@@ -566,11 +566,8 @@ public class CacheServiceImpl implements CacheService {
     @Override
     public void invalidateAllUserSessions() {
         try {
-            Set<String> keys = redisTemplate.keys(USER_SESSION_PREFIX + "*");
-            if (keys != null && !keys.isEmpty()) {
-                redisTemplate.delete(keys);
-                log.debug("All user session caches invalidated, count: {}", keys.size());
-            }
+            long deleted = cacheInvalidationService.deleteKeys(USER_SESSION_PREFIX + "*");
+            log.debug("All user session caches invalidated, count: {}", deleted);
         } catch (Exception e) {
             log.error("Failed to invalidate all user session caches", e);
         }
@@ -630,16 +627,168 @@ public class CacheServiceImpl implements CacheService {
         }
         
         try {
-            Set<String> keys = redisTemplate.keys(pattern);
-            if (keys != null && !keys.isEmpty()) {
-                redisTemplate.delete(keys);
-                log.debug("Caches invalidated by pattern: {}, count: {}", pattern, keys.size());
-            }
+            long deleted = cacheInvalidationService.deleteKeys(pattern);
+            log.debug("Caches invalidated by pattern: {}, count: {}", pattern, deleted);
         } catch (Exception e) {
             log.error("Failed to invalidate caches by pattern: {}", pattern, e);
         }
     }
 
+    @Override
+    public <T> Map<String, T> getAllFromCache(String cacheName, Collection<String> keys, Class<T> type) {
+        Map<String, T> found = new HashMap<>();
+        if (cacheName == null || keys == null || keys.isEmpty()) {
+            return found;
+        }
+        
+        try {
+            Cache cache = cacheManager.getCache(cacheName);
+            if (cache instanceof TaggingCache tagging) {
+                cache = tagging.getDelegate();
+            }
+            if (cache instanceof SingleFlightCache singleFlight) {
+                cache = singleFlight.getDelegate();
+            }
+            TwoLevelCache twoLevelCache = null;
+            Collection<String> remaining = keys;
+            if (cache instanceof TwoLevelCache twoLevel) {
+                // Serve what this node already holds; only the rest goes to Redis
+                twoLevelCache = twoLevel;
+                remaining = new ArrayList<>();
+                for (String key : keys) {
+                    Cache.ValueWrapper local = twoLevel.getLocal(key);
+                    if (local != null && type.isInstance(local.get())) {
+                        found.put(key, type.cast(local.get()));
+                    } else {
+                        remaining.add(key);
+                    }
+                }
+                if (remaining.isEmpty()) {
+                    return found;
+                }
+                cache = twoLevel.getL2();
+            }
+            if (!(cache instanceof RedisCache redisCache)) {
+                // Not Redis-backed, so there is nothing to batch
+                if (cache != null) {
+                    for (String key : remaining) {
+                        T value = cache.get(key, type);
+                        if (value != null) {
+                            found.put(key, value);
+                        }
+                    }
+                }
+                return found;
+            }
+            
+            List<String> keyList = new ArrayList<>(remaining);
+            String prefix = redisKeyPrefix(redisCache);
+            List<Object> values = redisTemplate.opsForValue()
+                .multiGet(keyList.stream().map(key -> prefix + key).toList());
+            int hits = 0;
+            if (values != null) {
+                for (int i = 0; i < keyList.size() && i < values.size(); i++) {
+                    Object value = values.get(i);
+                    if (type.isInstance(value)) {
+                        found.put(keyList.get(i), type.cast(value));
+                        hits++;
+                        if (twoLevelCache != null) {
+                            twoLevelCache.putLocal(keyList.get(i), value);
+                        }
+                    }
+                }
+            }
+            if (twoLevelCache != null) {
+                twoLevelCache.recordL2(hits, keyList.size() - hits);
+            }
+            log.debug("Cache {} multi-get: {} of {} keys found", cacheName, found.size(), keys.size());
+        } catch (Exception e) {
+            // Treat unreadable entries as misses; the caller loads them from the database
+            log.error("Failed to read cache entries from: {}", cacheName, e);
+            found.clear();
+        }
+        return found;
+    }
+
+    @Override
+    public void putAllInCache(String cacheName, Map<String, ?> entries) {
+        if (cacheName == null || entries == null || entries.isEmpty()) {
+            return;
+        }
+        
+        try {
+            Cache cache = cacheManager.getCache(cacheName);
+            if (cache instanceof TaggingCache tagging) {
+                tagging.recordTags(entries);
+                cache = tagging.getDelegate();
+            }
+            if (cache instanceof SingleFlightCache singleFlight) {
+                cache = singleFlight.getDelegate();
+            }
+            TwoLevelCache twoLevelCache = cache instanceof TwoLevelCache twoLevel ? twoLevel : null;
+            if (twoLevelCache != null) {
+                cache = twoLevelCache.getL2();
+            }
+            if (!(cache instanceof RedisCache redisCache)) {
+                if (cache != null) {
+                    entries.forEach((twoLevelCache != null ? twoLevelCache : cache)::put);
+                }
+                return;
+            }
+            
+            RedisCacheConfiguration config = redisCache.getCacheConfiguration();
+            String prefix = redisKeyPrefix(redisCache);
+            redisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public <K, V> Object execute(RedisOperations<K, V> operations) {
+                    ValueOperations<String, Object> values = (ValueOperations<String, Object>) operations.opsForValue();
+                    entries.forEach((key, value) -> {
+                        // Same expiry the cache itself would have applied
+                        Duration ttl = config.getTtlFunction().getTimeToLive(key, value);
+                        if (ttl != null && !ttl.isZero() && !ttl.isNegative()) {
+                            values.set(prefix + key, value, ttl);
+                        } else {
+                            values.set(prefix + key, value);
+                        }
+                    });
+                    return null;
+                }
+            });
+            if (twoLevelCache != null) {
+                entries.forEach(twoLevelCache::putLocal);
+                twoLevelCache.broadcastEvictions(entries.keySet());
+            }
+            log.debug("Cache {} backfilled with {} entries", cacheName, entries.size());
+        } catch (Exception e) {
+            log.error("Failed to write cache entries to: {}", cacheName, e);
+        }
+    }
+
+    private static String redisKeyPrefix(RedisCache cache) {
+        RedisCacheConfiguration config = cache.getCacheConfiguration();
+        return config.usePrefix() ? config.getKeyPrefixFor(cache.getName()) : "";
+    }
+
+    @Override
+    public Map<String, Object> getTierStats() {
+        CacheManager target = cacheManager instanceof TaggingCacheManager tagging ? tagging.getDelegate() : cacheManager;
+        target = target instanceof SingleFlightCacheManager singleFlight ? singleFlight.getDelegate() : target;
+        if (target instanceof TwoLevelCacheManager twoLevelCacheManager) {
+            return twoLevelCacheManager.getStats();
+        }
+        return new HashMap<>();
+    }
+
+    @Override
+    public Map<String, Object> getLoadStats() {
+        CacheManager target = cacheManager instanceof TaggingCacheManager tagging ? tagging.getDelegate() : cacheManager;
+        if (target instanceof SingleFlightCacheManager singleFlightCacheManager) {
+            return singleFlightCacheManager.getStats();
+        }
+        return new HashMap<>();
+    }
+
     @Override
     public void clearAllCaches() {
         try {
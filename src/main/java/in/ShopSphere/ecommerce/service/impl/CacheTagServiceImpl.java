@@ -0,0 +1,77 @@
+package in.ShopSphere.ecommerce.service.impl;
+
+import in.ShopSphere.ecommerce.config.CacheTags;
+import in.ShopSphere.ecommerce.config.TaggingCacheManager;
+import in.ShopSphere.ecommerce.service.CacheTagService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CacheTagServiceImpl implements CacheTagService {
+
+    private final CacheManager cacheManager;
+
+    @Override
+    public void invalidate(String... tags) {
+        invalidate(List.of(tags));
+    }
+
+    @Override
+    public void invalidate(Collection<String> tags) {
+        if (tags == null || tags.isEmpty()) {
+            return;
+        }
+        List<String> pending = new ArrayList<>(tags);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidateNow(pending);
+                }
+            });
+        } else {
+            invalidateNow(pending);
+        }
+    }
+
+    private void invalidateNow(List<String> tags) {
+        try {
+            if (cacheManager instanceof TaggingCacheManager taggingCacheManager) {
+                taggingCacheManager.invalidate(tags);
+                return;
+            }
+            // Tagging is switched off, so clear the caches whose entries can carry these tags,
+            // or every cache if a tag is not known to belong anywhere
+            Set<String> cacheNames = new LinkedHashSet<>();
+            for (String tag : tags) {
+                Set<String> names = CacheTags.cacheNames(tag);
+                if (names.isEmpty()) {
+                    cacheNames.addAll(cacheManager.getCacheNames());
+                    break;
+                }
+                cacheNames.addAll(names);
+            }
+            cacheNames.forEach(name -> {
+                Cache cache = cacheManager.getCache(name);
+                if (cache != null) {
+                    cache.clear();
+                }
+            });
+        } catch (Exception e) {
+            log.error("Failed to invalidate cache tags {}: {}", tags, e.getMessage());
+        }
+    }
+}
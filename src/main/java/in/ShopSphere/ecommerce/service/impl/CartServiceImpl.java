@@ -1,5 +1,6 @@
 package in.ShopSphere.ecommerce.service.impl;
 
+import in.ShopSphere.ecommerce.config.CacheTags;
 import in.ShopSphere.ecommerce.dto.cart.CartRequest;
 import in.ShopSphere.ecommerce.dto.cart.CartResponse;
 import in.ShopSphere.ecommerce.dto.common.ApiResponse;
@@ -12,10 +13,11 @@ import in.ShopSphere.ecommerce.model.entity.Product;
 import in.ShopSphere.ecommerce.model.entity.User;
 import in.ShopSphere.ecommerce.repository.CartRepository;
 import in.ShopSphere.ecommerce.repository.ProductRepository;
+import in.ShopSphere.ecommerce.service.CacheTagService;
 import in.ShopSphere.ecommerce.service.CartService;
+import in.ShopSphere.ecommerce.service.ProductCounterService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
@@ -35,9 +37,11 @@ public class CartServiceImpl implements CartService {
     private final CartRepository cartRepository;
     private final ProductRepository productRepository;
     private final CartMapper cartMapper;
+    private final ProductCounterService productCounterService;
+    private final CacheTagService cacheTagService;
 
     @Override
-    @Cacheable(value = "cart", key = "#root.methodName + #root.args[0]")
+    @Cacheable(value = "cart", key = "@cacheTags.currentUserKey('cart', #root.methodName)")
     public CartResponse getCart() {
         User currentUser = getCurrentUser();
         Cart cart = getOrCreateCart(currentUser);
@@ -45,7 +49,6 @@ public class CartServiceImpl implements CartService {
     }
 
     @Override
-    @CacheEvict(value = "cart", allEntries = true)
     public CartResponse addToCart(CartRequest request) {
         log.info("Adding item to cart: productId={}, quantity={}", request.getProductId(), request.getQuantity());
         
@@ -97,13 +100,14 @@ public class CartServiceImpl implements CartService {
         cart.setUpdatedAt(LocalDateTime.now());
         Cart savedCart = cartRepository.save(cart);
         
+        cacheTagService.invalidate(CacheTags.cart(currentUser.getId()));
         log.info("Item added to cart successfully. Cart ID: {}", savedCart.getId());
+        productCounterService.increment(product.getId(), ProductCounterService.Signal.ADD_TO_CART);
         
         return cartMapper.toCartResponse(savedCart);
     }
 
     @Override
-    @CacheEvict(value = "cart", allEntries = true)
     public CartResponse updateCartItem(String itemId, Integer quantity) {
         log.info("Updating cart item: itemId={}, quantity={}", itemId, quantity);
         
@@ -130,13 +134,13 @@ public class CartServiceImpl implements CartService {
         cart.setUpdatedAt(LocalDateTime.now());
         Cart savedCart = cartRepository.save(cart);
         
+        cacheTagService.invalidate(CacheTags.cart(currentUser.getId()));
         log.info("Cart item updated successfully. Cart ID: {}", savedCart.getId());
         
         return cartMapper.toCartResponse(savedCart);
     }
 
     @Override
-    @CacheEvict(value = "cart", allEntries = true)
     public CartResponse removeFromCart(String itemId) {
         log.info("Removing item from cart: itemId={}", itemId);
         
@@ -152,6 +156,7 @@ public class CartServiceImpl implements CartService {
         cart.setUpdatedAt(LocalDateTime.now());
         Cart savedCart = cartRepository.save(cart);
         
+        cacheTagService.invalidate(CacheTags.cart(currentUser.getId()));
         log.info("Item removed from cart successfully. Cart ID: {}", savedCart.getId());
         
         return cartMapper.toCartResponse(savedCart);
@@ -160,7 +165,6 @@ public class CartServiceImpl implements CartService {
 
 
     @Override
-    @CacheEvict(value = "cart", allEntries = true)
     public CartResponse clearCart() {
         log.info("Clearing cart");
         
@@ -171,6 +175,7 @@ public class CartServiceImpl implements CartService {
         cart.setUpdatedAt(LocalDateTime.now());
         Cart savedCart = cartRepository.save(cart);
         
+        cacheTagService.invalidate(CacheTags.cart(currentUser.getId()));
         log.info("Cart cleared successfully. Cart ID: {}", savedCart.getId());
         
         return cartMapper.toCartResponse(savedCart);
@@ -178,7 +183,6 @@ public class CartServiceImpl implements CartService {
 
     @SuppressWarnings("rawtypes")
     @Override
-    @CacheEvict(value = "cart", allEntries = true)
     public ApiResponse applyCoupon(String couponCode) {
         log.info("Applying coupon: {}", couponCode);
         
@@ -188,7 +192,6 @@ public class CartServiceImpl implements CartService {
 
     @SuppressWarnings("rawtypes")
     @Override
-    @CacheEvict(value = "cart", allEntries = true)
     public ApiResponse removeCoupon() {
         log.info("Removing coupon");
         
@@ -197,7 +200,7 @@ public class CartServiceImpl implements CartService {
     }
 
     @Override
-    @Cacheable(value = "cart", key = "#root.methodName + #root.args[0]")
+    @Cacheable(value = "cart", key = "@cacheTags.currentUserKey('cart', #root.methodName)")
     public CartResponse getCartSummary() {
         User currentUser = getCurrentUser();
         Cart cart = getOrCreateCart(currentUser);
@@ -206,7 +209,6 @@ public class CartServiceImpl implements CartService {
 
     @SuppressWarnings("rawtypes")
     @Override
-    @CacheEvict(value = "cart", allEntries = true)
     public ApiResponse moveToWishlist(String productId) {
         log.info("Moving product to wishlist: productId={}", productId);
         
@@ -219,6 +221,7 @@ public class CartServiceImpl implements CartService {
             .orElseThrow(() -> new ResourceNotFoundException("Product not found in cart"));
         
         // TODO: Implement wishlist logic
+        cacheTagService.invalidate(CacheTags.cart(currentUser.getId()));
         log.info("Product moved to wishlist successfully");
         
         return ApiResponse.success(null, "Product moved to wishlist successfully");
@@ -226,7 +229,7 @@ public class CartServiceImpl implements CartService {
 
     @SuppressWarnings("rawtypes")
     @Override
-    @Cacheable(value = "cart", key = "#root.methodName + #root.args[0]")
+    @Cacheable(value = "cart", key = "@cacheTags.currentUserKey('cart', #root.methodName)")
     public ApiResponse checkCartAvailability() {
         User currentUser = getCurrentUser();
         Cart cart = getOrCreateCart(currentUser);
@@ -244,8 +247,7 @@ public class CartServiceImpl implements CartService {
 
     @SuppressWarnings("rawtypes")
     @Override
-    @CacheEvict(value = "cart", allEntries = true)
-        public ApiResponse updateItemQuantity(String itemId, Integer quantity) {
+    public ApiResponse updateItemQuantity(String itemId, Integer quantity) {
         log.info("Updating item quantity: itemId={}, quantity={}", itemId, quantity);
         
         User currentUser = getCurrentUser();
@@ -271,6 +273,7 @@ public class CartServiceImpl implements CartService {
         cart.setUpdatedAt(LocalDateTime.now());
         cartRepository.save(cart);
         
+        cacheTagService.invalidate(CacheTags.cart(currentUser.getId()));
         log.info("Item quantity updated successfully");
         
         return ApiResponse.success(null, "Item quantity updated successfully");
@@ -0,0 +1,95 @@
+package in.ShopSphere.ecommerce.service.impl;
+
+import in.ShopSphere.ecommerce.dto.common.CatalogVersion;
+import in.ShopSphere.ecommerce.dto.product.ProductResponse;
+import in.ShopSphere.ecommerce.event.CategoryChangedEvent;
+import in.ShopSphere.ecommerce.event.ProductBatchChangedEvent;
+import in.ShopSphere.ecommerce.event.ProductChangedEvent;
+import in.ShopSphere.ecommerce.service.CatalogVersionService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Cheap validators for conditional GETs. A single product is versioned by a hash of the
+ * response served for it, which comes from the product cache and changes whenever the
+ * cached entry is replaced; the hash only depends on field values, so every node derives
+ * the same stamp. Listings and categories share counters in Redis that every catalog
+ * change event bumps. Stock-only changes from orders do not, so a listing revalidates
+ * with its cached stock until it expires. A counter is seeded with the current time, so
+ * one lost with Redis never repeats an earlier ETag. Without Redis no list version is
+ * sent and every request gets a full response.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CatalogVersionServiceImpl implements CatalogVersionService {
+
+    static final String PRODUCTS_VERSION_KEY = "ecommerce:catalog-version:products";
+    static final String CATEGORIES_VERSION_KEY = "ecommerce:catalog-version:categories";
+
+    private final RedisTemplate<String, Object> redisTemplate;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        bump(PRODUCTS_VERSION_KEY);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductsChanged(ProductBatchChangedEvent event) {
+        bump(PRODUCTS_VERSION_KEY);
+    }
+
+    // Listings embed category names, so they move too
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        bump(CATEGORIES_VERSION_KEY);
+        bump(PRODUCTS_VERSION_KEY);
+    }
+
+    @Override
+    public CatalogVersion getProductVersion(ProductResponse product) {
+        if (product == null) {
+            return null;
+        }
+        return new CatalogVersion("W/\"" + product.getId() + "-" + Integer.toHexString(product.hashCode()) + "\"", -1);
+    }
+
+    @Override
+    public CatalogVersion getProductListVersion() {
+        Long version = read(PRODUCTS_VERSION_KEY);
+        return version != null ? new CatalogVersion("W/\"products-" + version + "\"", -1) : null;
+    }
+
+    @Override
+    public CatalogVersion getCategoryVersion() {
+        Long version = read(CATEGORIES_VERSION_KEY);
+        return version != null ? new CatalogVersion("W/\"categories-" + version + "\"", -1) : null;
+    }
+
+    private Long read(String key) {
+        try {
+            Object value = redisTemplate.opsForValue().get(key);
+            if (value == null) {
+                redisTemplate.opsForValue().setIfAbsent(key, System.currentTimeMillis());
+                value = redisTemplate.opsForValue().get(key);
+            }
+            return value instanceof Number number ? number.longValue() : null;
+        } catch (Exception e) {
+            log.debug("Failed to read catalog version {}: {}", key, e.getMessage());
+            return null;
+        }
+    }
+
+    private void bump(String key) {
+        try {
+            redisTemplate.opsForValue().setIfAbsent(key, System.currentTimeMillis());
+            redisTemplate.opsForValue().increment(key);
+        } catch (Exception e) {
+            log.warn("Failed to bump catalog version {}: {}", key, e.getMessage());
+        }
+    }
+
+}
@@ -1,28 +1,34 @@
 package in.ShopSphere.ecommerce.service.impl;
 
+import in.ShopSphere.ecommerce.config.CacheTags;
 import in.ShopSphere.ecommerce.dto.category.CategoryRequest;
 import in.ShopSphere.ecommerce.dto.category.CategoryResponse;
 import in.ShopSphere.ecommerce.dto.category.CategorySimpleResponse;
 import in.ShopSphere.ecommerce.dto.common.ApiResponse;
 import in.ShopSphere.ecommerce.dto.common.PaginationResponse;
+import in.ShopSphere.ecommerce.event.CategoryChangedEvent;
 import in.ShopSphere.ecommerce.exception.BusinessException;
 import in.ShopSphere.ecommerce.exception.ResourceNotFoundException;
 import in.ShopSphere.ecommerce.mapper.CategoryMapper;
 import in.ShopSphere.ecommerce.mapper.CategorySimpleMapper;
 import in.ShopSphere.ecommerce.model.entity.Category;
 import in.ShopSphere.ecommerce.repository.CategoryRepository;
+import in.ShopSphere.ecommerce.service.CacheTagService;
 import in.ShopSphere.ecommerce.service.CategoryService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Objects;
 
 @Service
 @RequiredArgsConstructor
@@ -33,9 +39,11 @@ public class CategoryServiceImpl implements CategoryService {
     private final CategoryRepository categoryRepository;
     private final CategoryMapper categoryMapper;
     private final CategorySimpleMapper categorySimpleMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CacheTagService cacheTagService;
 
     @Override
-    @CacheEvict(value = {"categories", "categories-simple", "category"}, allEntries = true)
+    @CacheEvict(value = {"categories", "categories-simple"}, allEntries = true)
     public CategoryResponse createCategory(CategoryRequest request) {
         log.info("Creating category: {}", request.getName());
         
@@ -59,12 +67,15 @@ public class CategoryServiceImpl implements CategoryService {
         
         Category savedCategory = categoryRepository.save(category);
         log.info("Category created successfully with ID: {}", savedCategory.getId());
+        // The parent's cached response lists its children
+        invalidateCategories(request.getParentId());
+        eventPublisher.publishEvent(new CategoryChangedEvent(savedCategory.getId()));
         
         return categoryMapper.toCategoryResponse(savedCategory);
     }
 
     @Override
-    @CacheEvict(value = {"categories", "categories-simple", "category"}, allEntries = true)
+    @CacheEvict(value = {"categories", "categories-simple"}, allEntries = true)
     public CategoryResponse updateCategory(String id, CategoryRequest request) {
         log.info("Updating category with ID: {}", id);
         
@@ -87,6 +98,8 @@ public class CategoryServiceImpl implements CategoryService {
                 .orElseThrow(() -> new ResourceNotFoundException("Parent category not found with ID: " + request.getParentId()));
         }
         
+        String previousParentId = category.getParent() != null ? category.getParent().getId() : null;
+        
         // Update category
         categoryMapper.updateCategoryFromRequest(request, category);
         category.setParent(parent);
@@ -94,12 +107,14 @@ public class CategoryServiceImpl implements CategoryService {
         
         Category updatedCategory = categoryRepository.save(category);
         log.info("Category updated successfully with ID: {}", updatedCategory.getId());
+        invalidateCategories(id, previousParentId, request.getParentId());
+        eventPublisher.publishEvent(new CategoryChangedEvent(updatedCategory.getId()));
         
         return categoryMapper.toCategoryResponse(updatedCategory);
     }
 
     @Override
-    @Cacheable(value = "category", key = "#id")
+    @Cacheable(value = "category", key = "#id", sync = true)
     public CategoryResponse getCategoryById(String id) {
         Category category = categoryRepository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException("Category not found with ID: " + id));
@@ -112,7 +127,7 @@ public class CategoryServiceImpl implements CategoryService {
     }
 
     @Override
-    @Cacheable(value = "category", key = "#name")
+    @Cacheable(value = "category", key = "#name", sync = true)
     public CategoryResponse getCategoryByName(String name) {
         Category category = categoryRepository.findByName(name)
             .orElseThrow(() -> new ResourceNotFoundException("Category not found with name: " + name));
@@ -125,7 +140,7 @@ public class CategoryServiceImpl implements CategoryService {
     }
 
     @Override
-    @Cacheable(value = "categories") // Re-enabled after fixing Redis serialization
+    @Cacheable(value = "categories", sync = true) // Re-enabled after fixing Redis serialization
     public PaginationResponse<CategoryResponse> getAllCategories(Pageable pageable) {
         var categories = categoryRepository.findAllActive(pageable);
         List<CategoryResponse> categoryResponses = categoryMapper.toCategoryResponseList(categories.getContent());
@@ -142,28 +157,28 @@ public class CategoryServiceImpl implements CategoryService {
     }
 
     @Override
-    @Cacheable(value = "categories") // Re-enabled after fixing Redis serialization
+    @Cacheable(value = "categories", key = "#root.methodName", sync = true) // Re-enabled after fixing Redis serialization
     public List<CategoryResponse> getRootCategories() {
         List<Category> categories = categoryRepository.findRootCategories();
         return categoryMapper.toCategoryResponseList(categories);
     }
 
     @Override
-    @Cacheable(value = "categories") // Re-enabled after fixing Redis serialization
+    @Cacheable(value = "categories", sync = true) // Re-enabled after fixing Redis serialization
     public List<CategoryResponse> getSubCategories(String parentId) {
         List<Category> categories = categoryRepository.findSubCategories(parentId);
         return categoryMapper.toCategoryResponseList(categories);
     }
 
     @Override
-    @Cacheable(value = "categories") // Re-enabled after fixing Redis serialization
+    @Cacheable(value = "categories", key = "#root.methodName", sync = true) // Re-enabled after fixing Redis serialization
     public List<CategoryResponse> getCategoriesWithProducts() {
         List<Category> categories = categoryRepository.findCategoriesWithActiveProducts();
         return categoryMapper.toCategoryResponseList(categories);
     }
 
     @Override
-    @Cacheable(value = "categories") // Re-enabled after fixing Redis serialization
+    @Cacheable(value = "categories", key = "#root.methodName", sync = true) // Re-enabled after fixing Redis serialization
     public List<CategoryResponse> getActiveCategories() {
         log.info("Fetching active categories from database");
         List<Category> categories = categoryRepository.findByIsActiveTrueOrderBySortOrderAsc();
@@ -174,7 +189,7 @@ public class CategoryServiceImpl implements CategoryService {
     }
 
     @Override
-    @Cacheable(value = "categories-simple") // Separate cache for simple categories
+    @Cacheable(value = "categories-simple", sync = true) // Separate cache for simple categories
     public List<CategorySimpleResponse> getActiveCategoriesSimple() {
         log.info("Fetching active categories (simple) from database");
         List<Category> categories = categoryRepository.findByIsActiveTrueOrderBySortOrderAsc();
@@ -185,7 +200,7 @@ public class CategoryServiceImpl implements CategoryService {
     }
 
     @Override
-    @Cacheable(value = "categories") // Re-enabled after fixing Redis serialization
+    @Cacheable(value = "categories", sync = true) // Re-enabled after fixing Redis serialization
     public PaginationResponse<CategoryResponse> searchCategories(String searchTerm, Pageable pageable) {
         var categories = categoryRepository.searchCategories(searchTerm, pageable);
         List<CategoryResponse> categoryResponses = categoryMapper.toCategoryResponseList(categories.getContent());
@@ -202,7 +217,7 @@ public class CategoryServiceImpl implements CategoryService {
     }
 
     @Override
-    @CacheEvict(value = {"categories", "categories-simple", "category"}, allEntries = true)
+    @CacheEvict(value = {"categories", "categories-simple"}, allEntries = true)
     public ApiResponse deleteCategory(String id) {
         log.info("Deleting category with ID: {}", id);
         
@@ -222,12 +237,14 @@ public class CategoryServiceImpl implements CategoryService {
         
         categoryRepository.delete(category);
         log.info("Category deleted successfully with ID: {}", id);
+        invalidateCategories(id, category.getParent() != null ? category.getParent().getId() : null);
+        eventPublisher.publishEvent(new CategoryChangedEvent(id));
         
         return ApiResponse.success(null, "Category deleted successfully");
     }
 
     @Override
-    @CacheEvict(value = {"categories", "categories-simple", "category"}, allEntries = true)
+    @CacheEvict(value = {"categories", "categories-simple"}, allEntries = true)
     public ApiResponse toggleCategoryStatus(String id) {
         log.info("Toggling category status with ID: {}", id);
         
@@ -240,12 +257,14 @@ public class CategoryServiceImpl implements CategoryService {
         
         String status = category.getIsActive() ? "activated" : "deactivated";
         log.info("Category {} successfully with ID: {}", status, id);
+        invalidateCategories(id);
+        eventPublisher.publishEvent(new CategoryChangedEvent(id));
         
         return ApiResponse.success(null, "Category " + status + " successfully");
     }
 
     @Override
-    @CacheEvict(value = {"categories", "categories-simple", "category"}, allEntries = true)
+    @CacheEvict(value = {"categories", "categories-simple"}, allEntries = true)
     public ApiResponse updateCategoryOrder(String id, Integer sortOrder) {
         log.info("Updating category order for ID: {} to: {}", id, sortOrder);
         
@@ -257,12 +276,14 @@ public class CategoryServiceImpl implements CategoryService {
         categoryRepository.save(category);
         
         log.info("Category order updated successfully for ID: {}", id);
+        invalidateCategories(id);
+        eventPublisher.publishEvent(new CategoryChangedEvent(id));
         
         return ApiResponse.success(null, "Category order updated successfully");
     }
 
     @Override
-    @CacheEvict(value = {"categories", "categories-simple", "category"}, allEntries = true)
+    @CacheEvict(value = {"categories", "categories-simple"}, allEntries = true)
     public ApiResponse moveCategory(String id, String newParentId) {
         log.info("Moving category with ID: {} to parent ID: {}", id, newParentId);
         
@@ -279,11 +300,14 @@ public class CategoryServiceImpl implements CategoryService {
                 .orElseThrow(() -> new ResourceNotFoundException("New parent category not found with ID: " + newParentId));
         }
         
+        String previousParentId = category.getParent() != null ? category.getParent().getId() : null;
         category.setParent(newParent);
         category.setUpdatedAt(LocalDateTime.now());
         categoryRepository.save(category);
         
         log.info("Category moved successfully with ID: {} to parent ID: {}", id, newParentId);
+        invalidateCategories(id, previousParentId, newParentId);
+        eventPublisher.publishEvent(new CategoryChangedEvent(id));
         return ApiResponse.success(null, "Category moved successfully");
     }
     
@@ -346,6 +370,7 @@ public class CategoryServiceImpl implements CategoryService {
         categoryRepository.save(sports);
         
         log.info("Successfully initialized {} basic categories", 5);
+        eventPublisher.publishEvent(new CategoryChangedEvent(null));
         return 5;
     }
     
@@ -356,9 +381,15 @@ public class CategoryServiceImpl implements CategoryService {
         // The @CacheEvict annotation will handle clearing the cache
     }
 
-
-
-
-
-
-}
\ No newline at end of file
+    // Category entries, and the products cached with them; list caches are evicted separately
+    private void invalidateCategories(String... ids) {
+        List<String> tags = Arrays.stream(ids)
+            .filter(Objects::nonNull)
+            .distinct()
+            .map(CacheTags::category)
+            .toList();
+        if (!tags.isEmpty()) {
+            cacheTagService.invalidate(tags);
+        }
+    }
+}
@@ -3,6 +3,7 @@ package in.ShopSphere.ecommerce.service.impl;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import in.ShopSphere.ecommerce.dto.product.ExternalProductDto;
+import in.ShopSphere.ecommerce.event.ProductChangedEvent;
 import in.ShopSphere.ecommerce.model.entity.*;
 import in.ShopSphere.ecommerce.model.entity.UserRole;
 import in.ShopSphere.ecommerce.repository.CategoryRepository;
@@ -10,8 +11,10 @@ import in.ShopSphere.ecommerce.repository.ProductRepository;
 import in.ShopSphere.ecommerce.repository.ReviewRepository;
 import in.ShopSphere.ecommerce.repository.UserRepository;
 import in.ShopSphere.ecommerce.service.DataImportService;
+import in.ShopSphere.ecommerce.service.ProductIdentifierFilterService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -30,6 +33,8 @@ public class DataImportServiceImpl implements DataImportService {
     private final ProductRepository productRepository;
     private final CategoryRepository categoryRepository;
     private final UserRepository userRepository;
+    private final ProductIdentifierFilterService identifierFilter;
+    private final ApplicationEventPublisher eventPublisher;
   
     private final ObjectMapper objectMapper;
 
@@ -87,6 +92,12 @@ public class DataImportServiceImpl implements DataImportService {
     @Override
     @Transactional
     public String importSingleProduct(ExternalProductDto externalProduct) {
+        // Re-running an import must not trip the unique SKU constraint and roll the whole batch back
+        if (externalProduct.getSku() != null && identifierFilter.skuExists(externalProduct.getSku())) {
+            log.info("Skipping product {}: SKU {} already exists", externalProduct.getTitle(), externalProduct.getSku());
+            return null;
+        }
+        
         // Get or create category
         Category category = getOrCreateCategory(externalProduct.getCategory());
         
@@ -135,6 +146,7 @@ public class DataImportServiceImpl implements DataImportService {
         // Save product first
         log.info("Saving product: {}", product.getName());
         Product savedProduct = productRepository.save(product);
+        identifierFilter.recordIdentifiers(savedProduct.getSku(), savedProduct.getBarcode());
         log.info("Product saved with ID: {}", savedProduct.getId());
         
         // Process images
@@ -152,6 +164,10 @@ public class DataImportServiceImpl implements DataImportService {
         savedProduct = productRepository.save(savedProduct);
         log.info("Product with relationships saved successfully");
         
+        // Imported rows must reach the in-memory read models like any other product write
+        eventPublisher.publishEvent(new ProductChangedEvent(
+            savedProduct.getId(), ProductChangedEvent.ChangeType.CREATED, seller.getId()));
+        
         return savedProduct.getId();
     }
 
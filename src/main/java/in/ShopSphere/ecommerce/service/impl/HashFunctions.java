@@ -0,0 +1,30 @@
+package in.ShopSphere.ecommerce.service.impl;
+
+/**
+ * 64-bit hashes for the in-memory sketches and filters. Stable across runs and nodes,
+ * unlike String.hashCode, so filter bits can be mirrored to Redis.
+ */
+final class HashFunctions {
+
+    private HashFunctions() {
+    }
+
+    static long fnv1a(String key) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            hash ^= key.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    // MurmurHash3 finaliser; FNV alone leaves the low bits poorly mixed
+    static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
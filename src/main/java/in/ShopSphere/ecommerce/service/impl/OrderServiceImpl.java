@@ -1,29 +1,39 @@
 package in.ShopSphere.ecommerce.service.impl;
 
+import in.ShopSphere.ecommerce.config.CacheTags;
 import in.ShopSphere.ecommerce.dto.common.ApiResponse;
+import in.ShopSphere.ecommerce.dto.common.PageCursor;
 import in.ShopSphere.ecommerce.dto.common.PaginationResponse;
 import in.ShopSphere.ecommerce.dto.order.OrderRequest;
 import in.ShopSphere.ecommerce.dto.order.OrderResponse;
+import in.ShopSphere.ecommerce.event.ProductStockChangedEvent;
 import in.ShopSphere.ecommerce.exception.BusinessException;
 import in.ShopSphere.ecommerce.exception.ResourceNotFoundException;
 import in.ShopSphere.ecommerce.mapper.OrderMapper;
 import in.ShopSphere.ecommerce.model.entity.*;
 import in.ShopSphere.ecommerce.repository.*;
 import in.ShopSphere.ecommerce.controller.WebSocketController;
+import in.ShopSphere.ecommerce.service.CacheTagService;
 import in.ShopSphere.ecommerce.service.OrderService;
+import in.ShopSphere.ecommerce.service.ProductCounterService;
+import in.ShopSphere.ecommerce.service.ProductTrendingService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
@@ -39,9 +49,12 @@ public class OrderServiceImpl implements OrderService {
     private final AddressRepository addressRepository;
     private final OrderMapper orderMapper;
     private final WebSocketController webSocketController;
+    private final ProductCounterService productCounterService;
+    private final ProductTrendingService productTrendingService;
+    private final CacheTagService cacheTagService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
-    @CacheEvict(value = {"orders", "userOrders", "allOrders"}, allEntries = true)
     public OrderResponse createOrder(OrderRequest request) {
         log.info("Creating order for user");
         
@@ -106,12 +119,24 @@ public class OrderServiceImpl implements OrderService {
         
         // Update product stock
         updateProductStock(cart);
+        afterCommit(() -> {
+            for (OrderItem item : orderItems) {
+                productCounterService.increment(item.getProduct().getId(), ProductCounterService.Signal.PURCHASE, item.getQuantity());
+                productTrendingService.recordPurchase(item.getProduct().getId(), item.getQuantity());
+            }
+        });
         
         // Clear cart
         cart.getItems().clear();
         cart.setUpdatedAt(LocalDateTime.now());
         cartRepository.save(cart);
         
+        // New orders join every order list; the cart was emptied and stock went down
+        List<String> tags = new ArrayList<>(List.of(CacheTags.ORDER_LIST, CacheTags.PRODUCT_STOCK,
+            CacheTags.userOrders(currentUser.getId()), CacheTags.cart(currentUser.getId())));
+        orderItems.forEach(item -> tags.add(CacheTags.product(item.getProduct().getId())));
+        cacheTagService.invalidate(tags);
+        
         // Emit WebSocket event for new order
         webSocketController.sendOrderStatusUpdate(savedOrder.getId().toString(), "CREATED", currentUser.getId().toString());
         
@@ -121,7 +146,7 @@ public class OrderServiceImpl implements OrderService {
     }
 
     @Override
-    @Cacheable(value = "orders", key = "#id")
+    @Cacheable(value = "orders", key = "#id", sync = true)
     public OrderResponse getOrderById(String id) {
         Order order = orderRepository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException("Order not found with ID: " + id));
@@ -136,7 +161,7 @@ public class OrderServiceImpl implements OrderService {
     }
 
     @Override
-    @Cacheable(value = "orders", key = "#orderNumber")
+    @Cacheable(value = "orders", key = "#orderNumber", sync = true)
     public OrderResponse getOrderByNumber(String orderNumber) {
         Order order = orderRepository.findByOrderNumber(orderNumber)
             .orElseThrow(() -> new ResourceNotFoundException("Order not found with number: " + orderNumber));
@@ -153,7 +178,7 @@ public class OrderServiceImpl implements OrderService {
 
 
     @Override
-    @Cacheable(value = "orders", key = "#status + #pageable.pageNumber + #pageable.pageSize")
+    @Cacheable(value = "orders", key = "@cacheTags.key({'orders:list', 'orders:status'}, 'status', #status, #pageable.pageNumber, #pageable.pageSize)", sync = true)
     public PaginationResponse<OrderResponse> getOrdersByStatus(OrderStatus status, Pageable pageable) {
         // Only admins can filter by status
         User currentUser = getCurrentUser();
@@ -176,7 +201,7 @@ public class OrderServiceImpl implements OrderService {
     }
 
     @Override
-    @Cacheable(value = "orders", key = "#paymentStatus + #pageable.pageNumber + #pageable.pageSize")
+    @Cacheable(value = "orders", key = "@cacheTags.key({'orders:list', 'orders:payment-status'}, 'payment', #paymentStatus, #pageable.pageNumber, #pageable.pageSize)", sync = true)
     public PaginationResponse<OrderResponse> getOrdersByPaymentStatus(PaymentStatus paymentStatus, Pageable pageable) {
         // Only admins can filter by payment status
         User currentUser = getCurrentUser();
@@ -199,7 +224,7 @@ public class OrderServiceImpl implements OrderService {
     }
 
     @Override
-    @Cacheable(value = "orders", key = "#startDate.toString() + #endDate.toString()")
+    @Cacheable(value = "orders", key = "@cacheTags.key({'orders:list'}, 'created', #startDate, #endDate)", sync = true)
     public List<OrderResponse> getOrdersByDateRange(LocalDateTime startDate, LocalDateTime endDate) {
         // Only admins can filter by date range
         User currentUser = getCurrentUser();
@@ -212,7 +237,7 @@ public class OrderServiceImpl implements OrderService {
     }
 
     @Override
-    @Cacheable(value = "orders", key = "#date.toString()")
+    @Cacheable(value = "orders", key = "@cacheTags.key({'orders:list', 'orders:delivery'}, 'estimated', #date)", sync = true)
     public List<OrderResponse> getOrdersByEstimatedDelivery(LocalDate date) {
         // Only admins can filter by estimated delivery date
         User currentUser = getCurrentUser();
@@ -225,7 +250,7 @@ public class OrderServiceImpl implements OrderService {
     }
 
     @Override
-    @Cacheable(value = "orders", key = "#date.toString()")
+    @Cacheable(value = "orders", key = "@cacheTags.key({'orders:list', 'orders:delivery'}, 'delivered', #date)", sync = true)
     public List<OrderResponse> getOrdersByActualDelivery(LocalDate date) {
         // Only admins can filter by actual delivery date
         User currentUser = getCurrentUser();
@@ -238,7 +263,7 @@ public class OrderServiceImpl implements OrderService {
     }
 
     @Override
-    @Cacheable(value = "orders", key = "#searchTerm + #pageable.pageNumber + #pageable.pageSize")
+    @Cacheable(value = "orders", key = "@cacheTags.key({'orders:list'}, 'search', #searchTerm, #pageable.pageNumber, #pageable.pageSize)", sync = true)
     public PaginationResponse<OrderResponse> searchOrders(String searchTerm, Pageable pageable) {
         // Only admins can search orders
         User currentUser = getCurrentUser();
@@ -261,7 +286,6 @@ public class OrderServiceImpl implements OrderService {
     }
 
     @Override
-    @CacheEvict(value = {"orders", "userOrders", "allOrders"}, allEntries = true)
     public ApiResponse updateOrderStatus(String id, OrderStatus status) {
         log.info("Updating order status: orderId={}, status={}", id, status);
         
@@ -291,6 +315,8 @@ public class OrderServiceImpl implements OrderService {
         
         orderRepository.save(order);
         
+        cacheTagService.invalidate(CacheTags.order(id), CacheTags.ORDER_STATUS, CacheTags.ORDER_DELIVERY);
+        
         // Emit WebSocket event for real-time updates
         webSocketController.sendOrderStatusUpdate(id.toString(), status.name(), currentUser.getId().toString());
         
@@ -300,7 +326,6 @@ public class OrderServiceImpl implements OrderService {
     }
 
     @Override
-    @CacheEvict(value = {"orders", "userOrders", "allOrders"}, allEntries = true)
     public ApiResponse updatePaymentStatus(String id, PaymentStatus paymentStatus) {
         log.info("Updating payment status: orderId={}, status={}", id, paymentStatus);
         
@@ -317,13 +342,14 @@ public class OrderServiceImpl implements OrderService {
         order.setUpdatedAt(LocalDateTime.now());
         orderRepository.save(order);
         
+        cacheTagService.invalidate(CacheTags.order(id), CacheTags.ORDER_PAYMENT_STATUS);
+        
         log.info("Payment status updated successfully. Order ID: {}", id);
         
         return ApiResponse.success(null, "Payment status updated successfully");
     }
 
     @Override
-    @CacheEvict(value = {"orders", "userOrders", "allOrders"}, allEntries = true)
     public ApiResponse updateDeliveryDate(String id, LocalDate deliveryDate) {
         log.info("Updating delivery date: orderId={}, date={}", id, deliveryDate);
         
@@ -340,13 +366,14 @@ public class OrderServiceImpl implements OrderService {
         order.setUpdatedAt(LocalDateTime.now());
         orderRepository.save(order);
         
+        cacheTagService.invalidate(CacheTags.order(id), CacheTags.ORDER_DELIVERY);
+        
         log.info("Delivery date updated successfully. Order ID: {}", id);
         
         return ApiResponse.success(null, "Delivery date updated successfully");
     }
 
     @Override
-    @CacheEvict(value = {"orders", "userOrders", "allOrders"}, allEntries = true)
     public ApiResponse cancelOrder(String id) {
         log.info("Cancelling order: orderId={}", id);
         
@@ -370,13 +397,16 @@ public class OrderServiceImpl implements OrderService {
         // Restore product stock
         restoreProductStock(order);
         
+        List<String> tags = new ArrayList<>(List.of(CacheTags.order(id), CacheTags.ORDER_STATUS, CacheTags.PRODUCT_STOCK));
+        order.getItems().forEach(item -> tags.add(CacheTags.product(item.getProduct().getId())));
+        cacheTagService.invalidate(tags);
+        
         log.info("Order cancelled successfully. Order ID: {}", id);
         
         return ApiResponse.success(null, "Order cancelled successfully");
     }
 
     @Override
-    @CacheEvict(value = {"orders", "userOrders", "allOrders"}, allEntries = true)
     public ApiResponse addOrderNote(String id, String note) {
         log.info("Adding note to order: orderId={}, note={}", id, note);
         
@@ -396,6 +426,8 @@ public class OrderServiceImpl implements OrderService {
         order.setUpdatedAt(LocalDateTime.now());
         orderRepository.save(order);
         
+        cacheTagService.invalidate(CacheTags.order(id));
+        
         log.info("Note added to order successfully. Order ID: {}", id);
         
         return ApiResponse.success(null, "Note added successfully");
@@ -413,19 +445,40 @@ public class OrderServiceImpl implements OrderService {
         }
     }
 
+    // Stock moves products in and out of the low-stock views, so the read models hear about it
     private void updateProductStock(Cart cart) {
+        List<Product> changed = new ArrayList<>();
         for (CartItem item : cart.getItems()) {
             Product product = item.getProduct();
             product.decreaseStock(item.getQuantity());
             productRepository.save(product);
+            changed.add(product);
         }
+        eventPublisher.publishEvent(ProductStockChangedEvent.of(changed));
     }
 
     private void restoreProductStock(Order order) {
+        List<Product> changed = new ArrayList<>();
         for (OrderItem item : order.getItems()) {
             Product product = item.getProduct();
             product.increaseStock(item.getQuantity());
             productRepository.save(product);
+            changed.add(product);
+        }
+        eventPublisher.publishEvent(ProductStockChangedEvent.of(changed));
+    }
+
+    // Popularity signals must not count an order whose transaction rolls back
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
         }
     }
 
@@ -450,7 +503,7 @@ public class OrderServiceImpl implements OrderService {
     }
 
     @Override
-    @Cacheable(value = "userOrders", key = "#pageable.pageNumber + #pageable.pageSize")
+    @Cacheable(value = "userOrders", key = "@cacheTags.currentUserKey('user-orders', #pageable.pageNumber, #pageable.pageSize)", sync = true)
     public PaginationResponse<OrderResponse> getUserOrders(Pageable pageable) {
         User currentUser = getCurrentUser();
         Page<Order> orders = orderRepository.findByUserId(currentUser.getId().toString(), pageable);
@@ -468,7 +521,7 @@ public class OrderServiceImpl implements OrderService {
     }
 
     @Override
-    @Cacheable(value = "allOrders", key = "#pageable.pageNumber + #pageable.pageSize")
+    @Cacheable(value = "allOrders", key = "@cacheTags.key({'orders:list'}, #pageable.pageNumber, #pageable.pageSize)", sync = true)
     public PaginationResponse<OrderResponse> getAllOrders(Pageable pageable) {
         // Only admins can view all orders
         User currentUser = getCurrentUser();
@@ -491,7 +544,53 @@ public class OrderServiceImpl implements OrderService {
     }
 
     @Override
-    @CacheEvict(value = {"orders", "userOrders", "allOrders"}, allEntries = true)
+    public PaginationResponse<OrderResponse> getUserOrdersByCursor(String cursor, int requestedLimit) {
+        int limit = PageCursor.clampLimit(requestedLimit);
+        User currentUser = getCurrentUser();
+        // Fetch one extra row to learn whether another page exists
+        Pageable seek = PageRequest.ofSize(limit + 1);
+        List<Order> orders;
+        if (PageCursor.isFirstPage(cursor)) {
+            orders = orderRepository.findByUserIdFirstPage(currentUser.getId(), seek);
+        } else {
+            String[] keys = PageCursor.decode(cursor, 2);
+            orders = orderRepository.findByUserIdAfter(currentUser.getId(), PageCursor.timestampKey(keys[0]), keys[1], seek);
+        }
+        return toCursorPage(orders, limit);
+    }
+
+    @Override
+    public PaginationResponse<OrderResponse> getAllOrdersByCursor(String cursor, int requestedLimit) {
+        int limit = PageCursor.clampLimit(requestedLimit);
+        // Only admins can view all orders
+        User currentUser = getCurrentUser();
+        if (!currentUser.getRole().name().equals("ADMIN")) {
+            throw new BusinessException("Only admins can view all orders");
+        }
+        
+        Pageable seek = PageRequest.ofSize(limit + 1);
+        List<Order> orders;
+        if (PageCursor.isFirstPage(cursor)) {
+            orders = orderRepository.findAllFirstPage(seek);
+        } else {
+            String[] keys = PageCursor.decode(cursor, 2);
+            orders = orderRepository.findAllAfter(PageCursor.timestampKey(keys[0]), keys[1], seek);
+        }
+        return toCursorPage(orders, limit);
+    }
+
+    private PaginationResponse<OrderResponse> toCursorPage(List<Order> orders, int limit) {
+        boolean hasNext = orders.size() > limit;
+        List<Order> page = hasNext ? orders.subList(0, limit) : orders;
+        String nextCursor = null;
+        if (hasNext) {
+            Order last = page.get(page.size() - 1);
+            nextCursor = PageCursor.encode(last.getCreatedAt(), last.getId());
+        }
+        return PaginationResponse.ofCursor(orderMapper.toOrderResponseList(page), limit, nextCursor);
+    }
+
+    @Override
     public ApiResponse refundOrder(String id) {
         log.info("Refunding order: orderId={}", id);
         
@@ -512,13 +611,14 @@ public class OrderServiceImpl implements OrderService {
         order.setUpdatedAt(LocalDateTime.now());
         orderRepository.save(order);
         
+        cacheTagService.invalidate(CacheTags.order(id), CacheTags.ORDER_PAYMENT_STATUS);
+        
         log.info("Order refunded successfully. Order ID: {}", id);
         
         return ApiResponse.success(null, "Order refunded successfully");
     }   
 
     @Override
-    @CacheEvict(value = {"orders", "userOrders", "allOrders"}, allEntries = true)
     public ApiResponse addOrderNotes(String id, String notes) {
         log.info("Adding notes to order: orderId={}", id);
         
@@ -538,6 +638,8 @@ public class OrderServiceImpl implements OrderService {
         order.setUpdatedAt(LocalDateTime.now());
         orderRepository.save(order);
         
+        cacheTagService.invalidate(CacheTags.order(id));
+        
         log.info("Notes added to order successfully. Order ID: {}", id);
         
         return ApiResponse.success(null, "Notes added successfully");
@@ -549,7 +651,7 @@ public class OrderServiceImpl implements OrderService {
     }
 
     @Override
-    @Cacheable(value = "orders", key = "#minAmount + #maxAmount + #pageable.pageNumber + #pageable.pageSize")
+    @Cacheable(value = "orders", key = "@cacheTags.key({'orders:list'}, 'amount', #minAmount, #maxAmount, #pageable.pageNumber, #pageable.pageSize)", sync = true)
     public PaginationResponse<OrderResponse> getOrdersByAmountRange(Double minAmount, Double maxAmount, Pageable pageable) {
         // Only admins can filter by amount range
         User currentUser = getCurrentUser();
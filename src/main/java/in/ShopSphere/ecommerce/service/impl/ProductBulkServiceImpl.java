@@ -0,0 +1,249 @@
+package in.ShopSphere.ecommerce.service.impl;
+
+import in.ShopSphere.ecommerce.config.CacheTags;
+import in.ShopSphere.ecommerce.dto.product.BulkProductUpdateRequest;
+import in.ShopSphere.ecommerce.dto.product.BulkProductUpdateRequest.Item;
+import in.ShopSphere.ecommerce.dto.product.BulkProductUpdateRequest.Operation;
+import in.ShopSphere.ecommerce.dto.product.BulkProductUpdateResponse;
+import in.ShopSphere.ecommerce.event.ProductBatchChangedEvent;
+import in.ShopSphere.ecommerce.event.ProductStockChangedEvent;
+import in.ShopSphere.ecommerce.exception.BusinessException;
+import in.ShopSphere.ecommerce.model.entity.User;
+import in.ShopSphere.ecommerce.model.entity.UserRole;
+import in.ShopSphere.ecommerce.repository.ProductRepository;
+import in.ShopSphere.ecommerce.repository.UserRepository;
+import in.ShopSphere.ecommerce.service.CacheTagService;
+import in.ShopSphere.ecommerce.service.ProductBulkService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Set-based product updates. Items are validated and authorised up front with a single
+ * lookup query, then each operation type runs as one JDBC batch UPDATE. Caches and the
+ * in-memory read models are refreshed once, after commit, for the affected products only.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ProductBulkServiceImpl implements ProductBulkService {
+
+    private static final int BATCH_SIZE = 500;
+
+    private static final Map<Operation, String> UPDATE_SQL = new EnumMap<>(Map.of(
+        Operation.PRICE, "UPDATE products SET price = ?, sale_price = ?, updated_at = ? WHERE id = ?",
+        Operation.STOCK, "UPDATE products SET stock_quantity = ?, updated_at = ? WHERE id = ?",
+        Operation.STATUS, "UPDATE products SET is_active = ?, updated_at = ? WHERE id = ?",
+        Operation.FEATURED, "UPDATE products SET is_featured = ?, updated_at = ? WHERE id = ?"
+    ));
+
+    private final ProductRepository productRepository;
+    private final UserRepository userRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final CacheManager cacheManager;
+    private final CacheTagService cacheTagService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Override
+    @Transactional
+    public BulkProductUpdateResponse bulkUpdate(BulkProductUpdateRequest request) {
+        List<Item> items = request.getItems();
+        BulkProductUpdateResponse.ItemResult[] results = new BulkProductUpdateResponse.ItemResult[items.size()];
+
+        User currentUser = getCurrentUser();
+        boolean admin = currentUser.getRole() == UserRole.ADMIN;
+
+        Set<String> ids = items.stream().map(Item::getProductId).collect(Collectors.toSet());
+        Map<String, ProductRepository.BulkTarget> targets = productRepository.findBulkTargets(ids).stream()
+            .collect(Collectors.toMap(ProductRepository.BulkTarget::getId, Function.identity()));
+
+        // Partition the accepted items by operation; rejected ones get their result now
+        Map<Operation, List<Integer>> accepted = new EnumMap<>(Operation.class);
+        for (int i = 0; i < items.size(); i++) {
+            Item item = items.get(i);
+            ProductRepository.BulkTarget target = targets.get(item.getProductId());
+            String error;
+            if (target == null) {
+                error = "Product not found";
+            } else if (!admin && !currentUser.getId().equals(target.getSellerId())) {
+                error = "You can only update your own products";
+            } else {
+                error = validate(item);
+            }
+
+            if (error != null) {
+                results[i] = result(i, item, false, error);
+            } else {
+                accepted.computeIfAbsent(item.getOperation(), op -> new ArrayList<>()).add(i);
+            }
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        Set<String> changedIds = new LinkedHashSet<>();
+        for (Map.Entry<Operation, List<Integer>> entry : accepted.entrySet()) {
+            List<Integer> indexes = entry.getValue();
+            int[][] counts = jdbcTemplate.batchUpdate(UPDATE_SQL.get(entry.getKey()), indexes, BATCH_SIZE,
+                (ps, index) -> bind(ps, items.get(index), now));
+
+            int position = 0;
+            for (int[] batch : counts) {
+                for (int count : batch) {
+                    int index = indexes.get(position++);
+                    Item item = items.get(index);
+                    // The driver may report SUCCESS_NO_INFO (-2) instead of a row count
+                    if (count != 0) {
+                        results[index] = result(index, item, true, "Updated");
+                        changedIds.add(item.getProductId());
+                    } else {
+                        results[index] = result(index, item, false, "Product not found");
+                    }
+                }
+            }
+        }
+
+        if (!changedIds.isEmpty()) {
+            Set<String> skus = new HashSet<>();
+            Set<String> sellerIds = new HashSet<>();
+            for (String id : changedIds) {
+                ProductRepository.BulkTarget target = targets.get(id);
+                if (target.getSku() != null) {
+                    skus.add(target.getSku());
+                }
+                sellerIds.add(target.getSellerId());
+            }
+            eventPublisher.publishEvent(new ProductBatchChangedEvent(changedIds, skus, sellerIds));
+        }
+
+        int updated = 0;
+        for (BulkProductUpdateResponse.ItemResult result : results) {
+            if (result.isSuccess()) {
+                updated++;
+            }
+        }
+        log.info("Bulk product update applied {} of {} items for user {}", updated, items.size(), currentUser.getId());
+
+        return BulkProductUpdateResponse.builder()
+            .requested(items.size())
+            .updated(updated)
+            .failed(items.size() - updated)
+            .results(List.of(results))
+            .build();
+    }
+
+    // Evict only what the batch touched. Price, stock and status changes can move any
+    // product in or out of any list, so every product list goes once per batch.
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductsChanged(ProductBatchChangedEvent event) {
+        try {
+            List<String> tags = new ArrayList<>();
+            event.getProductIds().forEach(productId -> tags.add(CacheTags.product(productId)));
+            tags.add(CacheTags.PRODUCT_LIST);
+            cacheTagService.invalidate(tags);
+            Cache sellerSummary = cacheManager.getCache("sellerSummary");
+            if (sellerSummary != null) {
+                event.getSellerIds().forEach(sellerSummary::evict);
+            }
+        } catch (Exception e) {
+            log.error("Failed to evict caches after bulk product update: {}", e.getMessage());
+        }
+    }
+
+    // Orders only move stock; the caller already evicted the products themselves
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStockChanged(ProductStockChangedEvent event) {
+        Cache sellerSummary = cacheManager.getCache("sellerSummary");
+        if (sellerSummary != null) {
+            event.getSellerIds().forEach(sellerSummary::evict);
+        }
+    }
+
+    // Same rules as the single-product endpoints
+    static String validate(Item item) {
+        switch (item.getOperation()) {
+            case PRICE:
+                if (item.getPrice() == null || item.getPrice().compareTo(BigDecimal.ZERO) <= 0) {
+                    return "Price must be greater than 0";
+                }
+                if (item.getSalePrice() != null && item.getSalePrice().compareTo(BigDecimal.ZERO) <= 0) {
+                    return "Sale price must be greater than 0";
+                }
+                if (item.getSalePrice() != null && item.getSalePrice().compareTo(item.getPrice()) >= 0) {
+                    return "Sale price must be less than regular price";
+                }
+                return null;
+            case STOCK:
+                if (item.getStockQuantity() == null || item.getStockQuantity() < 0) {
+                    return "Stock quantity cannot be negative";
+                }
+                return null;
+            case STATUS:
+                return item.getActive() == null ? "Active flag is required" : null;
+            case FEATURED:
+                return item.getFeatured() == null ? "Featured flag is required" : null;
+            default:
+                return "Unsupported operation";
+        }
+    }
+
+    private static void bind(PreparedStatement ps, Item item, Timestamp now) throws SQLException {
+        int i = 1;
+        switch (item.getOperation()) {
+            case PRICE:
+                ps.setBigDecimal(i++, item.getPrice());
+                ps.setBigDecimal(i++, item.getSalePrice());
+                break;
+            case STOCK:
+                ps.setInt(i++, item.getStockQuantity());
+                break;
+            case STATUS:
+                ps.setBoolean(i++, item.getActive());
+                break;
+            case FEATURED:
+                ps.setBoolean(i++, item.getFeatured());
+                break;
+        }
+        ps.setTimestamp(i++, now);
+        // Untyped so PostgreSQL compares against the id column whether it is uuid or varchar
+        ps.setObject(i, item.getProductId(), Types.OTHER);
+    }
+
+    private static BulkProductUpdateResponse.ItemResult result(int index, Item item, boolean success, String message) {
+        return new BulkProductUpdateResponse.ItemResult(index, item.getProductId(), item.getOperation(), success, message);
+    }
+
+    private User getCurrentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null) {
+            throw new BusinessException("Authentication required");
+        }
+        if (authentication.getPrincipal() instanceof User user) {
+            return user;
+        }
+        return userRepository.findByEmail(authentication.getName())
+            .orElseThrow(() -> new BusinessException("Current user not found"));
+    }
+}
@@ -0,0 +1,419 @@
+package in.ShopSphere.ecommerce.service.impl;
+
+import in.ShopSphere.ecommerce.dto.common.PaginationResponse;
+import in.ShopSphere.ecommerce.dto.product.ProductResponse;
+import in.ShopSphere.ecommerce.event.ProductBatchChangedEvent;
+import in.ShopSphere.ecommerce.event.ProductChangedEvent;
+import in.ShopSphere.ecommerce.event.ProductStockChangedEvent;
+import in.ShopSphere.ecommerce.mapper.ProductMapper;
+import in.ShopSphere.ecommerce.model.entity.Product;
+import in.ShopSphere.ecommerce.repository.ProductRepository;
+import in.ShopSphere.ecommerce.service.ProductCatalogSnapshotService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.IntPredicate;
+import java.util.stream.Collectors;
+
+/**
+ * Column-oriented copy of the filterable fields of every active product. Each field is a
+ * primitive array indexed by row, so a filter is a tight loop over one or two arrays and
+ * only the ids of the requested page are loaded from the database. Rows are kept newest first.
+ * Changes build a patched copy and swap the reference. Stock-only changes are the exception:
+ * orders arrive far more often than catalog edits, so they overwrite the stock column in place.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ProductCatalogSnapshotServiceImpl implements ProductCatalogSnapshotService {
+
+    // Sentinels for nullable columns
+    private static final long NO_PRICE = -1L;
+    private static final int NO_CATEGORY = -1;
+    private static final int NO_STOCK_LEVEL = -1;
+
+    private static final Comparator<Product> NEWEST_FIRST = Comparator
+        .comparing(Product::getCreatedAt, Comparator.nullsLast(Comparator.<LocalDateTime>reverseOrder()))
+        .thenComparing(Product::getId);
+
+    private final ProductRepository productRepository;
+    private final ProductMapper productMapper;
+
+    private final Object writeLock = new Object();
+    private volatile CatalogSnapshot snapshot;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void onApplicationReady() {
+        try {
+            rebuildSnapshot();
+        } catch (Exception e) {
+            log.error("Failed to build product catalog snapshot: {}", e.getMessage());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        try {
+            refreshProducts(List.of(event.getProductId()));
+        } catch (Exception e) {
+            log.error("Failed to update catalog snapshot for product {}: {}", event.getProductId(), e.getMessage());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onProductsChanged(ProductBatchChangedEvent event) {
+        try {
+            refreshProducts(event.getProductIds());
+        } catch (Exception e) {
+            log.error("Failed to update catalog snapshot for {} products: {}", event.getProductIds().size(), e.getMessage());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStockChanged(ProductStockChangedEvent event) {
+        synchronized (writeLock) {
+            CatalogSnapshot current = snapshot;
+            if (current == null) {
+                return;
+            }
+            event.getStockByProductId().forEach((productId, quantity) -> {
+                Integer row = current.rows.get(productId);
+                if (row != null) {
+                    current.stock[row] = quantity;
+                }
+            });
+            // Republish so readers that load the reference afterwards see the new values
+            snapshot = current;
+        }
+    }
+
+    @Override
+    public boolean isReady() {
+        return snapshot != null;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public int rebuildSnapshot() {
+        long start = System.currentTimeMillis();
+        List<Product> products = new ArrayList<>(productRepository.findByIsActiveTrue());
+        products.sort(NEWEST_FIRST);
+
+        SnapshotBuilder builder = new SnapshotBuilder(products.size(), null);
+        for (Product product : products) {
+            builder.add(product);
+        }
+
+        synchronized (writeLock) {
+            snapshot = builder.build();
+        }
+        log.info("Product catalog snapshot built with {} products in {} ms",
+            products.size(), System.currentTimeMillis() - start);
+        return products.size();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void refreshProducts(Collection<String> productIds) {
+        if (productIds.isEmpty()) {
+            return;
+        }
+        Map<String, Product> fresh = new LinkedHashMap<>();
+        for (Product product : productRepository.findAllById(productIds)) {
+            if (Boolean.TRUE.equals(product.getIsActive())) {
+                fresh.put(product.getId(), product);
+            }
+        }
+        Set<String> changed = new HashSet<>(productIds);
+
+        synchronized (writeLock) {
+            CatalogSnapshot current = snapshot;
+            if (current == null) {
+                // Not built yet; the initial build will pick these up
+                return;
+            }
+            SnapshotBuilder builder = new SnapshotBuilder(current.size() + fresh.size(), current);
+
+            // Products that were not in the snapshot are the newest, so they go first
+            Set<String> present = new HashSet<>();
+            for (String id : current.productIds) {
+                if (changed.contains(id)) {
+                    present.add(id);
+                }
+            }
+            for (Product product : fresh.values()) {
+                if (!present.contains(product.getId())) {
+                    builder.add(product);
+                }
+            }
+
+            // Existing rows keep their position; changed ones are patched or dropped
+            for (int row = 0; row < current.size(); row++) {
+                String id = current.productIds[row];
+                if (!changed.contains(id)) {
+                    builder.copy(current, row);
+                } else if (fresh.containsKey(id)) {
+                    builder.add(fresh.get(id));
+                }
+            }
+            snapshot = builder.build();
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PaginationResponse<ProductResponse> findByPriceRange(BigDecimal minPrice, BigDecimal maxPrice, Pageable pageable) {
+        CatalogSnapshot current = snapshot;
+        // Prices are whole cents, so rounding the bounds inwards keeps BETWEEN semantics
+        long min = minPrice != null ? toCents(minPrice, RoundingMode.CEILING) : Long.MIN_VALUE;
+        long max = maxPrice != null ? toCents(maxPrice, RoundingMode.FLOOR) : Long.MAX_VALUE;
+        long[] prices = current.priceCents;
+        return page(current, row -> prices[row] >= min && prices[row] <= max, pageable);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PaginationResponse<ProductResponse> findByMinRating(Double minRating, Pageable pageable) {
+        CatalogSnapshot current = snapshot;
+        int min = minRating != null
+            ? BigDecimal.valueOf(minRating).movePointRight(2).setScale(0, RoundingMode.CEILING).intValue()
+            : Integer.MIN_VALUE;
+        short[] ratings = current.ratings;
+        return page(current, row -> ratings[row] >= min, pageable);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PaginationResponse<ProductResponse> findByCategory(String categoryId, Pageable pageable) {
+        CatalogSnapshot current = snapshot;
+        int ordinal = current.categoryOrdinals.getOrDefault(categoryId, NO_CATEGORY);
+        int[] categories = current.categories;
+        IntPredicate match = ordinal == NO_CATEGORY ? row -> false : row -> categories[row] == ordinal;
+        return page(current, match, pageable);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ProductResponse> findLowStock() {
+        CatalogSnapshot current = snapshot;
+        int[] stock = current.stock;
+        int[] minStock = current.minStockLevels;
+        return hydrate(scan(current, row -> minStock[row] != NO_STOCK_LEVEL && stock[row] <= minStock[row],
+            0, Integer.MAX_VALUE).ids);
+    }
+
+    @Override
+    public long[] findCurrentPriceCents(String categoryId, BigDecimal minPrice, BigDecimal maxPrice,
+                                        Double minRating, boolean inStock) {
+        CatalogSnapshot current = snapshot;
+        int ordinal = categoryId != null ? current.categoryOrdinals.getOrDefault(categoryId, NO_CATEGORY) : NO_CATEGORY;
+        if (categoryId != null && ordinal == NO_CATEGORY) {
+            return new long[0];
+        }
+        long min = minPrice != null ? toCents(minPrice, RoundingMode.CEILING) : Long.MIN_VALUE;
+        long max = maxPrice != null ? toCents(maxPrice, RoundingMode.FLOOR) : Long.MAX_VALUE;
+        int rating = minRating != null
+            ? BigDecimal.valueOf(minRating).movePointRight(2).setScale(0, RoundingMode.CEILING).intValue()
+            : Integer.MIN_VALUE;
+
+        long[] matches = new long[current.size()];
+        int count = 0;
+        for (int row = 0, size = current.size(); row < size; row++) {
+            long sale = current.salePriceCents[row];
+            long price = sale > 0 ? sale : current.priceCents[row];
+            if ((categoryId == null || current.categories[row] == ordinal)
+                && price >= min && price <= max
+                && current.ratings[row] >= rating
+                && (!inStock || current.stock[row] > 0)) {
+                matches[count++] = price;
+            }
+        }
+        return Arrays.copyOf(matches, count);
+    }
+
+    static long toCents(BigDecimal amount, RoundingMode rounding) {
+        return amount.movePointRight(2).setScale(0, rounding).longValue();
+    }
+
+    private PaginationResponse<ProductResponse> page(CatalogSnapshot current, IntPredicate match, Pageable pageable) {
+        ScanResult result = scan(current, match, pageable.getOffset(), pageable.getPageSize());
+        return PaginationResponse.<ProductResponse>builder()
+            .data(hydrate(result.ids))
+            .pagination(PaginationResponse.PaginationInfo.builder()
+                .page(pageable.getPageNumber())
+                .limit(pageable.getPageSize())
+                .total(result.total)
+                .totalPages((int) Math.ceil((double) result.total / pageable.getPageSize()))
+                .build())
+            .build();
+    }
+
+    // One pass counts every match and collects the ids of the requested window
+    private static ScanResult scan(CatalogSnapshot current, IntPredicate match, long offset, int limit) {
+        List<String> ids = new ArrayList<>(Math.min(limit, 100));
+        long total = 0;
+        for (int row = 0, size = current.size(); row < size; row++) {
+            if (match.test(row)) {
+                if (total >= offset && ids.size() < limit) {
+                    ids.add(current.productIds[row]);
+                }
+                total++;
+            }
+        }
+        return new ScanResult(ids, total);
+    }
+
+    // Load the page in one query and put it back in snapshot order
+    private List<ProductResponse> hydrate(List<String> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<String, Product> loaded = productRepository.findListingByIdIn(ids).stream()
+            .collect(Collectors.toMap(Product::getId, Function.identity()));
+        List<ProductResponse> responses = new ArrayList<>(ids.size());
+        for (String id : ids) {
+            Product product = loaded.get(id);
+            if (product != null) {
+                responses.add(productMapper.toProductResponse(product));
+            }
+        }
+        return responses;
+    }
+
+    private static final class ScanResult {
+        private final List<String> ids;
+        private final long total;
+
+        private ScanResult(List<String> ids, long total) {
+            this.ids = ids;
+            this.total = total;
+        }
+    }
+
+    private static final class CatalogSnapshot {
+        private final String[] productIds;
+        private final int[] categories;
+        private final long[] priceCents;
+        private final long[] salePriceCents;
+        // Rating x 100, which is exact for the two-decimal rating column
+        private final short[] ratings;
+        private final int[] stock;
+        private final int[] minStockLevels;
+        private final Map<String, Integer> categoryOrdinals;
+        private final Map<String, Integer> rows;
+
+        private CatalogSnapshot(String[] productIds, int[] categories, long[] priceCents, long[] salePriceCents,
+                                short[] ratings, int[] stock, int[] minStockLevels, Map<String, Integer> categoryOrdinals) {
+            this.productIds = productIds;
+            this.categories = categories;
+            this.priceCents = priceCents;
+            this.salePriceCents = salePriceCents;
+            this.ratings = ratings;
+            this.stock = stock;
+            this.minStockLevels = minStockLevels;
+            this.categoryOrdinals = categoryOrdinals;
+            this.rows = new HashMap<>(productIds.length * 2);
+            for (int row = 0; row < productIds.length; row++) {
+                rows.put(productIds[row], row);
+            }
+        }
+
+        private int size() {
+            return productIds.length;
+        }
+    }
+
+    /**
+     * Fills fresh column arrays row by row. Category ordinals carry over from the
+     * previous snapshot so unchanged rows can be copied without remapping.
+     */
+    private static final class SnapshotBuilder {
+        private final String[] productIds;
+        private final int[] categories;
+        private final long[] priceCents;
+        private final long[] salePriceCents;
+        private final short[] ratings;
+        private final int[] stock;
+        private final int[] minStockLevels;
+        private final Map<String, Integer> categoryOrdinals;
+        private int size;
+
+        private SnapshotBuilder(int capacity, CatalogSnapshot previous) {
+            productIds = new String[capacity];
+            categories = new int[capacity];
+            priceCents = new long[capacity];
+            salePriceCents = new long[capacity];
+            ratings = new short[capacity];
+            stock = new int[capacity];
+            minStockLevels = new int[capacity];
+            categoryOrdinals = previous != null ? new HashMap<>(previous.categoryOrdinals) : new HashMap<>();
+        }
+
+        private void add(Product product) {
+            int row = size++;
+            productIds[row] = product.getId();
+            categories[row] = product.getCategory() != null ? categoryOrdinal(product.getCategory().getId()) : NO_CATEGORY;
+            priceCents[row] = product.getPrice() != null ? toCents(product.getPrice(), RoundingMode.HALF_UP) : 0L;
+            salePriceCents[row] = product.getSalePrice() != null ? toCents(product.getSalePrice(), RoundingMode.HALF_UP) : NO_PRICE;
+            ratings[row] = product.getRating() != null ? (short) toCents(product.getRating(), RoundingMode.HALF_UP) : 0;
+            stock[row] = product.getStockQuantity() != null ? product.getStockQuantity() : 0;
+            minStockLevels[row] = product.getMinStockLevel() != null ? product.getMinStockLevel() : NO_STOCK_LEVEL;
+        }
+
+        private void copy(CatalogSnapshot source, int sourceRow) {
+            int row = size++;
+            productIds[row] = source.productIds[sourceRow];
+            categories[row] = source.categories[sourceRow];
+            priceCents[row] = source.priceCents[sourceRow];
+            salePriceCents[row] = source.salePriceCents[sourceRow];
+            ratings[row] = source.ratings[sourceRow];
+            stock[row] = source.stock[sourceRow];
+            minStockLevels[row] = source.minStockLevels[sourceRow];
+        }
+
+        private int categoryOrdinal(String categoryId) {
+            Integer ordinal = categoryOrdinals.get(categoryId);
+            if (ordinal == null) {
+                ordinal = categoryOrdinals.size();
+                categoryOrdinals.put(categoryId, ordinal);
+            }
+            return ordinal;
+        }
+
+        private CatalogSnapshot build() {
+            return new CatalogSnapshot(
+                Arrays.copyOf(productIds, size),
+                Arrays.copyOf(categories, size),
+                Arrays.copyOf(priceCents, size),
+                Arrays.copyOf(salePriceCents, size),
+                Arrays.copyOf(ratings, size),
+                Arrays.copyOf(stock, size),
+                Arrays.copyOf(minStockLevels, size),
+                Map.copyOf(categoryOrdinals));
+        }
+    }
+}
@@ -0,0 +1,229 @@
+package in.ShopSphere.ecommerce.service.impl;
+
+import in.ShopSphere.ecommerce.config.ProductCounterProperties;
+import in.ShopSphere.ecommerce.event.ProductPopularityChangedEvent;
+import in.ShopSphere.ecommerce.service.ProductCounterService;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * View, add-to-cart and purchase counts per product. Increments land in striped
+ * {@link LongAdder}s, so hot products do not contend on one counter, and a scheduled
+ * flush writes the accumulated deltas for every product in one batched upsert. Totals
+ * are kept in memory, loaded at startup and reloaded periodically to pick up other
+ * nodes' flushes.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ProductCounterServiceImpl implements ProductCounterService {
+
+    private static final int BATCH_SIZE = 500;
+
+    private static final String UPSERT_SQL =
+        "INSERT INTO product_counters (product_id, view_count, cart_count, purchase_count, updated_at) " +
+        "VALUES (?, ?, ?, ?, ?) ON CONFLICT (product_id) DO UPDATE SET " +
+        "view_count = product_counters.view_count + EXCLUDED.view_count, " +
+        "cart_count = product_counters.cart_count + EXCLUDED.cart_count, " +
+        "purchase_count = product_counters.purchase_count + EXCLUDED.purchase_count, " +
+        "updated_at = EXCLUDED.updated_at";
+
+    private static final String SELECT_SQL =
+        "SELECT product_id, view_count, cart_count, purchase_count FROM product_counters";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ProductCounterProperties properties;
+
+    // One adder per signal; entries stay once created so no increment can race a removal
+    private final ConcurrentHashMap<String, LongAdder[]> pending = new ConcurrentHashMap<>();
+    private volatile Map<String, Counts> totals = new ConcurrentHashMap<>();
+
+    // Before the rankings seed, which read the totals
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onApplicationReady() {
+        try {
+            reloadTotals();
+        } catch (Exception e) {
+            log.error("Failed to load product counters: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public void increment(String productId, Signal signal, long delta) {
+        if (productId == null || delta == 0) {
+            return;
+        }
+        pending.computeIfAbsent(productId, id -> newAdders())[signal.ordinal()].add(delta);
+    }
+
+    @Override
+    public long getCount(String productId, Signal signal) {
+        Counts stored = totals.get(productId);
+        LongAdder[] adders = pending.get(productId);
+        return (stored != null ? stored.get(signal) : 0) + (adders != null ? adders[signal.ordinal()].sum() : 0);
+    }
+
+    @Override
+    public double getPopularity(String productId) {
+        Counts stored = totals.get(productId);
+        LongAdder[] adders = pending.get(productId);
+        if (stored == null && adders == null) {
+            return 0.0;
+        }
+        Counts counts = stored != null ? stored : Counts.ZERO;
+        if (adders != null) {
+            counts = counts.plus(adders[0].sum(), adders[1].sum(), adders[2].sum());
+        }
+        return popularity(counts);
+    }
+
+    @Override
+    public List<String> getMostPopular(int limit) {
+        if (limit <= 0) {
+            return new ArrayList<>();
+        }
+        Set<String> candidates = new HashSet<>(totals.keySet());
+        candidates.addAll(pending.keySet());
+
+        // Bounded min-heap of the best limit products
+        Map<String, Double> scores = new HashMap<>();
+        Comparator<String> byScore = Comparator.comparingDouble((String id) -> scores.get(id))
+            .thenComparing(Comparator.reverseOrder());
+        PriorityQueue<String> heap = new PriorityQueue<>(byScore);
+        for (String productId : candidates) {
+            double score = getPopularity(productId);
+            if (score <= 0) {
+                continue;
+            }
+            scores.put(productId, score);
+            if (heap.size() < limit) {
+                heap.offer(productId);
+            } else if (byScore.compare(productId, heap.peek()) > 0) {
+                heap.poll();
+                heap.offer(productId);
+            }
+        }
+        List<String> ranked = new ArrayList<>(heap);
+        ranked.sort(byScore.reversed());
+        return ranked;
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${product-counters.flush-interval-ms:5000}")
+    @PreDestroy
+    public synchronized int flush() {
+        List<Delta> deltas = new ArrayList<>();
+        pending.forEach((productId, adders) -> {
+            // sumThenReset resets cell by cell, so a concurrent increment is either
+            // included here or left for the next flush, never lost
+            long views = adders[0].sumThenReset();
+            long carts = adders[1].sumThenReset();
+            long purchases = adders[2].sumThenReset();
+            if (views != 0 || carts != 0 || purchases != 0) {
+                deltas.add(new Delta(productId, views, carts, purchases));
+            }
+        });
+        if (deltas.isEmpty()) {
+            return 0;
+        }
+
+        try {
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            jdbcTemplate.batchUpdate(UPSERT_SQL, deltas, BATCH_SIZE, (ps, delta) -> {
+                ps.setObject(1, delta.productId(), Types.OTHER);
+                ps.setLong(2, delta.views());
+                ps.setLong(3, delta.carts());
+                ps.setLong(4, delta.purchases());
+                ps.setTimestamp(5, now);
+            });
+        } catch (Exception e) {
+            // Hand the deltas back so the next flush retries them
+            for (Delta delta : deltas) {
+                LongAdder[] adders = pending.computeIfAbsent(delta.productId(), id -> newAdders());
+                adders[0].add(delta.views());
+                adders[1].add(delta.carts());
+                adders[2].add(delta.purchases());
+            }
+            log.error("Failed to flush counters for {} products: {}", deltas.size(), e.getMessage());
+            return 0;
+        }
+
+        List<String> productIds = new ArrayList<>(deltas.size());
+        for (Delta delta : deltas) {
+            totals.merge(delta.productId(), new Counts(delta.views(), delta.carts(), delta.purchases()),
+                (stored, added) -> stored.plus(added.views(), added.carts(), added.purchases()));
+            productIds.add(delta.productId());
+        }
+        log.debug("Product counters flushed for {} products", deltas.size());
+        eventPublisher.publishEvent(new ProductPopularityChangedEvent(productIds));
+        return deltas.size();
+    }
+
+    @Scheduled(fixedDelayString = "${product-counters.reload-interval-ms:300000}",
+        initialDelayString = "${product-counters.reload-interval-ms:300000}")
+    public synchronized void reloadTotals() {
+        long start = System.currentTimeMillis();
+        Map<String, Counts> loaded = new ConcurrentHashMap<>();
+        jdbcTemplate.query(SELECT_SQL, (RowCallbackHandler) rs -> loaded.put(rs.getString(1),
+            new Counts(rs.getLong(2), rs.getLong(3), rs.getLong(4))));
+        totals = loaded;
+        log.info("Product counters loaded for {} products in {} ms", loaded.size(), System.currentTimeMillis() - start);
+    }
+
+    private double popularity(Counts counts) {
+        double weighted = counts.views() * properties.getViewWeight()
+            + counts.carts() * properties.getCartWeight()
+            + counts.purchases() * properties.getPurchaseWeight();
+        return weighted > 0 ? Math.log1p(weighted) : 0.0;
+    }
+
+    private static LongAdder[] newAdders() {
+        return new LongAdder[] {new LongAdder(), new LongAdder(), new LongAdder()};
+    }
+
+    private record Counts(long views, long carts, long purchases) {
+
+        private static final Counts ZERO = new Counts(0, 0, 0);
+
+        private Counts plus(long moreViews, long moreCarts, long morePurchases) {
+            return new Counts(views + moreViews, carts + moreCarts, purchases + morePurchases);
+        }
+
+        private long get(Signal signal) {
+            return switch (signal) {
+                case VIEW -> views;
+                case ADD_TO_CART -> carts;
+                case PURCHASE -> purchases;
+            };
+        }
+    }
+
+    private record Delta(String productId, long views, long carts, long purchases) {
+    }
+}
@@ -0,0 +1,149 @@
+package in.ShopSphere.ecommerce.service.impl;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import in.ShopSphere.ecommerce.dto.product.ProductExportRow;
+import in.ShopSphere.ecommerce.repository.ProductRepository;
+import in.ShopSphere.ecommerce.service.ProductExportService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Streams the active catalog from a database cursor straight into the response. Only one
+ * fetch-size chunk of rows and one write buffer are held at a time, so memory stays flat
+ * however large the catalog gets.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ProductExportServiceImpl implements ProductExportService {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final String CSV_HEADER = "id,sku,barcode,name,brand,category,seller_id,price,sale_price,"
+        + "stock_quantity,rating,review_count,featured,updated_at";
+
+    // Same format the API uses for LocalDateTime
+    private static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private final ProductRepository productRepository;
+    private final ObjectMapper objectMapper;
+
+    // The cursor only streams inside a transaction; outside one PostgreSQL ignores the fetch size
+    @Override
+    @Transactional(readOnly = true)
+    public long exportActiveProducts(Format format, OutputStream out) throws IOException {
+        long start = System.nanoTime();
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+
+        long rows;
+        try (Stream<ProductExportRow> stream = productRepository.streamActiveForExport()) {
+            rows = format == Format.CSV
+                ? writeCsv(stream.iterator(), writer)
+                : writeNdjson(stream.iterator(), writer);
+        }
+        writer.flush();
+
+        long elapsedMs = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+        log.info("Exported {} products as {} in {} ms ({} rows/s)", rows, format, elapsedMs, rows * 1000 / elapsedMs);
+        return rows;
+    }
+
+    private long writeNdjson(Iterator<ProductExportRow> rows, Writer writer) throws IOException {
+        // Flushing after every value would defeat the write buffer
+        ObjectWriter rowWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        long count = 0;
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(writer)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(new SerializedString("\n"));
+            while (rows.hasNext()) {
+                rowWriter.writeValue(generator, rows.next());
+                count++;
+            }
+            if (count > 0) {
+                generator.writeRaw('\n');
+            }
+        }
+        return count;
+    }
+
+    private long writeCsv(Iterator<ProductExportRow> rows, Writer writer) throws IOException {
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+        long count = 0;
+        while (rows.hasNext()) {
+            ProductExportRow row = rows.next();
+            writeCsvField(writer, row.getId(), true);
+            writeCsvField(writer, row.getSku(), false);
+            writeCsvField(writer, row.getBarcode(), false);
+            writeCsvField(writer, row.getName(), false);
+            writeCsvField(writer, row.getBrand(), false);
+            writeCsvField(writer, row.getCategoryName(), false);
+            writeCsvField(writer, row.getSellerId(), false);
+            writeCsvField(writer, row.getPrice(), false);
+            writeCsvField(writer, row.getSalePrice(), false);
+            writeCsvField(writer, row.getStockQuantity(), false);
+            writeCsvField(writer, row.getRating(), false);
+            writeCsvField(writer, row.getReviewCount(), false);
+            writeCsvField(writer, row.getIsFeatured(), false);
+            writeCsvField(writer, row.getUpdatedAt(), false);
+            writer.write('\n');
+            count++;
+        }
+        return count;
+    }
+
+    // RFC 4180: quote fields containing a delimiter, quote or line break, doubling inner quotes
+    static void writeCsvField(Writer writer, Object value, boolean first) throws IOException {
+        if (!first) {
+            writer.write(',');
+        }
+        if (value == null) {
+            return;
+        }
+        String text;
+        if (value instanceof BigDecimal decimal) {
+            text = decimal.toPlainString();
+        } else if (value instanceof LocalDateTime dateTime) {
+            text = DATE_TIME.format(dateTime);
+        } else {
+            text = value.toString();
+        }
+
+        boolean quote = false;
+        for (int i = 0; i < text.length() && !quote; i++) {
+            char c = text.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            writer.write(text);
+            return;
+        }
+        writer.write('"');
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '"') {
+                writer.write('"');
+            }
+            writer.write(c);
+        }
+        writer.write('"');
+    }
+}
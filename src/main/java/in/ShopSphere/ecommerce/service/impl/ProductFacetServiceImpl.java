@@ -0,0 +1,391 @@
+package in.ShopSphere.ecommerce.service.impl;
+
+import in.ShopSphere.ecommerce.dto.common.PaginationResponse;
+import in.ShopSphere.ecommerce.dto.product.FacetSearchRequest;
+import in.ShopSphere.ecommerce.dto.product.FacetSearchResponse;
+import in.ShopSphere.ecommerce.dto.product.ProductResponse;
+import in.ShopSphere.ecommerce.event.ProductBatchChangedEvent;
+import in.ShopSphere.ecommerce.event.ProductChangedEvent;
+import in.ShopSphere.ecommerce.event.ProductStockChangedEvent;
+import in.ShopSphere.ecommerce.mapper.ProductMapper;
+import in.ShopSphere.ecommerce.model.entity.Product;
+import in.ShopSphere.ecommerce.repository.ProductRepository;
+import in.ShopSphere.ecommerce.service.ProductFacetService;
+import in.ShopSphere.ecommerce.service.ProductSearchService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.FastAggregation;
+import org.roaringbitmap.IntIterator;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Facet counts over active products using one compressed bitmap per facet value.
+ * Products get a dense int ordinal; a query is a handful of bitmap ANDs/ORs and
+ * every facet count is an AND-cardinality, so nothing is materialised per value.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ProductFacetServiceImpl implements ProductFacetService {
+
+    static final String CATEGORY = "category";
+    static final String BRAND = "brand";
+    static final String PRICE = "price";
+    static final String RATING = "rating";
+    static final String STOCK = "stock";
+
+    private static final String[] FACETS = {CATEGORY, BRAND, PRICE, RATING, STOCK};
+
+    // Upper bounds of the price bands; anything above the last one falls in the open band
+    private static final int[] PRICE_BAND_LIMITS = {25, 50, 100, 250, 500, 1000};
+
+    private final ProductRepository productRepository;
+    private final ProductMapper productMapper;
+    private final ProductSearchService productSearchService;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private FacetIndex index = new FacetIndex();
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void onApplicationReady() {
+        try {
+            rebuildFacets();
+        } catch (Exception e) {
+            log.error("Failed to build product facet index: {}", e.getMessage());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        try {
+            if (event.isDeleted()) {
+                removeProduct(event.getProductId());
+            } else {
+                refreshProduct(event.getProductId());
+            }
+        } catch (Exception e) {
+            log.error("Failed to update facet index for product {}: {}", event.getProductId(), e.getMessage());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onProductsChanged(ProductBatchChangedEvent event) {
+        try {
+            refreshProducts(event.getProductIds());
+        } catch (Exception e) {
+            log.error("Failed to update facet index for {} products: {}", event.getProductIds().size(), e.getMessage());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onStockChanged(ProductStockChangedEvent event) {
+        try {
+            refreshProducts(event.getProductIds());
+        } catch (Exception e) {
+            log.error("Failed to update facet index stock for {} products: {}", event.getProductIds().size(), e.getMessage());
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public int rebuildFacets() {
+        long start = System.currentTimeMillis();
+        FacetIndex rebuilt = new FacetIndex();
+        for (Product product : productRepository.findByIsActiveTrue()) {
+            rebuilt.put(product.getId(), facetValues(product));
+        }
+
+        lock.writeLock().lock();
+        try {
+            index = rebuilt;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Product facet index built with {} products in {} ms",
+            rebuilt.active.getCardinality(), System.currentTimeMillis() - start);
+        return rebuilt.active.getCardinality();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void refreshProduct(String productId) {
+        Product product = productRepository.findById(productId).orElse(null);
+        if (product == null || !Boolean.TRUE.equals(product.getIsActive())) {
+            removeProduct(productId);
+            return;
+        }
+
+        String[] values = facetValues(product);
+        lock.writeLock().lock();
+        try {
+            index.remove(productId);
+            index.put(productId, values);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void refreshProducts(Collection<String> productIds) {
+        Map<String, String[]> fresh = new HashMap<>();
+        for (Product product : productRepository.findAllById(productIds)) {
+            if (Boolean.TRUE.equals(product.getIsActive())) {
+                fresh.put(product.getId(), facetValues(product));
+            }
+        }
+
+        lock.writeLock().lock();
+        try {
+            for (String productId : productIds) {
+                index.remove(productId);
+            }
+            fresh.forEach(index::put);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void removeProduct(String productId) {
+        lock.writeLock().lock();
+        try {
+            index.remove(productId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public FacetSearchResponse search(FacetSearchRequest request, Pageable pageable) {
+        Map<String, List<String>> selected = new HashMap<>();
+        putIfPresent(selected, CATEGORY, request.getCategories());
+        putIfPresent(selected, BRAND, request.getBrands());
+        putIfPresent(selected, PRICE, request.getPriceBands());
+        putIfPresent(selected, RATING, request.getRatings());
+        if (request.getInStock() != null) {
+            selected.put(STOCK, List.of(request.getInStock() ? "in_stock" : "out_of_stock"));
+        }
+
+        Set<String> textMatches = request.getQuery() == null || request.getQuery().isBlank()
+            ? null
+            : productSearchService.findMatchingIds(request.getQuery());
+
+        List<String> pageIds = new ArrayList<>();
+        Map<String, Map<String, Long>> counts = new LinkedHashMap<>();
+        long total;
+
+        lock.readLock().lock();
+        try {
+            RoaringBitmap base = index.active;
+            if (textMatches != null) {
+                base = RoaringBitmap.and(base, index.ordinalsOf(textMatches));
+            }
+
+            // One bitmap per constrained facet: OR of the selected values
+            RoaringBitmap[] constraints = new RoaringBitmap[FACETS.length];
+            for (int f = 0; f < FACETS.length; f++) {
+                List<String> values = selected.get(FACETS[f]);
+                if (values != null) {
+                    constraints[f] = index.union(FACETS[f], values);
+                }
+            }
+
+            RoaringBitmap hits = intersect(base, constraints, -1);
+            total = hits.getCardinality();
+
+            // Counts for a facet ignore that facet's own selection so the other values stay visible
+            for (int f = 0; f < FACETS.length; f++) {
+                RoaringBitmap context = constraints[f] == null ? hits : intersect(base, constraints, f);
+                Map<String, Long> facetCounts = new LinkedHashMap<>();
+                for (Map.Entry<String, RoaringBitmap> value : index.facets.get(FACETS[f]).entrySet()) {
+                    long count = RoaringBitmap.andCardinality(context, value.getValue());
+                    if (count > 0) {
+                        facetCounts.put(value.getKey(), count);
+                    }
+                }
+                counts.put(FACETS[f], facetCounts);
+            }
+
+            long offset = pageable.getOffset();
+            IntIterator iterator = hits.getIntIterator();
+            for (long skipped = 0; skipped < offset && iterator.hasNext(); skipped++) {
+                iterator.next();
+            }
+            while (iterator.hasNext() && pageIds.size() < pageable.getPageSize()) {
+                pageIds.add(index.productIds.get(iterator.next()));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        // Only the requested page is hydrated from the database, in bitmap order
+        Map<String, Product> loaded = productRepository.findListingByIdIn(pageIds).stream()
+            .collect(Collectors.toMap(Product::getId, Function.identity()));
+        List<ProductResponse> page = new ArrayList<>();
+        for (String id : pageIds) {
+            Product product = loaded.get(id);
+            if (product != null) {
+                page.add(productMapper.toProductResponse(product));
+            }
+        }
+
+        return FacetSearchResponse.builder()
+            .results(PaginationResponse.<ProductResponse>builder()
+                .data(page)
+                .pagination(PaginationResponse.PaginationInfo.builder()
+                    .page(pageable.getPageNumber())
+                    .limit(pageable.getPageSize())
+                    .total(total)
+                    .totalPages((int) Math.ceil((double) total / pageable.getPageSize()))
+                    .build())
+                .build())
+            .facets(counts)
+            .build();
+    }
+
+    static String[] facetValues(Product product) {
+        String[] values = new String[FACETS.length];
+        values[0] = product.getCategory() != null ? product.getCategory().getName() : null;
+        values[1] = product.getBrand() != null && !product.getBrand().isBlank() ? product.getBrand() : null;
+        values[2] = product.getPrice() != null ? priceBand(product.getCurrentPrice()) : null;
+        values[3] = ratingBucket(product.getRating());
+        values[4] = product.getStockQuantity() != null && product.getStockQuantity() > 0 ? "in_stock" : "out_of_stock";
+        return values;
+    }
+
+    static String priceBand(BigDecimal price) {
+        int lower = 0;
+        for (int limit : PRICE_BAND_LIMITS) {
+            if (price.compareTo(BigDecimal.valueOf(limit)) < 0) {
+                return lower + "-" + limit;
+            }
+            lower = limit;
+        }
+        return lower + "+";
+    }
+
+    static String ratingBucket(BigDecimal rating) {
+        return rating == null ? "0" : String.valueOf(rating.intValue());
+    }
+
+    private static RoaringBitmap intersect(RoaringBitmap base, RoaringBitmap[] constraints, int skip) {
+        RoaringBitmap result = base;
+        for (int f = 0; f < constraints.length; f++) {
+            if (f != skip && constraints[f] != null) {
+                result = RoaringBitmap.and(result, constraints[f]);
+            }
+        }
+        return result;
+    }
+
+    private static void putIfPresent(Map<String, List<String>> selected, String facet, List<String> values) {
+        if (values != null && !values.isEmpty()) {
+            selected.put(facet, values);
+        }
+    }
+
+    /**
+     * Ordinal assignment plus the per-value bitmaps. Ordinals are never reused
+     * until the next full rebuild, which compacts them again.
+     */
+    private static final class FacetIndex {
+        private final Map<String, Integer> ordinals = new HashMap<>();
+        private final List<String> productIds = new ArrayList<>();
+        private final List<String[]> valuesByOrdinal = new ArrayList<>();
+        private final Map<String, Map<String, RoaringBitmap>> facets = new HashMap<>();
+        private final RoaringBitmap active = new RoaringBitmap();
+
+        private FacetIndex() {
+            for (String facet : FACETS) {
+                facets.put(facet, new HashMap<>());
+            }
+        }
+
+        private void put(String productId, String[] values) {
+            int ordinal = ordinals.computeIfAbsent(productId, id -> {
+                productIds.add(id);
+                valuesByOrdinal.add(null);
+                return productIds.size() - 1;
+            });
+            valuesByOrdinal.set(ordinal, values);
+            for (int f = 0; f < FACETS.length; f++) {
+                if (values[f] != null) {
+                    facets.get(FACETS[f]).computeIfAbsent(values[f], v -> new RoaringBitmap()).add(ordinal);
+                }
+            }
+            active.add(ordinal);
+        }
+
+        private void remove(String productId) {
+            Integer ordinal = ordinals.get(productId);
+            if (ordinal == null || !active.contains(ordinal)) {
+                return;
+            }
+            String[] values = valuesByOrdinal.get(ordinal);
+            for (int f = 0; f < FACETS.length; f++) {
+                if (values[f] == null) {
+                    continue;
+                }
+                Map<String, RoaringBitmap> facet = facets.get(FACETS[f]);
+                RoaringBitmap bitmap = facet.get(values[f]);
+                if (bitmap != null) {
+                    bitmap.remove(ordinal);
+                    if (bitmap.isEmpty()) {
+                        facet.remove(values[f]);
+                    }
+                }
+            }
+            valuesByOrdinal.set(ordinal, null);
+            active.remove(ordinal);
+        }
+
+        private RoaringBitmap union(String facet, List<String> values) {
+            Map<String, RoaringBitmap> bitmaps = facets.get(facet);
+            List<RoaringBitmap> matched = new ArrayList<>();
+            for (String value : values) {
+                RoaringBitmap bitmap = bitmaps.get(value);
+                if (bitmap != null) {
+                    matched.add(bitmap);
+                }
+            }
+            return matched.isEmpty() ? new RoaringBitmap() : FastAggregation.or(matched.iterator());
+        }
+
+        private RoaringBitmap ordinalsOf(Set<String> ids) {
+            RoaringBitmap bitmap = new RoaringBitmap();
+            for (String id : ids) {
+                Integer ordinal = ordinals.get(id);
+                if (ordinal != null) {
+                    bitmap.add(ordinal);
+                }
+            }
+            return bitmap;
+        }
+    }
+}
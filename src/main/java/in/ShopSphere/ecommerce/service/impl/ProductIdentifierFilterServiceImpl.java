@@ -0,0 +1,467 @@
+package in.ShopSphere.ecommerce.service.impl;
+
+import in.ShopSphere.ecommerce.event.ProductChangedEvent;
+import in.ShopSphere.ecommerce.repository.ProductRepository;
+import in.ShopSphere.ecommerce.service.ProductIdentifierFilterService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.BooleanSupplier;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.Stream;
+
+/**
+ * Bloom filter over every SKU and barcode in the catalog. A filter miss proves the
+ * identifier is unused, so the database is only asked about probable hits. The filter
+ * never forgets: deleted or renamed identifiers stay as false positives until the next
+ * rebuild. With the Redis mirror enabled every node also sets its bits in a shared
+ * bitmap, so an identifier taken on another node is never reported as free. Without it
+ * another node's identifiers are only seen after a rebuild; the unique indexes on SKU
+ * and barcode still reject a duplicate that slips through.
+ */
+@Service
+@Slf4j
+public class ProductIdentifierFilterServiceImpl implements ProductIdentifierFilterService {
+
+    private static final String SKU_PREFIX = "sku:";
+    private static final String BARCODE_PREFIX = "barcode:";
+    private static final String REDIS_KEY = "ecommerce:bloom:product-identifiers";
+    private static final byte[] REDIS_KEY_BYTES = REDIS_KEY.getBytes(StandardCharsets.UTF_8);
+
+    private final ProductRepository productRepository;
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final long expectedInsertions;
+    private final double falsePositiveRate;
+    private final boolean redisMirror;
+
+    private final Counter definiteMisses;
+    private final Counter confirmedHits;
+    private final Counter falsePositives;
+    private final Counter unfiltered;
+    private final Timer rebuildTimer;
+    private final TransactionTemplate transactionTemplate;
+
+    private final ExecutorService rebuildExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "identifier-filter-rebuild");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean rebuildQueued = new AtomicBoolean();
+
+    private final Object rebuildLock = new Object();
+    private final Object swapLock = new Object();
+    private volatile BloomFilter filter;
+    // Identifiers recorded while a rebuild is reading the table, replayed into the new filter
+    private List<String> pending;
+    private volatile LocalDateTime lastRebuildAt;
+    private volatile long lastRebuildMillis;
+    private volatile boolean saturationLogged;
+
+    public ProductIdentifierFilterServiceImpl(
+            ProductRepository productRepository,
+            RedisTemplate<String, Object> redisTemplate,
+            MeterRegistry meterRegistry,
+            PlatformTransactionManager transactionManager,
+            @Value("${identifier-filter.expected-insertions:100000}") long expectedInsertions,
+            @Value("${identifier-filter.false-positive-rate:0.01}") double falsePositiveRate,
+            @Value("${identifier-filter.redis-mirror:false}") boolean redisMirror) {
+        this.productRepository = productRepository;
+        this.redisTemplate = redisTemplate;
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+        this.redisMirror = redisMirror;
+        // Rebuilds stream the identifier columns, which needs a transaction on the rebuild thread
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+
+        this.definiteMisses = checkCounter(meterRegistry, "definite_miss");
+        this.confirmedHits = checkCounter(meterRegistry, "hit");
+        this.falsePositives = checkCounter(meterRegistry, "false_positive");
+        this.unfiltered = checkCounter(meterRegistry, "unfiltered");
+        this.rebuildTimer = Timer.builder("catalog.identifier.filter.rebuild")
+            .description("Time to rebuild the SKU/barcode filter from the database")
+            .register(meterRegistry);
+        Gauge.builder("catalog.identifier.filter.fill.ratio", this, service -> service.currentFilterValue(BloomFilter::fillRatio))
+            .description("Fraction of filter bits set")
+            .register(meterRegistry);
+        Gauge.builder("catalog.identifier.filter.expected.fpp", this, service -> service.currentFilterValue(BloomFilter::expectedFalsePositiveRate))
+            .description("False positive rate implied by the current fill")
+            .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void onApplicationReady() {
+        try {
+            rebuildFilter();
+        } catch (Exception e) {
+            log.error("Failed to build product identifier filter: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        rebuildExecutor.shutdownNow();
+    }
+
+    // Past its capacity the false positive rate climbs quickly, so size a new one
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        BloomFilter current = filter;
+        if (current == null || !current.isSaturated()) {
+            return;
+        }
+        if (redisMirror) {
+            // Every node must agree on the size of the shared bitmap, so it only grows by configuration
+            if (!saturationLogged) {
+                saturationLogged = true;
+                log.warn("Product identifier filter is past its capacity of {}; raise identifier-filter.expected-insertions",
+                    current.capacity);
+            }
+            return;
+        }
+        // Off the request thread, and once however many writes see the filter saturated
+        if (!rebuildQueued.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            rebuildExecutor.execute(() -> {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> rebuildFilter());
+                } catch (Exception e) {
+                    log.error("Failed to rebuild product identifier filter: {}", e.getMessage());
+                } finally {
+                    rebuildQueued.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rebuildQueued.set(false);
+        }
+    }
+
+    @Override
+    public boolean skuExists(String sku) {
+        return check(SKU_PREFIX + sku, () -> productRepository.existsBySku(sku));
+    }
+
+    @Override
+    public boolean barcodeExists(String barcode) {
+        return check(BARCODE_PREFIX + barcode, () -> productRepository.existsByBarcode(barcode));
+    }
+
+    @Override
+    public void recordIdentifiers(String sku, String barcode) {
+        List<String> keys = new ArrayList<>(2);
+        if (sku != null) {
+            keys.add(SKU_PREFIX + sku);
+        }
+        if (barcode != null) {
+            keys.add(BARCODE_PREFIX + barcode);
+        }
+        if (keys.isEmpty()) {
+            return;
+        }
+
+        BloomFilter current;
+        synchronized (swapLock) {
+            current = filter;
+            for (String key : keys) {
+                if (current != null) {
+                    current.put(key);
+                }
+                if (pending != null) {
+                    pending.add(key);
+                }
+            }
+        }
+        // Before the first build there is nothing to mirror; the build itself publishes everything
+        if (redisMirror && current != null) {
+            List<long[]> offsets = keys.stream().map(current::offsets).toList();
+            mirrorSetBits(offsets);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public int rebuildFilter() {
+        synchronized (rebuildLock) {
+            long start = System.nanoTime();
+            long capacity = redisMirror
+                ? expectedInsertions
+                // Two identifiers per product, with room for the catalog to double
+                : Math.max(expectedInsertions, productRepository.count() * 4);
+            BloomFilter next = new BloomFilter(capacity, falsePositiveRate);
+
+            int added;
+            synchronized (swapLock) {
+                pending = new ArrayList<>();
+            }
+            try {
+                added = putAll(productRepository.streamAllSkus(), SKU_PREFIX, next)
+                    + putAll(productRepository.streamAllBarcodes(), BARCODE_PREFIX, next);
+                synchronized (swapLock) {
+                    pending.forEach(next::put);
+                    filter = next;
+                }
+            } finally {
+                synchronized (swapLock) {
+                    pending = null;
+                }
+            }
+
+            if (redisMirror) {
+                mirrorBitmap(next);
+            }
+            saturationLogged = false;
+            long elapsed = System.nanoTime() - start;
+            rebuildTimer.record(elapsed, TimeUnit.NANOSECONDS);
+            lastRebuildAt = LocalDateTime.now();
+            lastRebuildMillis = TimeUnit.NANOSECONDS.toMillis(elapsed);
+            log.info("Product identifier filter built with {} identifiers ({} bits, {} hashes) in {} ms",
+                added, next.bitSize, next.hashFunctions, lastRebuildMillis);
+            return added;
+        }
+    }
+
+    @Override
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        BloomFilter current = filter;
+        stats.put("ready", current != null);
+        stats.put("redisMirror", redisMirror);
+        if (current != null) {
+            stats.put("capacity", current.capacity);
+            stats.put("insertions", current.insertions.get());
+            stats.put("bitSize", current.bitSize);
+            stats.put("hashFunctions", current.hashFunctions);
+            stats.put("fillRatio", current.fillRatio());
+            stats.put("expectedFalsePositiveRate", current.expectedFalsePositiveRate());
+        }
+        double misses = definiteMisses.count();
+        double falsePositiveCount = falsePositives.count();
+        stats.put("definiteMisses", (long) misses);
+        stats.put("confirmedHits", (long) confirmedHits.count());
+        stats.put("falsePositives", (long) falsePositiveCount);
+        stats.put("unfiltered", (long) unfiltered.count());
+        // Share of unused identifiers that still cost a database query
+        stats.put("observedFalsePositiveRate",
+            misses + falsePositiveCount > 0 ? falsePositiveCount / (misses + falsePositiveCount) : 0.0);
+        stats.put("rebuilds", rebuildTimer.count());
+        stats.put("lastRebuildMillis", lastRebuildMillis);
+        stats.put("lastRebuildAt", lastRebuildAt);
+        return stats;
+    }
+
+    private boolean check(String key, BooleanSupplier database) {
+        BloomFilter current = filter;
+        if (current == null) {
+            unfiltered.increment();
+            return database.getAsBoolean();
+        }
+        long[] offsets = current.offsets(key);
+        if (!current.containsAll(offsets) && !mirrorContains(offsets)) {
+            definiteMisses.increment();
+            return false;
+        }
+        boolean exists = database.getAsBoolean();
+        (exists ? confirmedHits : falsePositives).increment();
+        return exists;
+    }
+
+    private boolean mirrorContains(long[] offsets) {
+        if (!redisMirror) {
+            return false;
+        }
+        try {
+            List<Object> bits = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (long offset : offsets) {
+                    connection.stringCommands().getBit(REDIS_KEY_BYTES, offset);
+                }
+                return null;
+            });
+            return bits.stream().allMatch(Boolean.TRUE::equals);
+        } catch (Exception e) {
+            // Can't rule the identifier out, so let the database decide
+            log.warn("Product identifier filter mirror unavailable: {}", e.getMessage());
+            return true;
+        }
+    }
+
+    private void mirrorSetBits(List<long[]> offsets) {
+        try {
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (long[] keyOffsets : offsets) {
+                    for (long offset : keyOffsets) {
+                        connection.stringCommands().setBit(REDIS_KEY_BYTES, offset, true);
+                    }
+                }
+                return null;
+            });
+        } catch (Exception e) {
+            log.warn("Failed to mirror product identifiers to Redis: {}", e.getMessage());
+        }
+    }
+
+    // OR rather than replace, so bits another node set meanwhile are never lost
+    private void mirrorBitmap(BloomFilter source) {
+        byte[] staging = (REDIS_KEY + ":staging:" + UUID.randomUUID()).getBytes(StandardCharsets.UTF_8);
+        byte[] bitmap = source.toRedisBitmap();
+        try {
+            redisTemplate.execute((RedisCallback<Object>) connection -> {
+                connection.stringCommands().set(staging, bitmap);
+                connection.stringCommands().bitOp(RedisStringCommands.BitOperation.OR, REDIS_KEY_BYTES, REDIS_KEY_BYTES, staging);
+                connection.keyCommands().del(staging);
+                return null;
+            });
+        } catch (Exception e) {
+            log.warn("Failed to publish product identifier filter to Redis: {}", e.getMessage());
+        }
+    }
+
+    private double currentFilterValue(ToDoubleFunction<BloomFilter> value) {
+        BloomFilter current = filter;
+        return current != null ? value.applyAsDouble(current) : 0.0;
+    }
+
+    private static int putAll(Stream<String> identifiers, String prefix, BloomFilter target) {
+        int count = 0;
+        try (identifiers) {
+            for (Iterator<String> it = identifiers.iterator(); it.hasNext(); ) {
+                target.put(prefix + it.next());
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static Counter checkCounter(MeterRegistry registry, String result) {
+        return Counter.builder("catalog.identifier.filter.checks")
+            .description("SKU and barcode uniqueness checks by outcome")
+            .tag("result", result)
+            .register(registry);
+    }
+
+    /**
+     * Fixed-size Bloom filter. Bits live in an AtomicLongArray so lookups never see a
+     * half-published word; probe positions use double hashing over one 64-bit hash.
+     */
+    static final class BloomFilter {
+
+        private final AtomicLongArray words;
+        private final long bitSize;
+        private final int hashFunctions;
+        private final long capacity;
+        private final AtomicLong bitCount = new AtomicLong();
+        private final AtomicLong insertions = new AtomicLong();
+
+        BloomFilter(long capacity, double falsePositiveRate) {
+            double ln2 = Math.log(2);
+            long bits = (long) Math.ceil(-capacity * Math.log(falsePositiveRate) / (ln2 * ln2));
+            this.words = new AtomicLongArray(Math.toIntExact(Math.max(1, (bits + 63) / 64)));
+            this.bitSize = words.length() * 64L;
+            this.hashFunctions = Math.max(1, (int) Math.round((double) bitSize / capacity * ln2));
+            this.capacity = capacity;
+        }
+
+        long[] offsets(String key) {
+            long h1 = HashFunctions.mix(HashFunctions.fnv1a(key));
+            // Odd, so successive probes never repeat a position early
+            long h2 = HashFunctions.mix(h1) | 1L;
+            long[] offsets = new long[hashFunctions];
+            for (int i = 0; i < hashFunctions; i++) {
+                offsets[i] = Math.floorMod(h1 + i * h2, bitSize);
+            }
+            return offsets;
+        }
+
+        void put(String key) {
+            boolean changed = false;
+            for (long offset : offsets(key)) {
+                changed |= setBit(offset);
+            }
+            // Re-adding a known identifier sets no new bits and is not counted
+            if (changed) {
+                insertions.incrementAndGet();
+            }
+        }
+
+        boolean containsAll(long[] offsets) {
+            for (long offset : offsets) {
+                if ((words.get((int) (offset >>> 6)) & (1L << offset)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        double fillRatio() {
+            return (double) bitCount.get() / bitSize;
+        }
+
+        double expectedFalsePositiveRate() {
+            return Math.pow(fillRatio(), hashFunctions);
+        }
+
+        boolean isSaturated() {
+            return insertions.get() > capacity;
+        }
+
+        // Redis numbers bitmap bits from the most significant bit of the first byte
+        byte[] toRedisBitmap() {
+            byte[] bytes = new byte[Math.toIntExact(bitSize / 8)];
+            for (int i = 0; i < words.length(); i++) {
+                long word = words.get(i);
+                while (word != 0) {
+                    long offset = i * 64L + Long.numberOfTrailingZeros(word);
+                    bytes[(int) (offset >>> 3)] |= (byte) (0x80 >>> (offset & 7));
+                    word &= word - 1;
+                }
+            }
+            return bytes;
+        }
+
+        private boolean setBit(long offset) {
+            int index = (int) (offset >>> 6);
+            long mask = 1L << offset;
+            long previous;
+            do {
+                previous = words.get(index);
+                if ((previous & mask) != 0) {
+                    return false;
+                }
+            } while (!words.compareAndSet(index, previous, previous | mask));
+            bitCount.incrementAndGet();
+            return true;
+        }
+    }
+}
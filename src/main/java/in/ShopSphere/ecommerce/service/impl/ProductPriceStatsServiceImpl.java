@@ -0,0 +1,174 @@
+package in.ShopSphere.ecommerce.service.impl;
+
+import in.ShopSphere.ecommerce.dto.common.SearchFilters;
+import in.ShopSphere.ecommerce.dto.product.PriceStatsResponse;
+import in.ShopSphere.ecommerce.model.entity.Category;
+import in.ShopSphere.ecommerce.model.entity.Product;
+import in.ShopSphere.ecommerce.repository.CategoryRepository;
+import in.ShopSphere.ecommerce.repository.ProductSpecifications;
+import in.ShopSphere.ecommerce.service.ProductCatalogSnapshotService;
+import in.ShopSphere.ecommerce.service.ProductPriceStatsService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * Price distribution for a filter set, computed in one pass over a sorted column of
+ * prices in cents. Without a text query the column comes from the catalog snapshot;
+ * otherwise a single query selects just the current price of every match. Results are
+ * cached briefly under a normalized key so equivalent filters share an entry.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ProductPriceStatsServiceImpl implements ProductPriceStatsService {
+
+    public static final int MAX_BUCKETS = 50;
+
+    private final ProductCatalogSnapshotService catalogSnapshot;
+    private final CategoryRepository categoryRepository;
+    private final EntityManager entityManager;
+
+    @Override
+    @Transactional(readOnly = true)
+    @Cacheable(value = "priceStats",
+        key = "T(in.ShopSphere.ecommerce.service.impl.ProductPriceStatsServiceImpl).cacheKey(#filters, #buckets)")
+    public PriceStatsResponse getPriceStats(SearchFilters filters, int buckets) {
+        SearchFilters criteria = filters != null ? filters : new SearchFilters();
+        String categoryId = resolveCategoryId(criteria.getCategory());
+
+        long start = System.currentTimeMillis();
+        boolean fromSnapshot = catalogSnapshot.isReady() && isBlank(criteria.getSearchTerm());
+        long[] cents = fromSnapshot ? snapshotPrices(criteria, categoryId) : queryPrices(criteria, categoryId);
+        Arrays.sort(cents);
+        log.debug("Price stats over {} products from the {} in {} ms", cents.length,
+            fromSnapshot ? "snapshot" : "database", System.currentTimeMillis() - start);
+        return summarize(cents, clampBuckets(buckets));
+    }
+
+    /**
+     * Cache key that ignores spelling differences: trimmed text, a case-folded search
+     * term and prices without trailing zeros
+     */
+    public static String cacheKey(SearchFilters filters, int buckets) {
+        SearchFilters criteria = filters != null ? filters : new SearchFilters();
+        // Category names are matched exactly, so only surrounding whitespace is dropped
+        return "c=" + (isBlank(criteria.getCategory()) ? "" : criteria.getCategory().trim())
+            + "|min=" + normalize(criteria.getMinPrice())
+            + "|max=" + normalize(criteria.getMaxPrice())
+            + "|r=" + normalize(criteria.getRating())
+            + "|s=" + Boolean.TRUE.equals(criteria.getInStock())
+            + "|q=" + normalize(criteria.getSearchTerm())
+            + "|b=" + clampBuckets(buckets);
+    }
+
+    static PriceStatsResponse summarize(long[] sortedCents, int bucketCount) {
+        int count = sortedCents.length;
+        if (count == 0) {
+            return PriceStatsResponse.builder().count(0).buckets(new ArrayList<>()).build();
+        }
+
+        long min = sortedCents[0];
+        long max = sortedCents[count - 1];
+        // Whole-cent width, rounded up so bucketCount buckets always reach max
+        long width = Math.max(1, (max - min + bucketCount) / bucketCount);
+        int used = (int) Math.min(bucketCount, (max - min) / width + 1);
+
+        long[] counts = new long[used];
+        long sum = 0;
+        for (long cents : sortedCents) {
+            counts[(int) ((cents - min) / width)]++;
+            sum += cents;
+        }
+
+        List<PriceStatsResponse.Bucket> buckets = new ArrayList<>(used);
+        for (int i = 0; i < used; i++) {
+            long from = min + i * width;
+            long to = i == used - 1 ? max : from + width;
+            buckets.add(new PriceStatsResponse.Bucket(toPrice(from), toPrice(to), counts[i]));
+        }
+
+        return PriceStatsResponse.builder()
+            .count(count)
+            .min(toPrice(min))
+            .max(toPrice(max))
+            .average(BigDecimal.valueOf(sum).divide(BigDecimal.valueOf(count), 0, RoundingMode.HALF_UP).movePointLeft(2))
+            .p25(toPrice(percentile(sortedCents, 0.25)))
+            .median(toPrice(percentile(sortedCents, 0.50)))
+            .p75(toPrice(percentile(sortedCents, 0.75)))
+            .p90(toPrice(percentile(sortedCents, 0.90)))
+            .buckets(buckets)
+            .build();
+    }
+
+    private long[] snapshotPrices(SearchFilters criteria, String categoryId) {
+        return catalogSnapshot.findCurrentPriceCents(
+            categoryId,
+            criteria.getMinPrice() != null ? BigDecimal.valueOf(criteria.getMinPrice()) : null,
+            criteria.getMaxPrice() != null ? BigDecimal.valueOf(criteria.getMaxPrice()) : null,
+            criteria.getRating(),
+            Boolean.TRUE.equals(criteria.getInStock()));
+    }
+
+    // Same predicates as the filtered search, selecting only the price column
+    private long[] queryPrices(SearchFilters criteria, String categoryId) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<BigDecimal> query = cb.createQuery(BigDecimal.class);
+        Root<Product> root = query.from(Product.class);
+        query.select(ProductSpecifications.currentPrice(root, cb))
+            .where(ProductSpecifications.fromFilters(criteria, categoryId).toPredicate(root, query, cb));
+        return entityManager.createQuery(query).getResultList().stream()
+            .filter(Objects::nonNull)
+            .mapToLong(price -> ProductCatalogSnapshotServiceImpl.toCents(price, RoundingMode.HALF_UP))
+            .toArray();
+    }
+
+    private String resolveCategoryId(String category) {
+        if (isBlank(category)) {
+            return null;
+        }
+        return categoryRepository.findByName(category.trim())
+            .map(Category::getId)
+            .orElse(category.trim());
+    }
+
+    // Nearest-rank percentile
+    private static long percentile(long[] sortedCents, double fraction) {
+        int rank = (int) Math.ceil(fraction * sortedCents.length);
+        return sortedCents[Math.max(0, rank - 1)];
+    }
+
+    private static BigDecimal toPrice(long cents) {
+        return BigDecimal.valueOf(cents, 2);
+    }
+
+    private static int clampBuckets(int buckets) {
+        return Math.max(1, Math.min(buckets, MAX_BUCKETS));
+    }
+
+    private static String normalize(String value) {
+        return isBlank(value) ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static String normalize(Double value) {
+        return value != null ? BigDecimal.valueOf(value).stripTrailingZeros().toPlainString() : "";
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+}
@@ -0,0 +1,397 @@
+package in.ShopSphere.ecommerce.service.impl;
+
+import in.ShopSphere.ecommerce.dto.product.ProductResponse;
+import in.ShopSphere.ecommerce.event.ProductBatchChangedEvent;
+import in.ShopSphere.ecommerce.event.ProductChangedEvent;
+import in.ShopSphere.ecommerce.event.ProductPopularityChangedEvent;
+import in.ShopSphere.ecommerce.mapper.ProductMapper;
+import in.ShopSphere.ecommerce.model.entity.Product;
+import in.ShopSphere.ecommerce.repository.ProductRepository;
+import in.ShopSphere.ecommerce.service.ProductCounterService;
+import in.ShopSphere.ecommerce.service.ProductRankingService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+
+/**
+ * Top-rated, latest, most-discounted and most-popular rankings kept in memory as bounded sorted sets.
+ * Each set holds the best CAPACITY products with their mapped responses, so the listing
+ * endpoints never touch the database. A product change is one O(log K) remove and insert
+ * per ranking; only when removals shrink a ranking below MAX_LIMIT is it reseeded.
+ * Popularity comes from the product counters and is re-ranked after each counter flush.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ProductRankingServiceImpl implements ProductRankingService {
+
+    static final int MAX_LIMIT = 100;
+
+    // Headroom so products dropping out of a ranking rarely force a reseed
+    private static final int CAPACITY = MAX_LIMIT * 2;
+
+    private static final Comparator<Ranked> BY_ID = Comparator.comparing(r -> r.id);
+
+    // Same orders as the repository queries used to seed them
+    private static final Comparator<Ranked> TOP_RATED = Comparator.comparing((Ranked r) -> r.rating).reversed()
+        .thenComparing(Comparator.comparingInt((Ranked r) -> r.reviewCount).reversed())
+        .thenComparing(BY_ID);
+    private static final Comparator<Ranked> LATEST = Comparator
+        .comparing((Ranked r) -> r.createdAt, Comparator.nullsLast(Comparator.<LocalDateTime>reverseOrder()))
+        .thenComparing(BY_ID);
+    private static final Comparator<Ranked> MOST_DISCOUNTED = Comparator.comparingDouble((Ranked r) -> r.discount).reversed()
+        .thenComparing(BY_ID);
+    private static final Comparator<Ranked> MOST_POPULAR = Comparator.comparingDouble((Ranked r) -> r.popularity).reversed()
+        .thenComparing(BY_ID);
+
+    private final ProductRepository productRepository;
+    private final ProductMapper productMapper;
+    private final ProductCounterService productCounterService;
+
+    private final Ranking topRated = new Ranking(Kind.TOP_RATED, TOP_RATED, r -> true);
+    private final Ranking latest = new Ranking(Kind.LATEST, LATEST, r -> true);
+    private final Ranking mostDiscounted = new Ranking(Kind.MOST_DISCOUNTED, MOST_DISCOUNTED, r -> r.discount > 0);
+    private final Ranking mostPopular = new Ranking(Kind.MOST_POPULAR, MOST_POPULAR, r -> r.popularity > 0);
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile boolean seeded;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void onApplicationReady() {
+        try {
+            reseed();
+        } catch (Exception e) {
+            log.error("Failed to seed product rankings: {}", e.getMessage());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        try {
+            refreshProducts(List.of(event.getProductId()));
+        } catch (Exception e) {
+            log.error("Failed to update product rankings for product {}: {}", event.getProductId(), e.getMessage());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onProductsChanged(ProductBatchChangedEvent event) {
+        try {
+            refreshProducts(event.getProductIds());
+        } catch (Exception e) {
+            log.error("Failed to update product rankings for {} products: {}", event.getProductIds().size(), e.getMessage());
+        }
+    }
+
+    @EventListener
+    @Transactional(readOnly = true)
+    public void onPopularityChanged(ProductPopularityChangedEvent event) {
+        try {
+            refreshPopularity(event.getProductIds());
+        } catch (Exception e) {
+            log.error("Failed to update popularity ranking for {} products: {}", event.getProductIds().size(), e.getMessage());
+        }
+    }
+
+    @Override
+    public boolean canServe(int limit) {
+        return seeded && limit > 0 && limit <= MAX_LIMIT;
+    }
+
+    @Override
+    public List<ProductResponse> getTopRated(int limit) {
+        return top(topRated, limit);
+    }
+
+    @Override
+    public List<ProductResponse> getLatest(int limit) {
+        return top(latest, limit);
+    }
+
+    @Override
+    public List<ProductResponse> getMostDiscounted(int limit) {
+        return top(mostDiscounted, limit);
+    }
+
+    @Override
+    public List<ProductResponse> getMostPopular(int limit) {
+        return top(mostPopular, limit);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void reseed() {
+        long start = System.currentTimeMillis();
+        Map<Ranking, List<Ranked>> loaded = new HashMap<>();
+        for (Ranking ranking : List.of(topRated, latest, mostDiscounted, mostPopular)) {
+            loaded.put(ranking, load(ranking));
+        }
+
+        lock.writeLock().lock();
+        try {
+            loaded.forEach(Ranking::seed);
+            seeded = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Product rankings seeded in {} ms", System.currentTimeMillis() - start);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void refreshProducts(Collection<String> productIds) {
+        if (!seeded || productIds.isEmpty()) {
+            return;
+        }
+        Map<String, Ranked> fresh = new HashMap<>();
+        for (Product product : productRepository.findAllById(productIds)) {
+            if (Boolean.TRUE.equals(product.getIsActive())) {
+                fresh.put(product.getId(), rank(product));
+            }
+        }
+
+        List<Ranking> depleted = new ArrayList<>();
+        lock.writeLock().lock();
+        try {
+            for (Ranking ranking : List.of(topRated, latest, mostDiscounted, mostPopular)) {
+                for (String productId : productIds) {
+                    Ranked ranked = fresh.get(productId);
+                    if (ranked != null) {
+                        ranking.update(ranked);
+                    } else {
+                        ranking.remove(productId);
+                    }
+                }
+                if (ranking.isDepleted()) {
+                    depleted.add(ranking);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        // Rare: removals left fewer known entries than a request may ask for
+        for (Ranking ranking : depleted) {
+            List<Ranked> reloaded = load(ranking);
+            lock.writeLock().lock();
+            try {
+                ranking.seed(reloaded);
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.debug("Product ranking {} reseeded", ranking.kind);
+        }
+    }
+
+    /**
+     * Re-rank products whose counters changed. Ranked products are re-scored in place;
+     * only products that may now enter the ranking are read from the database.
+     */
+    private void refreshPopularity(Collection<String> productIds) {
+        if (!seeded || productIds.isEmpty()) {
+            return;
+        }
+        List<String> entering = new ArrayList<>();
+        lock.writeLock().lock();
+        try {
+            for (String productId : productIds) {
+                double popularity = productCounterService.getPopularity(productId);
+                Ranked ranked = mostPopular.byId.get(productId);
+                if (ranked != null) {
+                    mostPopular.update(ranked.withPopularity(popularity));
+                } else if (mostPopular.mayAdmit(popularity)) {
+                    entering.add(productId);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        if (entering.isEmpty()) {
+            return;
+        }
+
+        List<Ranked> loaded = new ArrayList<>();
+        for (Product product : productRepository.findAllById(entering)) {
+            if (Boolean.TRUE.equals(product.getIsActive())) {
+                loaded.add(rank(product));
+            }
+        }
+        lock.writeLock().lock();
+        try {
+            loaded.forEach(mostPopular::update);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private List<ProductResponse> top(Ranking ranking, int limit) {
+        lock.readLock().lock();
+        try {
+            return ranking.top(limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<Ranked> load(Ranking ranking) {
+        Pageable pageable = PageRequest.ofSize(CAPACITY);
+        List<Product> products = switch (ranking.kind) {
+            case TOP_RATED -> productRepository.findTopRatedFirstPage(pageable);
+            case LATEST -> productRepository.findLatestFirstPage(pageable);
+            case MOST_DISCOUNTED -> productRepository.findMostDiscounted(pageable);
+            case MOST_POPULAR -> activeInOrder(productCounterService.getMostPopular(CAPACITY));
+        };
+        List<Ranked> ranked = new ArrayList<>(products.size());
+        for (Product product : products) {
+            ranked.add(rank(product));
+        }
+        return ranked;
+    }
+
+    private List<Product> activeInOrder(List<String> productIds) {
+        if (productIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return productRepository.findAllById(productIds).stream()
+            .filter(product -> Boolean.TRUE.equals(product.getIsActive()))
+            .toList();
+    }
+
+    private Ranked rank(Product product) {
+        BigDecimal rating = product.getRating() != null ? product.getRating() : BigDecimal.ZERO;
+        int reviewCount = product.getReviewCount() != null ? product.getReviewCount() : 0;
+        double discount = 0.0;
+        BigDecimal price = product.getPrice();
+        BigDecimal salePrice = product.getSalePrice();
+        if (price != null && salePrice != null && price.signum() > 0 && salePrice.compareTo(price) < 0) {
+            discount = price.subtract(salePrice).doubleValue() / price.doubleValue();
+        }
+        return new Ranked(product.getId(), rating, reviewCount, product.getCreatedAt(), discount,
+            productCounterService.getPopularity(product.getId()), productMapper.toProductResponse(product));
+    }
+
+    private enum Kind {
+        TOP_RATED, LATEST, MOST_DISCOUNTED, MOST_POPULAR
+    }
+
+    private static final class Ranked {
+        private final String id;
+        private final BigDecimal rating;
+        private final int reviewCount;
+        private final LocalDateTime createdAt;
+        private final double discount;
+        private final double popularity;
+        private final ProductResponse response;
+
+        private Ranked(String id, BigDecimal rating, int reviewCount, LocalDateTime createdAt, double discount,
+                       double popularity, ProductResponse response) {
+            this.id = id;
+            this.rating = rating;
+            this.reviewCount = reviewCount;
+            this.createdAt = createdAt;
+            this.discount = discount;
+            this.popularity = popularity;
+            this.response = response;
+        }
+
+        private Ranked withPopularity(double newPopularity) {
+            return new Ranked(id, rating, reviewCount, createdAt, discount, newPopularity, response);
+        }
+    }
+
+    /**
+     * The best products for one ordering. Unless the set is complete (it holds every
+     * eligible product), something outside it may outrank a product that falls below
+     * its tail, so such products are dropped rather than guessed at.
+     */
+    private static final class Ranking {
+        private final Kind kind;
+        private final TreeSet<Ranked> order;
+        private final Map<String, Ranked> byId = new HashMap<>();
+        private final Predicate<Ranked> eligible;
+        private boolean complete;
+
+        private Ranking(Kind kind, Comparator<Ranked> comparator, Predicate<Ranked> eligible) {
+            this.kind = kind;
+            this.order = new TreeSet<>(comparator);
+            this.eligible = eligible;
+        }
+
+        private void seed(List<Ranked> ranked) {
+            order.clear();
+            byId.clear();
+            for (Ranked entry : ranked) {
+                if (eligible.test(entry)) {
+                    order.add(entry);
+                    byId.put(entry.id, entry);
+                }
+            }
+            complete = ranked.size() < CAPACITY;
+        }
+
+        private void update(Ranked ranked) {
+            remove(ranked.id);
+            if (!eligible.test(ranked)) {
+                return;
+            }
+            if (!complete && (order.isEmpty() || order.comparator().compare(ranked, order.last()) > 0)) {
+                return;
+            }
+            order.add(ranked);
+            byId.put(ranked.id, ranked);
+            if (order.size() > CAPACITY) {
+                byId.remove(order.pollLast().id);
+                complete = false;
+            }
+        }
+
+        private void remove(String productId) {
+            Ranked existing = byId.remove(productId);
+            if (existing != null) {
+                order.remove(existing);
+            }
+        }
+
+        // Whether a product outside the set with this score would be kept by update()
+        private boolean mayAdmit(double popularity) {
+            return popularity > 0 && (complete || order.isEmpty() || popularity > order.last().popularity);
+        }
+
+        private boolean isDepleted() {
+            return !complete && order.size() < MAX_LIMIT;
+        }
+
+        private List<ProductResponse> top(int limit) {
+            List<ProductResponse> responses = new ArrayList<>(Math.min(limit, order.size()));
+            Iterator<Ranked> iterator = order.iterator();
+            while (iterator.hasNext() && responses.size() < limit) {
+                responses.add(iterator.next().response);
+            }
+            return responses;
+        }
+    }
+}
@@ -0,0 +1,391 @@
+package in.ShopSphere.ecommerce.service.impl;
+
+import in.ShopSphere.ecommerce.config.RecommendationProperties;
+import in.ShopSphere.ecommerce.dto.product.CoOccurrenceRefreshResponse;
+import in.ShopSphere.ecommerce.dto.product.ProductResponse;
+import in.ShopSphere.ecommerce.model.entity.JobCheckpoint;
+import in.ShopSphere.ecommerce.model.entity.OrderStatus;
+import in.ShopSphere.ecommerce.repository.JobCheckpointRepository;
+import in.ShopSphere.ecommerce.repository.OrderRepository;
+import in.ShopSphere.ecommerce.repository.ProductCoOccurrenceRepository;
+import in.ShopSphere.ecommerce.repository.ProductRepository;
+import in.ShopSphere.ecommerce.service.ProductRecommendationService;
+import in.ShopSphere.ecommerce.service.ProductService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.SqlParameterValue;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Frequently-bought-together lists. A job streams order lines past a high-water mark,
+ * counts product pairs per order in a primitive long-keyed hash map (two int ordinals
+ * packed into one long), adds the counts to {@code product_co_occurrences} and rewrites
+ * the top-N list of every product it touched into Redis, one key per product, once the
+ * counts have committed.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ProductRecommendationServiceImpl implements ProductRecommendationService {
+
+    static final String JOB_NAME = "product-co-occurrence";
+    static final String RELATED_KEY_PREFIX = "ecommerce:related:";
+
+    private static final LocalDateTime EPOCH = LocalDateTime.of(1970, 1, 1, 0, 0);
+    // Pairs held in memory before they are written out
+    private static final int FLUSH_PAIRS = 500_000;
+    private static final int BATCH_SIZE = 1000;
+    private static final int IN_CHUNK = 500;
+
+    private static final String UPSERT_SQL =
+        "INSERT INTO product_co_occurrences (product_id, related_product_id, pair_count) VALUES (?, ?, ?) " +
+        "ON CONFLICT (product_id, related_product_id) " +
+        "DO UPDATE SET pair_count = product_co_occurrences.pair_count + EXCLUDED.pair_count";
+
+    private static final String TOP_N_SQL =
+        "SELECT product_id, related_product_id FROM (" +
+        "SELECT product_id, related_product_id, " +
+        "ROW_NUMBER() OVER (PARTITION BY product_id ORDER BY pair_count DESC, related_product_id) AS rn " +
+        "FROM product_co_occurrences WHERE product_id IN (%s)) ranked " +
+        "WHERE rn <= ? ORDER BY product_id, rn";
+
+    private final OrderRepository orderRepository;
+    private final ProductCoOccurrenceRepository coOccurrenceRepository;
+    private final ProductRepository productRepository;
+    private final JobCheckpointRepository checkpointRepository;
+    private final ProductService productService;
+    private final JdbcTemplate jdbcTemplate;
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final RecommendationProperties properties;
+
+    @Override
+    public List<ProductResponse> getRelatedProducts(String productId, int limit) {
+        int size = Math.max(1, Math.min(limit, properties.getTopN()));
+        List<String> relatedIds = readRelatedIds(productId);
+        if (relatedIds == null) {
+            // Not written by the job yet (or Redis was flushed), so read the table once
+            relatedIds = new ArrayList<>(coOccurrenceRepository.findRelatedProductIds(
+                productId, PageRequest.of(0, properties.getTopN())));
+            // Anyone can ask for any id, so only lists of real products are stored
+            if (!relatedIds.isEmpty() || productRepository.existsById(productId)) {
+                writeRelatedIds(Map.of(productId, relatedIds));
+            }
+        }
+        if (relatedIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        // The whole list is hydrated so inactive products can be dropped without a second lookup
+        List<ProductResponse> products = productService.getProductsByIds(relatedIds);
+        return new ArrayList<>(products.subList(0, Math.min(size, products.size())));
+    }
+
+    @Override
+    @Transactional
+    @Scheduled(cron = "${recommendations.co-occurrence.cron:0 30 3 * * *}")
+    public CoOccurrenceRefreshResponse refreshCoOccurrences() {
+        long start = System.currentTimeMillis();
+        checkpointRepository.insertIfMissing(JOB_NAME, EPOCH);
+        JobCheckpoint checkpoint = checkpointRepository.findForUpdate(JOB_NAME)
+            .orElseThrow(() -> new IllegalStateException("Missing job checkpoint: " + JOB_NAME));
+        LocalDateTime before = LocalDateTime.now().minus(properties.getSettleWindow());
+
+        ProductDictionary dictionary = new ProductDictionary();
+        PairCounts pairs = new PairCounts(1024);
+        BitSet touched = new BitSet();
+        int[] basket = new int[Math.max(2, properties.getMaxItemsPerOrder())];
+        int basketSize = 0;
+        String currentOrder = null;
+        long orders = 0;
+        long pairsUpdated = 0;
+
+        // Rows arrive grouped by order, so each basket is complete when the order id changes
+        try (Stream<OrderRepository.OrderProductRow> rows = orderRepository.streamOrderProductsAfter(
+                checkpoint.getLastCreatedAt(), checkpoint.getLastId(), before, OrderStatus.CANCELLED)) {
+            Iterator<OrderRepository.OrderProductRow> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                OrderRepository.OrderProductRow row = iterator.next();
+                if (!row.getOrderId().equals(currentOrder)) {
+                    countPairs(basket, basketSize, pairs, touched);
+                    if (pairs.size() >= FLUSH_PAIRS) {
+                        pairsUpdated += flush(pairs, dictionary);
+                    }
+                    currentOrder = row.getOrderId();
+                    checkpoint.setLastCreatedAt(row.getOrderCreatedAt());
+                    checkpoint.setLastId(currentOrder);
+                    basketSize = 0;
+                    orders++;
+                }
+                if (basketSize < basket.length) {
+                    basket[basketSize++] = dictionary.ordinal(row.getProductId());
+                }
+            }
+        }
+        countPairs(basket, basketSize, pairs, touched);
+        pairsUpdated += flush(pairs, dictionary);
+        checkpointRepository.save(checkpoint);
+
+        List<String> touchedIds = touched.stream().mapToObj(dictionary::id).toList();
+        Map<String, List<String>> related = readRelatedLists(touchedIds);
+        // A rolled back run must not leave lists behind that the table does not back
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    writeRelatedIds(related);
+                }
+            });
+        } else {
+            writeRelatedIds(related);
+        }
+
+        long duration = System.currentTimeMillis() - start;
+        log.info("Co-occurrence refresh: {} orders, {} pairs, {} related lists in {} ms",
+            orders, pairsUpdated, touchedIds.size(), duration);
+        return CoOccurrenceRefreshResponse.builder()
+            .ordersProcessed(orders)
+            .pairsUpdated(pairsUpdated)
+            .productsRefreshed(touchedIds.size())
+            .highWaterMark(checkpoint.getLastCreatedAt().equals(EPOCH) ? null : checkpoint.getLastCreatedAt())
+            .durationMs(duration)
+            .build();
+    }
+
+    static void countPairs(int[] basket, int size, PairCounts pairs, BitSet touched) {
+        if (size < 2) {
+            return;
+        }
+        // Sorted and de-duplicated so a product ordered twice counts once and a < b below
+        Arrays.sort(basket, 0, size);
+        int distinct = 1;
+        for (int i = 1; i < size; i++) {
+            if (basket[i] != basket[distinct - 1]) {
+                basket[distinct++] = basket[i];
+            }
+        }
+        for (int i = 0; i < distinct; i++) {
+            for (int j = i + 1; j < distinct; j++) {
+                pairs.increment(PairCounts.key(basket[i], basket[j]));
+            }
+        }
+        if (distinct > 1) {
+            for (int i = 0; i < distinct; i++) {
+                touched.set(basket[i]);
+            }
+        }
+    }
+
+    private long flush(PairCounts pairs, ProductDictionary dictionary) {
+        int count = pairs.size();
+        if (count == 0) {
+            return 0;
+        }
+        long[] keys = new long[count];
+        int[] counts = new int[count];
+        pairs.drainTo(keys, counts);
+
+        // Written in both directions, so either product's list is one index range scan
+        List<Integer> rows = IntStream.range(0, count * 2).boxed().toList();
+        jdbcTemplate.batchUpdate(UPSERT_SQL, rows, BATCH_SIZE, (ps, row) -> {
+            long key = keys[row >> 1];
+            int first = (int) (key >>> 32);
+            int second = (int) key;
+            boolean forward = (row & 1) == 0;
+            ps.setObject(1, dictionary.id(forward ? first : second), Types.OTHER);
+            ps.setObject(2, dictionary.id(forward ? second : first), Types.OTHER);
+            ps.setLong(3, counts[row >> 1]);
+        });
+        return count;
+    }
+
+    private Map<String, List<String>> readRelatedLists(List<String> productIds) {
+        Map<String, List<String>> related = new LinkedHashMap<>();
+        for (int from = 0; from < productIds.size(); from += IN_CHUNK) {
+            List<String> chunk = productIds.subList(from, Math.min(from + IN_CHUNK, productIds.size()));
+            chunk.forEach(id -> related.put(id, new ArrayList<>()));
+
+            Object[] args = new Object[chunk.size() + 1];
+            for (int i = 0; i < chunk.size(); i++) {
+                args[i] = new SqlParameterValue(Types.OTHER, chunk.get(i));
+            }
+            args[chunk.size()] = properties.getTopN();
+            jdbcTemplate.query(TOP_N_SQL.formatted(String.join(",", Collections.nCopies(chunk.size(), "?"))),
+                (RowCallbackHandler) rs -> related.computeIfAbsent(rs.getString(1), id -> new ArrayList<>())
+                    .add(rs.getString(2)),
+                args);
+        }
+        return related;
+    }
+
+    private List<String> readRelatedIds(String productId) {
+        try {
+            Object cached = redisTemplate.opsForValue().get(RELATED_KEY_PREFIX + productId);
+            if (cached instanceof List<?> list) {
+                return list.stream().map(String::valueOf).toList();
+            }
+        } catch (Exception e) {
+            log.error("Failed to read related products of {} from Redis", productId, e);
+        }
+        return null;
+    }
+
+    private void writeRelatedIds(Map<String, List<String>> related) {
+        if (related.isEmpty()) {
+            return;
+        }
+        Map<String, Object> entries = new HashMap<>();
+        // ArrayList so the typed JSON serializer can read the value back
+        related.forEach((id, relatedIds) -> entries.put(RELATED_KEY_PREFIX + id, new ArrayList<>(relatedIds)));
+        try {
+            // Lists of products the job no longer touches age out and are read from the table again
+            redisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public <K, V> Object execute(RedisOperations<K, V> operations) {
+                    ValueOperations<String, Object> values = ((RedisOperations<String, Object>) operations).opsForValue();
+                    entries.forEach((key, value) -> values.set(key, value, properties.getRelatedTtl()));
+                    return null;
+                }
+            });
+        } catch (Exception e) {
+            // Reads fall back to the table
+            log.error("Failed to write {} related product lists to Redis", entries.size(), e);
+        }
+    }
+
+    /**
+     * Product id to dense int ordinal, for this run only
+     */
+    static final class ProductDictionary {
+
+        private final Map<String, Integer> ordinals = new HashMap<>();
+        private final List<String> ids = new ArrayList<>();
+
+        int ordinal(String productId) {
+            Integer ordinal = ordinals.get(productId);
+            if (ordinal == null) {
+                ordinal = ids.size();
+                ordinals.put(productId, ordinal);
+                ids.add(productId);
+            }
+            return ordinal;
+        }
+
+        String id(int ordinal) {
+            return ids.get(ordinal);
+        }
+    }
+
+    /**
+     * Open-addressing long to int counter. Keys pack ordinals a &lt; b as (a &lt;&lt; 32 | b),
+     * so b &gt; 0 and zero can mark an empty slot.
+     */
+    static final class PairCounts {
+
+        private long[] keys;
+        private int[] counts;
+        private int size;
+
+        PairCounts(int expected) {
+            int capacity = Integer.highestOneBit(Math.max(16, expected * 2) - 1) << 1;
+            keys = new long[capacity];
+            counts = new int[capacity];
+        }
+
+        static long key(int first, int second) {
+            return ((long) first << 32) | (second & 0xFFFFFFFFL);
+        }
+
+        void increment(long key) {
+            int slot = slot(key, keys.length - 1);
+            while (keys[slot] != 0 && keys[slot] != key) {
+                slot = (slot + 1) & (keys.length - 1);
+            }
+            if (keys[slot] == 0) {
+                keys[slot] = key;
+                counts[slot] = 1;
+                if (++size * 2 > keys.length) {
+                    grow();
+                }
+                return;
+            }
+            counts[slot]++;
+        }
+
+        int get(long key) {
+            int slot = slot(key, keys.length - 1);
+            while (keys[slot] != 0) {
+                if (keys[slot] == key) {
+                    return counts[slot];
+                }
+                slot = (slot + 1) & (keys.length - 1);
+            }
+            return 0;
+        }
+
+        int size() {
+            return size;
+        }
+
+        // Copies every entry out and empties the map, keeping its capacity
+        void drainTo(long[] outKeys, int[] outCounts) {
+            int next = 0;
+            for (int slot = 0; slot < keys.length; slot++) {
+                if (keys[slot] != 0) {
+                    outKeys[next] = keys[slot];
+                    outCounts[next++] = counts[slot];
+                    keys[slot] = 0;
+                }
+            }
+            size = 0;
+        }
+
+        private void grow() {
+            long[] oldKeys = keys;
+            int[] oldCounts = counts;
+            keys = new long[oldKeys.length * 2];
+            counts = new int[oldCounts.length * 2];
+            int mask = keys.length - 1;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != 0) {
+                    int slot = slot(oldKeys[i], mask);
+                    while (keys[slot] != 0) {
+                        slot = (slot + 1) & mask;
+                    }
+                    keys[slot] = oldKeys[i];
+                    counts[slot] = oldCounts[i];
+                }
+            }
+        }
+
+        // Mixed so sequential ordinals spread over the table
+        private static int slot(long key, int mask) {
+            return (int) HashFunctions.mix(key) & mask;
+        }
+    }
+}
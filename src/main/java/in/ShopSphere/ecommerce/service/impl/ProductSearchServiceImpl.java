@@ -0,0 +1,430 @@
+package in.ShopSphere.ecommerce.service.impl;
+
+import in.ShopSphere.ecommerce.dto.common.PaginationResponse;
+import in.ShopSphere.ecommerce.dto.product.ProductResponse;
+import in.ShopSphere.ecommerce.event.ProductBatchChangedEvent;
+import in.ShopSphere.ecommerce.event.ProductChangedEvent;
+import in.ShopSphere.ecommerce.event.ProductStockChangedEvent;
+import in.ShopSphere.ecommerce.mapper.ProductMapper;
+import in.ShopSphere.ecommerce.model.entity.Product;
+import in.ShopSphere.ecommerce.repository.ProductRepository;
+import in.ShopSphere.ecommerce.service.ProductCounterService;
+import in.ShopSphere.ecommerce.service.ProductSearchService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory inverted index over active products, ranked with BM25.
+ * Field boosts are folded into the term frequency (BM25F style) so a hit in
+ * the name or SKU outweighs the same hit in the description. Popular products get a
+ * small log-scaled boost, so among similar matches the ones people buy come first.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ProductSearchServiceImpl implements ProductSearchService {
+
+    private static final Pattern TOKEN_SPLITTER = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    // BM25 parameters
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    // Field boosts
+    private static final float NAME_BOOST = 3.0f;
+    private static final float SKU_BOOST = 3.0f;
+    private static final float BRAND_BOOST = 2.0f;
+    private static final float TAG_BOOST = 2.0f;
+    private static final float CATEGORY_BOOST = 1.5f;
+    private static final float DESCRIPTION_BOOST = 1.0f;
+
+    // Prefix expansion for partially typed terms
+    private static final int MAX_PREFIX_EXPANSIONS = 32;
+    private static final double PREFIX_MATCH_WEIGHT = 0.7;
+
+    // Multiplier per unit of popularity (a log of the weighted view/cart/purchase counts)
+    private static final double POPULARITY_BOOST = 0.05;
+
+    private final ProductRepository productRepository;
+    private final ProductMapper productMapper;
+    private final ProductCounterService productCounterService;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Map<String, IndexedDocument> documents = new HashMap<>();
+    private TreeMap<String, Map<String, Float>> postings = new TreeMap<>();
+    private double totalLength;
+    private volatile boolean ready;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void onApplicationReady() {
+        try {
+            rebuildIndex();
+        } catch (Exception e) {
+            log.error("Failed to build product search index, falling back to database search: {}", e.getMessage());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        try {
+            if (event.isDeleted()) {
+                removeProduct(event.getProductId());
+            } else {
+                refreshProduct(event.getProductId());
+            }
+        } catch (Exception e) {
+            log.error("Failed to update search index for product {}: {}", event.getProductId(), e.getMessage());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onProductsChanged(ProductBatchChangedEvent event) {
+        try {
+            refreshProducts(event.getProductIds());
+        } catch (Exception e) {
+            log.error("Failed to update search index for {} products: {}", event.getProductIds().size(), e.getMessage());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onStockChanged(ProductStockChangedEvent event) {
+        try {
+            refreshProducts(event.getProductIds());
+        } catch (Exception e) {
+            log.error("Failed to update search index stock for {} products: {}", event.getProductIds().size(), e.getMessage());
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public int rebuildIndex() {
+        long start = System.currentTimeMillis();
+
+        Map<String, IndexedDocument> newDocuments = new HashMap<>();
+        TreeMap<String, Map<String, Float>> newPostings = new TreeMap<>();
+        double newTotalLength = 0;
+
+        for (Product product : productRepository.findByIsActiveTrue()) {
+            IndexedDocument document = toDocument(product);
+            newDocuments.put(document.id, document);
+            addPostings(newPostings, document);
+            newTotalLength += document.length;
+        }
+
+        lock.writeLock().lock();
+        try {
+            documents = newDocuments;
+            postings = newPostings;
+            totalLength = newTotalLength;
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        log.info("Product search index built with {} products and {} terms in {} ms",
+            newDocuments.size(), newPostings.size(), System.currentTimeMillis() - start);
+        return newDocuments.size();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void refreshProduct(String productId) {
+        Product product = productRepository.findById(productId).orElse(null);
+        if (product == null || !Boolean.TRUE.equals(product.getIsActive())) {
+            removeProduct(productId);
+            return;
+        }
+
+        IndexedDocument document = toDocument(product);
+        lock.writeLock().lock();
+        try {
+            removeDocument(productId);
+            documents.put(document.id, document);
+            addPostings(postings, document);
+            totalLength += document.length;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.debug("Search index refreshed for product: {}", productId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void refreshProducts(Collection<String> productIds) {
+        List<IndexedDocument> fresh = new ArrayList<>();
+        for (Product product : productRepository.findListingByIdIn(productIds)) {
+            if (Boolean.TRUE.equals(product.getIsActive())) {
+                fresh.add(toDocument(product));
+            }
+        }
+
+        lock.writeLock().lock();
+        try {
+            // Anything not reloaded as active drops out of the index
+            for (String productId : productIds) {
+                removeDocument(productId);
+            }
+            for (IndexedDocument document : fresh) {
+                documents.put(document.id, document);
+                addPostings(postings, document);
+                totalLength += document.length;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.debug("Search index refreshed for {} products", productIds.size());
+    }
+
+    @Override
+    public void removeProduct(String productId) {
+        lock.writeLock().lock();
+        try {
+            removeDocument(productId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.debug("Product removed from search index: {}", productId);
+    }
+
+    @Override
+    public PaginationResponse<ProductResponse> search(String query, Pageable pageable) {
+        lock.readLock().lock();
+        try {
+            Map<String, Double> scores = score(query);
+            scores.replaceAll((productId, score) ->
+                score * (1 + POPULARITY_BOOST * productCounterService.getPopularity(productId)));
+
+            int offset = (int) Math.min(pageable.getOffset(), Integer.MAX_VALUE);
+            int size = pageable.getPageSize();
+            List<ProductResponse> page = new ArrayList<>();
+            for (String productId : topRanked(scores, offset, size)) {
+                page.add(documents.get(productId).response);
+            }
+
+            long total = scores.size();
+            return PaginationResponse.<ProductResponse>builder()
+                .data(page)
+                .pagination(PaginationResponse.PaginationInfo.builder()
+                    .page(pageable.getPageNumber())
+                    .limit(size)
+                    .total(total)
+                    .totalPages((int) Math.ceil((double) total / size))
+                    .build())
+                .build();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Set<String> findMatchingIds(String query) {
+        lock.readLock().lock();
+        try {
+            return new HashSet<>(score(query).keySet());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean isReady() {
+        return ready;
+    }
+
+    @Override
+    public int getIndexedCount() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Caller must hold the read lock
+    private Map<String, Double> score(String query) {
+        Map<String, Double> scores = new HashMap<>();
+        // A blank query matches every active product, as the LIKE search does, ranked by popularity alone
+        if (query == null || query.isBlank()) {
+            for (String productId : documents.keySet()) {
+                scores.put(productId, 1.0);
+            }
+            return scores;
+        }
+
+        Set<String> queryTerms = new LinkedHashSet<>(tokenize(query));
+        int docCount = documents.size();
+        double avgLength = docCount == 0 ? 1.0 : totalLength / docCount;
+
+        for (String term : queryTerms) {
+            Map<String, Float> exact = postings.get(term);
+            if (exact != null) {
+                accumulate(scores, exact, 1.0, docCount, avgLength);
+                continue;
+            }
+            // No exact hit, treat the term as a prefix (e.g. "iph" -> "iphone")
+            NavigableMap<String, Map<String, Float>> expansions =
+                postings.subMap(term, true, term + Character.MAX_VALUE, false);
+            int expanded = 0;
+            for (Map<String, Float> termPostings : expansions.values()) {
+                if (expanded++ >= MAX_PREFIX_EXPANSIONS) {
+                    break;
+                }
+                accumulate(scores, termPostings, PREFIX_MATCH_WEIGHT, docCount, avgLength);
+            }
+        }
+        return scores;
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return Collections.emptyList();
+        }
+        List<String> tokens = new ArrayList<>();
+        for (String token : TOKEN_SPLITTER.split(text.toLowerCase(Locale.ROOT))) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    private void accumulate(Map<String, Double> scores, Map<String, Float> termPostings, double weight,
+                            int docCount, double avgLength) {
+        int df = termPostings.size();
+        double idf = Math.log(1 + (docCount - df + 0.5) / (df + 0.5));
+        for (Map.Entry<String, Float> posting : termPostings.entrySet()) {
+            IndexedDocument document = documents.get(posting.getKey());
+            double tf = posting.getValue();
+            double norm = K1 * (1 - B + B * document.length / avgLength);
+            double score = weight * idf * (tf * (K1 + 1)) / (tf + norm);
+            scores.merge(posting.getKey(), score, Double::sum);
+        }
+    }
+
+    // Keeps only offset + size candidates in a bounded heap instead of sorting every hit
+    private List<String> topRanked(Map<String, Double> scores, int offset, int size) {
+        int wanted = offset + size;
+        if (offset >= scores.size() || size <= 0) {
+            return Collections.emptyList();
+        }
+
+        Comparator<Map.Entry<String, Double>> byScore = Map.Entry.<String, Double>comparingByValue()
+            .thenComparing(Map.Entry.comparingByKey(Comparator.reverseOrder()));
+        PriorityQueue<Map.Entry<String, Double>> heap = new PriorityQueue<>(Math.min(wanted, scores.size()), byScore);
+        for (Map.Entry<String, Double> entry : scores.entrySet()) {
+            if (heap.size() < wanted) {
+                heap.offer(entry);
+            } else if (byScore.compare(entry, heap.peek()) > 0) {
+                heap.poll();
+                heap.offer(entry);
+            }
+        }
+
+        List<Map.Entry<String, Double>> ranked = new ArrayList<>(heap);
+        ranked.sort(byScore.reversed());
+        List<String> ids = new ArrayList<>(size);
+        for (int i = offset; i < ranked.size(); i++) {
+            ids.add(ranked.get(i).getKey());
+        }
+        return ids;
+    }
+
+    private IndexedDocument toDocument(Product product) {
+        Map<String, Float> termFreqs = new HashMap<>();
+        addField(termFreqs, product.getName(), NAME_BOOST);
+        addField(termFreqs, product.getBrand(), BRAND_BOOST);
+        addField(termFreqs, product.getDescription(), DESCRIPTION_BOOST);
+        if (product.getCategory() != null) {
+            addField(termFreqs, product.getCategory().getName(), CATEGORY_BOOST);
+        }
+        if (product.getTags() != null) {
+            for (String tag : product.getTags()) {
+                addField(termFreqs, tag, TAG_BOOST);
+            }
+        }
+        if (product.getSku() != null && !product.getSku().isBlank()) {
+            addField(termFreqs, product.getSku(), SKU_BOOST);
+            termFreqs.merge(product.getSku().toLowerCase(Locale.ROOT), SKU_BOOST, Float::sum);
+        }
+
+        float length = 0;
+        for (float tf : termFreqs.values()) {
+            length += tf;
+        }
+        return new IndexedDocument(product.getId(), productMapper.toProductResponse(product), termFreqs, length);
+    }
+
+    private void addField(Map<String, Float> termFreqs, String text, float boost) {
+        for (String token : tokenize(text)) {
+            termFreqs.merge(token, boost, Float::sum);
+        }
+    }
+
+    private static void addPostings(TreeMap<String, Map<String, Float>> target, IndexedDocument document) {
+        for (Map.Entry<String, Float> entry : document.termFreqs.entrySet()) {
+            target.computeIfAbsent(entry.getKey(), k -> new HashMap<>()).put(document.id, entry.getValue());
+        }
+    }
+
+    // Caller must hold the write lock
+    private void removeDocument(String productId) {
+        IndexedDocument existing = documents.remove(productId);
+        if (existing == null) {
+            return;
+        }
+        for (String term : existing.termFreqs.keySet()) {
+            Map<String, Float> termPostings = postings.get(term);
+            if (termPostings != null) {
+                termPostings.remove(productId);
+                if (termPostings.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+        totalLength -= existing.length;
+    }
+
+    private static final class IndexedDocument {
+        private final String id;
+        private final ProductResponse response;
+        private final Map<String, Float> termFreqs;
+        private final float length;
+
+        private IndexedDocument(String id, ProductResponse response, Map<String, Float> termFreqs, float length) {
+            this.id = id;
+            this.response = response;
+            this.termFreqs = termFreqs;
+            this.length = length;
+        }
+    }
+}
@@ -1,9 +1,13 @@
 package in.ShopSphere.ecommerce.service.impl;
 
+import in.ShopSphere.ecommerce.config.CacheTags;
 import in.ShopSphere.ecommerce.dto.common.ApiResponse;
+import in.ShopSphere.ecommerce.dto.common.PageCursor;
 import in.ShopSphere.ecommerce.dto.common.PaginationResponse;
 import in.ShopSphere.ecommerce.dto.product.ProductRequest;
 import in.ShopSphere.ecommerce.dto.product.ProductResponse;
+import in.ShopSphere.ecommerce.dto.product.SellerProductSummary;
+import in.ShopSphere.ecommerce.event.ProductChangedEvent;
 import in.ShopSphere.ecommerce.exception.BusinessException;
 import in.ShopSphere.ecommerce.exception.ResourceNotFoundException;
 import in.ShopSphere.ecommerce.mapper.ProductMapper;
@@ -12,22 +16,41 @@ import in.ShopSphere.ecommerce.model.entity.Product;
 import in.ShopSphere.ecommerce.model.entity.User;
 import in.ShopSphere.ecommerce.repository.CategoryRepository;
 import in.ShopSphere.ecommerce.repository.ProductRepository;
+import in.ShopSphere.ecommerce.repository.ProductSpecifications;
+import in.ShopSphere.ecommerce.service.CacheService;
+import in.ShopSphere.ecommerce.service.CacheTagService;
+import in.ShopSphere.ecommerce.service.ProductCatalogSnapshotService;
+import in.ShopSphere.ecommerce.service.ProductIdentifierFilterService;
+import in.ShopSphere.ecommerce.service.ProductCounterService;
+import in.ShopSphere.ecommerce.service.ProductRankingService;
+import in.ShopSphere.ecommerce.service.ProductSearchService;
 import in.ShopSphere.ecommerce.service.ProductService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.CachePut;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
+import java.util.stream.Collectors;
 import in.ShopSphere.ecommerce.dto.common.SearchFilters;
 
 @Service
@@ -36,22 +59,55 @@ import in.ShopSphere.ecommerce.dto.common.SearchFilters;
 @Transactional
 public class ProductServiceImpl implements ProductService {
 
+    // Spring cache holding single ProductResponses by id
+    private static final String PRODUCT_CACHE = "product";
+
     private final ProductRepository productRepository;
     private final CategoryRepository categoryRepository;
     private final ProductMapper productMapper;
+    private final ProductSearchService productSearchService;
+    private final ProductCatalogSnapshotService catalogSnapshot;
+    private final ProductRankingService productRankingService;
+    private final ProductCounterService productCounterService;
+    private final ProductIdentifierFilterService identifierFilter;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CacheService cacheService;
+    private final CacheTagService cacheTagService;
+
+    @Value("${search.backend:memory}")
+    private String searchBackend;
+
+    // Whether the V5 search column and indexes exist; checked once at startup
+    private volatile boolean fullTextSchemaReady;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void checkFullTextSchema() {
+        if (!"fulltext".equalsIgnoreCase(searchBackend)) {
+            return;
+        }
+        try {
+            fullTextSchemaReady = productRepository.hasFullTextSearchSchema();
+        } catch (Exception e) {
+            log.error("Failed to check the full-text search schema: {}", e.getMessage());
+            fullTextSchemaReady = false;
+        }
+        if (!fullTextSchemaReady) {
+            log.warn("search.backend is fulltext but products.search_vector or the pg_trgm indexes are missing " +
+                "(apply the V5 migration); falling back to LIKE search");
+        }
+    }
 
     @Override
-    @CacheEvict(value = {"products", "product"}, allEntries = true)
     public ProductResponse createProduct(ProductRequest request) {
         log.info("Creating product: {}", request.getName());
         
         // Check if SKU already exists
-        if (productRepository.existsBySku(request.getSku())) {
+        if (identifierFilter.skuExists(request.getSku())) {
             throw new BusinessException("Product with SKU " + request.getSku() + " already exists");
         }
         
         // Check if barcode already exists (if provided)
-        if (request.getBarcode() != null && productRepository.existsByBarcode(request.getBarcode())) {
+        if (request.getBarcode() != null && identifierFilter.barcodeExists(request.getBarcode())) {
             throw new BusinessException("Product with barcode " + request.getBarcode() + " already exists");
         }
         
@@ -75,13 +131,15 @@ public class ProductServiceImpl implements ProductService {
         product.setUpdatedAt(LocalDateTime.now());
         
         Product savedProduct = productRepository.save(product);
+        identifierFilter.recordIdentifiers(savedProduct.getSku(), savedProduct.getBarcode());
         log.info("Product created successfully with ID: {}", savedProduct.getId());
+        cacheTagService.invalidate(CacheTags.PRODUCT_LIST);
+        publishProductChanged(savedProduct, ProductChangedEvent.ChangeType.CREATED);
         
         return productMapper.toProductResponse(savedProduct);
     }
 
     @Override
-    @CacheEvict(value = {"products", "product"}, allEntries = true)
     public ProductResponse updateProduct(String id, ProductRequest request) {
         log.info("Updating product with ID: {}", id);
         
@@ -95,13 +153,13 @@ public class ProductServiceImpl implements ProductService {
         }
         
         // Check if SKU already exists (if changed)
-        if (!product.getSku().equals(request.getSku()) && productRepository.existsBySku(request.getSku())) {
+        if (!product.getSku().equals(request.getSku()) && identifierFilter.skuExists(request.getSku())) {
             throw new BusinessException("Product with SKU " + request.getSku() + " already exists");
         }
         
         // Check if barcode already exists (if changed)
         if (request.getBarcode() != null && !request.getBarcode().equals(product.getBarcode()) && 
-            productRepository.existsByBarcode(request.getBarcode())) {
+            identifierFilter.barcodeExists(request.getBarcode())) {
             throw new BusinessException("Product with barcode " + request.getBarcode() + " already exists");
         }
         
@@ -110,13 +168,17 @@ public class ProductServiceImpl implements ProductService {
         product.setUpdatedAt(LocalDateTime.now());
         
         Product updatedProduct = productRepository.save(product);
+        identifierFilter.recordIdentifiers(updatedProduct.getSku(), updatedProduct.getBarcode());
         log.info("Product updated successfully with ID: {}", updatedProduct.getId());
+        // Any field may have changed, so the product can move in or out of any list
+        cacheTagService.invalidate(CacheTags.product(id), CacheTags.PRODUCT_LIST);
+        publishProductChanged(updatedProduct, ProductChangedEvent.ChangeType.UPDATED);
         
         return productMapper.toProductResponse(updatedProduct);
     }
 
     @Override
-    @Cacheable(value = "product", key = "#id")
+    @Cacheable(value = "product", key = "#id", sync = true)
     public ProductResponse getProductById(String id) {
         Product product = productRepository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException("Product not found with ID: " + id));
@@ -129,7 +191,7 @@ public class ProductServiceImpl implements ProductService {
     }
 
     @Override
-    @Cacheable(value = "product", key = "#sku")
+    @Cacheable(value = "product", key = "#sku", sync = true)
     public ProductResponse getProductBySku(String sku) {
         Product product = productRepository.findBySku(sku)
             .orElseThrow(() -> new ResourceNotFoundException("Product not found with SKU: " + sku));
@@ -141,6 +203,41 @@ public class ProductServiceImpl implements ProductService {
         return productMapper.toProductResponse(product);
     }
 
+    // Reads and backfills the same "product" entries getProductById caches, in one round trip each
+    @Override
+    @Transactional(readOnly = true)
+    public List<ProductResponse> getProductsByIds(List<String> ids) {
+        List<String> uniqueIds = ids.stream()
+            .filter(Objects::nonNull)
+            .distinct()
+            .collect(Collectors.toList());
+        if (uniqueIds.isEmpty()) {
+            return List.of();
+        }
+        
+        Map<String, ProductResponse> found = new HashMap<>(
+            cacheService.getAllFromCache(PRODUCT_CACHE, uniqueIds, ProductResponse.class));
+        List<String> misses = uniqueIds.stream()
+            .filter(id -> !found.containsKey(id))
+            .collect(Collectors.toList());
+        
+        if (!misses.isEmpty()) {
+            Map<String, ProductResponse> loaded = new HashMap<>();
+            for (Product product : productRepository.findByIdInAndIsActiveTrue(misses)) {
+                loaded.put(product.getId(), productMapper.toProductResponse(product));
+            }
+            cacheService.putAllInCache(PRODUCT_CACHE, loaded);
+            found.putAll(loaded);
+        }
+        log.debug("Batch product lookup: {} ids, {} from cache, {} queried", uniqueIds.size(),
+            uniqueIds.size() - misses.size(), misses.size());
+        
+        return uniqueIds.stream()
+            .map(found::get)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toList());
+    }
+
     @Override
     // @Cacheable(value = "products") // Temporarily disabled due to Redis deserialization issue
     public PaginationResponse<ProductResponse> getAllProducts(Pageable pageable) {
@@ -161,7 +258,21 @@ public class ProductServiceImpl implements ProductService {
     @Override
     // @Cacheable(value = "products", key = "#searchTerm + #pageable.pageNumber + #pageable.pageSize") // Temporarily disabled
     public PaginationResponse<ProductResponse> searchProducts(String searchTerm, Pageable pageable) {
-        Page<Product> products = productRepository.searchProducts(searchTerm, pageable);
+        // Serve from the in-memory index once it has been built, otherwise query the database
+        if ("memory".equalsIgnoreCase(searchBackend) && productSearchService.isReady()) {
+            return productSearchService.search(searchTerm, pageable);
+        }
+        
+        Page<Product> products;
+        if ("fulltext".equalsIgnoreCase(searchBackend) && fullTextSchemaReady) {
+            products = productRepository.fullTextSearch(searchTerm, pageable);
+            // Nothing matched the stemmed terms, retry as a likely typo against names and SKUs
+            if (products.getTotalElements() == 0) {
+                products = productRepository.fuzzySearch(searchTerm, pageable);
+            }
+        } else {
+            products = productRepository.searchProducts(searchTerm, pageable);
+        }
         List<ProductResponse> productResponses = productMapper.toProductResponseList(products.getContent());
         
         return PaginationResponse.<ProductResponse>builder()
@@ -179,73 +290,22 @@ public class ProductServiceImpl implements ProductService {
     public PaginationResponse<ProductResponse> searchProductsWithFilters(SearchFilters filters, Pageable pageable) {
         log.info("Searching products with filters: {}", filters);
         
-        // Start with all active products
-        Page<Product> products = productRepository.findByIsActiveTrue(pageable);
-        List<Product> filteredProducts = products.getContent();
-        
-        // Apply category filter
-        if (filters.getCategory() != null && !filters.getCategory().isEmpty()) {
-            // Find category by name
-            Category category = categoryRepository.findByName(filters.getCategory())
-                .orElse(null);
-            
-            if (category != null) {
-                filteredProducts = filteredProducts.stream()
-                    .filter(p -> p.getCategory().getName().equals(filters.getCategory()))
-                    .toList();
-            }
-        }
-        
-        // Apply price filters
-        if (filters.getMinPrice() != null) {
-            filteredProducts = filteredProducts.stream()
-                .filter(p -> p.getCurrentPrice().doubleValue() >= filters.getMinPrice())
-                .toList();
-        }
-        
-        if (filters.getMaxPrice() != null) {
-            filteredProducts = filteredProducts.stream()
-                .filter(p -> p.getCurrentPrice().doubleValue() <= filters.getMaxPrice())
-                .toList();
-        }
-        
-        // Apply rating filter
-        if (filters.getRating() != null) {
-            filteredProducts = filteredProducts.stream()
-                .filter(p -> p.getRating().doubleValue() >= filters.getRating())
-                .toList();
-        }
-        
-        // Apply stock filter
-        if (filters.getInStock() != null && filters.getInStock()) {
-            filteredProducts = filteredProducts.stream()
-                .filter(p -> p.getStockQuantity() > 0)
-                .toList();
-        }
-        
-        // Apply search term filter
-        if (filters.getSearchTerm() != null && !filters.getSearchTerm().isEmpty()) {
-            String searchTerm = filters.getSearchTerm().toLowerCase();
-            filteredProducts = filteredProducts.stream()
-                .filter(p -> p.getName().toLowerCase().contains(searchTerm) || 
-                           p.getDescription().toLowerCase().contains(searchTerm))
-                .toList();
-        }
-        
-        // Convert to responses
-        List<ProductResponse> productResponses = productMapper.toProductResponseList(filteredProducts);
-        
-        // Create pagination info (simplified for filtered results)
-        int totalElements = filteredProducts.size();
-        int totalPages = (int) Math.ceil((double) totalElements / pageable.getPageSize());
+        // All filters, sorting and the total count are pushed down into one query
+        String categoryId = resolveCategoryId(filters.getCategory());
+        Pageable sortedPageable = pageable.getSort().isSorted()
+            ? pageable
+            : PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), ProductSpecifications.sortFor(null, null));
+        Page<Product> products = productRepository.findListingPage(
+            ProductSpecifications.fromFilters(filters, categoryId), sortedPageable);
+        List<ProductResponse> productResponses = productMapper.toProductResponseList(products.getContent());
         
         return PaginationResponse.<ProductResponse>builder()
             .data(productResponses)
             .pagination(PaginationResponse.PaginationInfo.builder()
-                .page(pageable.getPageNumber())
-                .limit(pageable.getPageSize())
-                .total(totalElements)
-                .totalPages(totalPages)
+                .page(products.getNumber())
+                .limit(products.getSize())
+                .total(products.getTotalElements())
+                .totalPages(products.getTotalPages())
                 .build())
             .build();
     }
@@ -253,6 +313,9 @@ public class ProductServiceImpl implements ProductService {
     @Override
     // @Cacheable(value = "products", key = "#categoryId + #pageable.pageNumber + #pageable.pageSize") // Temporarily disabled
     public PaginationResponse<ProductResponse> getProductsByCategory(String categoryId, Pageable pageable) {
+        if (useSnapshot(pageable)) {
+            return catalogSnapshot.findByCategory(categoryId, pageable);
+        }
         Page<Product> products = productRepository.findByCategoryIdAndIsActiveTrue(categoryId, pageable);
         List<ProductResponse> productResponses = productMapper.toProductResponseList(products.getContent());
         
@@ -270,13 +333,8 @@ public class ProductServiceImpl implements ProductService {
     @Override
     // @Cacheable(value = "products", key = "#sellerId + #pageable.pageNumber + #pageable.pageSize") // Temporarily disabled
     public PaginationResponse<ProductResponse> getProductsBySeller(String sellerId, Pageable pageable) {
-        // This would need a custom query or we'd need to get the User first
-        // For now, implementing a basic version
-        Page<Product> products = productRepository.findByIsActiveTrue(pageable);
-        List<ProductResponse> productResponses = products.getContent().stream()
-            .filter(p -> p.getSeller().getId().equals(sellerId))
-            .map(productMapper::toProductResponse)
-            .toList();
+        Page<Product> products = productRepository.findBySellerIdAndIsActiveTrue(sellerId, pageable);
+        List<ProductResponse> productResponses = productMapper.toProductResponseList(products.getContent());
         
         return PaginationResponse.<ProductResponse>builder()
             .data(productResponses)
@@ -290,15 +348,56 @@ public class ProductServiceImpl implements ProductService {
     }
 
     @Override
-    @Cacheable(value = "products", key = "#limit")
+    public PaginationResponse<ProductResponse> getProductsBySellerByCursor(String sellerId, String cursor, int requestedLimit) {
+        int limit = PageCursor.clampLimit(requestedLimit);
+        Pageable seek = PageRequest.ofSize(limit + 1);
+        List<Product> products;
+        if (PageCursor.isFirstPage(cursor)) {
+            products = productRepository.findBySellerLatestFirstPage(sellerId, seek);
+        } else {
+            String[] keys = PageCursor.decode(cursor, 2);
+            products = productRepository.findBySellerLatestAfter(sellerId, PageCursor.timestampKey(keys[0]), keys[1], seek);
+        }
+        
+        boolean hasNext = products.size() > limit;
+        List<Product> page = hasNext ? products.subList(0, limit) : products;
+        String nextCursor = null;
+        if (hasNext) {
+            Product last = page.get(page.size() - 1);
+            nextCursor = PageCursor.encode(last.getCreatedAt(), last.getId());
+        }
+        return PaginationResponse.ofCursor(productMapper.toProductResponseList(page), limit, nextCursor);
+    }
+
+    @Override
+    @Cacheable(value = "sellerSummary", key = "#sellerId", sync = true)
+    public SellerProductSummary getSellerSummary(String sellerId) {
+        SellerProductSummary summary = productRepository.summarizeSellerCatalog(sellerId);
+        summary.setSellerId(sellerId);
+        return summary;
+    }
+
+    // After commit, so a concurrent read cannot re-cache the pre-write counts
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @CacheEvict(value = "sellerSummary", key = "#event.sellerId", condition = "#event.sellerId != null")
+    public void onProductChanged(ProductChangedEvent event) {
+        log.debug("Seller summary evicted for seller: {}", event.getSellerId());
+    }
+
+    @Override
+    @Cacheable(value = "products", key = "@cacheTags.key({'products:list', 'products:featured'}, 'featured')", sync = true)
     public List<ProductResponse> getFeaturedProducts() {
         List<Product> products = productRepository.findByIsFeaturedTrueAndIsActiveTrue();
         return productMapper.toProductResponseList(products);
     }
 
     @Override
-    @Cacheable(value = "products", key = "#limit + #pageable.pageNumber + #pageable.pageSize")
-    public List<ProductResponse> getLatestProducts(int limit) {
+    public List<ProductResponse> getLatestProducts(int requestedLimit) {
+        int limit = PageCursor.clampLimit(requestedLimit);
+        if (productRankingService.canServe(limit)) {
+            return productRankingService.getLatest(limit);
+        }
         // This would need a custom query with limit
         // For now, implementing with pagination
         Pageable pageable = Pageable.ofSize(limit);
@@ -307,8 +406,11 @@ public class ProductServiceImpl implements ProductService {
     }
 
     @Override
-    @Cacheable(value = "products", key = "#limit + #pageable.pageNumber + #pageable.pageSize")
-    public List<ProductResponse> getTopRatedProducts(int limit) {
+    public List<ProductResponse> getTopRatedProducts(int requestedLimit) {
+        int limit = PageCursor.clampLimit(requestedLimit);
+        if (productRankingService.canServe(limit)) {
+            return productRankingService.getTopRated(limit);
+        }
         // This would need a custom query with limit
         // For now, implementing with pagination
         Pageable pageable = Pageable.ofSize(limit);
@@ -317,30 +419,95 @@ public class ProductServiceImpl implements ProductService {
     }
 
     @Override
-    @Cacheable(value = "products", key = "#pageable.pageNumber + #pageable.pageSize")
+    public List<ProductResponse> getPopularProducts(int requestedLimit) {
+        int limit = PageCursor.clampLimit(requestedLimit);
+        if (productRankingService.canServe(limit)) {
+            return productRankingService.getMostPopular(limit);
+        }
+        return getProductsByIds(productCounterService.getMostPopular(limit));
+    }
+
+    @Override
+    public PaginationResponse<ProductResponse> getLatestProductsByCursor(String cursor, int requestedLimit) {
+        int limit = PageCursor.clampLimit(requestedLimit);
+        // Fetch one extra row to learn whether another page exists
+        Pageable seek = PageRequest.ofSize(limit + 1);
+        List<Product> products;
+        if (PageCursor.isFirstPage(cursor)) {
+            products = productRepository.findLatestFirstPage(seek);
+        } else {
+            String[] keys = PageCursor.decode(cursor, 2);
+            products = productRepository.findLatestAfter(PageCursor.timestampKey(keys[0]), keys[1], seek);
+        }
+        
+        boolean hasNext = products.size() > limit;
+        List<Product> page = hasNext ? products.subList(0, limit) : products;
+        String nextCursor = null;
+        if (hasNext) {
+            Product last = page.get(page.size() - 1);
+            nextCursor = PageCursor.encode(last.getCreatedAt(), last.getId());
+        }
+        return PaginationResponse.ofCursor(productMapper.toProductResponseList(page), limit, nextCursor);
+    }
+
+    @Override
+    public PaginationResponse<ProductResponse> getTopRatedProductsByCursor(String cursor, int requestedLimit) {
+        int limit = PageCursor.clampLimit(requestedLimit);
+        Pageable seek = PageRequest.ofSize(limit + 1);
+        List<Product> products;
+        if (PageCursor.isFirstPage(cursor)) {
+            products = productRepository.findTopRatedFirstPage(seek);
+        } else {
+            String[] keys = PageCursor.decode(cursor, 3);
+            products = productRepository.findTopRatedAfter(
+                PageCursor.decimalKey(keys[0]), PageCursor.intKey(keys[1]), keys[2], seek);
+        }
+        
+        boolean hasNext = products.size() > limit;
+        List<Product> page = hasNext ? products.subList(0, limit) : products;
+        String nextCursor = null;
+        if (hasNext) {
+            Product last = page.get(page.size() - 1);
+            BigDecimal rating = last.getRating() != null ? last.getRating() : BigDecimal.ZERO;
+            int reviewCount = last.getReviewCount() != null ? last.getReviewCount() : 0;
+            nextCursor = PageCursor.encode(rating, reviewCount, last.getId());
+        }
+        return PaginationResponse.ofCursor(productMapper.toProductResponseList(page), limit, nextCursor);
+    }
+
+    @Override
     public List<ProductResponse> getDiscountedProducts() {
+        if (productRankingService.canServe(100)) {
+            return productRankingService.getMostDiscounted(100);
+        }
         Pageable pageable = Pageable.ofSize(100); // Large page size for all discounted products
         Page<Product> products = productRepository.findDiscountedProducts(pageable);
         return productMapper.toProductResponseList(products.getContent());
     }
 
     @Override
-    @Cacheable(value = "products")
+    @Cacheable(value = "products", key = "@cacheTags.key({'products:list', 'products:stock'}, 'low-stock')", sync = true)
     public List<ProductResponse> getLowStockProducts() {
+        if (catalogSnapshot.isReady()) {
+            return catalogSnapshot.findLowStock();
+        }
         List<Product> products = productRepository.findLowStockProducts();
         return productMapper.toProductResponseList(products);
     }
 
     @Override
-    @Cacheable(value = "products")
+    @Cacheable(value = "products", key = "@cacheTags.key({'products:list', 'products:stock'}, 'out-of-stock')", sync = true)
     public List<ProductResponse> getOutOfStockProducts() {
         List<Product> products = productRepository.findOutOfStockProducts();
         return productMapper.toProductResponseList(products);
     }
 
     @Override
-    @Cacheable(value = "products", key = "#minPrice + #maxPrice + #pageable.pageNumber + #pageable.pageSize")
+    @Cacheable(value = "products", key = "@cacheTags.key({'products:list', 'products:price'}, 'price', #minPrice, #maxPrice, #pageable.pageNumber, #pageable.pageSize)", sync = true)
     public PaginationResponse<ProductResponse> getProductsByPriceRange(BigDecimal minPrice, BigDecimal maxPrice, Pageable pageable) {
+        if (useSnapshot(pageable)) {
+            return catalogSnapshot.findByPriceRange(minPrice, maxPrice, pageable);
+        }
         Page<Product> products = productRepository.findByPriceRange(minPrice, maxPrice, pageable);
         List<ProductResponse> productResponses = productMapper.toProductResponseList(products.getContent());
         
@@ -356,8 +523,11 @@ public class ProductServiceImpl implements ProductService {
     }
 
     @Override
-    @Cacheable(value = "products", key = "#minRating + #pageable.pageNumber + #pageable.pageSize")
+    @Cacheable(value = "products", key = "@cacheTags.key({'products:list'}, 'rating', #minRating, #pageable.pageNumber, #pageable.pageSize)", sync = true)
     public PaginationResponse<ProductResponse> getProductsByRating(Double minRating, Pageable pageable) {
+        if (useSnapshot(pageable)) {
+            return catalogSnapshot.findByMinRating(minRating, pageable);
+        }
         Page<Product> products = productRepository.findByMinRating(minRating, pageable);
         List<ProductResponse> productResponses = productMapper.toProductResponseList(products.getContent());
         
@@ -373,7 +543,6 @@ public class ProductServiceImpl implements ProductService {
     }
 
     @Override
-    @CacheEvict(value = {"products", "product"}, allEntries = true)
     public ApiResponse deleteProduct(String id) {
         log.info("Deleting product with ID: {}", id);
         
@@ -388,12 +557,13 @@ public class ProductServiceImpl implements ProductService {
         
         productRepository.delete(product);
         log.info("Product deleted successfully with ID: {}", id);
+        cacheTagService.invalidate(CacheTags.product(id), CacheTags.PRODUCT_LIST);
+        publishProductChanged(product, ProductChangedEvent.ChangeType.DELETED);
         
         return ApiResponse.success(null, "Product deleted successfully");
     }
 
     @Override
-    @CacheEvict(value = {"products", "product"}, allEntries = true)
     public ApiResponse toggleProductStatus(String id) {
         log.info("Toggling product status with ID: {}", id);
         
@@ -410,6 +580,9 @@ public class ProductServiceImpl implements ProductService {
         product.setUpdatedAt(LocalDateTime.now());
         productRepository.save(product);
         
+        cacheTagService.invalidate(CacheTags.product(id), CacheTags.PRODUCT_LIST);
+        publishProductChanged(product, ProductChangedEvent.ChangeType.STATUS_CHANGED);
+        
         String status = product.getIsActive() ? "activated" : "deactivated";
         log.info("Product {} successfully with ID: {}", status, id);
         
@@ -417,7 +590,6 @@ public class ProductServiceImpl implements ProductService {
     }
 
     @Override
-    @CacheEvict(value = {"products", "product"}, allEntries = true)
     public ApiResponse toggleFeaturedStatus(String id) {
         log.info("Toggling featured status for product with ID: {}", id);
         
@@ -434,6 +606,9 @@ public class ProductServiceImpl implements ProductService {
         product.setUpdatedAt(LocalDateTime.now());
         productRepository.save(product);
         
+        cacheTagService.invalidate(CacheTags.product(id), CacheTags.PRODUCT_FEATURED);
+        publishProductChanged(product, ProductChangedEvent.ChangeType.UPDATED);
+        
         String status = product.getIsFeatured() ? "featured" : "unfeatured";
         log.info("Product {} successfully with ID: {}", status, id);
         
@@ -441,7 +616,6 @@ public class ProductServiceImpl implements ProductService {
     }
 
     @Override
-    @CacheEvict(value = {"products", "product"}, allEntries = true)
     public ApiResponse updateStock(String id, Integer quantity) {
         log.info("Updating stock for product with ID: {} to quantity: {}", id, quantity);
         
@@ -462,13 +636,14 @@ public class ProductServiceImpl implements ProductService {
         product.setUpdatedAt(LocalDateTime.now());
         productRepository.save(product);
         
+        cacheTagService.invalidate(CacheTags.product(id), CacheTags.PRODUCT_STOCK);
+        publishProductChanged(product, ProductChangedEvent.ChangeType.UPDATED);
         log.info("Stock updated successfully for product with ID: {}", id);
         
         return ApiResponse.success(null, "Stock updated successfully");
     }
 
     @Override
-    @CacheEvict(value = {"products", "product"}, allEntries = true)
     public ApiResponse updatePrice(String id, BigDecimal price, BigDecimal salePrice) {
         log.info("Updating price for product with ID: {} to price: {}, salePrice: {}", id, price, salePrice);
         
@@ -498,6 +673,8 @@ public class ProductServiceImpl implements ProductService {
         product.setUpdatedAt(LocalDateTime.now());
         productRepository.save(product);
         
+        cacheTagService.invalidate(CacheTags.product(id), CacheTags.PRODUCT_PRICE);
+        publishProductChanged(product, ProductChangedEvent.ChangeType.UPDATED);
         log.info("Price updated successfully for product with ID: {}", id);
         
         return ApiResponse.success(null, "Product price updated successfully");
@@ -510,6 +687,26 @@ public class ProductServiceImpl implements ProductService {
         // The @CacheEvict annotation will handle clearing the cache
     }
 
+    // Filters may name a category or pass its ID; unknown values simply match nothing
+    private String resolveCategoryId(String category) {
+        if (category == null || category.isBlank()) {
+            return null;
+        }
+        return categoryRepository.findByName(category)
+            .map(Category::getId)
+            .orElse(category);
+    }
+
+    // The snapshot keeps its own newest-first order, so an explicit sort still goes to the database
+    private boolean useSnapshot(Pageable pageable) {
+        return catalogSnapshot.isReady() && pageable.getSort().isUnsorted();
+    }
+
+    private void publishProductChanged(Product product, ProductChangedEvent.ChangeType changeType) {
+        String sellerId = product.getSeller() != null ? product.getSeller().getId() : null;
+        eventPublisher.publishEvent(new ProductChangedEvent(product.getId(), changeType, sellerId));
+    }
+
     private User getCurrentUser() {
         String email = SecurityContextHolder.getContext().getAuthentication().getName();
         // This would need to be implemented with proper user retrieval
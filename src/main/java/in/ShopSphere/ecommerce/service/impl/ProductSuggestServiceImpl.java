@@ -0,0 +1,334 @@
+package in.ShopSphere.ecommerce.service.impl;
+
+import in.ShopSphere.ecommerce.dto.product.ProductSuggestion;
+import in.ShopSphere.ecommerce.event.ProductBatchChangedEvent;
+import in.ShopSphere.ecommerce.event.ProductChangedEvent;
+import in.ShopSphere.ecommerce.model.entity.Product;
+import in.ShopSphere.ecommerce.repository.ProductRepository;
+import in.ShopSphere.ecommerce.service.ProductSuggestService;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Pattern;
+
+/**
+ * Typeahead over product names, brands, SKUs and category names.
+ * Keys live in a compressed (radix) trie where every node keeps its own top
+ * suggestions, so a lookup is one walk down the typed prefix with no scoring.
+ * The trie is immutable; catalog changes rebuild a new one in the background
+ * and swap the reference.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ProductSuggestServiceImpl implements ProductSuggestService {
+
+    static final int MAX_SUGGESTIONS = 10;
+
+    // Nobody types past this, and it bounds trie depth
+    private static final int MAX_KEY_LENGTH = 64;
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final ProductRepository productRepository;
+
+    private final ExecutorService rebuildExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "product-suggest-rebuild");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean rebuildQueued = new AtomicBoolean();
+    private volatile SuggestTrie trie = SuggestTrie.EMPTY;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        scheduleRebuild();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        scheduleRebuild();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductsChanged(ProductBatchChangedEvent event) {
+        scheduleRebuild();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        rebuildExecutor.shutdownNow();
+    }
+
+    @Override
+    public void scheduleRebuild() {
+        // A burst of changes while a rebuild is queued collapses into that one rebuild
+        if (rebuildQueued.compareAndSet(false, true)) {
+            rebuildExecutor.execute(() -> {
+                rebuildQueued.set(false);
+                try {
+                    rebuildSuggestions();
+                } catch (Exception e) {
+                    log.error("Failed to rebuild product suggestions: {}", e.getMessage());
+                }
+            });
+        }
+    }
+
+    @Override
+    public int rebuildSuggestions() {
+        long start = System.currentTimeMillis();
+        List<Entry> entries = new ArrayList<>();
+        Map<String, Aggregate> brands = new HashMap<>();
+        Map<String, Aggregate> categories = new HashMap<>();
+
+        for (Product product : productRepository.findActiveWithCategory()) {
+            double weight = weight(product);
+            if (product.getName() != null && !product.getName().isBlank()) {
+                ProductSuggestion suggestion = new ProductSuggestion(
+                    product.getName(), ProductSuggestion.Type.PRODUCT, product.getId());
+                addWordSuffixes(entries, product.getName(), suggestion, weight);
+            }
+            if (product.getSku() != null && !product.getSku().isBlank()) {
+                ProductSuggestion suggestion = new ProductSuggestion(
+                    product.getSku(), ProductSuggestion.Type.SKU, product.getId());
+                entries.add(new Entry(normalize(product.getSku()), suggestion, weight));
+            }
+            aggregate(brands, product.getBrand(), weight);
+            if (product.getCategory() != null) {
+                aggregate(categories, product.getCategory().getName(), weight);
+            }
+        }
+
+        // Brands and categories rank by the combined weight of their products
+        for (Aggregate brand : brands.values()) {
+            addWordSuffixes(entries, brand.text,
+                new ProductSuggestion(brand.text, ProductSuggestion.Type.BRAND, null), brand.weight);
+        }
+        for (Aggregate category : categories.values()) {
+            addWordSuffixes(entries, category.text,
+                new ProductSuggestion(category.text, ProductSuggestion.Type.CATEGORY, null), category.weight);
+        }
+
+        SuggestTrie rebuilt = SuggestTrie.build(entries);
+        trie = rebuilt;
+        log.info("Product suggestions rebuilt with {} keys in {} ms", entries.size(), System.currentTimeMillis() - start);
+        return entries.size();
+    }
+
+    @Override
+    public List<ProductSuggestion> suggest(String prefix, int limit) {
+        String key = normalize(prefix);
+        if (key.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        return trie.lookup(key, Math.min(limit, MAX_SUGGESTIONS));
+    }
+
+    // Review count stands in for popularity; rating scales it so well-reviewed products float up
+    static double weight(Product product) {
+        double rating = product.getRating() != null ? product.getRating().doubleValue() : 0.0;
+        int reviews = product.getReviewCount() != null ? product.getReviewCount() : 0;
+        double featured = Boolean.TRUE.equals(product.getIsFeatured()) ? 1.0 : 0.0;
+        return (1 + Math.log1p(reviews)) * (1 + rating) + featured;
+    }
+
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String normalized = WHITESPACE.matcher(text.trim().toLowerCase(Locale.ROOT)).replaceAll(" ");
+        return normalized.length() > MAX_KEY_LENGTH ? normalized.substring(0, MAX_KEY_LENGTH) : normalized;
+    }
+
+    // Index the full text plus every later word start, so "pro" also finds "MacBook Pro"
+    private static void addWordSuffixes(List<Entry> entries, String text, ProductSuggestion suggestion, double weight) {
+        String key = normalize(text);
+        if (key.isEmpty()) {
+            return;
+        }
+        entries.add(new Entry(key, suggestion, weight));
+        for (int i = key.indexOf(' '); i >= 0; i = key.indexOf(' ', i + 1)) {
+            if (i + 1 < key.length()) {
+                entries.add(new Entry(key.substring(i + 1), suggestion, weight));
+            }
+        }
+    }
+
+    private static void aggregate(Map<String, Aggregate> target, String text, double weight) {
+        if (text == null || text.isBlank()) {
+            return;
+        }
+        target.computeIfAbsent(normalize(text), k -> new Aggregate(text.trim())).weight += weight;
+    }
+
+    private static final class Aggregate {
+        private final String text;
+        private double weight;
+
+        private Aggregate(String text) {
+            this.text = text;
+        }
+    }
+
+    private static final class Entry {
+        private final String key;
+        private final ProductSuggestion suggestion;
+        private final double weight;
+
+        private Entry(String key, ProductSuggestion suggestion, double weight) {
+            this.key = key;
+            this.suggestion = suggestion;
+            this.weight = weight;
+        }
+    }
+
+    /**
+     * Immutable radix trie. Single-child chains are collapsed into one edge label
+     * and children are kept sorted by the first character of their label.
+     */
+    private static final class SuggestTrie {
+
+        private static final SuggestTrie EMPTY = new SuggestTrie(new Node(new char[0], new String[0], new Node[0], new Entry[0]));
+
+        private static final Comparator<Entry> BY_RANK = Comparator.<Entry>comparingDouble(e -> e.weight).reversed()
+            .thenComparing(e -> e.suggestion.getText());
+
+        private final Node root;
+
+        private SuggestTrie(Node root) {
+            this.root = root;
+        }
+
+        private static SuggestTrie build(List<Entry> entries) {
+            if (entries.isEmpty()) {
+                return EMPTY;
+            }
+            List<Entry> sorted = new ArrayList<>(entries);
+            sorted.sort(Comparator.comparing(e -> e.key));
+            return new SuggestTrie(build(sorted, 0, sorted.size(), 0));
+        }
+
+        // Builds the node for sorted[lo, hi), whose keys all share their first depth characters
+        private static Node build(List<Entry> sorted, int lo, int hi, int depth) {
+            List<Entry> candidates = new ArrayList<>();
+            int i = lo;
+            // Keys ending exactly here sort ahead of the longer keys below them
+            while (i < hi && sorted.get(i).key.length() == depth) {
+                candidates.add(sorted.get(i++));
+            }
+
+            List<Character> firstChars = new ArrayList<>();
+            List<String> labels = new ArrayList<>();
+            List<Node> children = new ArrayList<>();
+            while (i < hi) {
+                char c = sorted.get(i).key.charAt(depth);
+                int j = i + 1;
+                while (j < hi && sorted.get(j).key.charAt(depth) == c) {
+                    j++;
+                }
+                // Sorted input, so the first and last key bound the prefix the whole group shares
+                String first = sorted.get(i).key;
+                String last = sorted.get(j - 1).key;
+                int end = depth + 1;
+                while (end < first.length() && end < last.length() && first.charAt(end) == last.charAt(end)) {
+                    end++;
+                }
+                Node child = build(sorted, i, j, end);
+                firstChars.add(c);
+                labels.add(first.substring(depth, end));
+                children.add(child);
+                candidates.addAll(Arrays.asList(child.top));
+                i = j;
+            }
+
+            char[] chars = new char[firstChars.size()];
+            for (int k = 0; k < chars.length; k++) {
+                chars[k] = firstChars.get(k);
+            }
+            return new Node(chars, labels.toArray(new String[0]), children.toArray(new Node[0]), topOf(candidates));
+        }
+
+        private static Entry[] topOf(List<Entry> candidates) {
+            candidates.sort(BY_RANK);
+            List<Entry> top = new ArrayList<>(MAX_SUGGESTIONS);
+            for (Entry candidate : candidates) {
+                if (top.size() == MAX_SUGGESTIONS) {
+                    break;
+                }
+                // The same suggestion is reachable through several word-start keys
+                boolean duplicate = false;
+                for (Entry kept : top) {
+                    if (kept.suggestion == candidate.suggestion) {
+                        duplicate = true;
+                        break;
+                    }
+                }
+                if (!duplicate) {
+                    top.add(candidate);
+                }
+            }
+            return top.toArray(new Entry[0]);
+        }
+
+        private List<ProductSuggestion> lookup(String key, int limit) {
+            Node node = root;
+            int depth = 0;
+            while (depth < key.length()) {
+                int k = Arrays.binarySearch(node.firstChars, key.charAt(depth));
+                if (k < 0) {
+                    return List.of();
+                }
+                String label = node.labels[k];
+                Node child = node.children[k];
+                if (key.length() - depth <= label.length()) {
+                    // The typed text ends inside this edge
+                    return label.startsWith(key.substring(depth)) ? toSuggestions(child.top, limit) : List.of();
+                }
+                if (!key.startsWith(label, depth)) {
+                    return List.of();
+                }
+                depth += label.length();
+                node = child;
+            }
+            return toSuggestions(node.top, limit);
+        }
+
+        private static List<ProductSuggestion> toSuggestions(Entry[] top, int limit) {
+            List<ProductSuggestion> suggestions = new ArrayList<>(Math.min(limit, top.length));
+            for (int i = 0; i < top.length && i < limit; i++) {
+                suggestions.add(top[i].suggestion);
+            }
+            return suggestions;
+        }
+    }
+
+    private static final class Node {
+        private final char[] firstChars;
+        private final String[] labels;
+        private final Node[] children;
+        private final Entry[] top;
+
+        private Node(char[] firstChars, String[] labels, Node[] children, Entry[] top) {
+            this.firstChars = firstChars;
+            this.labels = labels;
+            this.children = children;
+            this.top = top;
+        }
+    }
+}
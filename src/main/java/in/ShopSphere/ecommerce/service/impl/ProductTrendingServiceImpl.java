@@ -0,0 +1,282 @@
+package in.ShopSphere.ecommerce.service.impl;
+
+import in.ShopSphere.ecommerce.config.TrendingProperties;
+import in.ShopSphere.ecommerce.dto.product.ProductResponse;
+import in.ShopSphere.ecommerce.service.ProductService;
+import in.ShopSphere.ecommerce.service.ProductTrendingService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Trending products per sliding window, entirely in memory. A window is a ring of time
+ * buckets; each bucket holds a count-min sketch of weighted view and purchase events and
+ * a bounded set of heavy hitter candidates. A window's score for a product is the sum of
+ * its estimates over the live buckets, and buckets are cleared lazily when the ring
+ * wraps around to them.
+ */
+@Service
+@Slf4j
+public class ProductTrendingServiceImpl implements ProductTrendingService {
+
+    public static final int MAX_LIMIT = 100;
+
+    private final ProductService productService;
+    private final TrendingProperties properties;
+    private final Clock clock;
+    private final Map<Window, SlidingWindow> windows = new EnumMap<>(Window.class);
+
+    @Autowired
+    public ProductTrendingServiceImpl(ProductService productService, TrendingProperties properties) {
+        this(productService, properties, Clock.systemUTC());
+    }
+
+    public ProductTrendingServiceImpl(ProductService productService, TrendingProperties properties, Clock clock) {
+        this.productService = productService;
+        this.properties = properties;
+        this.clock = clock;
+
+        // Standard count-min sizing: width e / epsilon, depth ln(1 / delta)
+        int width = (int) Math.ceil(Math.E / properties.getEpsilon());
+        int depth = Math.max(1, (int) Math.ceil(Math.log(1 / properties.getDelta())));
+        int bucketCount = Math.max(1, properties.getBucketsPerWindow());
+        for (Window window : Window.values()) {
+            long bucketMillis = Math.max(1, window.getLength().toMillis() / bucketCount);
+            windows.put(window, new SlidingWindow(bucketMillis, bucketCount, width, depth,
+                Math.max(1, properties.getCandidatesPerBucket())));
+        }
+        log.info("Trending sketches: {} x {} counters, {} buckets per window", depth, width, bucketCount);
+    }
+
+    @Override
+    public void recordView(String productId) {
+        record(productId, properties.getViewWeight());
+    }
+
+    @Override
+    public void recordPurchase(String productId, int quantity) {
+        record(productId, properties.getPurchaseWeight() * Math.max(1, quantity));
+    }
+
+    @Override
+    public List<ProductResponse> getTrending(Window window, int limit) {
+        int size = Math.max(1, Math.min(limit, MAX_LIMIT));
+        // Some headroom, since inactive products are dropped while hydrating
+        List<String> productIds = windows.get(window).top(size * 2, clock.millis());
+        if (productIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<ProductResponse> products = productService.getProductsByIds(productIds);
+        return new ArrayList<>(products.subList(0, Math.min(size, products.size())));
+    }
+
+    @Override
+    public Map<String, Object> getStats() {
+        long now = clock.millis();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        windows.forEach((window, sliding) -> {
+            long total = sliding.totalWeight(now);
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("bucketSeconds", sliding.bucketMillis / 1000);
+            entry.put("buckets", sliding.buckets.length);
+            entry.put("sketchWidth", sliding.width);
+            entry.put("sketchDepth", sliding.depth);
+            entry.put("totalWeight", total);
+            // Any estimate is at most this much above the true score, with probability 1 - delta
+            entry.put("maxOverestimate", (long) Math.ceil(properties.getEpsilon() * total));
+            entry.put("candidates", sliding.candidateCount());
+            entry.put("memoryBytes", sliding.memoryBytes());
+            stats.put(window.name().toLowerCase(Locale.ROOT), entry);
+        });
+        stats.put("epsilon", properties.getEpsilon());
+        stats.put("delta", properties.getDelta());
+        return stats;
+    }
+
+    private void record(String productId, long weight) {
+        if (productId == null || weight <= 0) {
+            return;
+        }
+        long now = clock.millis();
+        long h1 = HashFunctions.mix(HashFunctions.fnv1a(productId));
+        long h2 = HashFunctions.mix(h1) | 1L;
+        for (SlidingWindow window : windows.values()) {
+            window.add(productId, h1, h2, weight, now);
+        }
+    }
+
+    private static final class SlidingWindow {
+        private final long bucketMillis;
+        private final Bucket[] buckets;
+        private final int width;
+        private final int depth;
+
+        private SlidingWindow(long bucketMillis, int bucketCount, int width, int depth, int candidateLimit) {
+            this.bucketMillis = bucketMillis;
+            this.width = width;
+            this.depth = depth;
+            this.buckets = new Bucket[bucketCount];
+            for (int i = 0; i < bucketCount; i++) {
+                buckets[i] = new Bucket(width, depth, candidateLimit);
+            }
+        }
+
+        private void add(String productId, long h1, long h2, long weight, long now) {
+            long slot = now / bucketMillis;
+            Bucket bucket = buckets[(int) (slot % buckets.length)];
+            if (bucket.slot != slot) {
+                synchronized (bucket) {
+                    if (bucket.slot != slot) {
+                        bucket.reset(slot);
+                    }
+                }
+            }
+            bucket.add(productId, h1, h2, weight);
+        }
+
+        // Buckets still inside the window; stale ones are skipped rather than cleared here
+        private List<Bucket> live(long now) {
+            long slot = now / bucketMillis;
+            List<Bucket> live = new ArrayList<>(buckets.length);
+            for (Bucket bucket : buckets) {
+                long age = slot - bucket.slot;
+                if (bucket.slot >= 0 && age >= 0 && age < buckets.length) {
+                    live.add(bucket);
+                }
+            }
+            return live;
+        }
+
+        private List<String> top(int limit, long now) {
+            List<Bucket> live = live(now);
+            Set<String> candidates = new HashSet<>();
+            for (Bucket bucket : live) {
+                candidates.addAll(bucket.candidates.keySet());
+            }
+
+            Map<String, Long> scores = new HashMap<>();
+            Comparator<String> byScore = Comparator.comparingLong((String id) -> scores.get(id))
+                .thenComparing(Comparator.reverseOrder());
+            PriorityQueue<String> heap = new PriorityQueue<>(byScore);
+            for (String productId : candidates) {
+                long h1 = HashFunctions.mix(HashFunctions.fnv1a(productId));
+                long h2 = HashFunctions.mix(h1) | 1L;
+                long score = 0;
+                for (Bucket bucket : live) {
+                    score += bucket.estimate(h1, h2);
+                }
+                scores.put(productId, score);
+                if (heap.size() < limit) {
+                    heap.offer(productId);
+                } else if (byScore.compare(productId, heap.peek()) > 0) {
+                    heap.poll();
+                    heap.offer(productId);
+                }
+            }
+            List<String> ranked = new ArrayList<>(heap);
+            ranked.sort(byScore.reversed());
+            return ranked;
+        }
+
+        private long totalWeight(long now) {
+            long total = 0;
+            for (Bucket bucket : live(now)) {
+                total += bucket.total.sum();
+            }
+            return total;
+        }
+
+        private int candidateCount() {
+            int count = 0;
+            for (Bucket bucket : buckets) {
+                count += bucket.candidates.size();
+            }
+            return count;
+        }
+
+        // Sketch counters plus a rough 64 bytes per tracked candidate
+        private long memoryBytes() {
+            return (long) buckets.length * width * depth * Long.BYTES + candidateCount() * 64L;
+        }
+    }
+
+    private static final class Bucket {
+        private final AtomicLongArray counts;
+        private final int width;
+        private final int depth;
+        private final int candidateLimit;
+        private final ConcurrentHashMap<String, Boolean> candidates = new ConcurrentHashMap<>();
+        private final LongAdder total = new LongAdder();
+        private volatile long slot = -1;
+
+        private Bucket(int width, int depth, int candidateLimit) {
+            this.counts = new AtomicLongArray(width * depth);
+            this.width = width;
+            this.depth = depth;
+            this.candidateLimit = candidateLimit;
+        }
+
+        private void add(String productId, long h1, long h2, long weight) {
+            for (int row = 0; row < depth; row++) {
+                counts.addAndGet(row * width + (int) Math.floorMod(h1 + row * h2, (long) width), weight);
+            }
+            total.add(weight);
+            candidates.put(productId, Boolean.TRUE);
+            // Let the set grow to twice the limit so pruning is amortised
+            if (candidates.size() > candidateLimit * 2) {
+                prune();
+            }
+        }
+
+        private long estimate(long h1, long h2) {
+            long min = Long.MAX_VALUE;
+            for (int row = 0; row < depth; row++) {
+                min = Math.min(min, counts.get(row * width + (int) Math.floorMod(h1 + row * h2, (long) width)));
+            }
+            return min;
+        }
+
+        // Keep the candidateLimit products with the highest estimates in this bucket
+        private synchronized void prune() {
+            if (candidates.size() <= candidateLimit * 2) {
+                return;
+            }
+            Map<String, Long> estimates = new HashMap<>();
+            for (String productId : candidates.keySet()) {
+                long h1 = HashFunctions.mix(HashFunctions.fnv1a(productId));
+                estimates.put(productId, estimate(h1, HashFunctions.mix(h1) | 1L));
+            }
+            List<String> ranked = new ArrayList<>(estimates.keySet());
+            ranked.sort(Comparator.comparingLong((String id) -> estimates.get(id)).reversed());
+            for (String productId : ranked.subList(candidateLimit, ranked.size())) {
+                candidates.remove(productId);
+            }
+        }
+
+        // Caller holds the bucket's monitor
+        private void reset(long newSlot) {
+            for (int i = 0; i < counts.length(); i++) {
+                counts.set(i, 0);
+            }
+            candidates.clear();
+            total.reset();
+            slot = newSlot;
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package in.ShopSphere.ecommerce.service.impl;
+
+import in.ShopSphere.ecommerce.config.RecentlyViewedProperties;
+import in.ShopSphere.ecommerce.dto.product.ProductResponse;
+import in.ShopSphere.ecommerce.exception.BusinessException;
+import in.ShopSphere.ecommerce.model.entity.User;
+import in.ShopSphere.ecommerce.service.ProductService;
+import in.ShopSphere.ecommerce.service.RecentlyViewedService;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.ListOperations;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Recently viewed products as a capped Redis list per user. Product reads only append
+ * to an in-memory queue; a scheduled writer drains it, collapses repeated views per user
+ * and sends LREM/LPUSH/LTRIM/EXPIRE for every user in one pipeline.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RecentlyViewedServiceImpl implements RecentlyViewedService {
+
+    static final String KEY_PREFIX = "ecommerce:recently-viewed:";
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final ProductService productService;
+    private final RecentlyViewedProperties properties;
+
+    private final ConcurrentLinkedQueue<View> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    private final AtomicLong dropped = new AtomicLong();
+
+    @Override
+    public void recordView(String productId) {
+        String userId = currentUserId();
+        if (userId == null || productId == null) {
+            return;
+        }
+        // Best effort: if Redis falls behind, views are dropped instead of piling up
+        if (pendingCount.incrementAndGet() > properties.getQueueCapacity()) {
+            pendingCount.decrementAndGet();
+            dropped.incrementAndGet();
+            return;
+        }
+        pending.offer(new View(userId, productId));
+    }
+
+    @Override
+    public List<ProductResponse> getRecentlyViewed(int limit) {
+        String userId = currentUserId();
+        if (userId == null) {
+            throw new BusinessException("Authentication required");
+        }
+        int size = Math.max(1, Math.min(limit, properties.getMaxItems()));
+        List<Object> productIds = redisTemplate.opsForList().range(KEY_PREFIX + userId, 0, size - 1);
+        if (productIds == null || productIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        // Goes through the product cache; removed products are skipped
+        return productService.getProductsByIds(productIds.stream().map(String::valueOf).toList());
+    }
+
+    @Scheduled(fixedDelayString = "${recently-viewed.flush-interval-ms:250}")
+    @PreDestroy
+    public void flush() {
+        long lost = dropped.getAndSet(0);
+        if (lost > 0) {
+            log.warn("Recently viewed queue was full, {} views dropped", lost);
+        }
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        // Each user's views in order, a repeated product moving to the end
+        Map<String, LinkedHashSet<String>> views = new LinkedHashMap<>();
+        int drained = 0;
+        View view;
+        while ((view = pending.poll()) != null) {
+            drained++;
+            LinkedHashSet<String> products = views.computeIfAbsent(view.userId(), id -> new LinkedHashSet<>());
+            products.remove(view.productId());
+            products.add(view.productId());
+        }
+        pendingCount.addAndGet(-drained);
+
+        int maxItems = properties.getMaxItems();
+        try {
+            redisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public <K, V> Object execute(RedisOperations<K, V> operations) {
+                    RedisOperations<String, Object> redis = (RedisOperations<String, Object>) operations;
+                    ListOperations<String, Object> lists = redis.opsForList();
+                    views.forEach((userId, productIds) -> {
+                        String key = KEY_PREFIX + userId;
+                        // Only the newest maxItems can survive the trim
+                        List<String> recent = new ArrayList<>(productIds);
+                        recent = recent.subList(Math.max(0, recent.size() - maxItems), recent.size());
+                        for (String productId : recent) {
+                            lists.remove(key, 0, productId);
+                        }
+                        // Pushed in view order, so the latest view ends up at the head
+                        lists.leftPushAll(key, recent.toArray());
+                        lists.trim(key, 0, maxItems - 1);
+                        redis.expire(key, properties.getTtl());
+                    });
+                    return null;
+                }
+            });
+            log.debug("Recently viewed: {} views for {} users written", drained, views.size());
+        } catch (Exception e) {
+            log.error("Failed to write {} recently viewed entries to Redis", drained, e);
+        }
+    }
+
+    private String currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        // The JWT filter puts the loaded User in the context; anything else is anonymous
+        if (authentication != null && authentication.getPrincipal() instanceof User user) {
+            return user.getId();
+        }
+        return null;
+    }
+
+    private record View(String userId, String productId) {
+    }
+}
@@ -0,0 +1,22 @@
+-- Migration: Indexes backing the filtered product search query
+-- ProductSpecifications only ever reads active products, so these are partial indexes on is_active
+
+-- Effective price (sale price when set, otherwise list price) used by min/max price filters
+CREATE INDEX idx_products_active_current_price ON products ((CASE WHEN sale_price > 0 THEN sale_price ELSE price END))
+    WHERE is_active = TRUE;
+
+-- Category filter combined with the default newest-first ordering
+CREATE INDEX idx_products_active_category_created ON products(category_id, created_at DESC, id)
+    WHERE is_active = TRUE;
+
+-- Minimum rating filter and rating sort
+CREATE INDEX idx_products_active_rating ON products(rating DESC, id)
+    WHERE is_active = TRUE;
+
+-- Default sort for unfiltered listings
+CREATE INDEX idx_products_active_created ON products(created_at DESC, id)
+    WHERE is_active = TRUE;
+
+-- In-stock filter
+CREATE INDEX idx_products_active_in_stock ON products(stock_quantity)
+    WHERE is_active = TRUE AND stock_quantity > 0;
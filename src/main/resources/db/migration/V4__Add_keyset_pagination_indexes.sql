@@ -0,0 +1,12 @@
+-- Migration: Composite indexes backing keyset (cursor) pagination
+-- Each index matches the ORDER BY of its seek query, so the next page is an index range scan with no OFFSET
+
+-- Top rated products: rating, then review count, then id
+CREATE INDEX idx_products_active_rating_reviews ON products(rating DESC, review_count DESC, id)
+    WHERE is_active = TRUE;
+
+-- Current user's orders, newest first
+CREATE INDEX idx_orders_user_created ON orders(user_id, created_at DESC, id DESC);
+
+-- Admin order list, newest first
+CREATE INDEX idx_orders_created_id ON orders(created_at DESC, id DESC);
@@ -0,0 +1,20 @@
+-- Migration: Full-text and fuzzy search support for the "fulltext" search backend
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- Weighted document: name (A) and brand/tags (B) rank above description (C)
+ALTER TABLE products ADD COLUMN search_vector TSVECTOR GENERATED ALWAYS AS (
+    setweight(to_tsvector('english', coalesce(name, '')), 'A') ||
+    setweight(to_tsvector('simple', coalesce(sku, '')), 'A') ||
+    setweight(to_tsvector('english', coalesce(brand, '')), 'B') ||
+    setweight(jsonb_to_tsvector('english', coalesce(tags, '[]'::jsonb), '["string"]'), 'B') ||
+    setweight(to_tsvector('english', coalesce(description, '')), 'C')
+) STORED;
+
+CREATE INDEX idx_products_search_vector ON products USING GIN(search_vector);
+
+-- Trigram indexes for typo-tolerant name and SKU matching
+CREATE INDEX idx_products_name_trgm ON products USING GIN(name gin_trgm_ops);
+CREATE INDEX idx_products_sku_trgm ON products USING GIN(sku gin_trgm_ops);
+
+COMMENT ON COLUMN products.search_vector IS 'Weighted full-text document maintained by PostgreSQL';
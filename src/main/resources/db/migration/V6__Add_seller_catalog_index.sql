@@ -0,0 +1,4 @@
+-- Migration: Seller catalog listing and keyset paging
+-- Seller page queries filter on seller_id and is_active and order by created_at, id
+
+CREATE INDEX idx_products_seller_active_created ON products(seller_id, is_active, created_at DESC, id);
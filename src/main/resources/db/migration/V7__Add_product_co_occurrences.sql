@@ -0,0 +1,21 @@
+-- Migration: Frequently-bought-together counts and job checkpoints
+-- Pairs are stored in both directions; related products are read by (product_id, pair_count DESC)
+
+CREATE TABLE product_co_occurrences (
+    product_id UUID NOT NULL REFERENCES products(id) ON DELETE CASCADE,
+    related_product_id UUID NOT NULL REFERENCES products(id) ON DELETE CASCADE,
+    pair_count BIGINT NOT NULL,
+    PRIMARY KEY (product_id, related_product_id)
+);
+
+CREATE INDEX idx_product_co_occurrences_count ON product_co_occurrences(product_id, pair_count DESC);
+
+CREATE TABLE job_checkpoints (
+    job_name VARCHAR(100) PRIMARY KEY,
+    last_created_at TIMESTAMP NOT NULL,
+    last_id VARCHAR(255) NOT NULL,
+    updated_at TIMESTAMP
+);
+
+-- The co-occurrence job pages orders by (created_at, id)
+CREATE INDEX idx_orders_created_at_id ON orders(created_at, id);
@@ -0,0 +1,10 @@
+-- Migration: Product popularity counters
+-- Written by periodic batched upserts that add the in-memory deltas
+
+CREATE TABLE product_counters (
+    product_id UUID PRIMARY KEY REFERENCES products(id) ON DELETE CASCADE,
+    view_count BIGINT NOT NULL DEFAULT 0,
+    cart_count BIGINT NOT NULL DEFAULT 0,
+    purchase_count BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP
+);
@@ -0,0 +1,5 @@
+-- Migration: Unique product barcodes
+-- The identifier filter only guards a single node; the index rejects duplicates across nodes.
+-- Products without a barcode are left out, so any number of them may exist.
+
+CREATE UNIQUE INDEX idx_products_barcode_unique ON products(barcode) WHERE barcode IS NOT NULL;
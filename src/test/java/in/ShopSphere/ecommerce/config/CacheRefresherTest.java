@@ -0,0 +1,181 @@
+package in.ShopSphere.ecommerce.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CacheRefresherTest {
+
+    @Mock
+    private RedisTemplate<String, Object> redisTemplate;
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2025-03-01T12:00:00Z"));
+
+    private final ConcurrentMapCacheManager delegate = new ConcurrentMapCacheManager();
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private SingleFlightCacheManager cacheManager;
+
+    @BeforeEach
+    void setUp() {
+        RefreshAheadProperties properties = new RefreshAheadProperties();
+        properties.setCaches(Set.of("product", "products"));
+        properties.setHotThreshold(3);
+        RedisCacheConfiguration configuration = RedisCacheConfiguration.defaultCacheConfig().entryTtl(Duration.ofMinutes(10));
+        // Refreshes run on the reading thread, and every draw of rand is 0.5: the XFetch
+        // head start is then 100ms * ln 2, about 69ms
+        CacheRefresher refresher = new CacheRefresher(properties, name -> configuration, redisTemplate, null,
+            clock, Runnable::run, () -> 0.5);
+        cacheManager = new SingleFlightCacheManager(delegate, new SingleFlightProperties(), redisTemplate,
+            new SimpleMeterRegistry(), refresher);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testGet_RefreshesHotEntriesJustBeforeTheyExpire() {
+        Cache cache = cacheManager.getCache("product");
+        assertEquals("v1", cache.get("p-1", this::load));
+        for (int i = 0; i < 5; i++) {
+            assertEquals("v1", cache.get("p-1", this::load));
+        }
+
+        // Hot, and inside the last fifth of the TTL, but 90s from expiry is too early
+        clock.advance(Duration.ofSeconds(510));
+        assertEquals("v1", cache.get("p-1", this::load));
+        assertEquals(1, loads.get());
+
+        // 50ms from expiry the reader still gets the current value, and a reload replaces it
+        clock.advance(Duration.ofMillis(89_950));
+        assertEquals("v1", cache.get("p-1", this::load));
+        assertEquals("v2", cache.get("p-1", this::load));
+        assertEquals(2, loads.get());
+
+        // A key read too rarely to be hot just expires
+        assertEquals("v3", cache.get("p-2", this::load));
+        clock.advance(Duration.ofMinutes(10));
+        assertEquals("v3", cache.get("p-2", this::load));
+        assertEquals(3, loads.get());
+
+        Map<String, Object> stats = (Map<String, Object>) cacheManager.getStats().get("product");
+        assertEquals(2L, stats.get("loaded"));
+        assertEquals(1L, stats.get("refreshed"));
+        verifyNoInteractions(redisTemplate);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testGet_ReadsTheTtlOfEntriesLoadedOnOtherNodes() {
+        Cache cache = cacheManager.getCache("products");
+        delegate.getCache("products").put("featured", "from-other-node");
+        delegate.getCache("products").put("low-stock", "from-other-node");
+        when(redisTemplate.getExpire("products::featured", TimeUnit.MILLISECONDS)).thenReturn(50L);
+        when(redisTemplate.getExpire("products::low-stock", TimeUnit.MILLISECONDS)).thenReturn(30_000L);
+
+        // The TTL is only read once the key is hot, and only once
+        assertEquals("from-other-node", cache.get("featured", this::load));
+        assertEquals("from-other-node", cache.get("featured", this::load));
+        verifyNoInteractions(redisTemplate);
+        assertEquals("from-other-node", cache.get("featured", this::load));
+        assertEquals("v1", cache.get("featured", this::load));
+        assertEquals("v1", cache.get("featured", this::load));
+        verify(redisTemplate, times(1)).getExpire(anyString(), any(TimeUnit.class));
+
+        // 30s left is inside the refresh window but well past the XFetch head start
+        for (int i = 0; i < 5; i++) {
+            assertEquals("from-other-node", cache.get("low-stock", this::load));
+        }
+        verify(redisTemplate, times(1)).getExpire("products::low-stock", TimeUnit.MILLISECONDS);
+
+        // A failed refresh leaves the current value in place
+        clock.advance(Duration.ofSeconds(30));
+        assertEquals("from-other-node", cache.get("low-stock", () -> {
+            throw new IllegalStateException("database down");
+        }));
+        assertEquals("from-other-node", delegate.getCache("products").get("low-stock", String.class));
+
+        Map<String, Object> stats = (Map<String, Object>) cacheManager.getStats().get("products");
+        assertEquals(0L, stats.get("loaded"));
+        assertEquals(1L, stats.get("refreshed"));
+        assertEquals(0, stats.get("inFlight"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testGet_DropsARefreshThatOverlapsAnEviction() {
+        Cache cache = cacheManager.getCache("product");
+        for (int i = 0; i < 6; i++) {
+            assertEquals("v1", cache.get("p-1", this::load));
+        }
+
+        // A write commits and its tag invalidation lands while the refresh is loading; a miss
+        // in between loads the post-write value itself instead of joining the refresh
+        clock.advance(Duration.ofMillis(599_950));
+        assertEquals("v1", cache.get("p-1", () -> {
+            cache.evict("p-1");
+            assertEquals("v2", cache.get("p-1", this::load));
+            return "stale";
+        }));
+
+        // The refresh is dropped and the miss's value stays
+        assertEquals("v2", delegate.getCache("product").get("p-1", String.class));
+        assertEquals("v2", cache.get("p-1", this::load));
+        Map<String, Object> stats = (Map<String, Object>) cacheManager.getStats().get("product");
+        assertEquals(2L, stats.get("loaded"));
+        assertEquals(0L, stats.get("refreshed"));
+        assertEquals(0, stats.get("refreshing"));
+    }
+
+    private String load() {
+        return "v" + loads.incrementAndGet();
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        private void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package in.ShopSphere.ecommerce.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SingleFlightCacheManagerTest {
+
+    @Mock
+    private RedisTemplate<String, Object> redisTemplate;
+
+    @Mock
+    private ValueOperations<String, Object> valueOperations;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final ConcurrentMapCacheManager delegate = new ConcurrentMapCacheManager();
+
+    private SingleFlightCacheManager cacheManager;
+
+    @BeforeEach
+    void setUp() {
+        SingleFlightProperties properties = new SingleFlightProperties();
+        properties.setDistributedCaches(Set.of("products"));
+        properties.setPollInterval(Duration.ofMillis(10));
+        properties.setLockWait(Duration.ofSeconds(5));
+        cacheManager = new SingleFlightCacheManager(delegate, properties, redisTemplate, meterRegistry);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testGet_ConcurrentMissesShareOneLoad() throws Exception {
+        Cache cache = cacheManager.getCache("product");
+        assertInstanceOf(SingleFlightCache.class, cache);
+        assertSame(cache, cacheManager.getCache("product"));
+
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(50);
+        List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            results.add(executor.submit(() -> cache.get("p-1", () -> {
+                loads.incrementAndGet();
+                release.await();
+                return "product-1";
+            })));
+        }
+        // Hold the load until every other caller has joined it
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (coalesced("product") < 49 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        release.countDown();
+        for (Future<String> result : results) {
+            assertEquals("product-1", result.get(10, TimeUnit.SECONDS));
+        }
+        executor.shutdown();
+
+        assertEquals(1, loads.get());
+        assertEquals("product-1", delegate.getCache("product").get("p-1", String.class));
+        Map<String, Object> stats = (Map<String, Object>) cacheManager.getStats().get("product");
+        assertEquals(1L, stats.get("loaded"));
+        assertEquals(49L, stats.get("coalesced"));
+        assertEquals(0, stats.get("inFlight"));
+
+        // A failed load reaches the caller and is not remembered
+        RuntimeException failure = new IllegalStateException("database down");
+        assertSame(failure, assertThrows(RuntimeException.class,
+            () -> cache.get("p-2", () -> { throw failure; })).getCause());
+        assertEquals("product-2", cache.get("p-2", () -> "product-2"));
+        verifyNoInteractions(redisTemplate);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testGet_DistributedWaitsForTheLockHoldersValue() throws Exception {
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        Cache cache = cacheManager.getCache("products");
+
+        // Another node holds the lock and writes the value a little later
+        when(valueOperations.setIfAbsent(eq("ecommerce:cache-load-lock:products::featured"), anyString(), any(Duration.class)))
+            .thenReturn(false);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        Future<Object> waiting = executor.submit(() -> cache.get("featured", () -> fail("loaded twice")));
+        Thread.sleep(50);
+        delegate.getCache("products").put("featured", "from-other-node");
+        assertEquals("from-other-node", waiting.get(10, TimeUnit.SECONDS));
+        executor.shutdown();
+
+        // Holding the lock: load, then release it with the holder's token
+        when(valueOperations.setIfAbsent(eq("ecommerce:cache-load-lock:products::low-stock"), anyString(), any(Duration.class)))
+            .thenReturn(true);
+        assertEquals("loaded-here", cache.get("low-stock", () -> "loaded-here"));
+        verify(redisTemplate).execute(any(RedisScript.class), eq(List.of("ecommerce:cache-load-lock:products::low-stock")), anyString());
+
+        Map<String, Object> stats = (Map<String, Object>) cacheManager.getStats().get("products");
+        assertEquals(1L, stats.get("remote"));
+        assertEquals(1L, stats.get("loaded"));
+        assertEquals(true, stats.get("distributed"));
+    }
+
+    private double coalesced(String cacheName) {
+        return meterRegistry.get("cache.loads").tag("cache", cacheName).tag("result", "coalesced").counter().count();
+    }
+}
@@ -0,0 +1,194 @@
+package in.ShopSphere.ecommerce.config;
+
+import in.ShopSphere.ecommerce.dto.common.PaginationResponse;
+import in.ShopSphere.ecommerce.dto.order.OrderResponse;
+import in.ShopSphere.ecommerce.dto.product.ProductResponse;
+import in.ShopSphere.ecommerce.model.entity.User;
+import in.ShopSphere.ecommerce.service.impl.CacheTagServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.SetOperations;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaggingCacheManagerTest {
+
+    @Mock
+    private RedisTemplate<String, Object> redisTemplate;
+
+    @Mock
+    private RedisOperations<String, Object> pipeline;
+
+    @Mock
+    private SetOperations<String, Object> pipelineSets;
+
+    @Mock
+    private SetOperations<String, Object> sets;
+
+    // Stands in for the tag sets in Redis
+    private final Map<String, Set<Object>> tagSets = new HashMap<>();
+
+    private TaggingCacheManager cacheManager;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        cacheManager = new TaggingCacheManager(new ConcurrentMapCacheManager(), new CacheTagProperties(), redisTemplate);
+
+        lenient().when(pipeline.opsForSet()).thenReturn(pipelineSets);
+        lenient().when(pipelineSets.add(anyString(), any())).thenAnswer(invocation -> {
+            Object[] arguments = invocation.getArguments();
+            tagSets.computeIfAbsent((String) arguments[0], k -> new LinkedHashSet<>())
+                .addAll(Arrays.asList(arguments).subList(1, arguments.length));
+            return 1L;
+        });
+        lenient().when(redisTemplate.executePipelined(any(SessionCallback.class))).thenAnswer(invocation -> {
+            invocation.<SessionCallback<Object>>getArgument(0).execute(pipeline);
+            return List.of();
+        });
+        lenient().when(redisTemplate.opsForSet()).thenReturn(sets);
+        lenient().when(sets.pop(anyString(), anyLong())).thenAnswer(invocation -> {
+            Set<Object> members = tagSets.remove(invocation.<String>getArgument(0));
+            return members != null ? new ArrayList<>(members) : new ArrayList<>();
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void testInvalidate_EvictsOnlyTheEntriesTaggedWithWhatChanged() {
+        Cache product = cacheManager.getCache("product");
+        Cache products = cacheManager.getCache("products");
+        assertInstanceOf(TaggingCache.class, product);
+
+        CacheTags cacheTags = new CacheTags();
+        TaggedKey featured = cacheTags.key(List.of(CacheTags.PRODUCT_LIST, CacheTags.PRODUCT_FEATURED), "featured");
+        TaggedKey lowStock = cacheTags.key(List.of(CacheTags.PRODUCT_LIST, CacheTags.PRODUCT_STOCK), "low-stock");
+        TaggedKey rating = cacheTags.key(List.of(CacheTags.PRODUCT_LIST), "rating", 4.0, 0, 20);
+        assertEquals("products:list|rating:4.0:0:20", rating.toString());
+
+        product.put("p-1", product("p-1", "c-1"));
+        product.put("p-2", product("p-2", "c-2"));
+        products.put(featured, List.of(product("p-1", "c-1")));
+        products.put(lowStock, PaginationResponse.of(List.of(product("p-2", "c-2")), 0, 20, 1));
+        products.put(rating, PaginationResponse.of(List.of(), 0, 20, 0));
+
+        // A plain key is never read for tags, whatever it contains
+        Cache priceStats = cacheManager.getCache("priceStats");
+        priceStats.put("c=Phones|min=100|max=", List.of());
+        assertTrue(tagSets.keySet().stream().noneMatch(key -> key.contains("c=")));
+
+        // A price change on p-1: its own entry and the featured list showing it go
+        assertEquals(2, cacheManager.invalidate(List.of(CacheTags.product("p-1"))));
+        assertNull(product.get("p-1"));
+        assertNull(products.get(featured));
+        assertNotNull(product.get("p-2"));
+        assertNotNull(products.get(lowStock));
+
+        // A stock change reaches the stock queries without touching other lists
+        assertEquals(1, cacheManager.invalidate(List.of(CacheTags.PRODUCT_STOCK)));
+        assertNull(products.get(lowStock));
+        assertNotNull(products.get(rating));
+
+        // Renaming c-2 reaches everything tagged with it, gone or not; p-1's tag was already popped
+        assertEquals(2, cacheManager.invalidate(List.of(CacheTags.category("c-2"), CacheTags.product("p-1"))));
+        assertNull(product.get("p-2"));
+        assertEquals(3, cacheManager.invalidate(List.of(CacheTags.PRODUCT_LIST)));
+        assertNull(products.get(rating));
+        assertTrue(tagSets.keySet().stream().noneMatch(key -> key.endsWith(CacheTags.PRODUCT_LIST)));
+    }
+
+    @Test
+    void testInvalidate_RunsAfterCommitAndScopesEntriesToTheUser() {
+        User user = new User();
+        user.setId("u-1");
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(user, null, List.of()));
+        assertEquals("cart:u-1", new CacheTags().currentUser("cart"));
+        SecurityContextHolder.clearContext();
+        assertEquals("cart:anonymous", new CacheTags().currentUser("cart"));
+
+        OrderResponse order = new OrderResponse();
+        order.setId("o-1");
+        Cache userOrders = cacheManager.getCache("userOrders");
+        userOrders.put(new TaggedKey(List.of("user-orders:u-1"), "0:20"), PaginationResponse.of(List.of(order), 0, 20, 1));
+        userOrders.put(new TaggedKey(List.of("user-orders:u-2"), "0:20"), PaginationResponse.of(List.of(), 0, 20, 0));
+        assertEquals(Set.of("user-orders:u-1", "user-orders:u-2", "order:o-1"), tagSets.keySet().stream()
+            .filter(key -> key.contains("order"))
+            .map(key -> key.substring(TaggingCacheManager.TAG_KEY_PREFIX.length()))
+            .collect(Collectors.toSet()));
+
+        // Inside a transaction nothing is evicted until it commits
+        CacheTagServiceImpl cacheTagService = new CacheTagServiceImpl(cacheManager);
+        TransactionSynchronizationManager.initSynchronization();
+        cacheTagService.invalidate(CacheTags.order("o-1"));
+        assertNotNull(userOrders.get("user-orders:u-1|0:20"));
+
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+        assertNull(userOrders.get("user-orders:u-1|0:20"));
+        assertNotNull(userOrders.get("user-orders:u-2|0:20"));
+    }
+
+    @Test
+    void testInvalidate_WithoutTaggingClearsOnlyTheCachesTheTagsBelongTo() {
+        ConcurrentMapCacheManager plain = new ConcurrentMapCacheManager("product", "products", "orders", "categories");
+        plain.getCache("product").put("p-1", product("p-1", "c-1"));
+        plain.getCache("products").put("featured", List.of());
+        plain.getCache("orders").put("o-1", new OrderResponse());
+        plain.getCache("categories").put("c-1", List.of());
+
+        CacheTagServiceImpl cacheTagService = new CacheTagServiceImpl(plain);
+        cacheTagService.invalidate(CacheTags.product("p-1"), CacheTags.PRODUCT_STOCK);
+        assertNull(plain.getCache("product").get("p-1"));
+        assertNull(plain.getCache("products").get("featured"));
+        assertNotNull(plain.getCache("orders").get("o-1"));
+        assertNotNull(plain.getCache("categories").get("c-1"));
+
+        // A tag that belongs to no known cache still clears everything
+        cacheTagService.invalidate("unknown:1");
+        assertNull(plain.getCache("orders").get("o-1"));
+        assertNull(plain.getCache("categories").get("c-1"));
+        verifyNoInteractions(redisTemplate);
+    }
+
+    private static ProductResponse product(String id, String categoryId) {
+        ProductResponse.CategorySummary category = new ProductResponse.CategorySummary();
+        category.setId(categoryId);
+        ProductResponse product = new ProductResponse();
+        product.setId(id);
+        product.setCategory(category);
+        return product;
+    }
+}
@@ -0,0 +1,113 @@
+package in.ShopSphere.ecommerce.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TwoLevelCacheManagerTest {
+
+    private static final String CHANNEL = "ecommerce:cache-invalidation";
+
+    @Mock
+    private RedisTemplate<String, Object> redisTemplate;
+
+    private final GenericJackson2JsonRedisSerializer serializer =
+        new GenericJackson2JsonRedisSerializer(new RedisConfig().redisObjectMapper());
+
+    // Stands in for Redis: shared by every node
+    private final ConcurrentMapCacheManager l2 = new ConcurrentMapCacheManager();
+
+    private TwoLevelCacheManager cacheManager;
+
+    @BeforeEach
+    void setUp() {
+        TwoLevelCacheProperties properties = new TwoLevelCacheProperties();
+        TwoLevelCacheProperties.Spec spec = new TwoLevelCacheProperties.Spec();
+        spec.setMaxSize(100);
+        spec.setTtl(Duration.ofMinutes(1));
+        properties.getCaches().put("product", spec);
+        cacheManager = new TwoLevelCacheManager(l2, properties, redisTemplate, new SimpleMeterRegistry());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testGetCache_ServesRepeatReadsFromL1AndBroadcastsWrites() {
+        assertInstanceOf(ConcurrentMapCache.class, cacheManager.getCache("products"));
+        Cache cache = cacheManager.getCache("product");
+        assertInstanceOf(TwoLevelCache.class, cache);
+        assertSame(cache, cacheManager.getCache("product"));
+
+        l2.getCache("product").put("p-1", "first");
+        assertNull(cache.get("p-404"));
+        assertEquals("first", cache.get("p-1", String.class));
+        // A write behind L1's back is not seen until the entry is invalidated
+        l2.getCache("product").put("p-1", "changed elsewhere");
+        assertEquals("first", cache.get("p-1", String.class));
+        assertEquals("first", cache.get("p-1", String.class));
+
+        Map<String, Object> stats = (Map<String, Object>) cacheManager.getStats().get("product");
+        assertEquals(2L, stats.get("l1Hits"));
+        assertEquals(2L, stats.get("l1Misses"));
+        assertEquals(1L, stats.get("l2Hits"));
+        assertEquals(1L, stats.get("l2Misses"));
+        assertEquals(0.5, stats.get("l1HitRatio"));
+
+        cache.put("p-1", "second");
+        assertEquals("second", l2.getCache("product").get("p-1", String.class));
+        assertEquals("second", cache.get("p-1", String.class));
+        cache.clear();
+
+        ArgumentCaptor<TwoLevelCacheManager.Invalidation> sent = ArgumentCaptor.forClass(TwoLevelCacheManager.Invalidation.class);
+        verify(redisTemplate, times(2)).convertAndSend(eq(CHANNEL), sent.capture());
+        assertEquals(List.of("p-1"), sent.getAllValues().get(0).getKeys());
+        assertEquals(cacheManager.getNodeId(), sent.getAllValues().get(0).getOrigin());
+        assertNull(sent.getAllValues().get(1).getKeys());
+    }
+
+    @Test
+    void testOnMessage_DropsL1EntriesWrittenOnOtherNodes() {
+        when(redisTemplate.getValueSerializer()).thenAnswer(invocation -> serializer);
+        Cache cache = cacheManager.getCache("product");
+        l2.getCache("product").put("p-1", "first");
+        l2.getCache("product").put("p-2", "first");
+        cache.get("p-1");
+        cache.get("p-2");
+        l2.getCache("product").put("p-1", "second");
+        l2.getCache("product").put("p-2", "second");
+
+        // This node's own messages are ignored
+        receive(new TwoLevelCacheManager.Invalidation(cacheManager.getNodeId(), "product", List.of("p-1")));
+        assertEquals("first", cache.get("p-1", String.class));
+
+        receive(new TwoLevelCacheManager.Invalidation("other-node", "product", List.of("p-1")));
+        assertEquals("second", cache.get("p-1", String.class));
+        assertEquals("first", cache.get("p-2", String.class));
+
+        receive(new TwoLevelCacheManager.Invalidation("other-node", "product", null));
+        assertEquals("second", cache.get("p-2", String.class));
+        verify(redisTemplate, never()).convertAndSend(anyString(), any());
+    }
+
+    private void receive(TwoLevelCacheManager.Invalidation invalidation) {
+        cacheManager.onMessage(new DefaultMessage(CHANNEL.getBytes(), serializer.serialize(invalidation)), null);
+    }
+}
@@ -0,0 +1,90 @@
+package in.ShopSphere.ecommerce.controller;
+
+import in.ShopSphere.ecommerce.dto.product.SellerProductSummary;
+import in.ShopSphere.ecommerce.model.entity.User;
+import in.ShopSphere.ecommerce.model.entity.UserRole;
+import in.ShopSphere.ecommerce.service.ProductService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.method.annotation.AuthenticationPrincipalArgumentResolver;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(MockitoExtension.class)
+class ProductControllerTest {
+
+    @Mock
+    private ProductService productService;
+
+    @InjectMocks
+    private ProductController productController;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        // Resolves @AuthenticationPrincipal from the security context, as the JWT filter populates it
+        mockMvc = MockMvcBuilders.standaloneSetup(productController)
+            .setCustomArgumentResolvers(new AuthenticationPrincipalArgumentResolver())
+            .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void testGetSellerSummary_OtherSellersCatalogIsForbidden() throws Exception {
+        signIn(user("seller-1", UserRole.SELLER));
+
+        mockMvc.perform(get("/products/seller/seller-2/summary"))
+            .andExpect(status().isForbidden());
+
+        verifyNoInteractions(productService);
+    }
+
+    @Test
+    void testGetSellerSummary_OwnerAndAdminAreAllowed() throws Exception {
+        SellerProductSummary summary = new SellerProductSummary(4L, 1L, 0L);
+        summary.setSellerId("seller-1");
+        when(productService.getSellerSummary("seller-1")).thenReturn(summary);
+
+        signIn(user("seller-1", UserRole.SELLER));
+        mockMvc.perform(get("/products/seller/seller-1/summary"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.data.activeProducts").value(4));
+
+        signIn(user("admin-1", UserRole.ADMIN));
+        mockMvc.perform(get("/products/seller/seller-1/summary"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.data.sellerId").value("seller-1"));
+
+        verify(productService, times(2)).getSellerSummary("seller-1");
+    }
+
+    private static void signIn(User user) {
+        SecurityContextHolder.getContext().setAuthentication(
+            new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+    }
+
+    private static User user(String id, UserRole role) {
+        User user = new User();
+        user.setId(id);
+        user.setEmail(id + "@example.com");
+        user.setRole(role);
+        return user;
+    }
+}
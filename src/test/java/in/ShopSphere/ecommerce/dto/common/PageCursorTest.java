@@ -0,0 +1,50 @@
+package in.ShopSphere.ecommerce.dto.common;
+
+import in.ShopSphere.ecommerce.exception.ValidationException;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PageCursorTest {
+
+    @Test
+    void testEncodeDecode_RoundTripsTheSortKeys() {
+        LocalDateTime createdAt = LocalDateTime.of(2025, 3, 1, 12, 30, 15, 123_000_000);
+        String cursor = PageCursor.encode(new BigDecimal("4.50"), 12, createdAt, "p-1");
+
+        // URL-safe and unpadded, so it can go straight into a query parameter
+        assertTrue(cursor.matches("[A-Za-z0-9_-]+"));
+
+        String[] keys = PageCursor.decode(cursor, 4);
+        assertEquals(new BigDecimal("4.50"), PageCursor.decimalKey(keys[0]));
+        assertEquals(12, PageCursor.intKey(keys[1]));
+        assertEquals(createdAt, PageCursor.timestampKey(keys[2]));
+        assertEquals("p-1", keys[3]);
+
+        // A cursor from another endpoint, or a tampered one, is rejected as a validation error
+        assertThrows(ValidationException.class, () -> PageCursor.decode(cursor, 2));
+        assertThrows(ValidationException.class, () -> PageCursor.decode("not base64!", 2));
+        String garbled = Base64.getUrlEncoder().encodeToString("abc\u001Fp-1".getBytes(StandardCharsets.UTF_8));
+        assertThrows(ValidationException.class, () -> PageCursor.timestampKey(PageCursor.decode(garbled, 2)[0]));
+        assertThrows(ValidationException.class, () -> PageCursor.decimalKey("abc"));
+        assertThrows(ValidationException.class, () -> PageCursor.intKey("1.5"));
+    }
+
+    @Test
+    void testClampLimit_KeepsPageSizesBetweenOneAndTheMaximum() {
+        assertEquals(1, PageCursor.clampLimit(0));
+        assertEquals(1, PageCursor.clampLimit(-5));
+        assertEquals(20, PageCursor.clampLimit(20));
+        assertEquals(PageCursor.MAX_LIMIT, PageCursor.clampLimit(PageCursor.MAX_LIMIT));
+        assertEquals(PageCursor.MAX_LIMIT, PageCursor.clampLimit(Integer.MAX_VALUE));
+
+        assertTrue(PageCursor.isFirstPage(null));
+        assertTrue(PageCursor.isFirstPage(" "));
+        assertFalse(PageCursor.isFirstPage(PageCursor.encode("p-1")));
+    }
+}
@@ -0,0 +1,160 @@
+package in.ShopSphere.ecommerce.repository;
+
+import com.corundumstudio.socketio.SocketIOServer;
+import in.ShopSphere.ecommerce.dto.product.ProductResponse;
+import in.ShopSphere.ecommerce.mapper.ProductMapperImpl;
+import in.ShopSphere.ecommerce.model.entity.Category;
+import in.ShopSphere.ecommerce.model.entity.Product;
+import in.ShopSphere.ecommerce.model.entity.ProductImage;
+import in.ShopSphere.ecommerce.model.entity.ProductVariant;
+import in.ShopSphere.ecommerce.model.entity.User;
+import in.ShopSphere.ecommerce.model.entity.UserRole;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Answers;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pins the number of SQL statements needed to render a page of ProductResponse,
+ * so a lazy association creeping back into the listing path fails here. Subclasses
+ * supply the database.
+ */
+@DataJpaTest(properties = {
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+abstract class AbstractProductListingQueryCountTest {
+
+    // Required by EcommerceApplication, which the slice still instantiates and runs
+    @MockitoBean(answers = Answers.RETURNS_DEEP_STUBS)
+    private SocketIOServer socketIOServer;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Statistics statistics;
+
+    private List<String> productIds;
+
+    @BeforeEach
+    void setUp() {
+        Category category = new Category();
+        category.setName("Laptops");
+        entityManager.persist(category);
+
+        for (int s = 0; s < 3; s++) {
+            User seller = new User();
+            seller.setEmail("seller" + s + "@example.com");
+            seller.setPassword("secret123");
+            seller.setFirstName("Seller");
+            seller.setLastName(String.valueOf(s));
+            seller.setRole(UserRole.SELLER);
+            entityManager.persist(seller);
+
+            for (int p = 0; p < 10; p++) {
+                Product product = new Product();
+                product.setName("Laptop " + s + "-" + p);
+                product.setPrice(new BigDecimal("999.00"));
+                product.setStockQuantity(5);
+                product.setCategory(category);
+                product.setSeller(seller);
+                entityManager.persist(product);
+
+                for (int i = 0; i < 2; i++) {
+                    ProductImage image = new ProductImage();
+                    image.setProduct(product);
+                    image.setImageUrl("https://cdn.example.com/" + s + "-" + p + "-" + i + ".jpg");
+                    entityManager.persist(image);
+                }
+                ProductVariant variant = new ProductVariant();
+                variant.setProduct(product);
+                variant.setVariantName("Memory");
+                variant.setVariantValue("16GB");
+                variant.setPriceAdjustment(BigDecimal.ZERO);
+                entityManager.persist(variant);
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        productIds = entityManager.createQuery("SELECT p.id FROM Product p ORDER BY p.name", String.class)
+            .setMaxResults(10)
+            .getResultList();
+
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void testListingPage_UsesConstantNumberOfStatements() {
+        // Page select, count, one batch for images, one batch for variants
+        assertEquals(4, statementsToRender(10));
+        assertEquals(4, statementsToRender(25));
+    }
+
+    @Test
+    void testListingPage_MapsAssociationsWithoutExtraQueries() {
+        Page<Product> page = productRepository.findByIsActiveTrue(PageRequest.of(0, 10, Sort.by("name")));
+        List<ProductResponse> responses = new ProductMapperImpl().toProductResponseList(page.getContent());
+
+        assertEquals(10, responses.size());
+        assertEquals("Laptops", responses.get(0).getCategory().getName());
+        assertEquals("Seller", responses.get(0).getSeller().getFirstName());
+        assertEquals(2, responses.get(0).getImages().size());
+        assertEquals(1, responses.get(0).getVariants().size());
+        assertEquals(4, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testListingFinders_LoadTheGraphOnlyWhenAsked() {
+        // Refreshes read columns only, so the inherited finder must not join seller and cart
+        List<Product> plain = productRepository.findAllById(productIds);
+        assertEquals(10, plain.size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(10, statistics.getEntityLoadCount());
+
+        // Hydrating a page: products with category and seller, one batch for images, one for variants
+        entityManager.clear();
+        statistics.clear();
+        List<ProductResponse> responses = new ProductMapperImpl().toProductResponseList(
+            productRepository.findListingByIdIn(productIds));
+        assertEquals(10, responses.size());
+        assertEquals("Laptops", responses.get(0).getCategory().getName());
+        assertEquals(3, statistics.getPrepareStatementCount());
+
+        // A filtered page: page select, count, then the same two batches
+        entityManager.clear();
+        statistics.clear();
+        Page<Product> page = productRepository.findListingPage(
+            ProductSpecifications.isActive(), PageRequest.of(0, 10, Sort.by("name")));
+        responses = new ProductMapperImpl().toProductResponseList(page.getContent());
+        assertEquals(30, page.getTotalElements());
+        assertEquals("Seller", responses.get(0).getSeller().getFirstName());
+        assertEquals(4, statistics.getPrepareStatementCount());
+    }
+
+    private long statementsToRender(int pageSize) {
+        entityManager.clear();
+        statistics.clear();
+        Page<Product> page = productRepository.findByIsActiveTrue(PageRequest.of(0, pageSize, Sort.by("name")));
+        new ProductMapperImpl().toProductResponseList(page.getContent());
+        return statistics.getPrepareStatementCount();
+    }
+}
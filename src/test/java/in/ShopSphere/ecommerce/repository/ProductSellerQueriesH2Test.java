@@ -0,0 +1,152 @@
+package in.ShopSphere.ecommerce.repository;
+
+import com.corundumstudio.socketio.SocketIOServer;
+import in.ShopSphere.ecommerce.dto.product.SellerProductSummary;
+import in.ShopSphere.ecommerce.model.entity.Category;
+import in.ShopSphere.ecommerce.model.entity.Product;
+import in.ShopSphere.ecommerce.model.entity.User;
+import in.ShopSphere.ecommerce.model.entity.UserRole;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Answers;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The seller dashboard queries on in-memory H2: catalog summary counts and
+ * keyset paging over (createdAt DESC, id ASC).
+ */
+@DataJpaTest(properties = "spring.jpa.hibernate.ddl-auto=create-drop")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class ProductSellerQueriesH2Test {
+
+    // Required by EcommerceApplication, which the slice still instantiates and runs
+    @MockitoBean(answers = Answers.RETURNS_DEEP_STUBS)
+    private SocketIOServer socketIOServer;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> "jdbc:h2:mem:seller;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;"
+            + "INIT=CREATE DOMAIN IF NOT EXISTS JSONB AS JSON\\;CREATE DOMAIN IF NOT EXISTS INET AS VARCHAR(45)");
+        registry.add("spring.datasource.driver-class-name", () -> "org.h2.Driver");
+        registry.add("spring.datasource.username", () -> "sa");
+        registry.add("spring.datasource.password", () -> "");
+    }
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Category category;
+    private User seller;
+    private User otherSeller;
+
+    @BeforeEach
+    void setUp() {
+        category = new Category();
+        category.setName("Laptops");
+        entityManager.persist(category);
+
+        seller = seller("seller@example.com");
+        otherSeller = seller("other@example.com");
+    }
+
+    @Test
+    void testSummarizeSellerCatalog_CountsOnlyTheSellersActiveProducts() {
+        product(seller, "In stock", 50, true);
+        product(seller, "Low stock", 3, true);
+        product(seller, "Sold out", 0, true);
+        product(seller, "Retired", 0, false);
+        product(otherSeller, "Someone else's", 0, true);
+        entityManager.flush();
+
+        SellerProductSummary summary = productRepository.summarizeSellerCatalog(seller.getId());
+
+        assertEquals(3, summary.getActiveProducts());
+        // Sold out is at or below the minimum stock level as well
+        assertEquals(2, summary.getLowStockProducts());
+        assertEquals(1, summary.getOutOfStockProducts());
+
+        SellerProductSummary empty = productRepository.summarizeSellerCatalog("no-such-seller");
+        assertEquals(0, empty.getActiveProducts());
+        assertEquals(0, empty.getLowStockProducts());
+    }
+
+    @Test
+    void testSellerKeysetPaging_WalksEveryProductOnceAcrossTimestampTies() {
+        for (int i = 0; i < 7; i++) {
+            product(seller, "Laptop " + i, 10, true);
+        }
+        product(seller, "Retired", 10, false);
+        product(otherSeller, "Someone else's", 10, true);
+        entityManager.flush();
+
+        // Two timestamps shared by several rows, so the id tiebreaker decides page boundaries
+        LocalDateTime older = LocalDateTime.of(2025, 1, 1, 9, 0);
+        LocalDateTime newer = older.plusDays(1);
+        entityManager.createQuery("UPDATE Product p SET p.createdAt = CASE WHEN p.name IN ('Laptop 0', 'Laptop 1', 'Laptop 2') "
+                + "THEN :older ELSE :newer END")
+            .setParameter("older", older)
+            .setParameter("newer", newer)
+            .executeUpdate();
+        entityManager.clear();
+
+        List<Product> expected = entityManager.createQuery("SELECT p FROM Product p WHERE p.seller.id = :sellerId "
+                + "AND p.isActive = true ORDER BY p.createdAt DESC, p.id ASC", Product.class)
+            .setParameter("sellerId", seller.getId())
+            .getResultList();
+
+        List<Product> walked = new ArrayList<>();
+        List<Product> page = productRepository.findBySellerLatestFirstPage(seller.getId(), PageRequest.ofSize(3));
+        while (!page.isEmpty()) {
+            walked.addAll(page);
+            Product last = page.get(page.size() - 1);
+            page = productRepository.findBySellerLatestAfter(seller.getId(), last.getCreatedAt(), last.getId(), PageRequest.ofSize(3));
+        }
+
+        assertEquals(7, walked.size());
+        assertEquals(ids(expected), ids(walked));
+    }
+
+    private User seller(String email) {
+        User user = new User();
+        user.setEmail(email);
+        user.setPassword("secret123");
+        user.setFirstName("Seller");
+        user.setLastName("Test");
+        user.setRole(UserRole.SELLER);
+        entityManager.persist(user);
+        return user;
+    }
+
+    private void product(User owner, String name, int stock, boolean active) {
+        Product product = new Product();
+        product.setName(name);
+        product.setPrice(new BigDecimal("999.00"));
+        product.setStockQuantity(stock);
+        product.setIsActive(active);
+        product.setCategory(category);
+        product.setSeller(owner);
+        entityManager.persist(product);
+    }
+
+    private static List<String> ids(List<Product> products) {
+        return products.stream().map(Product::getId).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,101 @@
+package in.ShopSphere.ecommerce.repository;
+
+import in.ShopSphere.ecommerce.dto.common.SearchFilters;
+import in.ShopSphere.ecommerce.exception.ValidationException;
+import in.ShopSphere.ecommerce.model.entity.Product;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Answers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductSpecificationsTest {
+
+    @Mock
+    private Root<Product> root;
+
+    @Mock
+    private CriteriaQuery<?> query;
+
+    @Mock(answer = Answers.RETURNS_DEEP_STUBS)
+    private CriteriaBuilder cb;
+
+    @Mock
+    private Path<Object> isActive;
+
+    @Mock
+    private Path<Object> stockQuantity;
+
+    @Mock
+    private Path<Object> rating;
+
+    @Mock(answer = Answers.RETURNS_DEEP_STUBS)
+    private Path<Object> category;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(root.get(anyString())).thenAnswer(invocation -> mock(Path.class));
+        lenient().when(root.get("isActive")).thenReturn(isActive);
+        lenient().when(root.get("stockQuantity")).thenReturn(stockQuantity);
+        lenient().when(root.get("rating")).thenReturn(rating);
+        lenient().when(root.get("category")).thenReturn(category);
+        lenient().when(cb.and(any(Predicate.class), any(Predicate.class))).thenAnswer(invocation -> mock(Predicate.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testFromFilters_TurnsEveryFilterIntoAPredicate() {
+        // No filters still only reads active products
+        ProductSpecifications.fromFilters(null, null).toPredicate(root, query, cb);
+        verify(cb).isTrue((Path) isActive);
+        verifyNoMoreInteractions(cb);
+
+        SearchFilters filters = new SearchFilters();
+        filters.setMinPrice(100.0);
+        filters.setRating(4.0);
+        filters.setInStock(true);
+        filters.setSearchTerm("  50% OFF_");
+        clearInvocations(cb);
+        ProductSpecifications.fromFilters(filters, "c-1").toPredicate(root, query, cb);
+
+        verify(cb).isTrue((Path) isActive);
+        verify(cb).equal(category.get("id"), "c-1");
+        verify(cb).greaterThanOrEqualTo((Path) rating, (Comparable) BigDecimal.valueOf(4.0));
+        verify(cb).greaterThan((Path) stockQuantity, (Comparable) 0);
+        // LIKE wildcards typed by the user are matched literally
+        verify(cb, times(3)).like(any(), eq("%50\\% off\\_%"), eq('\\'));
+        // Price filters compare the sale price when one is set
+        verify(cb).selectCase();
+    }
+
+    @Test
+    void testSortFor_DefaultsToNewestFirstAndEndsWithTheId() {
+        assertEquals(Sort.by(Sort.Direction.DESC, "createdAt").and(Sort.by(Sort.Direction.DESC, "id")),
+            ProductSpecifications.sortFor(null, null));
+        assertEquals(Sort.by(Sort.Direction.ASC, "price").and(Sort.by(Sort.Direction.ASC, "id")),
+            ProductSpecifications.sortFor("price", "ASC"));
+        assertEquals(List.of("rating", "id"), ProductSpecifications.sortFor("rating", "sideways").stream()
+            .peek(order -> assertEquals(Sort.Direction.DESC, order.getDirection()))
+            .map(Sort.Order::getProperty)
+            .toList());
+
+        // Only user-facing fields; anything else is a validation error, not a SQL error
+        assertThrows(ValidationException.class, () -> ProductSpecifications.sortFor("costPrice", "asc"));
+        assertThrows(ValidationException.class, () -> ProductSpecifications.sortFor("seller.email", "asc"));
+    }
+}
@@ -0,0 +1,143 @@
+package in.ShopSphere.ecommerce.service;
+
+import in.ShopSphere.ecommerce.config.CacheInvalidationProperties;
+import in.ShopSphere.ecommerce.config.RedisConfig;
+import in.ShopSphere.ecommerce.service.impl.CacheInvalidationServiceImpl;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tail latency of concurrent GETs while a large keyspace is flushed, KEYS + DEL against
+ * SCAN + UNLINK. Key count via -Dcache.benchmark.keys (default 1,000,000).
+ */
+@Slf4j
+@Testcontainers(disabledWithoutDocker = true)
+class CacheInvalidationBenchmarkTest {
+
+    private static final int KEYS = Integer.getInteger("cache.benchmark.keys", 1_000_000);
+    private static final int READERS = 8;
+
+    @Container
+    static GenericContainer<?> redis = new GenericContainer<>("redis:7-alpine").withExposedPorts(6379);
+
+    private LettuceConnectionFactory connectionFactory;
+    private RedisTemplate<String, Object> redisTemplate;
+    private CacheInvalidationServiceImpl invalidationService;
+
+    @BeforeEach
+    void setUp() {
+        connectionFactory = new LettuceConnectionFactory(
+            new RedisStandaloneConfiguration(redis.getHost(), redis.getMappedPort(6379)));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        redisTemplate = new RedisConfig().redisTemplate(connectionFactory);
+        invalidationService = new CacheInvalidationServiceImpl(redisTemplate, new CacheInvalidationProperties());
+        redisTemplate.opsForValue().set("probe", "value");
+    }
+
+    @AfterEach
+    void tearDown() {
+        invalidationService.shutdown();
+        connectionFactory.destroy();
+    }
+
+    @Test
+    void testFlush_ScanAndUnlinkKeepsReadLatencyFlat() throws Exception {
+        load();
+        Map<String, Long> keysLatency = measureDuring(() -> {
+            Set<String> keys = redisTemplate.keys("bench:*");
+            redisTemplate.delete(keys);
+        });
+        assertEquals(0, invalidationService.countKeys("bench:*"));
+
+        load();
+        Map<String, Long> scanLatency = measureDuring(() -> invalidationService.deleteKeys("bench:*"));
+        assertEquals(0, invalidationService.countKeys("bench:*"));
+
+        log.info("GET latency (us) during a {} key flush: KEYS+DEL {}, SCAN+UNLINK {}", KEYS, keysLatency, scanLatency);
+        assertEquals("value", redisTemplate.opsForValue().get("probe"));
+        // KEYS blocks the server for the whole keyspace; SCAN batches never should
+        assertTrue(scanLatency.get("max") < keysLatency.get("max"),
+            "SCAN+UNLINK max " + scanLatency.get("max") + "us, KEYS+DEL max " + keysLatency.get("max") + "us");
+    }
+
+    private void load() {
+        byte[] value = "{\"cached\":true}".getBytes(StandardCharsets.UTF_8);
+        for (int start = 0; start < KEYS; start += 10_000) {
+            Map<byte[], byte[]> batch = new HashMap<>();
+            for (int i = start; i < Math.min(start + 10_000, KEYS); i++) {
+                batch.put(("bench:" + i).getBytes(StandardCharsets.UTF_8), value);
+            }
+            redisTemplate.execute((RedisCallback<Object>) connection -> connection.stringCommands().mSet(batch));
+        }
+    }
+
+    // Readers GET one key in a loop for as long as the flush runs
+    private Map<String, Long> measureDuring(Runnable flush) throws Exception {
+        AtomicBoolean running = new AtomicBoolean(true);
+        ExecutorService readers = Executors.newFixedThreadPool(READERS);
+        List<Future<List<Long>>> results = new ArrayList<>();
+        for (int r = 0; r < READERS; r++) {
+            results.add(readers.submit(() -> {
+                List<Long> latencies = new ArrayList<>();
+                while (running.get()) {
+                    long start = System.nanoTime();
+                    redisTemplate.opsForValue().get("probe");
+                    latencies.add((System.nanoTime() - start) / 1_000);
+                }
+                return latencies;
+            }));
+        }
+        Thread.sleep(200);
+        long start = System.nanoTime();
+        flush.run();
+        long flushMillis = (System.nanoTime() - start) / 1_000_000;
+        running.set(false);
+
+        List<Long> all = new ArrayList<>();
+        for (Future<List<Long>> result : results) {
+            all.addAll(result.get());
+        }
+        readers.shutdown();
+        assertTrue(readers.awaitTermination(10, TimeUnit.SECONDS));
+        Collections.sort(all);
+
+        Map<String, Long> summary = new LinkedHashMap<>();
+        summary.put("flushMs", flushMillis);
+        summary.put("gets", (long) all.size());
+        summary.put("p50", percentile(all, 0.50));
+        summary.put("p99", percentile(all, 0.99));
+        summary.put("p999", percentile(all, 0.999));
+        summary.put("max", all.get(all.size() - 1));
+        return summary;
+    }
+
+    private static long percentile(List<Long> sorted, double quantile) {
+        return sorted.get(Math.min(sorted.size() - 1, (int) Math.ceil(quantile * sorted.size()) - 1));
+    }
+}
@@ -0,0 +1,125 @@
+package in.ShopSphere.ecommerce.service;
+
+import in.ShopSphere.ecommerce.config.CacheInvalidationProperties;
+import in.ShopSphere.ecommerce.dto.cache.CacheInvalidationJobResponse;
+import in.ShopSphere.ecommerce.service.impl.CacheInvalidationServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.SessionCallback;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CacheInvalidationServiceTest {
+
+    @Mock
+    private RedisTemplate<String, Object> redisTemplate;
+
+    @Mock
+    private RedisOperations<String, Object> pipeline;
+
+    private CacheInvalidationServiceImpl invalidationService;
+
+    @BeforeEach
+    void setUp() {
+        CacheInvalidationProperties properties = new CacheInvalidationProperties();
+        properties.setScanCount(1000);
+        properties.setUnlinkChunk(100);
+        invalidationService = new CacheInvalidationServiceImpl(redisTemplate, properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        invalidationService.shutdown();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testDeleteKeys_ScansInBatchesAndUnlinksInChunks() {
+        List<String> keys = IntStream.range(0, 2_350).mapToObj(i -> "product:" + i).toList();
+        when(redisTemplate.scan(any(ScanOptions.class))).thenAnswer(invocation -> cursor(keys));
+        List<Integer> unlinked = new ArrayList<>();
+        when(redisTemplate.executePipelined(any(SessionCallback.class))).thenAnswer(invocation -> {
+            int before = unlinked.size();
+            invocation.<SessionCallback<Object>>getArgument(0).execute(pipeline);
+            // Every chunk reports all of its keys removed
+            return new ArrayList<Object>(unlinked.subList(before, unlinked.size()).stream().map(Long::valueOf).toList());
+        });
+        when(pipeline.unlink(anyCollection())).thenAnswer(invocation -> {
+            unlinked.add(invocation.<Collection<String>>getArgument(0).size());
+            return null;
+        });
+
+        assertEquals(2_350, invalidationService.deleteKeys("product:*"));
+        assertEquals(2_350, invalidationService.countKeys("product:*"));
+
+        // Three SCAN batches (1000, 1000, 350), each one pipeline of UNLINKs of at most 100 keys
+        verify(redisTemplate, times(3)).executePipelined(any(SessionCallback.class));
+        assertEquals(24, unlinked.size());
+        assertTrue(unlinked.stream().allMatch(size -> size <= 100));
+        verify(redisTemplate, never()).keys(anyString());
+        verify(redisTemplate, never()).delete(anyCollection());
+    }
+
+    @Test
+    void testSubmit_ReportsProgressAndFailures() throws Exception {
+        when(redisTemplate.scan(any(ScanOptions.class)))
+            .thenAnswer(invocation -> cursor(List.of()))
+            .thenThrow(new QueryTimeoutException("Redis command timed out"));
+
+        CacheInvalidationJobResponse empty = invalidationService.submit("search:*");
+        CacheInvalidationJobResponse failing = invalidationService.submit("session:*");
+        assertNotEquals(empty.getId(), failing.getId());
+
+        CacheInvalidationJobResponse done = await(empty.getId());
+        assertEquals("COMPLETED", done.getStatus());
+        assertEquals(0, done.getKeysDeleted());
+        assertNotNull(done.getFinishedAt());
+
+        CacheInvalidationJobResponse failed = await(failing.getId());
+        assertEquals("FAILED", failed.getStatus());
+        assertEquals("Redis command timed out", failed.getError());
+
+        assertEquals(List.of(failing.getId(), empty.getId()),
+            invalidationService.getJobs().stream().map(CacheInvalidationJobResponse::getId).toList());
+        assertTrue(invalidationService.getJob("missing").isEmpty());
+    }
+
+    private CacheInvalidationJobResponse await(String jobId) throws InterruptedException {
+        for (int i = 0; i < 200; i++) {
+            CacheInvalidationJobResponse job = invalidationService.getJob(jobId).orElseThrow();
+            if (job.getFinishedAt() != null) {
+                return job;
+            }
+            Thread.sleep(10);
+        }
+        fail("Job did not finish: " + jobId);
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Cursor<String> cursor(List<String> keys) {
+        Iterator<String> it = keys.iterator();
+        Cursor<String> cursor = mock(Cursor.class);
+        lenient().when(cursor.hasNext()).thenAnswer(invocation -> it.hasNext());
+        lenient().when(cursor.next()).thenAnswer(invocation -> it.next());
+        return cursor;
+    }
+}
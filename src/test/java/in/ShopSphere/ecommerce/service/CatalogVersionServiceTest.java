@@ -0,0 +1,100 @@
+package in.ShopSphere.ecommerce.service;
+
+import in.ShopSphere.ecommerce.dto.common.CatalogVersion;
+import in.ShopSphere.ecommerce.dto.product.ProductResponse;
+import in.ShopSphere.ecommerce.event.CategoryChangedEvent;
+import in.ShopSphere.ecommerce.event.ProductBatchChangedEvent;
+import in.ShopSphere.ecommerce.event.ProductChangedEvent;
+import in.ShopSphere.ecommerce.service.impl.CatalogVersionServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CatalogVersionServiceTest {
+
+    @Mock
+    private RedisTemplate<String, Object> redisTemplate;
+
+    @Mock
+    private ValueOperations<String, Object> valueOperations;
+
+    private final Map<String, Object> redis = new HashMap<>();
+
+    private CatalogVersionServiceImpl versionService;
+
+    @BeforeEach
+    void setUp() {
+        versionService = new CatalogVersionServiceImpl(redisTemplate);
+        lenient().when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        lenient().when(valueOperations.get(anyString())).thenAnswer(invocation -> redis.get(invocation.<String>getArgument(0)));
+        lenient().when(valueOperations.setIfAbsent(anyString(), any())).thenAnswer(invocation ->
+            redis.putIfAbsent(invocation.getArgument(0), invocation.getArgument(1)) == null);
+        lenient().when(valueOperations.increment(anyString())).thenAnswer(invocation ->
+            (Long) redis.merge(invocation.getArgument(0), 1L, (a, b) -> ((Number) a).longValue() + 1));
+    }
+
+    @Test
+    void testGetProductVersion_FollowsTheServedResponse() {
+        // Every node serving the same response agrees on the stamp
+        CatalogVersion first = versionService.getProductVersion(response("p-1", 10));
+        assertEquals(first.getEtag(), versionService.getProductVersion(response("p-1", 10)).getEtag());
+        assertTrue(first.getEtag().startsWith("W/\"p-1-"));
+        assertEquals(-1, first.getLastModified());
+
+        // An order moves the stock and with it the stamp
+        assertNotEquals(first.getEtag(), versionService.getProductVersion(response("p-1", 8)).getEtag());
+        assertNull(versionService.getProductVersion(null));
+        verifyNoInteractions(redisTemplate);
+    }
+
+    @Test
+    void testListVersions_MoveOnlyWithTheirEvents() {
+        String products = versionService.getProductListVersion().getEtag();
+        String categories = versionService.getCategoryVersion().getEtag();
+        assertEquals(products, versionService.getProductListVersion().getEtag());
+
+        versionService.onProductChanged(new ProductChangedEvent("p-1", ProductChangedEvent.ChangeType.CREATED));
+        assertNotEquals(products, versionService.getProductListVersion().getEtag());
+        assertEquals(categories, versionService.getCategoryVersion().getEtag());
+
+        // Bulk writes publish batch events
+        products = versionService.getProductListVersion().getEtag();
+        versionService.onProductsChanged(new ProductBatchChangedEvent(List.of("p-1"), Set.of(), Set.of()));
+        assertNotEquals(products, versionService.getProductListVersion().getEtag());
+
+        // Listings embed category names, so a category change moves both
+        products = versionService.getProductListVersion().getEtag();
+        versionService.onCategoryChanged(new CategoryChangedEvent("c-1"));
+        assertNotEquals(products, versionService.getProductListVersion().getEtag());
+        assertNotEquals(categories, versionService.getCategoryVersion().getEtag());
+        assertEquals(-1, versionService.getCategoryVersion().getLastModified());
+
+        // Without Redis there is nothing to validate against
+        when(redisTemplate.opsForValue()).thenThrow(new IllegalStateException("redis down"));
+        assertNull(versionService.getProductListVersion());
+    }
+
+    private static ProductResponse response(String id, int stockQuantity) {
+        ProductResponse response = new ProductResponse();
+        response.setId(id);
+        response.setName("Phone");
+        response.setPrice(new BigDecimal("999.00"));
+        response.setStockQuantity(stockQuantity);
+        return response;
+    }
+}
@@ -0,0 +1,149 @@
+package in.ShopSphere.ecommerce.service;
+
+import in.ShopSphere.ecommerce.dto.product.BulkProductUpdateRequest;
+import in.ShopSphere.ecommerce.dto.product.BulkProductUpdateRequest.Item;
+import in.ShopSphere.ecommerce.dto.product.BulkProductUpdateRequest.Operation;
+import in.ShopSphere.ecommerce.dto.product.BulkProductUpdateResponse;
+import in.ShopSphere.ecommerce.event.ProductBatchChangedEvent;
+import in.ShopSphere.ecommerce.model.entity.User;
+import in.ShopSphere.ecommerce.model.entity.UserRole;
+import in.ShopSphere.ecommerce.repository.ProductRepository;
+import in.ShopSphere.ecommerce.repository.UserRepository;
+import in.ShopSphere.ecommerce.service.impl.ProductBulkServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductBulkServiceTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private CacheManager cacheManager;
+
+    @Mock
+    private CacheTagService cacheTagService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private ProductBulkServiceImpl bulkService;
+
+    @BeforeEach
+    void setUp() {
+        bulkService = new ProductBulkServiceImpl(productRepository, userRepository, jdbcTemplate, cacheManager, cacheTagService, eventPublisher);
+
+        User seller = new User();
+        seller.setId("seller-1");
+        seller.setRole(UserRole.SELLER);
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(seller, null, List.of()));
+
+        when(productRepository.findBulkTargets(anyCollection())).thenReturn(List.of(
+            target("p-1", "seller-1", "SKU-1"),
+            target("p-2", "seller-1", "SKU-2"),
+            target("p-3", "seller-2", "SKU-3")
+        ));
+        // Every bound row reports one updated row
+        lenient().when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+            .thenAnswer(invocation -> {
+                Collection<?> rows = invocation.getArgument(1);
+                int[] counts = new int[rows.size()];
+                Arrays.fill(counts, 1);
+                return new int[][]{counts};
+            });
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void testBulkUpdate_ReportsPerItemResultsInRequestOrder() {
+        BulkProductUpdateRequest request = new BulkProductUpdateRequest();
+        request.setItems(List.of(
+            new Item("p-1", Operation.PRICE, new BigDecimal("10.00"), new BigDecimal("8.00"), null, null, null),
+            new Item("p-2", Operation.STOCK, null, null, -1, null, null),
+            new Item("p-3", Operation.STATUS, null, null, null, false, null),
+            new Item("missing", Operation.FEATURED, null, null, null, null, true),
+            new Item("p-2", Operation.FEATURED, null, null, null, null, true)
+        ));
+
+        BulkProductUpdateResponse response = bulkService.bulkUpdate(request);
+
+        assertEquals(5, response.getRequested());
+        assertEquals(2, response.getUpdated());
+        assertEquals(3, response.getFailed());
+        assertTrue(response.getResults().get(0).isSuccess());
+        assertEquals("Stock quantity cannot be negative", response.getResults().get(1).getMessage());
+        assertEquals("You can only update your own products", response.getResults().get(2).getMessage());
+        assertEquals("Product not found", response.getResults().get(3).getMessage());
+        assertTrue(response.getResults().get(4).isSuccess());
+    }
+
+    @Test
+    void testBulkUpdate_OneBatchPerOperationAndOneEvent() {
+        BulkProductUpdateRequest request = new BulkProductUpdateRequest();
+        request.setItems(List.of(
+            new Item("p-1", Operation.STOCK, null, null, 5, null, null),
+            new Item("p-2", Operation.STOCK, null, null, 0, null, null)
+        ));
+
+        bulkService.bulkUpdate(request);
+
+        verify(jdbcTemplate, times(1)).batchUpdate(startsWith("UPDATE products SET stock_quantity"),
+            argThat((Collection<Integer> rows) -> rows.size() == 2), anyInt(), any(ParameterizedPreparedStatementSetter.class));
+        ArgumentCaptor<ProductBatchChangedEvent> event = ArgumentCaptor.forClass(ProductBatchChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(Set.of("p-1", "p-2"), Set.copyOf(event.getValue().getProductIds()));
+        assertEquals(Set.of("SKU-1", "SKU-2"), event.getValue().getSkus());
+        assertEquals(Set.of("seller-1"), event.getValue().getSellerIds());
+    }
+
+    private ProductRepository.BulkTarget target(String id, String sellerId, String sku) {
+        return new ProductRepository.BulkTarget() {
+            @Override
+            public String getId() {
+                return id;
+            }
+
+            @Override
+            public String getSellerId() {
+                return sellerId;
+            }
+
+            @Override
+            public String getSku() {
+                return sku;
+            }
+        };
+    }
+}
@@ -0,0 +1,141 @@
+package in.ShopSphere.ecommerce.service;
+
+import in.ShopSphere.ecommerce.dto.common.PaginationResponse;
+import in.ShopSphere.ecommerce.dto.product.ProductResponse;
+import in.ShopSphere.ecommerce.event.ProductStockChangedEvent;
+import in.ShopSphere.ecommerce.mapper.ProductMapperImpl;
+import in.ShopSphere.ecommerce.model.entity.Category;
+import in.ShopSphere.ecommerce.model.entity.Product;
+import in.ShopSphere.ecommerce.repository.ProductRepository;
+import in.ShopSphere.ecommerce.service.impl.ProductCatalogSnapshotServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductCatalogSnapshotServiceTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    private ProductCatalogSnapshotServiceImpl snapshotService;
+
+    private final Map<String, Product> stored = new HashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        snapshotService = new ProductCatalogSnapshotServiceImpl(productRepository, new ProductMapperImpl());
+
+        Category phones = category("c-1", "Phones");
+        Category laptops = category("c-2", "Laptops");
+        store(product("p-1", phones, "999.00", null, "4.60", 10, 1));
+        store(product("p-2", phones, "199.99", "149.99", "4.10", 2, 2));
+        store(product("p-3", laptops, "1499.00", null, "4.80", 3, 3));
+
+        when(productRepository.findByIsActiveTrue()).thenReturn(new ArrayList<>(stored.values()));
+        // Hand rows back in a different order to check that pages keep snapshot order
+        lenient().when(productRepository.findAllById(anyCollection())).thenAnswer(invocation -> found(invocation.getArgument(0)));
+        lenient().when(productRepository.findListingByIdIn(anyCollection())).thenAnswer(invocation -> found(invocation.getArgument(0)));
+        snapshotService.rebuildSnapshot();
+    }
+
+    @Test
+    void testFilters_ScanColumnsAndKeepNewestFirst() {
+        PaginationResponse<ProductResponse> byPrice = snapshotService.findByPriceRange(
+            new BigDecimal("199.99"), new BigDecimal("999.00"), PageRequest.of(0, 10));
+        assertEquals(List.of("p-1", "p-2"), ids(byPrice.getData()));
+
+        PaginationResponse<ProductResponse> byRating = snapshotService.findByMinRating(4.6, PageRequest.of(0, 1));
+        assertEquals(2, byRating.getPagination().getTotal());
+        assertEquals(List.of("p-1"), ids(byRating.getData()));
+
+        assertEquals(List.of("p-1", "p-2"), ids(snapshotService.findByCategory("c-1", PageRequest.of(0, 10)).getData()));
+        assertTrue(snapshotService.findByCategory("unknown", PageRequest.of(0, 10)).getData().isEmpty());
+    }
+
+    @Test
+    void testRefreshProducts_PatchesChangedRowsOnly() {
+        Product updated = stored.get("p-1");
+        updated.setStockQuantity(0);
+        Product deactivated = stored.get("p-3");
+        deactivated.setIsActive(false);
+        store(product("p-4", category("c-3", "Tablets"), "499.00", null, "0.00", 1, 4));
+
+        snapshotService.refreshProducts(List.of("p-1", "p-3", "p-4"));
+
+        assertEquals(List.of("p-4", "p-1", "p-2"), ids(snapshotService.findLowStock()));
+        assertEquals(List.of("p-1", "p-2"), ids(snapshotService.findByMinRating(4.0, PageRequest.of(0, 10)).getData()));
+        assertEquals(List.of("p-4"), ids(snapshotService.findByCategory("c-3", PageRequest.of(0, 10)).getData()));
+        verify(productRepository, times(1)).findByIsActiveTrue();
+    }
+
+    @Test
+    void testOnStockChanged_OrderStockChangesMoveTheLowStockView() {
+        assertEquals(List.of("p-2"), ids(snapshotService.findLowStock()));
+
+        // Placing an order for 8 of p-1 leaves it at its minimum stock level
+        Product ordered = stored.get("p-1");
+        ordered.decreaseStock(8);
+        snapshotService.onStockChanged(ProductStockChangedEvent.of(List.of(ordered)));
+        assertEquals(List.of("p-1", "p-2"), ids(snapshotService.findLowStock()));
+
+        // Cancelling it puts the stock back
+        ordered.increaseStock(8);
+        snapshotService.onStockChanged(ProductStockChangedEvent.of(List.of(ordered)));
+        assertEquals(List.of("p-2"), ids(snapshotService.findLowStock()));
+    }
+
+    private List<Product> found(Collection<String> ids) {
+        List<Product> found = ids.stream().map(stored::get).filter(p -> p != null).collect(Collectors.toList());
+        Collections.reverse(found);
+        return found;
+    }
+
+    private void store(Product product) {
+        stored.put(product.getId(), product);
+    }
+
+    private static List<String> ids(List<ProductResponse> responses) {
+        return responses.stream().map(ProductResponse::getId).collect(Collectors.toList());
+    }
+
+    private static Category category(String id, String name) {
+        Category category = new Category();
+        category.setId(id);
+        category.setName(name);
+        return category;
+    }
+
+    private static Product product(String id, Category category, String price, String salePrice,
+                                   String rating, int stock, int ageDays) {
+        Product product = new Product();
+        product.setId(id);
+        product.setName(id);
+        product.setCategory(category);
+        product.setPrice(new BigDecimal(price));
+        product.setSalePrice(salePrice != null ? new BigDecimal(salePrice) : null);
+        product.setRating(new BigDecimal(rating));
+        product.setStockQuantity(stock);
+        product.setMinStockLevel(2);
+        product.setIsActive(true);
+        product.setCreatedAt(LocalDateTime.now().minusDays(ageDays));
+        return product;
+    }
+}
@@ -0,0 +1,103 @@
+package in.ShopSphere.ecommerce.service;
+
+import in.ShopSphere.ecommerce.config.ProductCounterProperties;
+import in.ShopSphere.ecommerce.event.ProductPopularityChangedEvent;
+import in.ShopSphere.ecommerce.service.ProductCounterService.Signal;
+import in.ShopSphere.ecommerce.service.impl.ProductCounterServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductCounterServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private ProductCounterServiceImpl counterService;
+
+    @BeforeEach
+    void setUp() {
+        counterService = new ProductCounterServiceImpl(jdbcTemplate, eventPublisher, new ProductCounterProperties());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testFlush_WritesConcurrentIncrementsAsOneBatch() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 8_000; i++) {
+            String productId = i % 2 == 0 ? "p-1" : "p-2";
+            executor.submit(() -> counterService.increment(productId, Signal.VIEW));
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        counterService.increment("p-2", Signal.PURCHASE, 3);
+
+        assertEquals(4_000, counterService.getCount("p-1", Signal.VIEW));
+        assertEquals(2, counterService.flush());
+
+        ArgumentCaptor<List<Object>> batch = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(1)).batchUpdate(anyString(), batch.capture(), anyInt(),
+            any(ParameterizedPreparedStatementSetter.class));
+        assertEquals(2, batch.getValue().size());
+
+        // Flushed deltas move into the totals; nothing is written twice
+        assertEquals(4_000, counterService.getCount("p-1", Signal.VIEW));
+        assertEquals(3, counterService.getCount("p-2", Signal.PURCHASE));
+        assertEquals(0, counterService.flush());
+        verify(jdbcTemplate, times(1)).batchUpdate(anyString(), anyList(), anyInt(),
+            any(ParameterizedPreparedStatementSetter.class));
+
+        ArgumentCaptor<ProductPopularityChangedEvent> event = ArgumentCaptor.forClass(ProductPopularityChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(List.of("p-1", "p-2"), event.getValue().getProductIds().stream().sorted().toList());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testFlush_KeepsDeltasWhenTheWriteFails() {
+        counterService.increment("p-1", Signal.VIEW, 10);
+        counterService.increment("p-2", Signal.PURCHASE);
+        counterService.increment("p-3", Signal.ADD_TO_CART);
+
+        // One purchase (20) outweighs ten views (10) and a cart add (5)
+        assertEquals(List.of("p-2", "p-1", "p-3"), counterService.getMostPopular(5));
+        assertEquals(List.of("p-2"), counterService.getMostPopular(1));
+        assertEquals(0.0, counterService.getPopularity("p-404"));
+
+        when(jdbcTemplate.batchUpdate(anyString(), anyList(), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+            .thenThrow(new DataAccessResourceFailureException("connection refused"))
+            .thenReturn(new int[0][]);
+        assertEquals(0, counterService.flush());
+        assertEquals(10, counterService.getCount("p-1", Signal.VIEW));
+        verifyNoInteractions(eventPublisher);
+
+        counterService.increment("p-1", Signal.VIEW);
+        assertEquals(3, counterService.flush());
+        ArgumentCaptor<List<Object>> batch = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(2)).batchUpdate(anyString(), batch.capture(), anyInt(),
+            any(ParameterizedPreparedStatementSetter.class));
+        assertEquals(3, new ArrayList<>(batch.getValue()).size());
+        assertEquals(11, counterService.getCount("p-1", Signal.VIEW));
+    }
+}
@@ -0,0 +1,78 @@
+package in.ShopSphere.ecommerce.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import in.ShopSphere.ecommerce.dto.product.ProductExportRow;
+import in.ShopSphere.ecommerce.repository.ProductRepository;
+import in.ShopSphere.ecommerce.service.impl.ProductExportServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductExportServiceTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    private ProductExportServiceImpl exportService;
+
+    private final AtomicBoolean cursorClosed = new AtomicBoolean();
+
+    @BeforeEach
+    void setUp() {
+        exportService = new ProductExportServiceImpl(productRepository, new ObjectMapper().registerModule(new JavaTimeModule()));
+
+        LocalDateTime updated = LocalDateTime.of(2025, 3, 1, 12, 30);
+        Stream<ProductExportRow> rows = Stream.of(
+            new ProductExportRow("p-1", "SKU-1", null, "Phone, 128GB", "Acme", "Phones", "s-1",
+                new BigDecimal("999.00"), null, 10, new BigDecimal("4.50"), 12, true, updated),
+            new ProductExportRow("p-2", "SKU-2", "0123", "The \"Pro\" laptop", "Acme", "Laptops", "s-1",
+                new BigDecimal("1499.00"), new BigDecimal("1299.00"), 0, BigDecimal.ZERO, 0, false, updated)
+        ).onClose(() -> cursorClosed.set(true));
+        when(productRepository.streamActiveForExport()).thenReturn(rows);
+    }
+
+    @Test
+    void testExport_NdjsonWritesOneObjectPerLine() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long rows = exportService.exportActiveProducts(ProductExportService.Format.NDJSON, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n", -1);
+        assertEquals(2, rows);
+        assertEquals(3, lines.length);
+        assertEquals("", lines[2]);
+        JsonNode second = new ObjectMapper().readTree(lines[1]);
+        assertEquals("The \"Pro\" laptop", second.get("name").asText());
+        assertEquals(1299.00, second.get("salePrice").asDouble());
+        assertTrue(cursorClosed.get());
+    }
+
+    @Test
+    void testExport_CsvQuotesOnlyWhenNeeded() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        exportService.exportActiveProducts(ProductExportService.Format.CSV, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(3, lines.length);
+        assertTrue(lines[0].startsWith("id,sku,barcode,name,"));
+        assertEquals("p-1,SKU-1,,\"Phone, 128GB\",Acme,Phones,s-1,999.00,,10,4.50,12,true,2025-03-01 12:30:00", lines[1]);
+        assertTrue(lines[2].startsWith("p-2,SKU-2,0123,\"The \"\"Pro\"\" laptop\",Acme,"));
+        assertTrue(cursorClosed.get());
+    }
+}
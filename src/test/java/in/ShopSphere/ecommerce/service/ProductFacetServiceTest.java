@@ -0,0 +1,114 @@
+package in.ShopSphere.ecommerce.service;
+
+import in.ShopSphere.ecommerce.dto.product.FacetSearchRequest;
+import in.ShopSphere.ecommerce.dto.product.FacetSearchResponse;
+import in.ShopSphere.ecommerce.mapper.ProductMapperImpl;
+import in.ShopSphere.ecommerce.model.entity.Category;
+import in.ShopSphere.ecommerce.model.entity.Product;
+import in.ShopSphere.ecommerce.repository.ProductRepository;
+import in.ShopSphere.ecommerce.service.impl.ProductFacetServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductFacetServiceTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private ProductSearchService productSearchService;
+
+    private ProductFacetServiceImpl facetService;
+
+    private Product phone;
+
+    @BeforeEach
+    void setUp() {
+        facetService = new ProductFacetServiceImpl(productRepository, new ProductMapperImpl(), productSearchService);
+
+        Category phones = category("Phones");
+        Category laptops = category("Laptops");
+        phone = product("p-1", "Apple", phones, "999.00", "4.60", 10);
+        Product budgetPhone = product("p-2", "Xiaomi", phones, "199.00", "4.10", 0);
+        Product laptop = product("p-3", "Apple", laptops, "1499.00", "4.80", 3);
+
+        when(productRepository.findByIsActiveTrue()).thenReturn(List.of(phone, budgetPhone, laptop));
+        lenient().when(productRepository.findListingByIdIn(anyList())).thenReturn(List.of(phone, budgetPhone, laptop));
+        facetService.rebuildFacets();
+    }
+
+    @Test
+    void testSearch_CountsIgnoreOwnFacetSelection() {
+        FacetSearchRequest request = new FacetSearchRequest();
+        request.setBrands(List.of("Apple"));
+
+        FacetSearchResponse response = facetService.search(request, PageRequest.of(0, 10));
+
+        assertEquals(2, response.getResults().getPagination().getTotal());
+        // Brand counts are computed without the brand filter, the rest with it
+        assertEquals(2L, response.getFacets().get("brand").get("Apple"));
+        assertEquals(1L, response.getFacets().get("brand").get("Xiaomi"));
+        assertEquals(1L, response.getFacets().get("category").get("Phones"));
+        assertEquals(1L, response.getFacets().get("price").get("1000+"));
+        assertFalse(response.getFacets().get("stock").containsKey("out_of_stock"));
+    }
+
+    @Test
+    void testSearch_AndAcrossFacetsWithTextQuery() {
+        when(productSearchService.findMatchingIds("phone")).thenReturn(Set.of("p-1", "p-2"));
+        FacetSearchRequest request = new FacetSearchRequest();
+        request.setQuery("phone");
+        request.setInStock(true);
+
+        FacetSearchResponse response = facetService.search(request, PageRequest.of(0, 10));
+
+        assertEquals(1, response.getResults().getPagination().getTotal());
+        assertEquals("p-1", response.getResults().getData().get(0).getId());
+    }
+
+    @Test
+    void testRefreshProduct_MovesProductBetweenBuckets() {
+        phone.setStockQuantity(0);
+        when(productRepository.findById("p-1")).thenReturn(Optional.of(phone));
+
+        facetService.refreshProduct("p-1");
+        FacetSearchResponse response = facetService.search(new FacetSearchRequest(), PageRequest.of(0, 10));
+
+        assertEquals(2L, response.getFacets().get("stock").get("out_of_stock"));
+        assertEquals(1L, response.getFacets().get("stock").get("in_stock"));
+    }
+
+    private Category category(String name) {
+        Category category = new Category();
+        category.setId(name.toLowerCase());
+        category.setName(name);
+        return category;
+    }
+
+    private Product product(String id, String brand, Category category, String price, String rating, int stock) {
+        Product product = new Product();
+        product.setId(id);
+        product.setName(brand + " " + id);
+        product.setBrand(brand);
+        product.setCategory(category);
+        product.setPrice(new BigDecimal(price));
+        product.setRating(new BigDecimal(rating));
+        product.setStockQuantity(stock);
+        product.setIsActive(true);
+        return product;
+    }
+}
@@ -0,0 +1,118 @@
+package in.ShopSphere.ecommerce.service;
+
+import in.ShopSphere.ecommerce.event.ProductChangedEvent;
+import in.ShopSphere.ecommerce.repository.ProductRepository;
+import in.ShopSphere.ecommerce.service.impl.ProductIdentifierFilterServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Map;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductIdentifierFilterServiceTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private RedisTemplate<String, Object> redisTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ProductIdentifierFilterServiceImpl filterService;
+
+    @BeforeEach
+    void setUp() {
+        filterService = new ProductIdentifierFilterServiceImpl(
+            productRepository, redisTemplate, new SimpleMeterRegistry(), transactionManager, 1000, 0.01, false);
+    }
+
+    @Test
+    void testSkuExists_OnlyProbableHitsReachTheDatabase() {
+        // Until the filter is built every check goes to the database
+        when(productRepository.existsBySku("SKU-1")).thenReturn(true);
+        assertTrue(filterService.skuExists("SKU-1"));
+
+        when(productRepository.count()).thenReturn(2L);
+        when(productRepository.streamAllSkus()).thenReturn(Stream.of("SKU-1", "SKU-2"));
+        when(productRepository.streamAllBarcodes()).thenReturn(Stream.of("0123"));
+        assertEquals(3, filterService.rebuildFilter());
+
+        assertTrue(filterService.skuExists("SKU-1"));
+        assertFalse(filterService.skuExists("SKU-404"));
+        assertFalse(filterService.barcodeExists("SKU-1"));
+        verify(productRepository, times(2)).existsBySku("SKU-1");
+        verify(productRepository, never()).existsBySku("SKU-404");
+        verify(productRepository, never()).existsByBarcode(anyString());
+
+        // Saved after the build, so it has to be recorded to be seen
+        filterService.recordIdentifiers("SKU-3", null);
+        when(productRepository.existsBySku("SKU-3")).thenReturn(true);
+        assertTrue(filterService.skuExists("SKU-3"));
+
+        Map<String, Object> stats = filterService.getStats();
+        assertEquals(true, stats.get("ready"));
+        assertEquals(2L, stats.get("definiteMisses"));
+        assertEquals(2L, stats.get("confirmedHits"));
+        assertEquals(1L, stats.get("unfiltered"));
+        assertEquals(1L, stats.get("rebuilds"));
+        verifyNoInteractions(redisTemplate);
+    }
+
+    @Test
+    void testSkuExists_FalsePositivesStayNearConfiguredRate() {
+        when(productRepository.count()).thenReturn(250L);
+        when(productRepository.streamAllSkus())
+            .thenReturn(IntStream.range(0, 1000).mapToObj(i -> "SKU-" + i));
+        when(productRepository.streamAllBarcodes()).thenReturn(Stream.empty());
+        filterService.rebuildFilter();
+
+        for (int i = 0; i < 10_000; i++) {
+            assertFalse(filterService.skuExists("NEW-" + i));
+        }
+
+        // Configured for 1%, so well under 3% of unused SKUs should have cost a query
+        Map<String, Object> stats = filterService.getStats();
+        long falsePositives = (long) stats.get("falsePositives");
+        assertTrue(falsePositives < 300, "false positives: " + falsePositives);
+        assertEquals(10_000 - falsePositives, stats.get("definiteMisses"));
+        assertTrue((double) stats.get("expectedFalsePositiveRate") < 0.02);
+        verify(productRepository, times((int) falsePositives)).existsBySku(anyString());
+    }
+
+    @Test
+    void testOnProductChanged_RebuildsASaturatedFilterInTheBackground() {
+        when(productRepository.count()).thenReturn(1L);
+        when(productRepository.streamAllSkus())
+            .thenReturn(Stream.of("SKU-1"))
+            .thenReturn(IntStream.range(0, 1001).mapToObj(i -> "SKU-" + i));
+        when(productRepository.streamAllBarcodes()).thenAnswer(invocation -> Stream.empty());
+        filterService.rebuildFilter();
+
+        // Below capacity nothing happens
+        filterService.onProductChanged(new ProductChangedEvent("p-1", ProductChangedEvent.ChangeType.CREATED));
+        verify(productRepository, times(1)).streamAllSkus();
+
+        IntStream.range(0, 1100).forEach(i -> filterService.recordIdentifiers("NEW-" + i, null));
+        when(productRepository.count()).thenReturn(1001L);
+        filterService.onProductChanged(new ProductChangedEvent("p-1", ProductChangedEvent.ChangeType.CREATED));
+
+        verify(productRepository, timeout(5000).times(2)).streamAllSkus();
+        verify(transactionManager, timeout(5000)).commit(any());
+        assertEquals(4004L, filterService.getStats().get("capacity"));
+        filterService.shutdown();
+    }
+}
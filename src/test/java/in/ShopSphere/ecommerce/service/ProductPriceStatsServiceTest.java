@@ -0,0 +1,90 @@
+package in.ShopSphere.ecommerce.service;
+
+import in.ShopSphere.ecommerce.dto.common.SearchFilters;
+import in.ShopSphere.ecommerce.dto.product.PriceStatsResponse;
+import in.ShopSphere.ecommerce.repository.CategoryRepository;
+import in.ShopSphere.ecommerce.service.impl.ProductPriceStatsServiceImpl;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductPriceStatsServiceTest {
+
+    @Mock
+    private ProductCatalogSnapshotService catalogSnapshot;
+
+    @Mock
+    private CategoryRepository categoryRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    private ProductPriceStatsServiceImpl priceStatsService;
+
+    @BeforeEach
+    void setUp() {
+        priceStatsService = new ProductPriceStatsServiceImpl(catalogSnapshot, categoryRepository, entityManager);
+    }
+
+    @Test
+    void testGetPriceStats_BucketsAndPercentilesFromSnapshot() {
+        when(catalogSnapshot.isReady()).thenReturn(true);
+        when(categoryRepository.findByName("Phones")).thenReturn(Optional.empty());
+        // Snapshot order is not price order
+        when(catalogSnapshot.findCurrentPriceCents(eq("Phones"), isNull(), eq(new BigDecimal("500.0")), isNull(), eq(true)))
+            .thenReturn(new long[] {45000, 1000, 9999, 20000, 1000, 30000, 5000, 15000, 12000, 25000});
+
+        SearchFilters filters = SearchFilters.builder().category("Phones").maxPrice(500.0).inStock(true).build();
+        PriceStatsResponse stats = priceStatsService.getPriceStats(filters, 4);
+
+        assertEquals(10, stats.getCount());
+        assertEquals(new BigDecimal("10.00"), stats.getMin());
+        assertEquals(new BigDecimal("450.00"), stats.getMax());
+        assertEquals(new BigDecimal("164.00"), stats.getAverage());
+        assertEquals(new BigDecimal("50.00"), stats.getP25());
+        assertEquals(new BigDecimal("120.00"), stats.getMedian());
+        assertEquals(new BigDecimal("250.00"), stats.getP75());
+        assertEquals(new BigDecimal("300.00"), stats.getP90());
+
+        // Width 110.01, so four buckets span 10.00 to 450.00
+        assertEquals(List.of(5L, 2L, 2L, 1L),
+            stats.getBuckets().stream().map(PriceStatsResponse.Bucket::getCount).collect(Collectors.toList()));
+        assertEquals(new BigDecimal("120.01"), stats.getBuckets().get(1).getFrom());
+        assertEquals(new BigDecimal("450.00"), stats.getBuckets().get(3).getTo());
+        verifyNoInteractions(entityManager);
+    }
+
+    @Test
+    void testCacheKey_EquivalentFiltersShareAnEntry() {
+        SearchFilters plain = SearchFilters.builder().category("Phones").minPrice(10.0).searchTerm("pixel").build();
+        SearchFilters spelledDifferently = SearchFilters.builder()
+            .category(" Phones ").minPrice(10.00).searchTerm("  PIXEL ").inStock(false).build();
+
+        assertEquals(ProductPriceStatsServiceImpl.cacheKey(plain, 10),
+            ProductPriceStatsServiceImpl.cacheKey(spelledDifferently, 10));
+        assertEquals(ProductPriceStatsServiceImpl.cacheKey(plain, 50),
+            ProductPriceStatsServiceImpl.cacheKey(plain, 500));
+        assertNotEquals(ProductPriceStatsServiceImpl.cacheKey(plain, 10),
+            ProductPriceStatsServiceImpl.cacheKey(SearchFilters.builder().category("phones").minPrice(10.0).searchTerm("pixel").build(), 10));
+
+        when(catalogSnapshot.isReady()).thenReturn(true);
+        when(catalogSnapshot.findCurrentPriceCents(isNull(), isNull(), isNull(), isNull(), eq(false))).thenReturn(new long[0]);
+        PriceStatsResponse empty = priceStatsService.getPriceStats(new SearchFilters(), 10);
+        assertEquals(0, empty.getCount());
+        assertNull(empty.getMin());
+        assertTrue(empty.getBuckets().isEmpty());
+    }
+}
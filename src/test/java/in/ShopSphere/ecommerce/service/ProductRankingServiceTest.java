@@ -0,0 +1,106 @@
+package in.ShopSphere.ecommerce.service;
+
+import in.ShopSphere.ecommerce.dto.product.ProductResponse;
+import in.ShopSphere.ecommerce.mapper.ProductMapperImpl;
+import in.ShopSphere.ecommerce.model.entity.Product;
+import in.ShopSphere.ecommerce.repository.ProductRepository;
+import in.ShopSphere.ecommerce.service.impl.ProductRankingServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductRankingServiceTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private ProductCounterService productCounterService;
+
+    private ProductRankingServiceImpl rankingService;
+
+    @BeforeEach
+    void setUp() {
+        rankingService = new ProductRankingServiceImpl(productRepository, new ProductMapperImpl(), productCounterService);
+    }
+
+    @Test
+    void testRefreshProducts_ReordersWithoutQueryingRankings() {
+        Product phone = product("p-1", "999.00", "799.00", "4.60", 1);
+        Product laptop = product("p-2", "1499.00", null, "4.10", 2);
+        Product tablet = product("p-3", "499.00", "449.00", "3.90", 3);
+        seed(List.of(phone, laptop, tablet), List.of(phone, laptop, tablet), List.of(phone, tablet));
+
+        assertEquals(List.of("p-1", "p-2", "p-3"), ids(rankingService.getTopRated(10)));
+        assertEquals(List.of("p-1", "p-3"), ids(rankingService.getMostDiscounted(10)));
+
+        laptop.setRating(new BigDecimal("4.90"));
+        laptop.setSalePrice(new BigDecimal("999.00"));
+        phone.setIsActive(false);
+        when(productRepository.findAllById(anyCollection())).thenReturn(List.of(phone, laptop));
+        rankingService.refreshProducts(List.of("p-1", "p-2"));
+
+        assertEquals(List.of("p-2", "p-3"), ids(rankingService.getTopRated(10)));
+        assertEquals(List.of("p-2", "p-3"), ids(rankingService.getLatest(10)));
+        assertEquals(List.of("p-2", "p-3"), ids(rankingService.getMostDiscounted(10)));
+        verify(productRepository, times(1)).findTopRatedFirstPage(any());
+    }
+
+    @Test
+    void testRefreshProducts_ReseedsWhenRankingRunsLow() {
+        List<Product> catalog = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            catalog.add(product(String.format("p-%03d", i), "10.00", null, "4.00", i));
+        }
+        seed(catalog, catalog, List.of());
+        assertFalse(rankingService.canServe(101));
+        assertTrue(rankingService.canServe(100));
+
+        List<Product> removed = catalog.subList(0, 101);
+        removed.forEach(p -> p.setIsActive(false));
+        when(productRepository.findAllById(anyCollection())).thenReturn(removed);
+        rankingService.refreshProducts(removed.stream().map(Product::getId).collect(Collectors.toList()));
+
+        // 99 known products are fewer than a full request, so both full rankings reload
+        verify(productRepository, times(2)).findTopRatedFirstPage(any());
+        verify(productRepository, times(2)).findLatestFirstPage(any());
+        verify(productRepository, times(1)).findMostDiscounted(any());
+    }
+
+    private void seed(List<Product> topRated, List<Product> latest, List<Product> discounted) {
+        when(productRepository.findTopRatedFirstPage(any())).thenReturn(topRated);
+        when(productRepository.findLatestFirstPage(any())).thenReturn(latest);
+        when(productRepository.findMostDiscounted(any())).thenReturn(discounted);
+        rankingService.reseed();
+    }
+
+    private static List<String> ids(List<ProductResponse> responses) {
+        return responses.stream().map(ProductResponse::getId).collect(Collectors.toList());
+    }
+
+    private static Product product(String id, String price, String salePrice, String rating, int ageDays) {
+        Product product = new Product();
+        product.setId(id);
+        product.setName(id);
+        product.setPrice(new BigDecimal(price));
+        product.setSalePrice(salePrice != null ? new BigDecimal(salePrice) : null);
+        product.setRating(new BigDecimal(rating));
+        product.setReviewCount(0);
+        product.setIsActive(true);
+        product.setCreatedAt(LocalDateTime.now().minusDays(ageDays));
+        return product;
+    }
+}
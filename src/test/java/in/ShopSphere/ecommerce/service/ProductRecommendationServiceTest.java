@@ -0,0 +1,185 @@
+package in.ShopSphere.ecommerce.service;
+
+import in.ShopSphere.ecommerce.config.RecommendationProperties;
+import in.ShopSphere.ecommerce.dto.product.CoOccurrenceRefreshResponse;
+import in.ShopSphere.ecommerce.dto.product.ProductResponse;
+import in.ShopSphere.ecommerce.model.entity.JobCheckpoint;
+import in.ShopSphere.ecommerce.model.entity.OrderStatus;
+import in.ShopSphere.ecommerce.repository.JobCheckpointRepository;
+import in.ShopSphere.ecommerce.repository.OrderRepository;
+import in.ShopSphere.ecommerce.repository.ProductCoOccurrenceRepository;
+import in.ShopSphere.ecommerce.repository.ProductRepository;
+import in.ShopSphere.ecommerce.service.impl.ProductRecommendationServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+
+import java.sql.PreparedStatement;
+import java.sql.Types;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductRecommendationServiceTest {
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private ProductCoOccurrenceRepository coOccurrenceRepository;
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private JobCheckpointRepository checkpointRepository;
+
+    @Mock
+    private ProductService productService;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private RedisTemplate<String, Object> redisTemplate;
+
+    @Mock
+    private ValueOperations<String, Object> valueOperations;
+
+    private ProductRecommendationServiceImpl recommendationService;
+
+    @BeforeEach
+    void setUp() {
+        recommendationService = new ProductRecommendationServiceImpl(orderRepository, coOccurrenceRepository,
+            productRepository, checkpointRepository, productService, jdbcTemplate, redisTemplate,
+            new RecommendationProperties());
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        // Run pipelines straight against the mocked template
+        lenient().when(redisTemplate.executePipelined(any(SessionCallback.class))).thenAnswer(invocation -> {
+            invocation.<SessionCallback<Object>>getArgument(0).execute(redisTemplate);
+            return List.of();
+        });
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testRefreshCoOccurrences_CountsPairsPerOrderAndAdvancesCheckpoint() throws Exception {
+        LocalDateTime start = LocalDateTime.of(2025, 1, 1, 0, 0);
+        JobCheckpoint checkpoint = new JobCheckpoint("product-co-occurrence", start, "o-0", null);
+        when(checkpointRepository.findForUpdate("product-co-occurrence")).thenReturn(Optional.of(checkpoint));
+
+        LocalDateTime first = start.plusHours(1);
+        LocalDateTime second = start.plusHours(2);
+        when(orderRepository.streamOrderProductsAfter(eq(start), eq("o-0"), any(), eq(OrderStatus.CANCELLED)))
+            .thenReturn(Stream.of(
+                row("o-1", first, "p-1"), row("o-1", first, "p-2"), row("o-1", first, "p-3"),
+                // Ordered twice in one order, still one pair
+                row("o-2", second, "p-2"), row("o-2", second, "p-1"), row("o-2", second, "p-1"),
+                row("o-3", second, "p-4")));
+
+        // Replay the batch through the statement setter to collect the upserted rows
+        Map<String, Long> upserts = new HashMap<>();
+        when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+            .thenAnswer(invocation -> {
+                Collection<Integer> rows = invocation.getArgument(1);
+                ParameterizedPreparedStatementSetter<Integer> setter = invocation.getArgument(3);
+                for (Integer row : rows) {
+                    String[] ids = new String[2];
+                    PreparedStatement ps = mock(PreparedStatement.class);
+                    doAnswer(set -> ids[(int) set.getArgument(0) - 1] = set.getArgument(1))
+                        .when(ps).setObject(anyInt(), anyString(), eq(Types.OTHER));
+                    doAnswer(set -> upserts.put(ids[0] + ">" + ids[1], set.getArgument(1)))
+                        .when(ps).setLong(eq(3), anyLong());
+                    setter.setValues(ps, row);
+                }
+                return new int[0][];
+            });
+
+        CoOccurrenceRefreshResponse result = recommendationService.refreshCoOccurrences();
+
+        assertEquals(3, result.getOrdersProcessed());
+        assertEquals(3, result.getPairsUpdated());
+        assertEquals(3, result.getProductsRefreshed());
+        assertEquals(second, result.getHighWaterMark());
+        assertEquals(Map.of("p-1>p-2", 2L, "p-2>p-1", 2L, "p-1>p-3", 1L, "p-3>p-1", 1L, "p-2>p-3", 1L, "p-3>p-2", 1L),
+            upserts);
+        assertEquals("o-3", checkpoint.getLastId());
+        verify(checkpointRepository).insertIfMissing(eq("product-co-occurrence"), any());
+        verify(checkpointRepository).save(checkpoint);
+
+        // p-4 was never bought with anything, so its list is left alone
+        ArgumentCaptor<String> written = ArgumentCaptor.forClass(String.class);
+        verify(valueOperations, times(3)).set(written.capture(), any(), eq(Duration.ofDays(7)));
+        assertEquals(
+            List.of("ecommerce:related:p-1", "ecommerce:related:p-2", "ecommerce:related:p-3"),
+            written.getAllValues().stream().sorted().toList());
+    }
+
+    @Test
+    void testGetRelatedProducts_ServesStoredListAndBackfillsMisses() {
+        ProductResponse p2 = new ProductResponse();
+        p2.setId("p-2");
+        ProductResponse p3 = new ProductResponse();
+        p3.setId("p-3");
+        when(valueOperations.get("ecommerce:related:p-1")).thenReturn(new ArrayList<>(List.of("p-2", "p-9", "p-3")));
+        // p-9 is no longer active
+        when(productService.getProductsByIds(List.of("p-2", "p-9", "p-3"))).thenReturn(List.of(p2, p3));
+
+        assertEquals(List.of(p2), recommendationService.getRelatedProducts("p-1", 1));
+        verifyNoInteractions(coOccurrenceRepository);
+
+        when(valueOperations.get("ecommerce:related:p-5")).thenReturn(null);
+        when(coOccurrenceRepository.findRelatedProductIds(eq("p-5"), any(Pageable.class))).thenReturn(List.of("p-3"));
+        when(productService.getProductsByIds(List.of("p-3"))).thenReturn(List.of(p3));
+
+        assertEquals(List.of(p3), recommendationService.getRelatedProducts("p-5", 10));
+        verify(valueOperations).set("ecommerce:related:p-5", List.of("p-3"), Duration.ofDays(7));
+
+        // Unknown ids are answered from the table every time and never stored
+        when(valueOperations.get("ecommerce:related:nope")).thenReturn(null);
+        when(coOccurrenceRepository.findRelatedProductIds(eq("nope"), any(Pageable.class))).thenReturn(List.of());
+        when(productRepository.existsById("nope")).thenReturn(false);
+
+        assertTrue(recommendationService.getRelatedProducts("nope", 10).isEmpty());
+        verify(valueOperations, never()).set(eq("ecommerce:related:nope"), any(), any(Duration.class));
+    }
+
+    private static OrderRepository.OrderProductRow row(String orderId, LocalDateTime createdAt, String productId) {
+        return new OrderRepository.OrderProductRow() {
+            @Override
+            public String getOrderId() {
+                return orderId;
+            }
+
+            @Override
+            public LocalDateTime getOrderCreatedAt() {
+                return createdAt;
+            }
+
+            @Override
+            public String getProductId() {
+                return productId;
+            }
+        };
+    }
+}
@@ -0,0 +1,125 @@
+package in.ShopSphere.ecommerce.service;
+
+import in.ShopSphere.ecommerce.dto.common.PaginationResponse;
+import in.ShopSphere.ecommerce.dto.product.ProductResponse;
+import in.ShopSphere.ecommerce.mapper.ProductMapperImpl;
+import in.ShopSphere.ecommerce.model.entity.Category;
+import in.ShopSphere.ecommerce.model.entity.Product;
+import in.ShopSphere.ecommerce.repository.ProductRepository;
+import in.ShopSphere.ecommerce.service.impl.ProductSearchServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductSearchServiceTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private ProductCounterService productCounterService;
+
+    private ProductSearchServiceImpl searchService;
+
+    private Product phone;
+    private Product phoneCase;
+    private Product laptop;
+
+    @BeforeEach
+    void setUp() {
+        searchService = new ProductSearchServiceImpl(productRepository, new ProductMapperImpl(), productCounterService);
+
+        Category electronics = new Category();
+        electronics.setId("cat-1");
+        electronics.setName("Electronics");
+
+        phone = product("p-1", "iPhone 15 Pro", "Apple", "APL-IP15", "Flagship smartphone", electronics);
+        phoneCase = product("p-2", "Leather Case", "Generic", "GEN-CASE", "Fits the iPhone 15 Pro", electronics);
+        laptop = product("p-3", "MacBook Air", "Apple", "APL-MBA", "Thin and light laptop", electronics);
+
+        when(productRepository.findByIsActiveTrue()).thenReturn(List.of(phone, phoneCase, laptop));
+        searchService.rebuildIndex();
+    }
+
+    @Test
+    void testSearch_NameMatchOutranksDescriptionMatch() {
+        PaginationResponse<ProductResponse> result = searchService.search("iphone", PageRequest.of(0, 10));
+
+        assertEquals(2, result.getPagination().getTotal());
+        assertEquals("p-1", result.getData().get(0).getId());
+        assertEquals("p-2", result.getData().get(1).getId());
+    }
+
+    @Test
+    void testSearch_PrefixAndSkuMatch() {
+        assertEquals("p-3", searchService.search("macb", PageRequest.of(0, 10)).getData().get(0).getId());
+        assertEquals("p-2", searchService.search("gen-case", PageRequest.of(0, 10)).getData().get(0).getId());
+    }
+
+    @Test
+    void testSearch_Pagination() {
+        PaginationResponse<ProductResponse> result = searchService.search("apple iphone", PageRequest.of(1, 2));
+
+        assertEquals(3, result.getPagination().getTotal());
+        assertEquals(2, result.getPagination().getTotalPages());
+        assertEquals(1, result.getData().size());
+    }
+
+    @Test
+    void testSearch_BlankQueryReturnsEveryProductByPopularity() {
+        when(productCounterService.getPopularity(anyString())).thenReturn(0.0);
+        when(productCounterService.getPopularity("p-3")).thenReturn(5.0);
+
+        PaginationResponse<ProductResponse> result = searchService.search("  ", PageRequest.of(0, 10));
+
+        assertEquals(3, result.getPagination().getTotal());
+        assertEquals("p-3", result.getData().get(0).getId());
+        assertEquals(3, searchService.findMatchingIds("").size());
+    }
+
+    @Test
+    void testRefreshProduct_DeactivatedProductIsRemoved() {
+        phone.setIsActive(false);
+        when(productRepository.findById("p-1")).thenReturn(Optional.of(phone));
+
+        searchService.refreshProduct("p-1");
+
+        assertEquals(2, searchService.getIndexedCount());
+        assertTrue(searchService.search("flagship", PageRequest.of(0, 10)).getData().isEmpty());
+    }
+
+    @Test
+    void testRefreshProduct_RenamedProductIsReindexed() {
+        laptop.setName("MacBook Pro");
+        when(productRepository.findById("p-3")).thenReturn(Optional.of(laptop));
+
+        searchService.refreshProduct("p-3");
+
+        assertTrue(searchService.search("air", PageRequest.of(0, 10)).getData().isEmpty());
+        assertEquals("p-3", searchService.search("macbook pro", PageRequest.of(0, 10)).getData().get(0).getId());
+    }
+
+    private Product product(String id, String name, String brand, String sku, String description, Category category) {
+        Product product = new Product();
+        product.setId(id);
+        product.setName(name);
+        product.setBrand(brand);
+        product.setSku(sku);
+        product.setDescription(description);
+        product.setCategory(category);
+        product.setPrice(BigDecimal.TEN);
+        product.setIsActive(true);
+        return product;
+    }
+}
@@ -0,0 +1,185 @@
+package in.ShopSphere.ecommerce.service;
+
+import in.ShopSphere.ecommerce.dto.common.PaginationResponse;
+import in.ShopSphere.ecommerce.dto.product.ProductResponse;
+import in.ShopSphere.ecommerce.dto.product.SellerProductSummary;
+import in.ShopSphere.ecommerce.mapper.ProductMapper;
+import in.ShopSphere.ecommerce.model.entity.Product;
+import in.ShopSphere.ecommerce.repository.CategoryRepository;
+import in.ShopSphere.ecommerce.repository.ProductRepository;
+import in.ShopSphere.ecommerce.service.impl.ProductServiceImpl;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductServiceTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private CategoryRepository categoryRepository;
+
+    @Mock
+    private ProductMapper productMapper;
+
+    @Mock
+    private ProductSearchService productSearchService;
+
+    @Mock
+    private ProductCatalogSnapshotService catalogSnapshot;
+
+    @Mock
+    private ProductRankingService productRankingService;
+
+    @Mock
+    private ProductIdentifierFilterService identifierFilter;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private CacheService cacheService;
+
+    @InjectMocks
+    private ProductServiceImpl productService;
+
+    @Test
+    void testGetProductsByIds_LoadsOnlyMissesAndKeepsRequestOrder() {
+        when(cacheService.getAllFromCache(eq("product"), eq(List.of("p-3", "p-1", "p-404", "p-2")), eq(ProductResponse.class)))
+            .thenReturn(Map.of("p-1", response("p-1")));
+        Product second = product("p-2");
+        Product third = product("p-3");
+        when(productRepository.findByIdInAndIsActiveTrue(List.of("p-3", "p-404", "p-2")))
+            .thenReturn(List.of(second, third));
+        when(productMapper.toProductResponse(second)).thenReturn(response("p-2"));
+        when(productMapper.toProductResponse(third)).thenReturn(response("p-3"));
+
+        List<ProductResponse> products = productService.getProductsByIds(List.of("p-3", "p-1", "p-404", "p-2", "p-1"));
+
+        assertEquals(List.of("p-3", "p-1", "p-2"), products.stream().map(ProductResponse::getId).collect(Collectors.toList()));
+        verify(cacheService).putAllInCache(eq("product"), argThat(entries -> entries.keySet().equals(Set.of("p-2", "p-3"))));
+    }
+
+    @Test
+    void testGetProductsByIds_FullyCachedSkipsTheDatabase() {
+        when(cacheService.getAllFromCache(eq("product"), anyCollection(), eq(ProductResponse.class)))
+            .thenReturn(Map.of("p-1", response("p-1"), "p-2", response("p-2")));
+
+        List<ProductResponse> products = productService.getProductsByIds(List.of("p-2", "p-1"));
+
+        assertEquals(List.of("p-2", "p-1"), products.stream().map(ProductResponse::getId).collect(Collectors.toList()));
+        verifyNoInteractions(productRepository);
+        verify(cacheService, never()).putAllInCache(anyString(), anyMap());
+    }
+
+    @Test
+    void testGetLatestProductsByCursor_ClampsTheLimit() {
+        Product first = product("p-1");
+        first.setCreatedAt(LocalDateTime.of(2025, 3, 1, 12, 0));
+        when(productRepository.findLatestFirstPage(PageRequest.ofSize(2))).thenReturn(List.of(first, product("p-2")));
+
+        PaginationResponse<ProductResponse> page = productService.getLatestProductsByCursor("", 0);
+        assertEquals(1, page.getPagination().getLimit());
+        assertTrue(page.getPagination().isHasNext());
+        verify(productMapper).toProductResponseList(List.of(first));
+
+        productService.getLatestProductsByCursor("", 10_000);
+        verify(productRepository).findLatestFirstPage(PageRequest.ofSize(101));
+    }
+
+    @Test
+    void testGetProductsBySellerByCursor_NextPageSeeksPastTheLastRow() {
+        LocalDateTime createdAt = LocalDateTime.of(2025, 3, 1, 12, 0);
+        Product first = product("p-1");
+        first.setCreatedAt(createdAt.plusHours(1));
+        Product second = product("p-2");
+        second.setCreatedAt(createdAt);
+        when(productRepository.findBySellerLatestFirstPage("seller-1", PageRequest.ofSize(3)))
+            .thenReturn(List.of(first, second, product("p-3")));
+
+        PaginationResponse<ProductResponse> page = productService.getProductsBySellerByCursor("seller-1", null, 2);
+        assertTrue(page.getPagination().isHasNext());
+        verify(productMapper).toProductResponseList(List.of(first, second));
+
+        when(productRepository.findBySellerLatestAfter("seller-1", createdAt, "p-2", PageRequest.ofSize(3)))
+            .thenReturn(List.of(product("p-3")));
+        PaginationResponse<ProductResponse> next =
+            productService.getProductsBySellerByCursor("seller-1", page.getPagination().getNextCursor(), 2);
+        assertFalse(next.getPagination().isHasNext());
+        assertNull(next.getPagination().getNextCursor());
+    }
+
+    @Test
+    void testGetSellerSummary_ReturnsTheCountsForTheSeller() {
+        when(productRepository.summarizeSellerCatalog("seller-1")).thenReturn(new SellerProductSummary(12L, 3L, null));
+
+        SellerProductSummary summary = productService.getSellerSummary("seller-1");
+
+        assertEquals("seller-1", summary.getSellerId());
+        assertEquals(12, summary.getActiveProducts());
+        assertEquals(3, summary.getLowStockProducts());
+        assertEquals(0, summary.getOutOfStockProducts());
+    }
+
+    @Test
+    void testSearchProducts_FulltextFallsBackToLikeWithoutTheSearchIndexes() {
+        ReflectionTestUtils.setField(productService, "searchBackend", "fulltext");
+        Pageable pageable = PageRequest.of(0, 10);
+        when(productRepository.hasFullTextSearchSchema()).thenReturn(false);
+        when(productRepository.searchProducts("phone", pageable)).thenReturn(Page.empty(pageable));
+
+        productService.checkFullTextSchema();
+        productService.searchProducts("phone", pageable);
+
+        verify(productRepository).searchProducts("phone", pageable);
+        verify(productRepository, never()).fullTextSearch(anyString(), any());
+    }
+
+    @Test
+    void testSearchProducts_FulltextUsesTheSearchIndexesWhenPresent() {
+        ReflectionTestUtils.setField(productService, "searchBackend", "fulltext");
+        Pageable pageable = PageRequest.of(0, 10);
+        when(productRepository.hasFullTextSearchSchema()).thenReturn(true);
+        when(productRepository.fullTextSearch("phone", pageable))
+            .thenReturn(new PageImpl<>(List.of(product("p-1")), pageable, 1));
+
+        productService.checkFullTextSchema();
+        productService.searchProducts("phone", pageable);
+
+        verify(productRepository, never()).searchProducts(anyString(), any());
+        verify(productRepository, never()).fuzzySearch(anyString(), any());
+    }
+
+    private static Product product(String id) {
+        Product product = new Product();
+        product.setId(id);
+        product.setIsActive(true);
+        return product;
+    }
+
+    private static ProductResponse response(String id) {
+        ProductResponse response = new ProductResponse();
+        response.setId(id);
+        return response;
+    }
+}
@@ -0,0 +1,85 @@
+package in.ShopSphere.ecommerce.service;
+
+import in.ShopSphere.ecommerce.dto.product.ProductSuggestion;
+import in.ShopSphere.ecommerce.model.entity.Category;
+import in.ShopSphere.ecommerce.model.entity.Product;
+import in.ShopSphere.ecommerce.repository.ProductRepository;
+import in.ShopSphere.ecommerce.service.impl.ProductSuggestServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductSuggestServiceTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    private ProductSuggestServiceImpl suggestService;
+
+    @BeforeEach
+    void setUp() {
+        suggestService = new ProductSuggestServiceImpl(productRepository);
+
+        Category laptops = new Category();
+        laptops.setName("Laptops");
+        when(productRepository.findActiveWithCategory()).thenReturn(List.of(
+            product("p-1", "MacBook Pro 14", "Apple", "MBP-14", laptops, "4.80", 900),
+            product("p-2", "MacBook Air", "Apple", "MBA-13", laptops, "4.50", 40),
+            product("p-3", "Magic Mouse", "Apple", "MM-2", laptops, "3.90", 5)
+        ));
+        suggestService.rebuildSuggestions();
+    }
+
+    @Test
+    void testSuggest_RanksByPopularityAndRating() {
+        List<ProductSuggestion> suggestions = suggestService.suggest("mac", 10);
+
+        assertEquals(List.of("MacBook Pro 14", "MacBook Air"), suggestions.stream().map(ProductSuggestion::getText).toList());
+        assertEquals("p-1", suggestions.get(0).getProductId());
+    }
+
+    @Test
+    void testSuggest_MatchesWordStartsBrandsAndSkus() {
+        assertEquals("MacBook Pro 14", suggestService.suggest("  PRO ", 10).get(0).getText());
+
+        ProductSuggestion brand = suggestService.suggest("app", 10).get(0);
+        assertEquals(ProductSuggestion.Type.BRAND, brand.getType());
+        assertEquals("Apple", brand.getText());
+
+        ProductSuggestion sku = suggestService.suggest("mba", 10).get(0);
+        assertEquals(ProductSuggestion.Type.SKU, sku.getType());
+        assertEquals("p-2", sku.getProductId());
+    }
+
+    @Test
+    void testSuggest_StopsOnMismatchAndHonoursLimit() {
+        assertTrue(suggestService.suggest("macx", 10).isEmpty());
+        assertTrue(suggestService.suggest("", 10).isEmpty());
+        assertEquals(1, suggestService.suggest("ma", 1).size());
+        // "ma" reaches product names through both the name and the word-start keys, without duplicates
+        assertEquals(3, suggestService.suggest("ma", 10).stream()
+            .filter(s -> s.getType() == ProductSuggestion.Type.PRODUCT).count());
+    }
+
+    private Product product(String id, String name, String brand, String sku, Category category, String rating, int reviews) {
+        Product product = new Product();
+        product.setId(id);
+        product.setName(name);
+        product.setBrand(brand);
+        product.setSku(sku);
+        product.setCategory(category);
+        product.setRating(new BigDecimal(rating));
+        product.setReviewCount(reviews);
+        product.setIsActive(true);
+        return product;
+    }
+}
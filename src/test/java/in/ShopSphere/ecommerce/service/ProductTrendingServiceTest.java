@@ -0,0 +1,138 @@
+package in.ShopSphere.ecommerce.service;
+
+import in.ShopSphere.ecommerce.config.TrendingProperties;
+import in.ShopSphere.ecommerce.dto.product.ProductResponse;
+import in.ShopSphere.ecommerce.service.ProductTrendingService.Window;
+import in.ShopSphere.ecommerce.service.impl.ProductTrendingServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductTrendingServiceTest {
+
+    @Mock
+    private ProductService productService;
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2025-03-01T12:00:00Z"));
+
+    private ProductTrendingServiceImpl trendingService;
+
+    @BeforeEach
+    void setUp() {
+        trendingService = new ProductTrendingServiceImpl(productService, new TrendingProperties(), clock);
+        // Echo the requested ids back as products
+        lenient().when(productService.getProductsByIds(anyList())).thenAnswer(invocation ->
+            invocation.<List<String>>getArgument(0).stream().map(ProductTrendingServiceTest::product).toList());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testGetTrending_SketchFindsTheExactHeavyHittersOnASkewedStream() {
+        // 200k views over 5,000 products with a Zipf-like skew, plus a few purchases
+        Random random = new Random(42);
+        Map<String, Long> exact = new HashMap<>();
+        for (int i = 0; i < 200_000; i++) {
+            int rank = (int) Math.floor(Math.pow(5_000, random.nextDouble()));
+            String productId = "p-" + rank;
+            trendingService.recordView(productId);
+            exact.merge(productId, 1L, Long::sum);
+            if (i % 10_000 == 0) {
+                clock.advance(Duration.ofMinutes(2));
+            }
+        }
+        trendingService.recordPurchase("p-4000", 500);
+        exact.merge("p-4000", 5_000L, Long::sum);
+
+        List<String> expected = exact.entrySet().stream()
+            .sorted(Map.Entry.<String, Long>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+            .limit(10)
+            .map(Map.Entry::getKey)
+            .toList();
+        List<String> trending = ids(trendingService.getTrending(Window.DAY, 10));
+        assertEquals(expected.stream().sorted().toList(), trending.stream().sorted().toList());
+        assertTrue(trending.contains("p-4000"));
+
+        // Defaults: 2,719 x 5 counters per bucket, 12 buckets per window
+        Map<String, Object> day = (Map<String, Object>) trendingService.getStats().get("day");
+        assertEquals(2719, day.get("sketchWidth"));
+        assertEquals(5, day.get("sketchDepth"));
+        assertEquals(205_000L, day.get("totalWeight"));
+        assertEquals(205L, day.get("maxOverestimate"));
+        assertTrue((long) day.get("memoryBytes") < 2_000_000L, "memory: " + day.get("memoryBytes"));
+    }
+
+    @Test
+    void testGetTrending_OldBucketsSlideOutOfTheWindow() {
+        trendingService.recordPurchase("p-old", 1);
+        clock.advance(Duration.ofMinutes(40));
+        for (int i = 0; i < 3; i++) {
+            trendingService.recordView("p-new");
+        }
+
+        assertEquals(List.of("p-old", "p-new"), ids(trendingService.getTrending(Window.HOUR, 10)));
+
+        // 65 minutes later the first five-minute bucket has left the hour, but not the day
+        clock.advance(Duration.ofMinutes(25));
+        assertEquals(List.of("p-new"), ids(trendingService.getTrending(Window.HOUR, 10)));
+        assertEquals(List.of("p-old", "p-new"), ids(trendingService.getTrending(Window.DAY, 10)));
+
+        clock.advance(Duration.ofDays(2));
+        assertEquals(List.of(), trendingService.getTrending(Window.DAY, 10));
+        verify(productService, times(3)).getProductsByIds(anyList());
+    }
+
+    private static List<String> ids(List<ProductResponse> products) {
+        return products.stream().map(ProductResponse::getId).toList();
+    }
+
+    private static ProductResponse product(String id) {
+        ProductResponse product = new ProductResponse();
+        product.setId(id);
+        return product;
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        private void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package in.ShopSphere.ecommerce.service;
+
+import in.ShopSphere.ecommerce.config.RecentlyViewedProperties;
+import in.ShopSphere.ecommerce.dto.product.ProductResponse;
+import in.ShopSphere.ecommerce.exception.BusinessException;
+import in.ShopSphere.ecommerce.model.entity.User;
+import in.ShopSphere.ecommerce.service.impl.RecentlyViewedServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.ListOperations;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RecentlyViewedServiceTest {
+
+    @Mock
+    private RedisTemplate<String, Object> redisTemplate;
+
+    @Mock
+    private RedisOperations<String, Object> pipeline;
+
+    @Mock
+    private ListOperations<String, Object> listOperations;
+
+    @Mock
+    private ProductService productService;
+
+    private RecentlyViewedServiceImpl recentlyViewedService;
+
+    @BeforeEach
+    void setUp() {
+        RecentlyViewedProperties properties = new RecentlyViewedProperties();
+        properties.setMaxItems(3);
+        properties.setQueueCapacity(5);
+        recentlyViewedService = new RecentlyViewedServiceImpl(redisTemplate, productService, properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testFlush_CoalescesViewsIntoOnePipeline() {
+        // Anonymous views are never queued
+        SecurityContextHolder.getContext().setAuthentication(new AnonymousAuthenticationToken(
+            "key", "anonymousUser", AuthorityUtils.createAuthorityList("ROLE_ANONYMOUS")));
+        recentlyViewedService.recordView("p-0");
+
+        signIn("u-1");
+        for (String productId : List.of("p-1", "p-2", "p-1", "p-3", "p-4", "p-5")) {
+            recentlyViewedService.recordView(productId);
+        }
+        verifyNoInteractions(redisTemplate);
+
+        when(pipeline.opsForList()).thenReturn(listOperations);
+        when(redisTemplate.executePipelined(any(SessionCallback.class))).thenAnswer(invocation -> {
+            invocation.<SessionCallback<Object>>getArgument(0).execute(pipeline);
+            return List.of();
+        });
+        recentlyViewedService.flush();
+
+        // Queue capacity is 5, so p-5 was dropped; the second p-1 view makes p-2 the oldest
+        String key = "ecommerce:recently-viewed:u-1";
+        InOrder order = inOrder(listOperations, pipeline);
+        order.verify(listOperations).remove(key, 0, "p-1");
+        order.verify(listOperations).remove(key, 0, "p-3");
+        order.verify(listOperations).remove(key, 0, "p-4");
+        order.verify(listOperations).leftPushAll(key, "p-1", "p-3", "p-4");
+        order.verify(listOperations).trim(key, 0, 2);
+        order.verify(pipeline).expire(key, Duration.ofDays(30));
+        verify(listOperations, never()).remove(key, 0, "p-2");
+        verify(redisTemplate, times(1)).executePipelined(any(SessionCallback.class));
+
+        // Nothing left to write
+        recentlyViewedService.flush();
+        verify(redisTemplate, times(1)).executePipelined(any(SessionCallback.class));
+    }
+
+    @Test
+    void testGetRecentlyViewed_HydratesMostRecentFirst() {
+        signIn("u-1");
+        ProductResponse product = new ProductResponse();
+        product.setId("p-2");
+        when(redisTemplate.opsForList()).thenReturn(listOperations);
+        when(listOperations.range("ecommerce:recently-viewed:u-1", 0, 2)).thenReturn(new ArrayList<>(List.of("p-2", "p-1")));
+        when(productService.getProductsByIds(List.of("p-2", "p-1"))).thenReturn(List.of(product));
+
+        assertEquals(List.of(product), recentlyViewedService.getRecentlyViewed(50));
+
+        SecurityContextHolder.clearContext();
+        assertThrows(BusinessException.class, () -> recentlyViewedService.getRecentlyViewed(10));
+    }
+
+    private static void signIn(String userId) {
+        User user = new User();
+        user.setId(userId);
+        SecurityContextHolder.getContext().setAuthentication(
+            new UsernamePasswordAuthenticationToken(user, null, List.of()));
+    }
+}